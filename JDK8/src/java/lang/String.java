@@ -2937,7 +2937,7 @@ public final class String
      * @since  1.5
      */
     public static String format(String format, Object... args) {
-        return new Formatter().format(format, args).toString();
+        return Formatter.compile(format).format(args);
     }
 
     /**
@@ -2978,7 +2978,8 @@ public final class String
      * @since  1.5
      */
     public static String format(Locale l, String format, Object... args) {
-        return new Formatter(l).format(format, args).toString();
+        return Formatter.compile(format).formatTo(new Formatter(l), args)
+            .toString();
     }
 
     /**
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.lang.management;
+
+/**
+ * The management interface for a pool of threads executing tasks, that
+ * is, a {@link java.util.concurrent.ThreadPoolExecutor} or {@link
+ * java.util.concurrent.ForkJoinPool} for which metrics have been
+ * enabled.  Each instance of this interface reports the {@link
+ * java.util.concurrent.ExecutorMetrics ExecutorMetrics} of one pool;
+ * see that class for the meaning of each statistic.
+ *
+ * <p> A class implementing this interface is an
+ * {@link javax.management.MXBean}. A Java virtual machine has one
+ * instance of this interface for each reachable pool for which
+ * metrics have been enabled. The {@link
+ * java.lang.management.ManagementFactory#getPlatformMXBeans
+ * getPlatformMXBeans} method can be used to obtain the current list
+ * of {@code ExecutorPoolMXBean} objects as follows:
+ * <pre>
+ *     List&lt;ExecutorPoolMXBean&gt; pools = ManagementFactory.getPlatformMXBeans(ExecutorPoolMXBean.class);
+ * </pre>
+ *
+ * <p> The management interfaces of pools for which metrics were
+ * enabled before the platform {@link javax.management.MBeanServer
+ * MBeanServer} was created are also registered with it. The {@link
+ * javax.management.ObjectName ObjectName} that uniquely identifies
+ * the management interface within the {@code MBeanServer} takes the
+ * form:
+ * <pre>
+ *     java.util.concurrent:type=ExecutorPool,name=<i>pool name</i>
+ * </pre>
+ * where <em>pool name</em> is the {@link #getName name} of the pool.
+ *
+ * @see java.util.concurrent.ExecutorMetrics
+ * @since   1.9
+ */
+public interface ExecutorPoolMXBean extends PlatformManagedObject {
+
+    /**
+     * Returns the name representing this pool.
+     *
+     * @return  The name of this pool.
+     */
+    String getName();
+
+    /**
+     * Returns the number of tasks submitted to this pool.
+     *
+     * @return  The number of tasks submitted.
+     */
+    long getSubmittedTaskCount();
+
+    /**
+     * Returns the number of tasks rejected by this pool.
+     *
+     * @return  The number of tasks rejected.
+     */
+    long getRejectedTaskCount();
+
+    /**
+     * Returns the number of tasks that completed execution.
+     *
+     * @return  The number of tasks completed.
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Returns the number of tasks that completed execution by
+     * throwing an exception.
+     *
+     * @return  The number of tasks that failed.
+     */
+    long getFailedTaskCount();
+
+    /**
+     * Returns the number of tasks taken by worker threads from the
+     * queues of other workers.
+     *
+     * @return  The number of steals.
+     */
+    long getStealCount();
+
+    /**
+     * Returns the number of unsuccessful scans for tasks by idle
+     * worker threads.
+     *
+     * @return  The number of unsuccessful scans.
+     */
+    long getScanCount();
+
+    /**
+     * Returns the number of times worker threads blocked waiting for
+     * tasks.
+     *
+     * @return  The number of parks.
+     */
+    long getParkCount();
+
+    /**
+     * Returns the total time that tasks waited in queues before being
+     * run, in nanoseconds.
+     *
+     * @return  The total queue wait time in nanoseconds.
+     */
+    long getTotalQueueWaitTime();
+
+    /**
+     * Returns the total time spent running tasks, in nanoseconds.
+     *
+     * @return  The total run time in nanoseconds.
+     */
+    long getTotalRunTime();
+
+    /**
+     * Returns a histogram of the times that tasks waited in queues,
+     * in buckets of exponentially increasing width as described in
+     * {@link java.util.concurrent.ExecutorMetrics}.
+     *
+     * @return  The number of waits in each bucket.
+     */
+    long[] getQueueWaitHistogram();
+
+    /**
+     * Returns a histogram of task run times, in buckets of
+     * exponentially increasing width as described in {@link
+     * java.util.concurrent.ExecutorMetrics}.
+     *
+     * @return  The number of runs in each bucket.
+     */
+    long[] getRunTimeHistogram();
+}
@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorMetrics;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 
@@ -216,6 +217,19 @@ enum PlatformComponent {
             }
         }),
 
+    /**
+     * Executor pools for which metrics have been enabled.
+     */
+    EXECUTOR_POOL(
+        "java.lang.management.ExecutorPoolMXBean",
+        "java.util.concurrent", "ExecutorPool", keyProperties("name"),
+        false, // zero or more instances
+        new MXBeanFetcher<ExecutorPoolMXBean>() {
+            public List<ExecutorPoolMXBean> getMXBeans() {
+                return getExecutorPoolMXBeans();
+            }
+        }),
+
 
     // Sun Platform Extension
 
@@ -310,6 +324,47 @@ enum PlatformComponent {
         }
     }
 
+    /*
+     * Returns the executor pool mxbeans of all pools with metrics enabled.
+     */
+    private static List<ExecutorPoolMXBean> getExecutorPoolMXBeans() {
+        List<ExecutorMetrics> list = ExecutorMetrics.getAllMetrics();
+        List<ExecutorPoolMXBean> result = new ArrayList<>(list.size());
+        for (ExecutorMetrics m : list) {
+            result.add(new ExecutorPoolImpl(m));
+        }
+        return result;
+    }
+
+    /*
+     * ExecutorPoolMXBean reporting the given metrics.
+     */
+    private static final class ExecutorPoolImpl implements ExecutorPoolMXBean {
+        private final ExecutorMetrics metrics;
+
+        ExecutorPoolImpl(ExecutorMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        public String getName()              { return metrics.getName(); }
+        public long getSubmittedTaskCount()  { return metrics.getSubmittedTaskCount(); }
+        public long getRejectedTaskCount()   { return metrics.getRejectedTaskCount(); }
+        public long getCompletedTaskCount()  { return metrics.getCompletedTaskCount(); }
+        public long getFailedTaskCount()     { return metrics.getFailedTaskCount(); }
+        public long getStealCount()          { return metrics.getStealCount(); }
+        public long getScanCount()           { return metrics.getScanCount(); }
+        public long getParkCount()           { return metrics.getParkCount(); }
+        public long getTotalQueueWaitTime()  { return metrics.getTotalQueueWaitTime(); }
+        public long getTotalRunTime()        { return metrics.getTotalRunTime(); }
+        public long[] getQueueWaitHistogram() { return metrics.getQueueWaitHistogram(); }
+        public long[] getRunTimeHistogram()  { return metrics.getRunTimeHistogram(); }
+
+        public ObjectName getObjectName() {
+            return Util.newObjectName("java.util.concurrent:type=ExecutorPool",
+                                      metrics.getName());
+        }
+    }
+
     private final String mxbeanInterfaceName;
     private final String domain;
     private final String type;
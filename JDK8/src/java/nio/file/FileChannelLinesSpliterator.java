@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.nio.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator of the lines, or the records separated by a delimiter, of
+ * a range of bytes of a {@code FileChannel}.  The range is split at the
+ * byte offset halfway through it, advanced to the start of the next line
+ * or record, so that a file can be traversed in parallel without being
+ * read sequentially first.  Lines and records are read using positional
+ * reads, which a {@code FileChannel} permits from concurrent threads, and
+ * so the size of the file is not limited to that of a mapped buffer.
+ *
+ * <p> The charset must be one in which the line terminators and the
+ * delimiter, which are ASCII characters, are encoded as single bytes that
+ * do not occur in the encoding of any other character: UTF-8, ISO-8859-1
+ * or US-ASCII.  The byte offsets of line starts can then be found without
+ * decoding.
+ *
+ * <p> The size is estimated as the number of bytes remaining, which is an
+ * upper bound on the number of lines and proportional to the work of the
+ * traversal, and so balances the parallel decomposition of a stream.
+ */
+final class FileChannelLinesSpliterator implements Spliterator<String> {
+
+    /** The names of the supported charsets */
+    static final String[] SUPPORTED_CHARSET_NAMES = {
+        StandardCharsets.UTF_8.name(),
+        StandardCharsets.ISO_8859_1.name(),
+        StandardCharsets.US_ASCII.name()
+    };
+
+    /** The size of the buffer of a spliterator, and of a resync read */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The size of a range below which it is not split */
+    private static final long MIN_SPLIT_SIZE = BUFFER_SIZE << 2;
+
+    /** The delimiter of lines, which are terminated by \n, \r or \r\n */
+    static final int LINES = -1;
+
+    private final FileChannel fc;
+    private final Charset cs;
+    private final int delimiter;
+    private final long fence;
+    private final boolean splittable;
+
+    // The offset of the first byte of buf, which is allocated on the first
+    // read.  The bytes [pos, lim) of buf have been read and not consumed.
+    private long offset;
+    private byte[] buf;
+    private int pos, lim;
+    private CharsetDecoder decoder;
+
+    /**
+     * Creates a spliterator of the lines or records of the bytes
+     * {@code [origin, fence)} of the given channel.
+     *
+     * @param fc the channel
+     * @param cs the charset, one of the supported charsets
+     * @param delimiter the delimiter of records, an ASCII character, or
+     *        {@code LINES}
+     * @param origin the offset of the first line
+     * @param fence the offset of the end of the last line, or
+     *        {@code Long.MAX_VALUE} if the end of the channel is not known,
+     *        in which case the spliterator does not split
+     */
+    FileChannelLinesSpliterator(FileChannel fc, Charset cs, int delimiter,
+                                long origin, long fence) {
+        this.fc = fc;
+        this.cs = cs;
+        this.delimiter = delimiter;
+        this.offset = origin;
+        this.fence = fence;
+        this.splittable = (fence != Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns true if the given charset is one of the supported charsets.
+     */
+    static boolean isSupported(Charset cs) {
+        return Arrays.asList(SUPPORTED_CHARSET_NAMES).contains(cs.name());
+    }
+
+    private boolean isDelimiter(byte b) {
+        return (delimiter == LINES) ? (b == '\n' || b == '\r') : b == delimiter;
+    }
+
+    /**
+     * Reads more bytes into the buffer, after discarding the bytes before
+     * index {@code keep}.
+     *
+     * @return the number of bytes discarded, or -1 if there are no more
+     *         bytes to read
+     */
+    private int fill(int keep) throws IOException {
+        long end = offset + lim;
+        if (end >= fence)
+            return -1;
+        if (buf == null) {
+            buf = new byte[BUFFER_SIZE];
+        } else if (keep > 0) {
+            System.arraycopy(buf, keep, buf, 0, lim - keep);
+            offset += keep;
+            pos -= keep;
+            lim -= keep;
+        } else if (lim == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length << 1);
+        }
+        int len = (int) Math.min(buf.length - lim, fence - end);
+        int n = fc.read(ByteBuffer.wrap(buf, lim, len), end);
+        if (n < 0)
+            return -1;
+        lim += n;
+        return keep;
+    }
+
+    private String decode(int from, int to) {
+        if (decoder == null)
+            decoder = cs.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            return decoder.decode(ByteBuffer.wrap(buf, from, to - from)).toString();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the next line or record, or returns null if there are none.
+     */
+    private String readLine() throws IOException {
+        int i = pos;
+        for (;;) {
+            while (i < lim && !isDelimiter(buf[i]))
+                ++i;
+            if (i < lim)
+                break;
+            int d = fill(pos);
+            if (d < 0) {
+                if (pos == lim)
+                    return null;
+                String line = decode(pos, lim);  // unterminated last line
+                pos = lim;
+                return line;
+            }
+            i -= d;
+        }
+        String line = decode(pos, i);
+        int next = i + 1;
+        if (delimiter == LINES && buf[i] == '\r') {
+            if (next == lim) {
+                int d = fill(i);
+                if (d > 0)
+                    next -= d;
+            }
+            if (next < lim && buf[next] == '\n')
+                ++next;
+        }
+        pos = next;
+        return line;
+    }
+
+    /**
+     * Returns the offset of the first line that starts at or after the
+     * given offset, and at or before the fence.
+     */
+    private long resync(long from) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(BUFFER_SIZE);
+        long off = from;
+        boolean cr = false;
+        while (off < fence) {
+            b.clear();
+            b.limit((int) Math.min(BUFFER_SIZE, fence - off));
+            int n = fc.read(b, off);
+            if (n <= 0)
+                break;
+            for (int i = 0; i < n; ++i) {
+                byte x = b.get(i);
+                if (cr)
+                    return (x == '\n') ? off + i + 1 : off + i;
+                if (isDelimiter(x)) {
+                    if (delimiter != LINES || x == '\n')
+                        return off + i + 1;
+                    cr = true;
+                }
+            }
+            off += n;
+        }
+        return fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        String line;
+        try {
+            line = readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null)
+            return false;
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+        try {
+            for (String line; (line = readLine()) != null; )
+                action.accept(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        // Only split before traversal has started
+        if (!splittable || buf != null)
+            return null;
+        long lo = offset, hi = fence;
+        if (hi - lo < MIN_SPLIT_SIZE)
+            return null;
+        long mid;
+        try {
+            mid = resync((lo + hi) >>> 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (mid >= hi)
+            return null;
+        offset = mid;
+        return new FileChannelLinesSpliterator(fc, cs, delimiter, lo, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return splittable ? fence - (offset + pos) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+}
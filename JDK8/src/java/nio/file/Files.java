@@ -3720,6 +3720,19 @@ public final class Files {
      * {@link Stream#close close} method is invoked after the stream operations
      * are completed.
      *
+     * @implNote
+     * This implementation supports good parallel stream performance for the
+     * standard charsets {@link StandardCharsets#UTF_8 UTF-8},
+     * {@link StandardCharsets#US_ASCII US-ASCII} and
+     * {@link StandardCharsets#ISO_8859_1 ISO-8859-1}, when the file is a
+     * regular file of the default file system.  In that case the stream
+     * encapsulates a {@link FileChannel} rather than a {@code Reader}, and its
+     * spliterator splits the file at byte offsets, each advanced to the start
+     * of the next line, so that the parts of a large file are read in
+     * parallel.  Its estimate of the size of the stream is the number of
+     * bytes to be read.  Line terminators are identified by their byte
+     * values, which in these charsets cannot occur within the encoding of
+     * another character.
      *
      * @param   path
      *          the path to the file
@@ -3741,6 +3754,19 @@ public final class Files {
      * @since   1.8
      */
     public static Stream<String> lines(Path path, Charset cs) throws IOException {
+        // Use the spliterator that splits at byte offsets if the file is a
+        // regular file of the default file system of known size, and its
+        // line terminators can be found without decoding
+        if (path.getFileSystem() == FileSystems.getDefault() &&
+            FileChannelLinesSpliterator.isSupported(cs)) {
+            FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+            Stream<String> lines = fileChannelLinesStream(fc, cs,
+                    FileChannelLinesSpliterator.LINES, false);
+            if (lines != null)
+                return lines;
+            fc.close();
+        }
+
         BufferedReader br = Files.newBufferedReader(path, cs);
         try {
             return br.lines().onClose(asUncheckedRunnable(br));
@@ -3784,4 +3810,118 @@ public final class Files {
     public static Stream<String> lines(Path path) throws IOException {
         return lines(path, StandardCharsets.UTF_8);
     }
+
+    /**
+     * Read all records separated by the given delimiter from a file as a
+     * {@code Stream}.  A record is a sequence of characters followed by the
+     * delimiter or by the end of the file; the delimiter is not included in
+     * the record.  A delimiter at the start of the file, or immediately
+     * following another delimiter, ends an empty record.  As with the lines
+     * returned by {@link #lines(Path, Charset) lines}, a delimiter at the end
+     * of the file ends the last record, and does not start an empty record,
+     * so an empty file has no records.  Line terminators have no special
+     * meaning: unless the delimiter is one of them, they are part of the
+     * records in which they occur.  For example, the records of a file
+     * containing {@code "a,b,c\r\nd,"} separated by {@code ','} are
+     * {@code "a"}, {@code "b"} and {@code "c\r\nd"}.  Records are populated
+     * lazily as the stream is consumed.
+     *
+     * <p> Bytes from the file are decoded into characters using the specified
+     * charset, which must be one in which the delimiter is encoded as a
+     * single byte that cannot occur in the encoding of another character:
+     * {@link StandardCharsets#UTF_8 UTF-8}, {@link StandardCharsets#US_ASCII
+     * US-ASCII} or {@link StandardCharsets#ISO_8859_1 ISO-8859-1}, with an
+     * ASCII delimiter.  Since the delimiter can be found without decoding, the
+     * spliterator of the stream splits a regular file at byte offsets, each
+     * advanced to the start of the next record, so that the parts of a large
+     * file are read in parallel.  Its estimate of the size of the stream is
+     * the number of bytes to be read.
+     *
+     * <p> After this method returns, then any subsequent I/O exception that
+     * occurs while reading from the file or when a malformed or unmappable byte
+     * sequence is read, is wrapped in an {@link UncheckedIOException} that will
+     * be thrown from the
+     * {@link java.util.stream.Stream} method that caused the read to take
+     * place. In case an {@code IOException} is thrown when closing the file,
+     * it is also wrapped as an {@code UncheckedIOException}.
+     *
+     * <p> The returned stream encapsulates a {@link FileChannel}.  If timely
+     * disposal of file system resources is required, the try-with-resources
+     * construct should be used to ensure that the stream's
+     * {@link Stream#close close} method is invoked after the stream operations
+     * are completed.
+     *
+     * @param   path
+     *          the path to the file
+     * @param   delimiter
+     *          the delimiter of records
+     * @param   cs
+     *          the charset to use for decoding
+     *
+     * @return  the records from the file as a {@code Stream}
+     *
+     * @throws  IllegalArgumentException
+     *          if the delimiter is not an ASCII character, or the charset
+     *          is not one of the charsets listed above
+     * @throws  UnsupportedOperationException
+     *          if the file system of the path does not support file channels
+     * @throws  IOException
+     *          if an I/O error occurs opening the file
+     * @throws  SecurityException
+     *          In the case of the default provider, and a security manager is
+     *          installed, the {@link SecurityManager#checkRead(String) checkRead}
+     *          method is invoked to check read access to the file.
+     *
+     * @see     #lines(Path, Charset)
+     * @since   1.9
+     */
+    public static Stream<String> records(Path path, char delimiter, Charset cs)
+        throws IOException
+    {
+        if (delimiter >= 0x80)
+            throw new IllegalArgumentException("Delimiter is not an ASCII character");
+        if (!FileChannelLinesSpliterator.isSupported(cs))
+            throw new IllegalArgumentException("Unsupported charset: " + cs.name());
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
+        return fileChannelLinesStream(fc, cs, delimiter, true);
+    }
+
+    /**
+     * Returns a stream of the lines or records of the given channel, which
+     * is closed when the stream is closed.  If the channel does not have a
+     * known size then the stream does not split, or is not created.
+     *
+     * @param fc the channel
+     * @param cs the charset, one of the charsets that the spliterator supports
+     * @param delimiter the delimiter of records, or
+     *        {@code FileChannelLinesSpliterator.LINES}
+     * @param always whether to create the stream if the channel has no known
+     *        size
+     * @return the stream, or {@code null} if the channel has no known size
+     *         and {@code always} is false
+     */
+    private static Stream<String> fileChannelLinesStream(FileChannel fc, Charset cs,
+                                                         int delimiter, boolean always)
+        throws IOException
+    {
+        try {
+            // Special files, such as those of procfs, may report a size of 0
+            long size = fc.size();
+            if (size == 0 && !always)
+                return null;
+            Spliterator<String> s = new FileChannelLinesSpliterator(
+                    fc, cs, delimiter, 0L, (size > 0) ? size : Long.MAX_VALUE);
+            return StreamSupport.stream(s, false)
+                                .onClose(asUncheckedRunnable(fc));
+        } catch (Error|RuntimeException|IOException e) {
+            try {
+                fc.close();
+            } catch (IOException ex) {
+                try {
+                    e.addSuppressed(ex);
+                } catch (Throwable ignore) {}
+            }
+            throw e;
+        }
+    }
 }
@@ -27,6 +27,9 @@ package java.util;
 
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 import sun.misc.SharedSecrets;
 
@@ -1465,4 +1468,55 @@ public class ArrayList<E> extends AbstractList<E>
         }
         modCount++;
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sortByIntKey(ToIntFunction<? super E> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        final int[] keys = new int[size];
+        for (int i = 0; modCount == expectedModCount && i < size; i++) {
+            keys[i] = keyExtractor.applyAsInt((E) elementData[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        IndirectSort.permute(elementData, IndirectSort.sortWithPermutation(keys));
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sortByLongKey(ToLongFunction<? super E> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        final long[] keys = new long[size];
+        for (int i = 0; modCount == expectedModCount && i < size; i++) {
+            keys[i] = keyExtractor.applyAsLong((E) elementData[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        IndirectSort.permute(elementData, IndirectSort.sortWithPermutation(keys));
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sortByDoubleKey(ToDoubleFunction<? super E> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        final double[] keys = new double[size];
+        for (int i = 0; modCount == expectedModCount && i < size; i++) {
+            keys[i] = keyExtractor.applyAsDouble((E) elementData[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        IndirectSort.permute(elementData, IndirectSort.sortWithPermutation(keys));
+        modCount++;
+    }
 }
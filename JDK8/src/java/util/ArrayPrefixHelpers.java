@@ -36,6 +36,12 @@ import java.util.function.BinaryOperator;
 import java.util.function.IntBinaryOperator;
 import java.util.function.LongBinaryOperator;
 import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
 
 /**
  * ForkJoin tasks to perform Arrays.parallelPrefix operations.
@@ -693,4 +699,707 @@ class ArrayPrefixHelpers {
             }
         }
     }
+
+    /*
+     * Blocked scans, for the exclusive, segmented, mapping and
+     * filtering variants of parallelPrefix, use the simpler two-pass
+     * reduce-then-scan scheme rather than a tree of partial sums: the
+     * array is divided into blocks of at least MIN_BLOCK elements,
+     * about eight per thread of the common pool, and
+     *   Pass 1: Reduce each block in parallel (for the first block,
+     *           which has no carry, scan it outright)
+     *   Combine: Sequentially turn the block sums into the carry
+     *           into each block
+     *   Pass 2: Scan each block but the first in parallel, starting
+     *           from its carry.
+     * The combining step is cheap since there are few blocks, and it
+     * gives a single place in which to handle the segment boundaries,
+     * identities and counts that these variants need.  Blocks are
+     * multiples of 64 elements, so that the filter bitmaps of distinct
+     * blocks do not share words.
+     *
+     * Each BlockedScan holds the state of one operation and performs
+     * the work of a block in each pass; BlockTasks split the blocks of
+     * a pass among forked subtasks.
+     */
+
+    /** The smallest block size of blocked scans */
+    static final int MIN_BLOCK = 1 << 10;
+
+    abstract static class BlockedScan {
+        final int size, blockSize, blocks;
+
+        BlockedScan(int size) {
+            int bs = size / (ForkJoinPool.getCommonPoolParallelism() << 3);
+            bs = (bs <= MIN_BLOCK) ? MIN_BLOCK : (bs + 63) & ~63;
+            this.size = size;
+            this.blockSize = bs;
+            this.blocks = (size == 0) ? 0 : (size - 1) / bs + 1;
+        }
+
+        final int blockLo(int b) {
+            return b * blockSize;
+        }
+
+        final int blockHi(int b) {
+            int l = b * blockSize;
+            return (size - l > blockSize) ? l + blockSize : size;
+        }
+
+        /** Reduces block b, or scans it if it is the first block */
+        abstract void firstPass(int b);
+
+        /** Computes the carry into each block from the block sums */
+        abstract void combine();
+
+        /** Scans block b, which is not the first block, from its carry */
+        abstract void secondPass(int b);
+
+        final void invoke() {
+            if (blocks > 0)
+                new BlockTask(null, this, true, 0, blocks).invoke();
+            combine();
+            if (blocks > 1)
+                new BlockTask(null, this, false, 1, blocks).invoke();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    static final class BlockTask extends CountedCompleter<Void> {
+        final BlockedScan scan;
+        final boolean first;
+        final int lo, hi;
+
+        BlockTask(BlockTask parent, BlockedScan scan, boolean first,
+                  int lo, int hi) {
+            super(parent);
+            this.scan = scan; this.first = first;
+            this.lo = lo; this.hi = hi;
+        }
+
+        public final void compute() {
+            final BlockedScan sc = this.scan;
+            int l = lo, h = hi;
+            while (h - l > 1) {
+                int mid = (l + h) >>> 1;
+                addToPendingCount(1);
+                new BlockTask(this, sc, first, mid, h).fork();
+                h = mid;
+            }
+            if (first)
+                sc.firstPass(l);
+            else
+                sc.secondPass(l);
+            propagateCompletion();
+        }
+    }
+
+    static final class LongExclusiveScan extends BlockedScan {
+        final long[] array;
+        final LongBinaryOperator function;
+        final long identity;
+        final long[] sums; // block sums, then carries
+        long total;
+
+        LongExclusiveScan(long[] array, long identity, LongBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.identity = identity;
+            this.function = function;
+            this.sums = new long[blocks];
+        }
+
+        void firstPass(int b) {
+            final long[] a = array; final LongBinaryOperator fn = function;
+            long sum = identity;
+            if (b == 0) {
+                for (int i = 0, h = blockHi(0); i < h; ++i) {
+                    long x = a[i];
+                    a[i] = sum;
+                    sum = fn.applyAsLong(sum, x);
+                }
+            }
+            else {
+                for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                    sum = fn.applyAsLong(sum, a[i]);
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            long sum = identity;
+            for (int b = 0; b < blocks; ++b) {
+                long s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsLong(sum, s);
+            }
+            total = sum;
+        }
+
+        void secondPass(int b) {
+            final long[] a = array; final LongBinaryOperator fn = function;
+            long sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                long x = a[i];
+                a[i] = sum;
+                sum = fn.applyAsLong(sum, x);
+            }
+        }
+    }
+
+    static final class LongSegmentedScan extends BlockedScan {
+        final long[] array;
+        final boolean[] heads;
+        final LongBinaryOperator function;
+        final long[] sums;      // sums since the last head, then carries
+        final boolean[] open;  // whether a block has no head
+
+        LongSegmentedScan(long[] array, boolean[] heads, LongBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.heads = heads;
+            this.function = function;
+            this.sums = new long[blocks];
+            this.open = new boolean[blocks];
+        }
+
+        void firstPass(int b) {
+            final long[] a = array; final boolean[] hd = heads;
+            final LongBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            boolean headed = hd[l];
+            long sum = a[l];
+            for (int i = l + 1; i < h; ++i) {
+                if (hd[i]) {
+                    headed = true;
+                    sum = a[i];
+                }
+                else {
+                    sum = fn.applyAsLong(sum, a[i]);
+                }
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+            open[b] = !headed;
+        }
+
+        void combine() {
+            long sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                long s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0 || !open[b]) ? s : function.applyAsLong(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final long[] a = array; final boolean[] hd = heads;
+            final LongBinaryOperator fn = function;
+            long sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = hd[i] ? a[i] : fn.applyAsLong(sum, a[i]);
+        }
+    }
+
+    static final class LongMapScan extends BlockedScan {
+        final long[] array;
+        final LongUnaryOperator mapper;
+        final LongBinaryOperator function;
+        final long[] sums; // block sums, then carries
+
+        LongMapScan(long[] array, LongUnaryOperator mapper, LongBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.mapper = mapper;
+            this.function = function;
+            this.sums = new long[blocks];
+        }
+
+        void firstPass(int b) {
+            final long[] a = array; final LongUnaryOperator mp = mapper;
+            final LongBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            long sum = a[l] = mp.applyAsLong(a[l]);
+            for (int i = l + 1; i < h; ++i) {
+                long x = a[i] = mp.applyAsLong(a[i]);
+                sum = fn.applyAsLong(sum, x);
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            long sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                long s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsLong(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final long[] a = array; final LongBinaryOperator fn = function;
+            long sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = fn.applyAsLong(sum, a[i]);
+        }
+    }
+
+    static final class LongFilter extends BlockedScan {
+        final long[] array;
+        final LongPredicate predicate;
+        final long[] bits;  // bitmap of the accepted elements
+        final int[] counts; // numbers of accepted elements, then offsets
+        long[] result;
+
+        LongFilter(long[] array, LongPredicate predicate) {
+            super(array.length);
+            this.array = array; this.predicate = predicate;
+            this.bits = new long[(array.length + 63) >>> 6];
+            this.counts = new int[blocks];
+        }
+
+        void firstPass(int b) {
+            final long[] a = array; final LongPredicate pr = predicate;
+            final long[] bs = bits;
+            int count = 0;
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                if (pr.test(a[i])) {
+                    bs[i >>> 6] |= 1L << i;
+                    ++count;
+                }
+            }
+            counts[b] = count;
+        }
+
+        void combine() {
+            int sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                int c = counts[b];
+                counts[b] = sum;
+                sum += c;
+            }
+            long[] r = result = new long[sum];
+            if (blocks > 0)
+                copyAccepted(0, r);
+        }
+
+        void secondPass(int b) {
+            copyAccepted(b, result);
+        }
+
+        private void copyAccepted(int b, long[] r) {
+            final long[] a = array; final long[] bs = bits;
+            int k = counts[b];
+            for (int w = blockLo(b) >>> 6, h = (blockHi(b) + 63) >>> 6; w < h; ++w) {
+                for (long m = bs[w]; m != 0L; m &= m - 1L)
+                    r[k++] = a[(w << 6) + Long.numberOfTrailingZeros(m)];
+            }
+        }
+    }
+
+    static final class DoubleExclusiveScan extends BlockedScan {
+        final double[] array;
+        final DoubleBinaryOperator function;
+        final double identity;
+        final double[] sums; // block sums, then carries
+        double total;
+
+        DoubleExclusiveScan(double[] array, double identity, DoubleBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.identity = identity;
+            this.function = function;
+            this.sums = new double[blocks];
+        }
+
+        void firstPass(int b) {
+            final double[] a = array; final DoubleBinaryOperator fn = function;
+            double sum = identity;
+            if (b == 0) {
+                for (int i = 0, h = blockHi(0); i < h; ++i) {
+                    double x = a[i];
+                    a[i] = sum;
+                    sum = fn.applyAsDouble(sum, x);
+                }
+            }
+            else {
+                for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                    sum = fn.applyAsDouble(sum, a[i]);
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            double sum = identity;
+            for (int b = 0; b < blocks; ++b) {
+                double s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsDouble(sum, s);
+            }
+            total = sum;
+        }
+
+        void secondPass(int b) {
+            final double[] a = array; final DoubleBinaryOperator fn = function;
+            double sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                double x = a[i];
+                a[i] = sum;
+                sum = fn.applyAsDouble(sum, x);
+            }
+        }
+    }
+
+    static final class DoubleSegmentedScan extends BlockedScan {
+        final double[] array;
+        final boolean[] heads;
+        final DoubleBinaryOperator function;
+        final double[] sums;      // sums since the last head, then carries
+        final boolean[] open;  // whether a block has no head
+
+        DoubleSegmentedScan(double[] array, boolean[] heads, DoubleBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.heads = heads;
+            this.function = function;
+            this.sums = new double[blocks];
+            this.open = new boolean[blocks];
+        }
+
+        void firstPass(int b) {
+            final double[] a = array; final boolean[] hd = heads;
+            final DoubleBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            boolean headed = hd[l];
+            double sum = a[l];
+            for (int i = l + 1; i < h; ++i) {
+                if (hd[i]) {
+                    headed = true;
+                    sum = a[i];
+                }
+                else {
+                    sum = fn.applyAsDouble(sum, a[i]);
+                }
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+            open[b] = !headed;
+        }
+
+        void combine() {
+            double sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                double s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0 || !open[b]) ? s : function.applyAsDouble(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final double[] a = array; final boolean[] hd = heads;
+            final DoubleBinaryOperator fn = function;
+            double sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = hd[i] ? a[i] : fn.applyAsDouble(sum, a[i]);
+        }
+    }
+
+    static final class DoubleMapScan extends BlockedScan {
+        final double[] array;
+        final DoubleUnaryOperator mapper;
+        final DoubleBinaryOperator function;
+        final double[] sums; // block sums, then carries
+
+        DoubleMapScan(double[] array, DoubleUnaryOperator mapper, DoubleBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.mapper = mapper;
+            this.function = function;
+            this.sums = new double[blocks];
+        }
+
+        void firstPass(int b) {
+            final double[] a = array; final DoubleUnaryOperator mp = mapper;
+            final DoubleBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            double sum = a[l] = mp.applyAsDouble(a[l]);
+            for (int i = l + 1; i < h; ++i) {
+                double x = a[i] = mp.applyAsDouble(a[i]);
+                sum = fn.applyAsDouble(sum, x);
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            double sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                double s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsDouble(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final double[] a = array; final DoubleBinaryOperator fn = function;
+            double sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = fn.applyAsDouble(sum, a[i]);
+        }
+    }
+
+    static final class DoubleFilter extends BlockedScan {
+        final double[] array;
+        final DoublePredicate predicate;
+        final long[] bits;  // bitmap of the accepted elements
+        final int[] counts; // numbers of accepted elements, then offsets
+        double[] result;
+
+        DoubleFilter(double[] array, DoublePredicate predicate) {
+            super(array.length);
+            this.array = array; this.predicate = predicate;
+            this.bits = new long[(array.length + 63) >>> 6];
+            this.counts = new int[blocks];
+        }
+
+        void firstPass(int b) {
+            final double[] a = array; final DoublePredicate pr = predicate;
+            final long[] bs = bits;
+            int count = 0;
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                if (pr.test(a[i])) {
+                    bs[i >>> 6] |= 1L << i;
+                    ++count;
+                }
+            }
+            counts[b] = count;
+        }
+
+        void combine() {
+            int sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                int c = counts[b];
+                counts[b] = sum;
+                sum += c;
+            }
+            double[] r = result = new double[sum];
+            if (blocks > 0)
+                copyAccepted(0, r);
+        }
+
+        void secondPass(int b) {
+            copyAccepted(b, result);
+        }
+
+        private void copyAccepted(int b, double[] r) {
+            final double[] a = array; final long[] bs = bits;
+            int k = counts[b];
+            for (int w = blockLo(b) >>> 6, h = (blockHi(b) + 63) >>> 6; w < h; ++w) {
+                for (long m = bs[w]; m != 0L; m &= m - 1L)
+                    r[k++] = a[(w << 6) + Long.numberOfTrailingZeros(m)];
+            }
+        }
+    }
+
+    static final class IntExclusiveScan extends BlockedScan {
+        final int[] array;
+        final IntBinaryOperator function;
+        final int identity;
+        final int[] sums; // block sums, then carries
+        int total;
+
+        IntExclusiveScan(int[] array, int identity, IntBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.identity = identity;
+            this.function = function;
+            this.sums = new int[blocks];
+        }
+
+        void firstPass(int b) {
+            final int[] a = array; final IntBinaryOperator fn = function;
+            int sum = identity;
+            if (b == 0) {
+                for (int i = 0, h = blockHi(0); i < h; ++i) {
+                    int x = a[i];
+                    a[i] = sum;
+                    sum = fn.applyAsInt(sum, x);
+                }
+            }
+            else {
+                for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                    sum = fn.applyAsInt(sum, a[i]);
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            int sum = identity;
+            for (int b = 0; b < blocks; ++b) {
+                int s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsInt(sum, s);
+            }
+            total = sum;
+        }
+
+        void secondPass(int b) {
+            final int[] a = array; final IntBinaryOperator fn = function;
+            int sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                int x = a[i];
+                a[i] = sum;
+                sum = fn.applyAsInt(sum, x);
+            }
+        }
+    }
+
+    static final class IntSegmentedScan extends BlockedScan {
+        final int[] array;
+        final boolean[] heads;
+        final IntBinaryOperator function;
+        final int[] sums;      // sums since the last head, then carries
+        final boolean[] open;  // whether a block has no head
+
+        IntSegmentedScan(int[] array, boolean[] heads, IntBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.heads = heads;
+            this.function = function;
+            this.sums = new int[blocks];
+            this.open = new boolean[blocks];
+        }
+
+        void firstPass(int b) {
+            final int[] a = array; final boolean[] hd = heads;
+            final IntBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            boolean headed = hd[l];
+            int sum = a[l];
+            for (int i = l + 1; i < h; ++i) {
+                if (hd[i]) {
+                    headed = true;
+                    sum = a[i];
+                }
+                else {
+                    sum = fn.applyAsInt(sum, a[i]);
+                }
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+            open[b] = !headed;
+        }
+
+        void combine() {
+            int sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                int s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0 || !open[b]) ? s : function.applyAsInt(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final int[] a = array; final boolean[] hd = heads;
+            final IntBinaryOperator fn = function;
+            int sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = hd[i] ? a[i] : fn.applyAsInt(sum, a[i]);
+        }
+    }
+
+    static final class IntMapScan extends BlockedScan {
+        final int[] array;
+        final IntUnaryOperator mapper;
+        final IntBinaryOperator function;
+        final int[] sums; // block sums, then carries
+
+        IntMapScan(int[] array, IntUnaryOperator mapper, IntBinaryOperator function) {
+            super(array.length);
+            this.array = array; this.mapper = mapper;
+            this.function = function;
+            this.sums = new int[blocks];
+        }
+
+        void firstPass(int b) {
+            final int[] a = array; final IntUnaryOperator mp = mapper;
+            final IntBinaryOperator fn = function;
+            int l = blockLo(b), h = blockHi(b);
+            int sum = a[l] = mp.applyAsInt(a[l]);
+            for (int i = l + 1; i < h; ++i) {
+                int x = a[i] = mp.applyAsInt(a[i]);
+                sum = fn.applyAsInt(sum, x);
+                if (b == 0)
+                    a[i] = sum;
+            }
+            sums[b] = sum;
+        }
+
+        void combine() {
+            int sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                int s = sums[b];
+                sums[b] = sum;
+                sum = (b == 0) ? s : function.applyAsInt(sum, s);
+            }
+        }
+
+        void secondPass(int b) {
+            final int[] a = array; final IntBinaryOperator fn = function;
+            int sum = sums[b];
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i)
+                a[i] = sum = fn.applyAsInt(sum, a[i]);
+        }
+    }
+
+    static final class IntFilter extends BlockedScan {
+        final int[] array;
+        final IntPredicate predicate;
+        final long[] bits;  // bitmap of the accepted elements
+        final int[] counts; // numbers of accepted elements, then offsets
+        int[] result;
+
+        IntFilter(int[] array, IntPredicate predicate) {
+            super(array.length);
+            this.array = array; this.predicate = predicate;
+            this.bits = new long[(array.length + 63) >>> 6];
+            this.counts = new int[blocks];
+        }
+
+        void firstPass(int b) {
+            final int[] a = array; final IntPredicate pr = predicate;
+            final long[] bs = bits;
+            int count = 0;
+            for (int i = blockLo(b), h = blockHi(b); i < h; ++i) {
+                if (pr.test(a[i])) {
+                    bs[i >>> 6] |= 1L << i;
+                    ++count;
+                }
+            }
+            counts[b] = count;
+        }
+
+        void combine() {
+            int sum = 0;
+            for (int b = 0; b < blocks; ++b) {
+                int c = counts[b];
+                counts[b] = sum;
+                sum += c;
+            }
+            int[] r = result = new int[sum];
+            if (blocks > 0)
+                copyAccepted(0, r);
+        }
+
+        void secondPass(int b) {
+            copyAccepted(b, result);
+        }
+
+        private void copyAccepted(int b, int[] r) {
+            final int[] a = array; final long[] bs = bits;
+            int k = counts[b];
+            for (int w = blockLo(b) >>> 6, h = (blockHi(b) + 63) >>> 6; w < h; ++w) {
+                for (long m = bs[w]; m != 0L; m &= m - 1L)
+                    r[k++] = a[(w << 6) + Long.numberOfTrailingZeros(m)];
+            }
+        }
+    }
 }
@@ -30,12 +30,20 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
 import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -78,6 +86,15 @@ public class Arrays {
      */
     private static final int MIN_ARRAY_SORT_GRAN = 1 << 13;
 
+    /**
+     * The minimum array length at which the parallel sorting of int,
+     * long, float and double arrays uses a parallel radix sort rather
+     * than a parallel sort-merge.  Below it, the merge sort, which
+     * benefits from partially ordered input, is typically as fast, and
+     * needs no histograms.
+     */
+    private static final int PARALLEL_RADIX_SORT_THRESHOLD = 1 << 22;
+
     // Suppresses default constructor, ensuring non-instantiability.
     private Arrays() {}
 
@@ -121,6 +138,18 @@ public class Arrays {
         }
     }
 
+    /**
+     * Checks that an array of keys and an array of values have the
+     * same length and throws an exception if they don't.
+     */
+    private static void lengthCheck(int keysLength, int valuesLength) {
+        if (keysLength != valuesLength) {
+            throw new IllegalArgumentException(
+                    "keys.length(" + keysLength + ") != values.length(" +
+                    valuesLength + ")");
+        }
+    }
+
     /*
      * Sorting methods. Note that all public "sort" methods take the
      * same form: Performing argument checks if necessary, and then
@@ -664,6 +693,9 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(int[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      *
@@ -674,6 +706,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, 0, n, p);
         else
             new ArraysParallelSortHelpers.FJInt.Sorter
                 (null, a, new int[n], 0, n, 0,
@@ -697,6 +731,9 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(int[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -714,6 +751,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, fromIndex, toIndex, p);
         else
             new ArraysParallelSortHelpers.FJInt.Sorter
                 (null, a, new int[n], fromIndex, n, 0,
@@ -734,6 +773,9 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(long[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      *
@@ -744,6 +786,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, 0, n, p);
         else
             new ArraysParallelSortHelpers.FJLong.Sorter
                 (null, a, new long[n], 0, n, 0,
@@ -767,6 +811,9 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(long[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -784,6 +831,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, fromIndex, toIndex, p);
         else
             new ArraysParallelSortHelpers.FJLong.Sorter
                 (null, a, new long[n], fromIndex, n, 0,
@@ -812,6 +861,9 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(float[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      *
@@ -822,6 +874,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, 0, n, p);
         else
             new ArraysParallelSortHelpers.FJFloat.Sorter
                 (null, a, new float[n], 0, n, 0,
@@ -853,6 +907,9 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(float[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -870,6 +927,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, fromIndex, toIndex, p);
         else
             new ArraysParallelSortHelpers.FJFloat.Sorter
                 (null, a, new float[n], fromIndex, n, 0,
@@ -898,6 +957,9 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(double[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      *
@@ -908,6 +970,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, 0, n, p);
         else
             new ArraysParallelSortHelpers.FJDouble.Sorter
                 (null, a, new double[n], 0, n, 0,
@@ -939,6 +1003,9 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays of at least a large implementation-specific length are
+     * instead sorted using {@link Arrays#parallelRadixSort(double[])
+     * Arrays.parallelRadixSort}.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -956,6 +1023,8 @@ public class Arrays {
         if (n <= MIN_ARRAY_SORT_GRAN ||
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
+        else if (n >= PARALLEL_RADIX_SORT_THRESHOLD)
+            RadixSort.parallelSort(a, fromIndex, toIndex, p);
         else
             new ArraysParallelSortHelpers.FJDouble.Sorter
                 (null, a, new double[n], fromIndex, n, 0,
@@ -963,260 +1032,1313 @@ public class Arrays {
                  MIN_ARRAY_SORT_GRAN : g).invoke();
     }
 
+    /*
+     * Radix sorting methods.  Like the parallel sorting methods, these
+     * perform argument checks and then expand arguments into those
+     * required by the package-private class RadixSort.
+     */
+
     /**
-     * Sorts the specified array of objects into ascending order, according
-     * to the {@linkplain Comparable natural ordering} of its elements.
-     * All elements in the array must implement the {@link Comparable}
-     * interface.  Furthermore, all elements in the array must be
-     * <i>mutually comparable</i> (that is, {@code e1.compareTo(e2)} must
-     * not throw a {@code ClassCastException} for any elements {@code e1}
-     * and {@code e2} in the array).
-     *
-     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
-     * not be reordered as a result of the sort.
+     * Sorts the specified array into ascending numerical order.
      *
-     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
-     * array into sub-arrays that are themselves sorted and then merged. When
-     * the sub-array length reaches a minimum granularity, the sub-array is
-     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
-     * method. If the length of the specified array is less than the minimum
-     * granularity, then it is sorted using the appropriate {@link
-     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a
-     * working space no greater than the size of the original array. The
-     * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
-     * execute any parallel tasks.
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 32-bit
+     * representation, in at most four linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(int[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the array.
+     * If the length of the specified array is less than a minimum granularity,
+     * then it is sorted using the appropriate {@link Arrays#sort(int[])
+     * Arrays.sort} method.
      *
-     * @param <T> the class of the objects to be sorted
      * @param a the array to be sorted
      *
-     * @throws ClassCastException if the array contains elements that are not
-     *         <i>mutually comparable</i> (for example, strings and integers)
-     * @throws IllegalArgumentException (optional) if the natural
-     *         ordering of the array elements is found to violate the
-     *         {@link Comparable} contract
-     *
-     * @since 1.8
+     * @since 1.9
      */
-    @SuppressWarnings("unchecked")
-    public static <T extends Comparable<? super T>> void parallelSort(T[] a) {
-        int n = a.length, p, g;
-        if (n <= MIN_ARRAY_SORT_GRAN ||
-            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
-            TimSort.sort(a, 0, n, NaturalOrder.INSTANCE, null, 0, 0);
-        else
-            new ArraysParallelSortHelpers.FJObject.Sorter<T>
-                (null, a,
-                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
-                 0, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g, NaturalOrder.INSTANCE).invoke();
+    public static void radixSort(int[] a) {
+        RadixSort.sort(a, 0, a.length);
     }
 
     /**
-     * Sorts the specified range of the specified array of objects into
-     * ascending order, according to the
-     * {@linkplain Comparable natural ordering} of its
-     * elements.  The range to be sorted extends from index
-     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive.
-     * (If {@code fromIndex==toIndex}, the range to be sorted is empty.)  All
-     * elements in this range must implement the {@link Comparable}
-     * interface.  Furthermore, all elements in this range must be <i>mutually
-     * comparable</i> (that is, {@code e1.compareTo(e2)} must not throw a
-     * {@code ClassCastException} for any elements {@code e1} and
-     * {@code e2} in the array).
-     *
-     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
-     * not be reordered as a result of the sort.
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
      *
-     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
-     * array into sub-arrays that are themselves sorted and then merged. When
-     * the sub-array length reaches a minimum granularity, the sub-array is
-     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
-     * method. If the length of the specified array is less than the minimum
-     * granularity, then it is sorted using the appropriate {@link
-     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a working
-     * space no greater than the size of the specified range of the original
-     * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
-     * used to execute any parallel tasks.
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 32-bit
+     * representation, in at most four linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(int[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the
+     * specified range of the array.  If the length of the range is less than a
+     * minimum granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(int[]) Arrays.sort} method.
      *
-     * @param <T> the class of the objects to be sorted
      * @param a the array to be sorted
-     * @param fromIndex the index of the first element (inclusive) to be
-     *        sorted
-     * @param toIndex the index of the last element (exclusive) to be sorted
-     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
-     *         (optional) if the natural ordering of the array elements is
-     *         found to violate the {@link Comparable} contract
-     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
-     *         {@code toIndex > a.length}
-     * @throws ClassCastException if the array contains elements that are
-     *         not <i>mutually comparable</i> (for example, strings and
-     *         integers).
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
      *
-     * @since 1.8
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
      */
-    @SuppressWarnings("unchecked")
-    public static <T extends Comparable<? super T>>
-    void parallelSort(T[] a, int fromIndex, int toIndex) {
+    public static void radixSort(int[] a, int fromIndex, int toIndex) {
         rangeCheck(a.length, fromIndex, toIndex);
-        int n = toIndex - fromIndex, p, g;
-        if (n <= MIN_ARRAY_SORT_GRAN ||
-            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
-            TimSort.sort(a, fromIndex, toIndex, NaturalOrder.INSTANCE, null, 0, 0);
-        else
-            new ArraysParallelSortHelpers.FJObject.Sorter<T>
-                (null, a,
-                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
-                 fromIndex, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g, NaturalOrder.INSTANCE).invoke();
+        RadixSort.sort(a, fromIndex, toIndex);
     }
 
     /**
-     * Sorts the specified array of objects according to the order induced by
-     * the specified comparator.  All elements in the array must be
-     * <i>mutually comparable</i> by the specified comparator (that is,
-     * {@code c.compare(e1, e2)} must not throw a {@code ClassCastException}
-     * for any elements {@code e1} and {@code e2} in the array).
-     *
-     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
-     * not be reordered as a result of the sort.
+     * Sorts the specified array into ascending numerical order.
      *
-     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
-     * array into sub-arrays that are themselves sorted and then merged. When
-     * the sub-array length reaches a minimum granularity, the sub-array is
-     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
-     * method. If the length of the specified array is less than the minimum
-     * granularity, then it is sorted using the appropriate {@link
-     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a
-     * working space no greater than the size of the original array. The
-     * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
-     * execute any parallel tasks.
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 32-bit representation of
+     * the elements, the array is split into chunks whose digit histograms
+     * are counted in parallel, after which each chunk distributes its
+     * elements into its own slots of the buckets, also in parallel.  If
+     * the length of the array is less than a minimum granularity, then
+     * it is sorted using the appropriate {@link Arrays#radixSort(int[])
+     * Arrays.radixSort} method.  The algorithm requires a working space of
+     * the size of the original array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
      *
-     * @param <T> the class of the objects to be sorted
      * @param a the array to be sorted
-     * @param cmp the comparator to determine the order of the array.  A
-     *        {@code null} value indicates that the elements'
-     *        {@linkplain Comparable natural ordering} should be used.
-     * @throws ClassCastException if the array contains elements that are
-     *         not <i>mutually comparable</i> using the specified comparator
-     * @throws IllegalArgumentException (optional) if the comparator is
-     *         found to violate the {@link java.util.Comparator} contract
      *
-     * @since 1.8
+     * @since 1.9
      */
-    @SuppressWarnings("unchecked")
-    public static <T> void parallelSort(T[] a, Comparator<? super T> cmp) {
-        if (cmp == null)
-            cmp = NaturalOrder.INSTANCE;
-        int n = a.length, p, g;
-        if (n <= MIN_ARRAY_SORT_GRAN ||
-            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
-            TimSort.sort(a, 0, n, cmp, null, 0, 0);
-        else
-            new ArraysParallelSortHelpers.FJObject.Sorter<T>
-                (null, a,
-                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
-                 0, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g, cmp).invoke();
+    public static void parallelRadixSort(int[] a) {
+        RadixSort.parallelSort(a, 0, a.length,
+                               ForkJoinPool.getCommonPoolParallelism());
     }
 
     /**
-     * Sorts the specified range of the specified array of objects according
-     * to the order induced by the specified comparator.  The range to be
-     * sorted extends from index {@code fromIndex}, inclusive, to index
-     * {@code toIndex}, exclusive.  (If {@code fromIndex==toIndex}, the
-     * range to be sorted is empty.)  All elements in the range must be
-     * <i>mutually comparable</i> by the specified comparator (that is,
-     * {@code c.compare(e1, e2)} must not throw a {@code ClassCastException}
-     * for any elements {@code e1} and {@code e2} in the range).
-     *
-     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
-     * not be reordered as a result of the sort.
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
      *
-     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
-     * array into sub-arrays that are themselves sorted and then merged. When
-     * the sub-array length reaches a minimum granularity, the sub-array is
-     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
-     * method. If the length of the specified array is less than the minimum
-     * granularity, then it is sorted using the appropriate {@link
-     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a working
-     * space no greater than the size of the specified range of the original
-     * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
-     * used to execute any parallel tasks.
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 32-bit representation of the
+     * elements, the array is split into chunks whose digit histograms are
+     * counted in parallel, after which each chunk distributes its elements into
+     * its own slots of the buckets, also in parallel.  If the length of the
+     * range is less than a minimum granularity, then it is sorted using the
+     * appropriate {@link Arrays#radixSort(int[]) Arrays.radixSort} method.  The
+     * algorithm requires a working space of the size of the specified range of
+     * the original array.  The {@link ForkJoinPool#commonPool() ForkJoin common
+     * pool} is used to execute any parallel tasks.
      *
-     * @param <T> the class of the objects to be sorted
      * @param a the array to be sorted
-     * @param fromIndex the index of the first element (inclusive) to be
-     *        sorted
-     * @param toIndex the index of the last element (exclusive) to be sorted
-     * @param cmp the comparator to determine the order of the array.  A
-     *        {@code null} value indicates that the elements'
-     *        {@linkplain Comparable natural ordering} should be used.
-     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
-     *         (optional) if the natural ordering of the array elements is
-     *         found to violate the {@link Comparable} contract
-     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
-     *         {@code toIndex > a.length}
-     * @throws ClassCastException if the array contains elements that are
-     *         not <i>mutually comparable</i> (for example, strings and
-     *         integers).
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
      *
-     * @since 1.8
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
      */
-    @SuppressWarnings("unchecked")
-    public static <T> void parallelSort(T[] a, int fromIndex, int toIndex,
-                                        Comparator<? super T> cmp) {
+    public static void parallelRadixSort(int[] a, int fromIndex, int toIndex) {
         rangeCheck(a.length, fromIndex, toIndex);
-        if (cmp == null)
-            cmp = NaturalOrder.INSTANCE;
-        int n = toIndex - fromIndex, p, g;
-        if (n <= MIN_ARRAY_SORT_GRAN ||
-            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
-            TimSort.sort(a, fromIndex, toIndex, cmp, null, 0, 0);
-        else
-            new ArraysParallelSortHelpers.FJObject.Sorter<T>
-                (null, a,
-                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
-                 fromIndex, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g, cmp).invoke();
+        RadixSort.parallelSort(a, fromIndex, toIndex,
+                               ForkJoinPool.getCommonPoolParallelism());
     }
 
-    /*
-     * Sorting of complex type arrays.
-     */
-
     /**
-     * Old merge sort implementation can be selected (for
-     * compatibility with broken comparators) using a system property.
-     * Cannot be a static boolean in the enclosing class due to
-     * circular dependencies. To be removed in a future release.
+     * Sorts the specified array into ascending numerical order.
+     *
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 64-bit
+     * representation, in at most eight linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(long[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the array.
+     * If the length of the specified array is less than a minimum granularity,
+     * then it is sorted using the appropriate {@link Arrays#sort(long[])
+     * Arrays.sort} method.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
      */
-    static final class LegacyMergeSort {
-        private static final boolean userRequested =
-            java.security.AccessController.doPrivileged(
-                new sun.security.action.GetBooleanAction(
-                    "java.util.Arrays.useLegacyMergeSort")).booleanValue();
+    public static void radixSort(long[] a) {
+        RadixSort.sort(a, 0, a.length);
     }
 
     /**
-     * Sorts the specified array of objects into ascending order, according
-     * to the {@linkplain Comparable natural ordering} of its elements.
-     * All elements in the array must implement the {@link Comparable}
-     * interface.  Furthermore, all elements in the array must be
-     * <i>mutually comparable</i> (that is, {@code e1.compareTo(e2)} must
-     * not throw a {@code ClassCastException} for any elements {@code e1}
-     * and {@code e2} in the array).
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
      *
-     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
-     * not be reordered as a result of the sort.
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 64-bit
+     * representation, in at most eight linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(long[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the
+     * specified range of the array.  If the length of the range is less than a
+     * minimum granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(long[]) Arrays.sort} method.
      *
-     * <p>Implementation note: This implementation is a stable, adaptive,
-     * iterative mergesort that requires far fewer than n lg(n) comparisons
-     * when the input array is partially sorted, while offering the
-     * performance of a traditional mergesort when the input array is
-     * randomly ordered.  If the input array is nearly sorted, the
-     * implementation requires approximately n comparisons.  Temporary
-     * storage requirements vary from a small constant for nearly sorted
-     * input arrays to n/2 object references for randomly ordered input
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void radixSort(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 64-bit representation of
+     * the elements, the array is split into chunks whose digit histograms
+     * are counted in parallel, after which each chunk distributes its
+     * elements into its own slots of the buckets, also in parallel.  If
+     * the length of the array is less than a minimum granularity, then
+     * it is sorted using the appropriate {@link Arrays#radixSort(long[])
+     * Arrays.radixSort} method.  The algorithm requires a working space of
+     * the size of the original array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(long[] a) {
+        RadixSort.parallelSort(a, 0, a.length,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 64-bit representation of the
+     * elements, the array is split into chunks whose digit histograms are
+     * counted in parallel, after which each chunk distributes its elements into
+     * its own slots of the buckets, also in parallel.  If the length of the
+     * range is less than a minimum granularity, then it is sorted using the
+     * appropriate {@link Arrays#radixSort(long[]) Arrays.radixSort} method.
+     * The algorithm requires a working space of the size of the specified range
+     * of the original array.  The {@link ForkJoinPool#commonPool() ForkJoin
+     * common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(long[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order.
+     *
+     * <p>The {@code <} relation does not provide a total order on all float
+     * values: {@code -0.0f == 0.0f} is {@code true} and a {@code Float.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Float#compareTo}: {@code -0.0f} is treated as less than value
+     * {@code 0.0f} and {@code Float.NaN} is considered greater than any
+     * other value and all {@code Float.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 32-bit
+     * representation, in at most four linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(float[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the array.
+     * If the length of the specified array is less than a minimum granularity,
+     * then it is sorted using the appropriate {@link Arrays#sort(float[])
+     * Arrays.sort} method.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
+     */
+    public static void radixSort(float[] a) {
+        RadixSort.sort(a, 0, a.length);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
+     *
+     * <p>The {@code <} relation does not provide a total order on all float
+     * values: {@code -0.0f == 0.0f} is {@code true} and a {@code Float.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Float#compareTo}: {@code -0.0f} is treated as less than value
+     * {@code 0.0f} and {@code Float.NaN} is considered greater than any
+     * other value and all {@code Float.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 32-bit
+     * representation, in at most four linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(float[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the
+     * specified range of the array.  If the length of the range is less than a
+     * minimum granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(float[]) Arrays.sort} method.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void radixSort(float[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order.
+     *
+     * <p>The {@code <} relation does not provide a total order on all float
+     * values: {@code -0.0f == 0.0f} is {@code true} and a {@code Float.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Float#compareTo}: {@code -0.0f} is treated as less than value
+     * {@code 0.0f} and {@code Float.NaN} is considered greater than any
+     * other value and all {@code Float.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 32-bit representation of
+     * the elements, the array is split into chunks whose digit histograms
+     * are counted in parallel, after which each chunk distributes its
+     * elements into its own slots of the buckets, also in parallel.  If
+     * the length of the array is less than a minimum granularity, then
+     * it is sorted using the appropriate {@link Arrays#radixSort(float[])
+     * Arrays.radixSort} method.  The algorithm requires a working space of
+     * the size of the original array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(float[] a) {
+        RadixSort.parallelSort(a, 0, a.length,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
+     *
+     * <p>The {@code <} relation does not provide a total order on all float
+     * values: {@code -0.0f == 0.0f} is {@code true} and a {@code Float.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Float#compareTo}: {@code -0.0f} is treated as less than value
+     * {@code 0.0f} and {@code Float.NaN} is considered greater than any
+     * other value and all {@code Float.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 32-bit representation of the
+     * elements, the array is split into chunks whose digit histograms are
+     * counted in parallel, after which each chunk distributes its elements into
+     * its own slots of the buckets, also in parallel.  If the length of the
+     * range is less than a minimum granularity, then it is sorted using the
+     * appropriate {@link Arrays#radixSort(float[]) Arrays.radixSort} method.
+     * The algorithm requires a working space of the size of the specified range
+     * of the original array.  The {@link ForkJoinPool#commonPool() ForkJoin
+     * common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(float[] a, int fromIndex,
+                                         int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 64-bit
+     * representation, in at most eight linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(double[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the array.
+     * If the length of the specified array is less than a minimum granularity,
+     * then it is sorted using the appropriate {@link Arrays#sort(double[])
+     * Arrays.sort} method.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
+     */
+    public static void radixSort(double[] a) {
+        RadixSort.sort(a, 0, a.length);
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a least significant digit radix sort,
+     * which distributes the elements on successive 8-bit digits of their 64-bit
+     * representation, in at most eight linear passes.  Passes on which all
+     * elements share the same digit are skipped.  Its running time does not
+     * depend on the order of the input, and it is typically faster than {@link
+     * Arrays#sort(double[]) Arrays.sort} on large arrays of widely distributed
+     * values.  The algorithm requires a working space of the size of the
+     * specified range of the array.  If the length of the range is less than a
+     * minimum granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(double[]) Arrays.sort} method.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void radixSort(double[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.sort(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts the specified array into ascending numerical order.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 64-bit representation of
+     * the elements, the array is split into chunks whose digit histograms
+     * are counted in parallel, after which each chunk distributes its
+     * elements into its own slots of the buckets, also in parallel.  If
+     * the length of the array is less than a minimum granularity, then
+     * it is sorted using the appropriate {@link Arrays#radixSort(double[])
+     * Arrays.radixSort} method.  The algorithm requires a working space of
+     * the size of the original array.  The {@link ForkJoinPool#commonPool()
+     * ForkJoin common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(double[] a) {
+        RadixSort.parallelSort(a, 0, a.length,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Sorts the specified range of the array into ascending numerical order.
+     * The range to be sorted extends from the index {@code fromIndex},
+     * inclusive, to the index {@code toIndex}, exclusive. If
+     * {@code fromIndex == toIndex}, the range to be sorted is empty.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The sorting algorithm is a parallel least significant digit
+     * radix sort.  For each 8-bit digit of the 64-bit representation of the
+     * elements, the array is split into chunks whose digit histograms are
+     * counted in parallel, after which each chunk distributes its elements into
+     * its own slots of the buckets, also in parallel.  If the length of the
+     * range is less than a minimum granularity, then it is sorted using the
+     * appropriate {@link Arrays#radixSort(double[]) Arrays.radixSort} method.
+     * The algorithm requires a working space of the size of the specified range
+     * of the original array.  The {@link ForkJoinPool#commonPool() ForkJoin
+     * common pool} is used to execute any parallel tasks.
+     *
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element, inclusive, to be sorted
+     * @param toIndex the index of the last element, exclusive, to be sorted
+     *
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+     * @throws ArrayIndexOutOfBoundsException
+     *     if {@code fromIndex < 0} or {@code toIndex > a.length}
+     *
+     * @since 1.9
+     */
+    public static void parallelRadixSort(double[] a, int fromIndex,
+                                         int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        RadixSort.parallelSort(a, fromIndex, toIndex,
+                               ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /*
+     * Indirect and key-extracting sorting methods.  These sort primitive
+     * keys together with a permutation, using the package-private class
+     * IndirectSort, and are all stable.
+     */
+
+    /**
+     * Sorts the specified array of indices into the ascending numerical
+     * order of the keys at those indices, such that
+     * {@code keys[indices[i]]} is not greater than
+     * {@code keys[indices[i + 1]]}.  The keys are not modified.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  indices of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @apiNote
+     * Sorting the indices {@code 0} to {@code keys.length - 1} yields the
+     * permutation that sorts the keys, which can then be applied to any
+     * number of companion arrays without sorting them again:
+     * <pre>{@code
+     *     int[] order = IntStream.range(0, scores.length).toArray();
+     *     Arrays.sortIndirect(order, scores);
+     *     long[] idsByScore = Arrays.stream(order).mapToLong(i -> ids[i]).toArray();
+     * }</pre>
+     *
+     * @implNote The keys are gathered once into a temporary array, which is
+     * then sorted together with the indices by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays of indices and keys.
+     *
+     * @param indices the indices to be sorted
+     * @param keys the keys by which the indices are sorted
+     * @throws ArrayIndexOutOfBoundsException if an index is not a valid
+     *         index of the array of keys
+     *
+     * @since 1.9
+     */
+    public static void sortIndirect(int[] indices, int[] keys) {
+        Objects.requireNonNull(keys);
+        IndirectSort.sortIndices(indices, keys);
+    }
+
+    /**
+     * Sorts the specified array of indices into the ascending numerical
+     * order of the keys at those indices, such that
+     * {@code keys[indices[i]]} is not greater than
+     * {@code keys[indices[i + 1]]}.  The keys are not modified.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  indices of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @apiNote
+     * Sorting the indices {@code 0} to {@code keys.length - 1} yields the
+     * permutation that sorts the keys, which can then be applied to any
+     * number of companion arrays without sorting them again:
+     * <pre>{@code
+     *     int[] order = IntStream.range(0, scores.length).toArray();
+     *     Arrays.sortIndirect(order, scores);
+     *     long[] idsByScore = Arrays.stream(order).mapToLong(i -> ids[i]).toArray();
+     * }</pre>
+     *
+     * @implNote The keys are gathered once into a temporary array, which is
+     * then sorted together with the indices by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays of indices and keys.
+     *
+     * @param indices the indices to be sorted
+     * @param keys the keys by which the indices are sorted
+     * @throws ArrayIndexOutOfBoundsException if an index is not a valid
+     *         index of the array of keys
+     *
+     * @since 1.9
+     */
+    public static void sortIndirect(int[] indices, long[] keys) {
+        Objects.requireNonNull(keys);
+        IndirectSort.sortIndices(indices, keys);
+    }
+
+    /**
+     * Sorts the specified array of indices into the ascending numerical
+     * order of the keys at those indices, such that
+     * {@code keys[indices[i]]} is not greater than
+     * {@code keys[indices[i + 1]]}.  The keys are not modified.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  indices of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @apiNote
+     * Sorting the indices {@code 0} to {@code keys.length - 1} yields the
+     * permutation that sorts the keys, which can then be applied to any
+     * number of companion arrays without sorting them again:
+     * <pre>{@code
+     *     int[] order = IntStream.range(0, scores.length).toArray();
+     *     Arrays.sortIndirect(order, scores);
+     *     long[] idsByScore = Arrays.stream(order).mapToLong(i -> ids[i]).toArray();
+     * }</pre>
+     *
+     * @implNote The keys are gathered once into a temporary array, which is
+     * then sorted together with the indices by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays of indices and keys.
+     *
+     * @param indices the indices to be sorted
+     * @param keys the keys by which the indices are sorted
+     * @throws ArrayIndexOutOfBoundsException if an index is not a valid
+     *         index of the array of keys
+     *
+     * @since 1.9
+     */
+    public static void sortIndirect(int[] indices, double[] keys) {
+        Objects.requireNonNull(keys);
+        IndirectSort.sortIndices(indices, keys);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(int[] keys, int[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(int[] keys, long[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(int[] keys, double[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param <T> the class of the values
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByKey(int[] keys, T[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(long[] keys, int[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(long[] keys, long[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(long[] keys, double[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param <T> the class of the values
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByKey(long[] keys, T[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(double[] keys, int[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(double[] keys, long[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static void sortByKey(double[] keys, double[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * reorders the specified array of values in the same way, such that
+     * each value remains at the same index as its key.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  values of equal keys
+     * will not be reordered as a result of the sort.
+     *
+     * <p>The {@code <} relation does not provide a total order on all double
+     * values: {@code -0.0d == 0.0d} is {@code true} and a {@code Double.NaN}
+     * value compares neither less than, greater than, nor equal to any value,
+     * even itself. This method uses the total order imposed by the method
+     * {@link Double#compareTo}: {@code -0.0d} is treated as less than value
+     * {@code 0.0d} and {@code Double.NaN} is considered greater than any
+     * other value and all {@code Double.NaN} values are considered equal.
+     *
+     * @implNote The keys are sorted together with a permutation by a merge
+     * sort of primitive values, which is then applied to the values.  The
+     * algorithm requires a working space of twice the size of the specified
+     * arrays.
+     *
+     * @param <T> the class of the values
+     * @param keys the keys to be sorted
+     * @param values the values to be reordered with the keys
+     * @throws IllegalArgumentException if the arrays have different lengths
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByKey(double[] keys, T[] values) {
+        lengthCheck(keys.length, values.length);
+        IndirectSort.permute(values, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of objects into the ascending numerical
+     * order of the {@code int} keys extracted from them by the specified
+     * function.  The function is applied exactly once to each element.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are extracted into a temporary array, which is
+     * sorted together with a permutation by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * permutation is then applied to the array of objects.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified array or key extractor
+     *         is null
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByIntKey(T[] a, ToIntFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        int n = a.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = keyExtractor.applyAsInt(a[i]);
+        IndirectSort.permute(a, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of objects into the ascending numerical
+     * order of the {@code long} keys extracted from them by the specified
+     * function.  The function is applied exactly once to each element.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * @implNote The keys are extracted into a temporary array, which is
+     * sorted together with a permutation by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * permutation is then applied to the array of objects.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified array or key extractor
+     *         is null
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByLongKey(T[] a, ToLongFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        int n = a.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = keyExtractor.applyAsLong(a[i]);
+        IndirectSort.permute(a, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of objects into the ascending numerical
+     * order of the {@code double} keys extracted from them by the specified
+     * function.  The function is applied exactly once to each element.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * <p>The keys are ordered by the total order imposed by the method
+     * {@link Double#compareTo}.
+     *
+     * @implNote The keys are extracted into a temporary array, which is
+     * sorted together with a permutation by a merge sort of primitive
+     * values, so that no key is boxed and no comparator is invoked.  The
+     * permutation is then applied to the array of objects.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified array or key extractor
+     *         is null
+     *
+     * @since 1.9
+     */
+    public static <T> void sortByDoubleKey(T[] a, ToDoubleFunction<? super T> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        int n = a.length;
+        double[] keys = new double[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = keyExtractor.applyAsDouble(a[i]);
+        IndirectSort.permute(a, IndirectSort.sortWithPermutation(keys));
+    }
+
+    /**
+     * Sorts the specified array of objects into ascending order, according
+     * to the {@linkplain Comparable natural ordering} of its elements.
+     * All elements in the array must implement the {@link Comparable}
+     * interface.  Furthermore, all elements in the array must be
+     * <i>mutually comparable</i> (that is, {@code e1.compareTo(e2)} must
+     * not throw a {@code ClassCastException} for any elements {@code e1}
+     * and {@code e2} in the array).
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
+     * array into sub-arrays that are themselves sorted and then merged. When
+     * the sub-array length reaches a minimum granularity, the sub-array is
+     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
+     * method. If the length of the specified array is less than the minimum
+     * granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a
+     * working space no greater than the size of the original array. The
+     * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
+     * execute any parallel tasks.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     *
+     * @throws ClassCastException if the array contains elements that are not
+     *         <i>mutually comparable</i> (for example, strings and integers)
+     * @throws IllegalArgumentException (optional) if the natural
+     *         ordering of the array elements is found to violate the
+     *         {@link Comparable} contract
+     *
+     * @since 1.8
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> void parallelSort(T[] a) {
+        int n = a.length, p, g;
+        if (n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
+            TimSort.sort(a, 0, n, NaturalOrder.INSTANCE, null, 0, 0);
+        else
+            new ArraysParallelSortHelpers.FJObject.Sorter<T>
+                (null, a,
+                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
+                 0, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g, NaturalOrder.INSTANCE).invoke();
+    }
+
+    /**
+     * Sorts the specified range of the specified array of objects into
+     * ascending order, according to the
+     * {@linkplain Comparable natural ordering} of its
+     * elements.  The range to be sorted extends from index
+     * {@code fromIndex}, inclusive, to index {@code toIndex}, exclusive.
+     * (If {@code fromIndex==toIndex}, the range to be sorted is empty.)  All
+     * elements in this range must implement the {@link Comparable}
+     * interface.  Furthermore, all elements in this range must be <i>mutually
+     * comparable</i> (that is, {@code e1.compareTo(e2)} must not throw a
+     * {@code ClassCastException} for any elements {@code e1} and
+     * {@code e2} in the array).
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
+     * array into sub-arrays that are themselves sorted and then merged. When
+     * the sub-array length reaches a minimum granularity, the sub-array is
+     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
+     * method. If the length of the specified array is less than the minimum
+     * granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a working
+     * space no greater than the size of the specified range of the original
+     * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
+     * used to execute any parallel tasks.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
+     *         (optional) if the natural ordering of the array elements is
+     *         found to violate the {@link Comparable} contract
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @throws ClassCastException if the array contains elements that are
+     *         not <i>mutually comparable</i> (for example, strings and
+     *         integers).
+     *
+     * @since 1.8
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>>
+    void parallelSort(T[] a, int fromIndex, int toIndex) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex, p, g;
+        if (n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
+            TimSort.sort(a, fromIndex, toIndex, NaturalOrder.INSTANCE, null, 0, 0);
+        else
+            new ArraysParallelSortHelpers.FJObject.Sorter<T>
+                (null, a,
+                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
+                 fromIndex, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g, NaturalOrder.INSTANCE).invoke();
+    }
+
+    /**
+     * Sorts the specified array of objects according to the order induced by
+     * the specified comparator.  All elements in the array must be
+     * <i>mutually comparable</i> by the specified comparator (that is,
+     * {@code c.compare(e1, e2)} must not throw a {@code ClassCastException}
+     * for any elements {@code e1} and {@code e2} in the array).
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
+     * array into sub-arrays that are themselves sorted and then merged. When
+     * the sub-array length reaches a minimum granularity, the sub-array is
+     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
+     * method. If the length of the specified array is less than the minimum
+     * granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a
+     * working space no greater than the size of the original array. The
+     * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
+     * execute any parallel tasks.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param cmp the comparator to determine the order of the array.  A
+     *        {@code null} value indicates that the elements'
+     *        {@linkplain Comparable natural ordering} should be used.
+     * @throws ClassCastException if the array contains elements that are
+     *         not <i>mutually comparable</i> using the specified comparator
+     * @throws IllegalArgumentException (optional) if the comparator is
+     *         found to violate the {@link java.util.Comparator} contract
+     *
+     * @since 1.8
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void parallelSort(T[] a, Comparator<? super T> cmp) {
+        if (cmp == null)
+            cmp = NaturalOrder.INSTANCE;
+        int n = a.length, p, g;
+        if (n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
+            TimSort.sort(a, 0, n, cmp, null, 0, 0);
+        else
+            new ArraysParallelSortHelpers.FJObject.Sorter<T>
+                (null, a,
+                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
+                 0, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g, cmp).invoke();
+    }
+
+    /**
+     * Sorts the specified range of the specified array of objects according
+     * to the order induced by the specified comparator.  The range to be
+     * sorted extends from index {@code fromIndex}, inclusive, to index
+     * {@code toIndex}, exclusive.  (If {@code fromIndex==toIndex}, the
+     * range to be sorted is empty.)  All elements in the range must be
+     * <i>mutually comparable</i> by the specified comparator (that is,
+     * {@code c.compare(e1, e2)} must not throw a {@code ClassCastException}
+     * for any elements {@code e1} and {@code e2} in the range).
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * @implNote The sorting algorithm is a parallel sort-merge that breaks the
+     * array into sub-arrays that are themselves sorted and then merged. When
+     * the sub-array length reaches a minimum granularity, the sub-array is
+     * sorted using the appropriate {@link Arrays#sort(Object[]) Arrays.sort}
+     * method. If the length of the specified array is less than the minimum
+     * granularity, then it is sorted using the appropriate {@link
+     * Arrays#sort(Object[]) Arrays.sort} method. The algorithm requires a working
+     * space no greater than the size of the specified range of the original
+     * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
+     * used to execute any parallel tasks.
+     *
+     * @param <T> the class of the objects to be sorted
+     * @param a the array to be sorted
+     * @param fromIndex the index of the first element (inclusive) to be
+     *        sorted
+     * @param toIndex the index of the last element (exclusive) to be sorted
+     * @param cmp the comparator to determine the order of the array.  A
+     *        {@code null} value indicates that the elements'
+     *        {@linkplain Comparable natural ordering} should be used.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex} or
+     *         (optional) if the natural ordering of the array elements is
+     *         found to violate the {@link Comparable} contract
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}
+     * @throws ClassCastException if the array contains elements that are
+     *         not <i>mutually comparable</i> (for example, strings and
+     *         integers).
+     *
+     * @since 1.8
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void parallelSort(T[] a, int fromIndex, int toIndex,
+                                        Comparator<? super T> cmp) {
+        rangeCheck(a.length, fromIndex, toIndex);
+        if (cmp == null)
+            cmp = NaturalOrder.INSTANCE;
+        int n = toIndex - fromIndex, p, g;
+        if (n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
+            TimSort.sort(a, fromIndex, toIndex, cmp, null, 0, 0);
+        else
+            new ArraysParallelSortHelpers.FJObject.Sorter<T>
+                (null, a,
+                 (T[])Array.newInstance(a.getClass().getComponentType(), n),
+                 fromIndex, n, 0, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g, cmp).invoke();
+    }
+
+    /*
+     * Sorting of complex type arrays.
+     */
+
+    /**
+     * Old merge sort implementation can be selected (for
+     * compatibility with broken comparators) using a system property.
+     * Cannot be a static boolean in the enclosing class due to
+     * circular dependencies. To be removed in a future release.
+     */
+    static final class LegacyMergeSort {
+        private static final boolean userRequested =
+            java.security.AccessController.doPrivileged(
+                new sun.security.action.GetBooleanAction(
+                    "java.util.Arrays.useLegacyMergeSort")).booleanValue();
+    }
+
+    /**
+     * Sorts the specified array of objects into ascending order, according
+     * to the {@linkplain Comparable natural ordering} of its elements.
+     * All elements in the array must implement the {@link Comparable}
+     * interface.  Furthermore, all elements in the array must be
+     * <i>mutually comparable</i> (that is, {@code e1.compareTo(e2)} must
+     * not throw a {@code ClassCastException} for any elements {@code e1}
+     * and {@code e2} in the array).
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  equal elements will
+     * not be reordered as a result of the sort.
+     *
+     * <p>Implementation note: This implementation is a stable, adaptive,
+     * iterative mergesort that requires far fewer than n lg(n) comparisons
+     * when the input array is partially sorted, while offering the
+     * performance of a traditional mergesort when the input array is
+     * randomly ordered.  If the input array is nearly sorted, the
+     * implementation requires approximately n comparisons.  Temporary
+     * storage requirements vary from a small constant for nearly sorted
+     * input arrays to n/2 object references for randomly ordered input
      * arrays.
      *
      * <p>The implementation takes equal advantage of ascending and
@@ -1758,6 +2880,360 @@ public class Arrays {
                     (null, op, array, fromIndex, toIndex).invoke();
     }
 
+    /**
+     * Performs, in parallel, an exclusive cumulation of the elements of the
+     * given array in place, using the supplied function and identity: each
+     * element is replaced by the cumulation of the identity and all
+     * elements that precede it.  For example if the array initially holds
+     * {@code [2, 1, 0, 3]}, the operation performs addition and the
+     * identity is {@code 0}, then upon return the array holds
+     * {@code [0, 2, 3, 3]} and the method returns {@code 6}.
+     * Exclusive prefix sums of counts give the offsets at which the
+     * elements counted are to be stored.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param identity the identity value for the function
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @return the cumulation of the identity and all elements of the array,
+     * or {@code identity} if the array is empty
+     * @throws NullPointerException if the specified array or function is null
+     * @since 1.9
+     */
+    public static long parallelExclusivePrefix(long[] array, long identity,
+                                              LongBinaryOperator op) {
+        Objects.requireNonNull(op);
+        ArrayPrefixHelpers.LongExclusiveScan scan =
+            new ArrayPrefixHelpers.LongExclusiveScan(array, identity, op);
+        scan.invoke();
+        return scan.total;
+    }
+
+    /**
+     * Cumulates, in parallel, each segment of the given array in place,
+     * using the supplied function.  A segment begins at index {@code 0} and
+     * at each index at which {@code segmentHeads} is {@code true}, and
+     * extends up to the beginning of the next segment.  The cumulation
+     * starts afresh with the first element of each segment.  For example if
+     * the array initially holds {@code [2, 1, 0, 3, 4]}, the segment heads
+     * are {@code [false, false, true, false, true]} and the operation
+     * performs addition, then upon return the array holds
+     * {@code [2, 3, 0, 3, 4]}.  Segmented prefix computation cumulates
+     * many groups of consecutive elements, such as the rows of a sorted
+     * column that share a key, with the parallelism of a single array.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param segmentHeads the flags of the elements that begin a segment
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified arrays or function are
+     * null
+     * @throws IllegalArgumentException if the arrays have different lengths
+     * @since 1.9
+     */
+    public static void parallelSegmentedPrefix(long[] array, boolean[] segmentHeads,
+                                               LongBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (array.length != segmentHeads.length)
+            throw new IllegalArgumentException(
+                    "array.length(" + array.length + ") != segmentHeads.length(" +
+                    segmentHeads.length + ")");
+        new ArrayPrefixHelpers.LongSegmentedScan(array, segmentHeads, op).invoke();
+    }
+
+    /**
+     * Replaces, in parallel, each element of the given array by the result
+     * of applying the supplied mapping function to it, and cumulates the
+     * results in place using the supplied function.  For example if the
+     * array initially holds {@code [2, 1, 0, 3]}, the mapping function
+     * squares its argument and the operation performs addition, then upon
+     * return the array holds {@code [4, 5, 5, 14]}.  This is equivalent to,
+     * but more efficient than, mapping each element in place followed by a
+     * call to {@link #parallelPrefix(long[], LongBinaryOperator) parallelPrefix}, since
+     * the mapped elements are not read and written again by a separate pass.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param mapper a side-effect-free function applied to each element
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified array or either
+     * function is null
+     * @since 1.9
+     */
+    public static void parallelPrefix(long[] array, LongUnaryOperator mapper,
+                                      LongBinaryOperator op) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(op);
+        new ArrayPrefixHelpers.LongMapScan(array, mapper, op).invoke();
+    }
+
+    /**
+     * Returns, computing it in parallel, a new array of the elements of the
+     * given array that match the given predicate, in the order in which
+     * they occur in the given array.  For example if the array holds
+     * {@code [2, 1, 0, 3]} and the predicate accepts odd values, then the
+     * method returns {@code [1, 3]}.
+     *
+     * <p>The predicate is applied exactly once to each element, and the
+     * matching elements are stored at offsets given by an exclusive prefix
+     * sum of their counts, which requires a working space of one bit per
+     * element.
+     *
+     * @param array the array to filter
+     * @param predicate a side-effect-free predicate to apply to each element
+     * @return a new array of the elements that match the predicate
+     * @throws NullPointerException if the specified array or predicate is
+     * null
+     * @since 1.9
+     */
+    public static long[] parallelFilter(long[] array, LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        ArrayPrefixHelpers.LongFilter filter =
+            new ArrayPrefixHelpers.LongFilter(array, predicate);
+        filter.invoke();
+        return filter.result;
+    }
+
+    /**
+     * Performs, in parallel, an exclusive cumulation of the elements of the
+     * given array in place, using the supplied function and identity: each
+     * element is replaced by the cumulation of the identity and all
+     * elements that precede it.  For example if the array initially holds
+     * {@code [2, 1, 0, 3]}, the operation performs addition and the
+     * identity is {@code 0}, then upon return the array holds
+     * {@code [0, 2, 3, 3]} and the method returns {@code 6}.
+     * Exclusive prefix sums of counts give the offsets at which the
+     * elements counted are to be stored.
+     *
+     * <p>Because floating-point operations may not be strictly associative,
+     * the returned result may not be identical to the value that would be
+     * obtained if the operation was performed sequentially.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param identity the identity value for the function
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @return the cumulation of the identity and all elements of the array,
+     * or {@code identity} if the array is empty
+     * @throws NullPointerException if the specified array or function is null
+     * @since 1.9
+     */
+    public static double parallelExclusivePrefix(double[] array, double identity,
+                                              DoubleBinaryOperator op) {
+        Objects.requireNonNull(op);
+        ArrayPrefixHelpers.DoubleExclusiveScan scan =
+            new ArrayPrefixHelpers.DoubleExclusiveScan(array, identity, op);
+        scan.invoke();
+        return scan.total;
+    }
+
+    /**
+     * Cumulates, in parallel, each segment of the given array in place,
+     * using the supplied function.  A segment begins at index {@code 0} and
+     * at each index at which {@code segmentHeads} is {@code true}, and
+     * extends up to the beginning of the next segment.  The cumulation
+     * starts afresh with the first element of each segment.  For example if
+     * the array initially holds {@code [2, 1, 0, 3, 4]}, the segment heads
+     * are {@code [false, false, true, false, true]} and the operation
+     * performs addition, then upon return the array holds
+     * {@code [2, 3, 0, 3, 4]}.  Segmented prefix computation cumulates
+     * many groups of consecutive elements, such as the rows of a sorted
+     * column that share a key, with the parallelism of a single array.
+     *
+     * <p>Because floating-point operations may not be strictly associative,
+     * the returned result may not be identical to the value that would be
+     * obtained if the operation was performed sequentially.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param segmentHeads the flags of the elements that begin a segment
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified arrays or function are
+     * null
+     * @throws IllegalArgumentException if the arrays have different lengths
+     * @since 1.9
+     */
+    public static void parallelSegmentedPrefix(double[] array, boolean[] segmentHeads,
+                                               DoubleBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (array.length != segmentHeads.length)
+            throw new IllegalArgumentException(
+                    "array.length(" + array.length + ") != segmentHeads.length(" +
+                    segmentHeads.length + ")");
+        new ArrayPrefixHelpers.DoubleSegmentedScan(array, segmentHeads, op).invoke();
+    }
+
+    /**
+     * Replaces, in parallel, each element of the given array by the result
+     * of applying the supplied mapping function to it, and cumulates the
+     * results in place using the supplied function.  For example if the
+     * array initially holds {@code [2, 1, 0, 3]}, the mapping function
+     * squares its argument and the operation performs addition, then upon
+     * return the array holds {@code [4, 5, 5, 14]}.  This is equivalent to,
+     * but more efficient than, mapping each element in place followed by a
+     * call to {@link #parallelPrefix(double[], DoubleBinaryOperator) parallelPrefix}, since
+     * the mapped elements are not read and written again by a separate pass.
+     *
+     * <p>Because floating-point operations may not be strictly associative,
+     * the returned result may not be identical to the value that would be
+     * obtained if the operation was performed sequentially.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param mapper a side-effect-free function applied to each element
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified array or either
+     * function is null
+     * @since 1.9
+     */
+    public static void parallelPrefix(double[] array, DoubleUnaryOperator mapper,
+                                      DoubleBinaryOperator op) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(op);
+        new ArrayPrefixHelpers.DoubleMapScan(array, mapper, op).invoke();
+    }
+
+    /**
+     * Returns, computing it in parallel, a new array of the elements of the
+     * given array that match the given predicate, in the order in which
+     * they occur in the given array.  For example if the array holds
+     * {@code [2, 1, 0, 3]} and the predicate accepts odd values, then the
+     * method returns {@code [1, 3]}.
+     *
+     * <p>The predicate is applied exactly once to each element, and the
+     * matching elements are stored at offsets given by an exclusive prefix
+     * sum of their counts, which requires a working space of one bit per
+     * element.
+     *
+     * @param array the array to filter
+     * @param predicate a side-effect-free predicate to apply to each element
+     * @return a new array of the elements that match the predicate
+     * @throws NullPointerException if the specified array or predicate is
+     * null
+     * @since 1.9
+     */
+    public static double[] parallelFilter(double[] array, DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+        ArrayPrefixHelpers.DoubleFilter filter =
+            new ArrayPrefixHelpers.DoubleFilter(array, predicate);
+        filter.invoke();
+        return filter.result;
+    }
+
+    /**
+     * Performs, in parallel, an exclusive cumulation of the elements of the
+     * given array in place, using the supplied function and identity: each
+     * element is replaced by the cumulation of the identity and all
+     * elements that precede it.  For example if the array initially holds
+     * {@code [2, 1, 0, 3]}, the operation performs addition and the
+     * identity is {@code 0}, then upon return the array holds
+     * {@code [0, 2, 3, 3]} and the method returns {@code 6}.
+     * Exclusive prefix sums of counts give the offsets at which the
+     * elements counted are to be stored.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param identity the identity value for the function
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @return the cumulation of the identity and all elements of the array,
+     * or {@code identity} if the array is empty
+     * @throws NullPointerException if the specified array or function is null
+     * @since 1.9
+     */
+    public static int parallelExclusivePrefix(int[] array, int identity,
+                                              IntBinaryOperator op) {
+        Objects.requireNonNull(op);
+        ArrayPrefixHelpers.IntExclusiveScan scan =
+            new ArrayPrefixHelpers.IntExclusiveScan(array, identity, op);
+        scan.invoke();
+        return scan.total;
+    }
+
+    /**
+     * Cumulates, in parallel, each segment of the given array in place,
+     * using the supplied function.  A segment begins at index {@code 0} and
+     * at each index at which {@code segmentHeads} is {@code true}, and
+     * extends up to the beginning of the next segment.  The cumulation
+     * starts afresh with the first element of each segment.  For example if
+     * the array initially holds {@code [2, 1, 0, 3, 4]}, the segment heads
+     * are {@code [false, false, true, false, true]} and the operation
+     * performs addition, then upon return the array holds
+     * {@code [2, 3, 0, 3, 4]}.  Segmented prefix computation cumulates
+     * many groups of consecutive elements, such as the rows of a sorted
+     * column that share a key, with the parallelism of a single array.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param segmentHeads the flags of the elements that begin a segment
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified arrays or function are
+     * null
+     * @throws IllegalArgumentException if the arrays have different lengths
+     * @since 1.9
+     */
+    public static void parallelSegmentedPrefix(int[] array, boolean[] segmentHeads,
+                                               IntBinaryOperator op) {
+        Objects.requireNonNull(op);
+        if (array.length != segmentHeads.length)
+            throw new IllegalArgumentException(
+                    "array.length(" + array.length + ") != segmentHeads.length(" +
+                    segmentHeads.length + ")");
+        new ArrayPrefixHelpers.IntSegmentedScan(array, segmentHeads, op).invoke();
+    }
+
+    /**
+     * Replaces, in parallel, each element of the given array by the result
+     * of applying the supplied mapping function to it, and cumulates the
+     * results in place using the supplied function.  For example if the
+     * array initially holds {@code [2, 1, 0, 3]}, the mapping function
+     * squares its argument and the operation performs addition, then upon
+     * return the array holds {@code [4, 5, 5, 14]}.  This is equivalent to,
+     * but more efficient than, mapping each element in place followed by a
+     * call to {@link #parallelPrefix(int[], IntBinaryOperator) parallelPrefix}, since
+     * the mapped elements are not read and written again by a separate pass.
+     *
+     * @param array the array, which is modified in-place by this method
+     * @param mapper a side-effect-free function applied to each element
+     * @param op a side-effect-free, associative function to perform the
+     * cumulation
+     * @throws NullPointerException if the specified array or either
+     * function is null
+     * @since 1.9
+     */
+    public static void parallelPrefix(int[] array, IntUnaryOperator mapper,
+                                      IntBinaryOperator op) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(op);
+        new ArrayPrefixHelpers.IntMapScan(array, mapper, op).invoke();
+    }
+
+    /**
+     * Returns, computing it in parallel, a new array of the elements of the
+     * given array that match the given predicate, in the order in which
+     * they occur in the given array.  For example if the array holds
+     * {@code [2, 1, 0, 3]} and the predicate accepts odd values, then the
+     * method returns {@code [1, 3]}.
+     *
+     * <p>The predicate is applied exactly once to each element, and the
+     * matching elements are stored at offsets given by an exclusive prefix
+     * sum of their counts, which requires a working space of one bit per
+     * element.
+     *
+     * @param array the array to filter
+     * @param predicate a side-effect-free predicate to apply to each element
+     * @return a new array of the elements that match the predicate
+     * @throws NullPointerException if the specified array or predicate is
+     * null
+     * @since 1.9
+     */
+    public static int[] parallelFilter(int[] array, IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        ArrayPrefixHelpers.IntFilter filter =
+            new ArrayPrefixHelpers.IntFilter(array, predicate);
+        filter.invoke();
+        return filter.result;
+    }
+
     // Searching
 
     /**
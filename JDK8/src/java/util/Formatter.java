@@ -2492,38 +2492,44 @@ public final class Formatter implements Closeable, Flushable {
      */
     public Formatter format(Locale l, String format, Object ... args) {
         ensureOpen();
+        return print(l, parse(format), args);
+    }
 
+    /**
+     * Writes the parsed format string to this object's destination using
+     * the specified locale and arguments.
+     */
+    private Formatter print(Locale l, FormatString[] fsa, Object ... args) {
         // index of last argument referenced
         int last = -1;
         // last ordinary index
         int lasto = -1;
 
-        FormatString[] fsa = parse(format);
         for (int i = 0; i < fsa.length; i++) {
             FormatString fs = fsa[i];
             int index = fs.index();
             try {
                 switch (index) {
                 case -2:  // fixed string, "%n", or "%%"
-                    fs.print(null, l);
+                    fs.print(this, null, l);
                     break;
                 case -1:  // relative index
                     if (last < 0 || (args != null && last > args.length - 1))
                         throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[last]), l);
+                    fs.print(this, (args == null ? null : args[last]), l);
                     break;
                 case 0:  // ordinary index
                     lasto++;
                     last = lasto;
                     if (args != null && lasto > args.length - 1)
                         throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[lasto]), l);
+                    fs.print(this, (args == null ? null : args[lasto]), l);
                     break;
                 default:  // explicit index
                     last = index - 1;
                     if (args != null && last > args.length - 1)
                         throw new MissingFormatArgumentException(fs.toString());
-                    fs.print((args == null ? null : args[last]), l);
+                    fs.print(this, (args == null ? null : args[last]), l);
                     break;
                 }
             } catch (IOException x) {
@@ -2542,7 +2548,7 @@ public final class Formatter implements Closeable, Flushable {
     /**
      * Finds format specifiers in the format string.
      */
-    private FormatString[] parse(String s) {
+    private static FormatString[] parse(String s) {
         ArrayList<FormatString> al = new ArrayList<>();
         Matcher m = fsPattern.matcher(s);
         for (int i = 0, len = s.length(); i < len; ) {
@@ -2581,18 +2587,142 @@ public final class Formatter implements Closeable, Flushable {
         }
     }
 
+    /**
+     * Compiles the given format string into a plan which may be applied
+     * repeatedly without the format string being parsed again.
+     *
+     * <p> A plan is immutable and may be shared freely between threads.
+     * Plans for recently compiled format strings are retained, so this
+     * method may return the same plan for equal format strings.
+     *
+     * @param  format
+     *         A format string as described in <a href="#syntax">Format string
+     *         syntax</a>
+     *
+     * @throws  IllegalFormatException
+     *          If the format string contains an illegal syntax, or a format
+     *          specifier whose flags, width or precision are incompatible
+     *          with its conversion.  Errors that depend on the arguments are
+     *          reported when the plan is applied.
+     *
+     * @return  The compiled format string
+     *
+     * @since 1.9
+     */
+    public static Plan compile(String format) {
+        int h = format.hashCode();
+        int i = (h ^ (h >>> 16)) & (PLAN_CACHE_SIZE - 1);
+        Plan[] cache = planCache;
+        Plan plan = cache[i];
+        if (plan == null || !plan.format.equals(format)) {
+            plan = new Plan(format, parse(format));
+            cache[i] = plan;
+        }
+        return plan;
+    }
+
+    // Number of entries in the plan cache, a power of two
+    private static final int PLAN_CACHE_SIZE = 128;
+
+    // Recently compiled plans, indexed by the hash of their format string.
+    // Entries are replaced without synchronization; a lost update only
+    // costs a parse.
+    private static final Plan[] planCache = new Plan[PLAN_CACHE_SIZE];
+
+    /**
+     * A format string compiled by {@link Formatter#compile(String)}.
+     *
+     * <p> Applying a plan gives the same result as passing its format string
+     * to {@link Formatter#format(String,Object...)}, without parsing the
+     * format string again:
+     *
+     * <blockquote><pre>
+     *   Formatter.Plan plan = Formatter.compile("%-10s %5d%n");
+     *   for (Item item : items)
+     *       plan.formatTo(formatter, item.name(), item.count());
+     * </pre></blockquote>
+     *
+     * @since 1.9
+     */
+    public static final class Plan {
+        private final String format;
+        private final FormatString[] fsa;
+
+        private Plan(String format, FormatString[] fsa) {
+            this.format = format;
+            this.fsa = fsa;
+        }
+
+        /**
+         * Returns a string formatted by this plan with the given arguments,
+         * using the {@linkplain Locale#getDefault(Locale.Category) default
+         * locale} for {@linkplain Locale.Category#FORMAT formatting}.
+         *
+         * @param  args
+         *         Arguments referenced by the format specifiers in the format
+         *         string.  If there are more arguments than format specifiers,
+         *         the extra arguments are ignored.
+         *
+         * @throws  IllegalFormatException
+         *          If a format specifier is incompatible with the given
+         *          arguments, or insufficient arguments are given
+         *
+         * @return  A formatted string
+         */
+        public String format(Object ... args) {
+            return formatTo(new Formatter(), args).toString();
+        }
+
+        /**
+         * Writes the output of this plan with the given arguments to the
+         * destination of the given formatter, using the locale of that
+         * formatter.
+         *
+         * @param  formatter
+         *         The formatter to write to
+         *
+         * @param  args
+         *         Arguments referenced by the format specifiers in the format
+         *         string.  If there are more arguments than format specifiers,
+         *         the extra arguments are ignored.
+         *
+         * @throws  IllegalFormatException
+         *          If a format specifier is incompatible with the given
+         *          arguments, or insufficient arguments are given
+         *
+         * @throws  FormatterClosedException
+         *          If the formatter has been closed by invoking its {@link
+         *          Formatter#close()} method
+         *
+         * @return  The given formatter
+         */
+        public Formatter formatTo(Formatter formatter, Object ... args) {
+            formatter.ensureOpen();
+            return formatter.print(formatter.l, fsa, args);
+        }
+
+        /**
+         * Returns the format string this plan was compiled from.
+         *
+         * @return  The format string
+         */
+        public String toString() {
+            return format;
+        }
+    }
+
     private interface FormatString {
         int index();
-        void print(Object arg, Locale l) throws IOException;
+        void print(Formatter fmt, Object arg, Locale l) throws IOException;
         String toString();
     }
 
-    private class FixedString implements FormatString {
+    private static class FixedString implements FormatString {
         private String s;
         FixedString(String s) { this.s = s; }
         public int index() { return -2; }
-        public void print(Object arg, Locale l)
-            throws IOException { a.append(s); }
+        public void print(Formatter fmt, Object arg, Locale l)
+            throws IOException { fmt.a.append(s); }
         public String toString() { return s; }
     }
 
@@ -2611,7 +2741,7 @@ public final class Formatter implements Closeable, Flushable {
         DECIMAL_FLOAT
     };
 
-    private class FormatSpecifier implements FormatString {
+    private static class FormatSpecifier implements FormatString {
         private int index = -1;
         private Flags f = Flags.NONE;
         private int width;
@@ -2735,80 +2865,80 @@ public final class Formatter implements Closeable, Flushable {
                 throw new UnknownFormatConversionException(String.valueOf(c));
         }
 
-        public void print(Object arg, Locale l) throws IOException {
+        public void print(Formatter fmt, Object arg, Locale l) throws IOException {
             if (dt) {
-                printDateTime(arg, l);
+                printDateTime(fmt, arg, l);
                 return;
             }
             switch(c) {
             case Conversion.DECIMAL_INTEGER:
             case Conversion.OCTAL_INTEGER:
             case Conversion.HEXADECIMAL_INTEGER:
-                printInteger(arg, l);
+                printInteger(fmt, arg, l);
                 break;
             case Conversion.SCIENTIFIC:
             case Conversion.GENERAL:
             case Conversion.DECIMAL_FLOAT:
             case Conversion.HEXADECIMAL_FLOAT:
-                printFloat(arg, l);
+                printFloat(fmt, arg, l);
                 break;
             case Conversion.CHARACTER:
             case Conversion.CHARACTER_UPPER:
-                printCharacter(arg);
+                printCharacter(fmt, arg);
                 break;
             case Conversion.BOOLEAN:
-                printBoolean(arg);
+                printBoolean(fmt, arg);
                 break;
             case Conversion.STRING:
-                printString(arg, l);
+                printString(fmt, arg, l);
                 break;
             case Conversion.HASHCODE:
-                printHashCode(arg);
+                printHashCode(fmt, arg);
                 break;
             case Conversion.LINE_SEPARATOR:
-                a.append(System.lineSeparator());
+                fmt.a.append(System.lineSeparator());
                 break;
             case Conversion.PERCENT_SIGN:
-                a.append('%');
+                fmt.a.append('%');
                 break;
             default:
                 assert false;
             }
         }
 
-        private void printInteger(Object arg, Locale l) throws IOException {
+        private void printInteger(Formatter fmt, Object arg, Locale l) throws IOException {
             if (arg == null)
-                print("null");
+                print(fmt, "null");
             else if (arg instanceof Byte)
-                print(((Byte)arg).byteValue(), l);
+                print(fmt, ((Byte)arg).byteValue(), l);
             else if (arg instanceof Short)
-                print(((Short)arg).shortValue(), l);
+                print(fmt, ((Short)arg).shortValue(), l);
             else if (arg instanceof Integer)
-                print(((Integer)arg).intValue(), l);
+                print(fmt, ((Integer)arg).intValue(), l);
             else if (arg instanceof Long)
-                print(((Long)arg).longValue(), l);
+                print(fmt, ((Long)arg).longValue(), l);
             else if (arg instanceof BigInteger)
-                print(((BigInteger)arg), l);
+                print(fmt, ((BigInteger)arg), l);
             else
                 failConversion(c, arg);
         }
 
-        private void printFloat(Object arg, Locale l) throws IOException {
+        private void printFloat(Formatter fmt, Object arg, Locale l) throws IOException {
             if (arg == null)
-                print("null");
+                print(fmt, "null");
             else if (arg instanceof Float)
-                print(((Float)arg).floatValue(), l);
+                print(fmt, ((Float)arg).floatValue(), l);
             else if (arg instanceof Double)
-                print(((Double)arg).doubleValue(), l);
+                print(fmt, ((Double)arg).doubleValue(), l);
             else if (arg instanceof BigDecimal)
-                print(((BigDecimal)arg), l);
+                print(fmt, ((BigDecimal)arg), l);
             else
                 failConversion(c, arg);
         }
 
-        private void printDateTime(Object arg, Locale l) throws IOException {
+        private void printDateTime(Formatter fmt, Object arg, Locale l) throws IOException {
             if (arg == null) {
-                print("null");
+                print(fmt, "null");
                 return;
             }
             Calendar cal = null;
@@ -2829,19 +2959,19 @@ public final class Formatter implements Closeable, Flushable {
                 cal = (Calendar) ((Calendar) arg).clone();
                 cal.setLenient(true);
             } else if (arg instanceof TemporalAccessor) {
-                print((TemporalAccessor) arg, c, l);
+                print(fmt, (TemporalAccessor) arg, c, l);
                 return;
             } else {
                 failConversion(c, arg);
             }
             // Use the provided locale so that invocations of
             // localizedMagnitude() use optimizations for null.
-            print(cal, c, l);
+            print(fmt, cal, c, l);
         }
 
-        private void printCharacter(Object arg) throws IOException {
+        private void printCharacter(Formatter fmt, Object arg) throws IOException {
             if (arg == null) {
-                print("null");
+                print(fmt, "null");
                 return;
             }
             String s = null;
@@ -2868,12 +2998,11 @@ public final class Formatter implements Closeable, Flushable {
             } else {
                 failConversion(c, arg);
             }
-            print(s);
+            print(fmt, s);
         }
 
-        private void printString(Object arg, Locale l) throws IOException {
+        private void printString(Formatter fmt, Object arg, Locale l) throws IOException {
             if (arg instanceof Formattable) {
-                Formatter fmt = Formatter.this;
                 if (fmt.locale() != l)
                     fmt = new Formatter(fmt.out(), l);
                 ((Formattable)arg).formatTo(fmt, f.valueOf(), width, precision);
@@ -2881,13 +3010,13 @@ public final class Formatter implements Closeable, Flushable {
                 if (f.contains(Flags.ALTERNATE))
                     failMismatch(Flags.ALTERNATE, 's');
                 if (arg == null)
-                    print("null");
+                    print(fmt, "null");
                 else
-                    print(arg.toString());
+                    print(fmt, arg.toString());
             }
         }
 
-        private void printBoolean(Object arg) throws IOException {
+        private void printBoolean(Formatter fmt, Object arg) throws IOException {
             String s;
             if (arg != null)
                 s = ((arg instanceof Boolean)
@@ -2895,22 +3024,22 @@ public final class Formatter implements Closeable, Flushable {
                      : Boolean.toString(true));
             else
                 s = Boolean.toString(false);
-            print(s);
+            print(fmt, s);
         }
 
-        private void printHashCode(Object arg) throws IOException {
+        private void printHashCode(Formatter fmt, Object arg) throws IOException {
             String s = (arg == null
                         ? "null"
                         : Integer.toHexString(arg.hashCode()));
-            print(s);
+            print(fmt, s);
         }
 
-        private void print(String s) throws IOException {
+        private void print(Formatter fmt, String s) throws IOException {
             if (precision != -1 && precision < s.length())
                 s = s.substring(0, precision);
             if (f.contains(Flags.UPPERCASE))
                 s = s.toUpperCase();
-            a.append(justify(s));
+            fmt.a.append(justify(s));
         }
 
         private String justify(String s) {
@@ -3050,7 +3179,7 @@ public final class Formatter implements Closeable, Flushable {
             }
         }
 
-        private void print(byte value, Locale l) throws IOException {
+        private void print(Formatter fmt, byte value, Locale l) throws IOException {
             long v = value;
             if (value < 0
                 && (c == Conversion.OCTAL_INTEGER
@@ -3058,10 +3187,10 @@ public final class Formatter implements Closeable, Flushable {
                 v += (1L << 8);
                 assert v >= 0 : v;
             }
-            print(v, l);
+            print(fmt, v, l);
         }
 
-        private void print(short value, Locale l) throws IOException {
+        private void print(Formatter fmt, short value, Locale l) throws IOException {
             long v = value;
             if (value < 0
                 && (c == Conversion.OCTAL_INTEGER
@@ -3069,10 +3198,10 @@ public final class Formatter implements Closeable, Flushable {
                 v += (1L << 16);
                 assert v >= 0 : v;
             }
-            print(v, l);
+            print(fmt, v, l);
         }
 
-        private void print(int value, Locale l) throws IOException {
+        private void print(Formatter fmt, int value, Locale l) throws IOException {
             long v = value;
             if (value < 0
                 && (c == Conversion.OCTAL_INTEGER
@@ -3080,10 +3209,10 @@ public final class Formatter implements Closeable, Flushable {
                 v += (1L << 32);
                 assert v >= 0 : v;
             }
-            print(v, l);
+            print(fmt, v, l);
         }
 
-        private void print(long value, Locale l) throws IOException {
+        private void print(Formatter fmt, long value, Locale l) throws IOException {
 
             StringBuilder sb = new StringBuilder();
 
@@ -3099,7 +3228,7 @@ public final class Formatter implements Closeable, Flushable {
                 leadingSign(sb, neg);
 
                 // the value
-                localizedMagnitude(sb, va, f, adjustWidth(width, f, neg), l);
+                localizedMagnitude(fmt, sb, va, f, adjustWidth(width, f, neg), l);
 
                 // trailing sign indicator
                 trailingSign(sb, neg);
@@ -3136,7 +3265,7 @@ public final class Formatter implements Closeable, Flushable {
             }
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            fmt.a.append(justify(sb.toString()));
         }
 
         // neg := val < 0
@@ -3163,7 +3292,7 @@ public final class Formatter implements Closeable, Flushable {
             return sb;
         }
 
-        private void print(BigInteger value, Locale l) throws IOException {
+        private void print(Formatter fmt, BigInteger value, Locale l) throws IOException {
             StringBuilder sb = new StringBuilder();
             boolean neg = value.signum() == -1;
             BigInteger v = value.abs();
@@ -3174,7 +3303,7 @@ public final class Formatter implements Closeable, Flushable {
             // the value
             if (c == Conversion.DECIMAL_INTEGER) {
                 char[] va = v.toString().toCharArray();
-                localizedMagnitude(sb, va, f, adjustWidth(width, f, neg), l);
+                localizedMagnitude(fmt, sb, va, f, adjustWidth(width, f, neg), l);
             } else if (c == Conversion.OCTAL_INTEGER) {
                 String s = v.toString(8);
 
@@ -3216,14 +3345,14 @@ public final class Formatter implements Closeable, Flushable {
             trailingSign(sb, (value.signum() == -1));
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            fmt.a.append(justify(sb.toString()));
         }
 
-        private void print(float value, Locale l) throws IOException {
-            print((double) value, l);
+        private void print(Formatter fmt, float value, Locale l) throws IOException {
+            print(fmt, (double) value, l);
         }
 
-        private void print(double value, Locale l) throws IOException {
+        private void print(Formatter fmt, double value, Locale l) throws IOException {
             StringBuilder sb = new StringBuilder();
             boolean neg = Double.compare(value, 0.0) == -1;
 
@@ -3235,7 +3364,7 @@ public final class Formatter implements Closeable, Flushable {
 
                 // the value
                 if (!Double.isInfinite(v))
-                    print(sb, v, l, f, c, precision, neg);
+                    print(fmt, sb, v, l, f, c, precision, neg);
                 else
                     sb.append(f.contains(Flags.UPPERCASE)
                               ? "INFINITY" : "Infinity");
@@ -3247,11 +3376,11 @@ public final class Formatter implements Closeable, Flushable {
             }
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            fmt.a.append(justify(sb.toString()));
         }
 
         // !Double.isInfinite(value) && !Double.isNaN(value)
-        private void print(StringBuilder sb, double value, Locale l,
+        private void print(Formatter fmt, StringBuilder sb, double value, Locale l,
                            Flags f, char c, int precision, boolean neg)
             throws IOException
         {
@@ -3277,7 +3406,7 @@ public final class Formatter implements Closeable, Flushable {
                 int newW = width;
                 if (width != -1)
                     newW = adjustWidth(width - exp.length - 1, f, neg);
-                localizedMagnitude(sb, mant, f, newW, l);
+                localizedMagnitude(fmt, sb, mant, f, newW, l);
 
                 sb.append(f.contains(Flags.UPPERCASE) ? 'E' : 'e');
 
@@ -3288,7 +3417,7 @@ public final class Formatter implements Closeable, Flushable {
 
                 char[] tmp = new char[exp.length - 1];
                 System.arraycopy(exp, 1, tmp, 0, exp.length - 1);
-                sb.append(localizedMagnitude(null, tmp, flags, -1, l));
+                sb.append(localizedMagnitude(fmt, null, tmp, flags, -1, l));
             } else if (c == Conversion.DECIMAL_FLOAT) {
                 // Create a new FormattedFloatingDecimal with the desired
                 // precision.
@@ -3308,7 +3437,7 @@ public final class Formatter implements Closeable, Flushable {
                 int newW = width;
                 if (width != -1)
                     newW = adjustWidth(width, f, neg);
-                localizedMagnitude(sb, mant, f, newW, l);
+                localizedMagnitude(fmt, sb, mant, f, newW, l);
             } else if (c == Conversion.GENERAL) {
                 int prec = precision;
                 if (precision == -1)
@@ -3351,7 +3480,7 @@ public final class Formatter implements Closeable, Flushable {
                     else
                         newW = adjustWidth(width, f, neg);
                 }
-                localizedMagnitude(sb, mant, f, newW, l);
+                localizedMagnitude(fmt, sb, mant, f, newW, l);
 
                 if (exp != null) {
                     sb.append(f.contains(Flags.UPPERCASE) ? 'E' : 'e');
@@ -3363,7 +3492,7 @@ public final class Formatter implements Closeable, Flushable {
 
                     char[] tmp = new char[exp.length - 1];
                     System.arraycopy(exp, 1, tmp, 0, exp.length - 1);
-                    sb.append(localizedMagnitude(null, tmp, flags, -1, l));
+                    sb.append(localizedMagnitude(fmt, null, tmp, flags, -1, l));
                 }
             } else if (c == Conversion.HEXADECIMAL_FLOAT) {
                 int prec = precision;
@@ -3519,7 +3648,7 @@ public final class Formatter implements Closeable, Flushable {
             }
         }
 
-        private void print(BigDecimal value, Locale l) throws IOException {
+        private void print(Formatter fmt, BigDecimal value, Locale l) throws IOException {
             if (c == Conversion.HEXADECIMAL_FLOAT)
                 failConversion(c, value);
             StringBuilder sb = new StringBuilder();
@@ -3529,17 +3658,17 @@ public final class Formatter implements Closeable, Flushable {
             leadingSign(sb, neg);
 
             // the value
-            print(sb, v, l, f, c, precision, neg);
+            print(fmt, sb, v, l, f, c, precision, neg);
 
             // trailing sign indicator
             trailingSign(sb, neg);
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            fmt.a.append(justify(sb.toString()));
         }
 
         // value > 0
-        private void print(StringBuilder sb, BigDecimal value, Locale l,
+        private void print(Formatter fmt, StringBuilder sb, BigDecimal value, Locale l,
                            Flags f, char c, int precision, boolean neg)
             throws IOException
         {
@@ -3585,7 +3714,7 @@ public final class Formatter implements Closeable, Flushable {
                 int newW = width;
                 if (width != -1)
                     newW = adjustWidth(width - exp.length - 1, f, neg);
-                localizedMagnitude(sb, mant, f, newW, l);
+                localizedMagnitude(fmt, sb, mant, f, newW, l);
 
                 sb.append(f.contains(Flags.UPPERCASE) ? 'E' : 'e');
 
@@ -3596,7 +3725,7 @@ public final class Formatter implements Closeable, Flushable {
 
                 char[] tmp = new char[exp.length - 1];
                 System.arraycopy(exp, 1, tmp, 0, exp.length - 1);
-                sb.append(localizedMagnitude(null, tmp, flags, -1, l));
+                sb.append(localizedMagnitude(fmt, null, tmp, flags, -1, l));
             } else if (c == Conversion.DECIMAL_FLOAT) {
                 // Create a new BigDecimal with the desired precision.
                 int prec = (precision == -1 ? 6 : precision);
@@ -3635,7 +3764,7 @@ public final class Formatter implements Closeable, Flushable {
                 // number of available digits after the decimal separator.
                 mant = trailingZeros(mant, nzeros);
 
-                localizedMagnitude(sb, mant, f, adjustWidth(width, f, neg), l);
+                localizedMagnitude(fmt, sb, mant, f, adjustWidth(width, f, neg), l);
             } else if (c == Conversion.GENERAL) {
                 int prec = precision;
                 if (precision == -1)
@@ -3664,10 +3793,10 @@ public final class Formatter implements Closeable, Flushable {
                     // => f precision = g precision - exponent - 1
                     prec = prec - e - 1;
 
-                    print(sb, value, l, f, Conversion.DECIMAL_FLOAT, prec,
+                    print(fmt, sb, value, l, f, Conversion.DECIMAL_FLOAT, prec,
                           neg);
                 } else {
-                    print(sb, value, l, f, Conversion.SCIENTIFIC, prec - 1, neg);
+                    print(fmt, sb, value, l, f, Conversion.SCIENTIFIC, prec - 1, neg);
                 }
             } else if (c == Conversion.HEXADECIMAL_FLOAT) {
                 // This conversion isn't supported.  The error should be
@@ -3833,20 +3962,20 @@ public final class Formatter implements Closeable, Flushable {
             return tmp;
         }
 
-        private void print(Calendar t, char c, Locale l)  throws IOException
+        private void print(Formatter fmt, Calendar t, char c, Locale l)  throws IOException
         {
             StringBuilder sb = new StringBuilder();
-            print(sb, t, c, l);
+            print(fmt, sb, t, c, l);
 
             // justify based on width
             String s = justify(sb.toString());
             if (f.contains(Flags.UPPERCASE))
                 s = s.toUpperCase();
 
-            a.append(s);
+            fmt.a.append(s);
         }
 
-        private Appendable print(StringBuilder sb, Calendar t, char c,
+        private Appendable print(Formatter fmt, StringBuilder sb, Calendar t, char c,
                                  Locale l)
             throws IOException
         {
@@ -3864,31 +3993,31 @@ public final class Formatter implements Closeable, Flushable {
                                || c == DateTime.HOUR_0
                                ? Flags.ZERO_PAD
                                : Flags.NONE);
-                sb.append(localizedMagnitude(null, i, flags, 2, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                 break;
             }
             case DateTime.MINUTE:      { // 'M' (00 - 59)
                 int i = t.get(Calendar.MINUTE);
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 2, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                 break;
             }
             case DateTime.NANOSECOND:  { // 'N' (000000000 - 999999999)
                 int i = t.get(Calendar.MILLISECOND) * 1000000;
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 9, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 9, l));
                 break;
             }
             case DateTime.MILLISECOND: { // 'L' (000 - 999)
                 int i = t.get(Calendar.MILLISECOND);
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 3, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 3, l));
                 break;
             }
             case DateTime.MILLISECOND_SINCE_EPOCH: { // 'Q' (0 - 99...?)
                 long i = t.getTimeInMillis();
                 Flags flags = Flags.NONE;
-                sb.append(localizedMagnitude(null, i, flags, width, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, width, l));
                 break;
             }
             case DateTime.AM_PM:       { // 'p' (am or pm)
@@ -3905,13 +4034,13 @@ public final class Formatter implements Closeable, Flushable {
             case DateTime.SECONDS_SINCE_EPOCH: { // 's' (0 - 99...?)
                 long i = t.getTimeInMillis() / 1000;
                 Flags flags = Flags.NONE;
-                sb.append(localizedMagnitude(null, i, flags, width, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, width, l));
                 break;
             }
             case DateTime.SECOND:      { // 'S' (00 - 60 - leap second)
                 int i = t.get(Calendar.SECOND);
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 2, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                 break;
             }
             case DateTime.ZONE_NUMERIC: { // 'z' ({-|+}####) - ls minus?
@@ -3925,7 +4054,7 @@ public final class Formatter implements Closeable, Flushable {
                 int offset = (min / 60) * 100 + (min % 60);
                 Flags flags = Flags.ZERO_PAD;
 
-                sb.append(localizedMagnitude(null, offset, flags, 4, l));
+                sb.append(localizedMagnitude(fmt, null, offset, flags, 4, l));
                 break;
             }
             case DateTime.ZONE:        { // 'Z' (symbol)
@@ -3977,7 +4106,7 @@ public final class Formatter implements Closeable, Flushable {
                     break;
                 }
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, size, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, size, l));
                 break;
             }
             case DateTime.DAY_OF_MONTH_0:         // 'd' (01 - 31)
@@ -3986,19 +4115,19 @@ public final class Formatter implements Closeable, Flushable {
                 Flags flags = (c == DateTime.DAY_OF_MONTH_0
                                ? Flags.ZERO_PAD
                                : Flags.NONE);
-                sb.append(localizedMagnitude(null, i, flags, 2, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                 break;
             }
             case DateTime.DAY_OF_YEAR:          { // 'j' (001 - 366)
                 int i = t.get(Calendar.DAY_OF_YEAR);
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 3, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 3, l));
                 break;
             }
             case DateTime.MONTH:                { // 'm' (01 - 12)
                 int i = t.get(Calendar.MONTH) + 1;
                 Flags flags = Flags.ZERO_PAD;
-                sb.append(localizedMagnitude(null, i, flags, 2, l));
+                sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                 break;
             }
 
@@ -4006,47 +4135,47 @@ public final class Formatter implements Closeable, Flushable {
             case DateTime.TIME:         // 'T' (24 hour hh:mm:ss - %tH:%tM:%tS)
             case DateTime.TIME_24_HOUR:    { // 'R' (hh:mm same as %H:%M)
                 char sep = ':';
-                print(sb, t, DateTime.HOUR_OF_DAY_0, l).append(sep);
-                print(sb, t, DateTime.MINUTE, l);
+                print(fmt, sb, t, DateTime.HOUR_OF_DAY_0, l).append(sep);
+                print(fmt, sb, t, DateTime.MINUTE, l);
                 if (c == DateTime.TIME) {
                     sb.append(sep);
-                    print(sb, t, DateTime.SECOND, l);
+                    print(fmt, sb, t, DateTime.SECOND, l);
                 }
                 break;
             }
             case DateTime.TIME_12_HOUR:    { // 'r' (hh:mm:ss [AP]M)
                 char sep = ':';
-                print(sb, t, DateTime.HOUR_0, l).append(sep);
-                print(sb, t, DateTime.MINUTE, l).append(sep);
-                print(sb, t, DateTime.SECOND, l).append(' ');
+                print(fmt, sb, t, DateTime.HOUR_0, l).append(sep);
+                print(fmt, sb, t, DateTime.MINUTE, l).append(sep);
+                print(fmt, sb, t, DateTime.SECOND, l).append(' ');
                 // this may be in wrong place for some locales
                 StringBuilder tsb = new StringBuilder();
-                print(tsb, t, DateTime.AM_PM, l);
+                print(fmt, tsb, t, DateTime.AM_PM, l);
                 sb.append(tsb.toString().toUpperCase(l != null ? l : Locale.US));
                 break;
             }
             case DateTime.DATE_TIME:    { // 'c' (Sat Nov 04 12:02:33 EST 1999)
                 char sep = ' ';
-                print(sb, t, DateTime.NAME_OF_DAY_ABBREV, l).append(sep);
-                print(sb, t, DateTime.NAME_OF_MONTH_ABBREV, l).append(sep);
-                print(sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
-                print(sb, t, DateTime.TIME, l).append(sep);
-                print(sb, t, DateTime.ZONE, l).append(sep);
-                print(sb, t, DateTime.YEAR_4, l);
+                print(fmt, sb, t, DateTime.NAME_OF_DAY_ABBREV, l).append(sep);
+                print(fmt, sb, t, DateTime.NAME_OF_MONTH_ABBREV, l).append(sep);
+                print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
+                print(fmt, sb, t, DateTime.TIME, l).append(sep);
+                print(fmt, sb, t, DateTime.ZONE, l).append(sep);
+                print(fmt, sb, t, DateTime.YEAR_4, l);
                 break;
             }
             case DateTime.DATE:            { // 'D' (mm/dd/yy)
                 char sep = '/';
-                print(sb, t, DateTime.MONTH, l).append(sep);
-                print(sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
-                print(sb, t, DateTime.YEAR_2, l);
+                print(fmt, sb, t, DateTime.MONTH, l).append(sep);
+                print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
+                print(fmt, sb, t, DateTime.YEAR_2, l);
                 break;
             }
             case DateTime.ISO_STANDARD_DATE: { // 'F' (%Y-%m-%d)
                 char sep = '-';
-                print(sb, t, DateTime.YEAR_4, l).append(sep);
-                print(sb, t, DateTime.MONTH, l).append(sep);
-                print(sb, t, DateTime.DAY_OF_MONTH_0, l);
+                print(fmt, sb, t, DateTime.YEAR_4, l).append(sep);
+                print(fmt, sb, t, DateTime.MONTH, l).append(sep);
+                print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l);
                 break;
             }
             default:
@@ -4055,17 +4184,17 @@ public final class Formatter implements Closeable, Flushable {
             return sb;
         }
 
-        private void print(TemporalAccessor t, char c, Locale l)  throws IOException {
+        private void print(Formatter fmt, TemporalAccessor t, char c, Locale l)  throws IOException {
             StringBuilder sb = new StringBuilder();
-            print(sb, t, c, l);
+            print(fmt, sb, t, c, l);
             // justify based on width
             String s = justify(sb.toString());
             if (f.contains(Flags.UPPERCASE))
                 s = s.toUpperCase();
-            a.append(s);
+            fmt.a.append(s);
         }
 
-        private Appendable print(StringBuilder sb, TemporalAccessor t, char c,
+        private Appendable print(Formatter fmt, StringBuilder sb, TemporalAccessor t, char c,
                                  Locale l) throws IOException {
             if (sb == null)
                 sb = new StringBuilder();
@@ -4073,47 +4202,47 @@ public final class Formatter implements Closeable, Flushable {
                 switch (c) {
                 case DateTime.HOUR_OF_DAY_0: {  // 'H' (00 - 23)
                     int i = t.get(ChronoField.HOUR_OF_DAY);
-                    sb.append(localizedMagnitude(null, i, Flags.ZERO_PAD, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, Flags.ZERO_PAD, 2, l));
                     break;
                 }
                 case DateTime.HOUR_OF_DAY: {   // 'k' (0 - 23) -- like H
                     int i = t.get(ChronoField.HOUR_OF_DAY);
-                    sb.append(localizedMagnitude(null, i, Flags.NONE, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, Flags.NONE, 2, l));
                     break;
                 }
                 case DateTime.HOUR_0:      {  // 'I' (01 - 12)
                     int i = t.get(ChronoField.CLOCK_HOUR_OF_AMPM);
-                    sb.append(localizedMagnitude(null, i, Flags.ZERO_PAD, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, Flags.ZERO_PAD, 2, l));
                     break;
                 }
                 case DateTime.HOUR:        { // 'l' (1 - 12) -- like I
                     int i = t.get(ChronoField.CLOCK_HOUR_OF_AMPM);
-                    sb.append(localizedMagnitude(null, i, Flags.NONE, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, Flags.NONE, 2, l));
                     break;
                 }
                 case DateTime.MINUTE:      { // 'M' (00 - 59)
                     int i = t.get(ChronoField.MINUTE_OF_HOUR);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                     break;
                 }
                 case DateTime.NANOSECOND:  { // 'N' (000000000 - 999999999)
                     int i = t.get(ChronoField.MILLI_OF_SECOND) * 1000000;
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 9, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 9, l));
                     break;
                 }
                 case DateTime.MILLISECOND: { // 'L' (000 - 999)
                     int i = t.get(ChronoField.MILLI_OF_SECOND);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 3, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 3, l));
                     break;
                 }
                 case DateTime.MILLISECOND_SINCE_EPOCH: { // 'Q' (0 - 99...?)
                     long i = t.getLong(ChronoField.INSTANT_SECONDS) * 1000L +
                              t.getLong(ChronoField.MILLI_OF_SECOND);
                     Flags flags = Flags.NONE;
-                    sb.append(localizedMagnitude(null, i, flags, width, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, width, l));
                     break;
                 }
                 case DateTime.AM_PM:       { // 'p' (am or pm)
@@ -4130,13 +4259,13 @@ public final class Formatter implements Closeable, Flushable {
                 case DateTime.SECONDS_SINCE_EPOCH: { // 's' (0 - 99...?)
                     long i = t.getLong(ChronoField.INSTANT_SECONDS);
                     Flags flags = Flags.NONE;
-                    sb.append(localizedMagnitude(null, i, flags, width, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, width, l));
                     break;
                 }
                 case DateTime.SECOND:      { // 'S' (00 - 60 - leap second)
                     int i = t.get(ChronoField.SECOND_OF_MINUTE);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                     break;
                 }
                 case DateTime.ZONE_NUMERIC: { // 'z' ({-|+}####) - ls minus?
@@ -4149,7 +4278,7 @@ public final class Formatter implements Closeable, Flushable {
                     // combine minute and hour into a single integer
                     int offset = (min / 60) * 100 + (min % 60);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, offset, flags, 4, l));
+                    sb.append(localizedMagnitude(fmt, null, offset, flags, 4, l));
                     break;
                 }
                 case DateTime.ZONE:        { // 'Z' (symbol)
@@ -4210,7 +4339,7 @@ public final class Formatter implements Closeable, Flushable {
                         break;
                     }
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, size, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, size, l));
                     break;
                 }
                 case DateTime.DAY_OF_MONTH_0:         // 'd' (01 - 31)
@@ -4219,19 +4348,19 @@ public final class Formatter implements Closeable, Flushable {
                     Flags flags = (c == DateTime.DAY_OF_MONTH_0
                                    ? Flags.ZERO_PAD
                                    : Flags.NONE);
-                    sb.append(localizedMagnitude(null, i, flags, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                     break;
                 }
                 case DateTime.DAY_OF_YEAR:          { // 'j' (001 - 366)
                     int i = t.get(ChronoField.DAY_OF_YEAR);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 3, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 3, l));
                     break;
                 }
                 case DateTime.MONTH:                { // 'm' (01 - 12)
                     int i = t.get(ChronoField.MONTH_OF_YEAR);
                     Flags flags = Flags.ZERO_PAD;
-                    sb.append(localizedMagnitude(null, i, flags, 2, l));
+                    sb.append(localizedMagnitude(fmt, null, i, flags, 2, l));
                     break;
                 }
 
@@ -4239,47 +4368,47 @@ public final class Formatter implements Closeable, Flushable {
                 case DateTime.TIME:         // 'T' (24 hour hh:mm:ss - %tH:%tM:%tS)
                 case DateTime.TIME_24_HOUR:    { // 'R' (hh:mm same as %H:%M)
                     char sep = ':';
-                    print(sb, t, DateTime.HOUR_OF_DAY_0, l).append(sep);
-                    print(sb, t, DateTime.MINUTE, l);
+                    print(fmt, sb, t, DateTime.HOUR_OF_DAY_0, l).append(sep);
+                    print(fmt, sb, t, DateTime.MINUTE, l);
                     if (c == DateTime.TIME) {
                         sb.append(sep);
-                        print(sb, t, DateTime.SECOND, l);
+                        print(fmt, sb, t, DateTime.SECOND, l);
                     }
                     break;
                 }
                 case DateTime.TIME_12_HOUR:    { // 'r' (hh:mm:ss [AP]M)
                     char sep = ':';
-                    print(sb, t, DateTime.HOUR_0, l).append(sep);
-                    print(sb, t, DateTime.MINUTE, l).append(sep);
-                    print(sb, t, DateTime.SECOND, l).append(' ');
+                    print(fmt, sb, t, DateTime.HOUR_0, l).append(sep);
+                    print(fmt, sb, t, DateTime.MINUTE, l).append(sep);
+                    print(fmt, sb, t, DateTime.SECOND, l).append(' ');
                     // this may be in wrong place for some locales
                     StringBuilder tsb = new StringBuilder();
-                    print(tsb, t, DateTime.AM_PM, l);
+                    print(fmt, tsb, t, DateTime.AM_PM, l);
                     sb.append(tsb.toString().toUpperCase(l != null ? l : Locale.US));
                     break;
                 }
                 case DateTime.DATE_TIME:    { // 'c' (Sat Nov 04 12:02:33 EST 1999)
                     char sep = ' ';
-                    print(sb, t, DateTime.NAME_OF_DAY_ABBREV, l).append(sep);
-                    print(sb, t, DateTime.NAME_OF_MONTH_ABBREV, l).append(sep);
-                    print(sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
-                    print(sb, t, DateTime.TIME, l).append(sep);
-                    print(sb, t, DateTime.ZONE, l).append(sep);
-                    print(sb, t, DateTime.YEAR_4, l);
+                    print(fmt, sb, t, DateTime.NAME_OF_DAY_ABBREV, l).append(sep);
+                    print(fmt, sb, t, DateTime.NAME_OF_MONTH_ABBREV, l).append(sep);
+                    print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
+                    print(fmt, sb, t, DateTime.TIME, l).append(sep);
+                    print(fmt, sb, t, DateTime.ZONE, l).append(sep);
+                    print(fmt, sb, t, DateTime.YEAR_4, l);
                     break;
                 }
                 case DateTime.DATE:            { // 'D' (mm/dd/yy)
                     char sep = '/';
-                    print(sb, t, DateTime.MONTH, l).append(sep);
-                    print(sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
-                    print(sb, t, DateTime.YEAR_2, l);
+                    print(fmt, sb, t, DateTime.MONTH, l).append(sep);
+                    print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l).append(sep);
+                    print(fmt, sb, t, DateTime.YEAR_2, l);
                     break;
                 }
                 case DateTime.ISO_STANDARD_DATE: { // 'F' (%Y-%m-%d)
                     char sep = '-';
-                    print(sb, t, DateTime.YEAR_4, l).append(sep);
-                    print(sb, t, DateTime.MONTH, l).append(sep);
-                    print(sb, t, DateTime.DAY_OF_MONTH_0, l);
+                    print(fmt, sb, t, DateTime.YEAR_4, l).append(sep);
+                    print(fmt, sb, t, DateTime.MONTH, l).append(sep);
+                    print(fmt, sb, t, DateTime.DAY_OF_MONTH_0, l);
                     break;
                 }
                 default:
@@ -4302,31 +4431,31 @@ public final class Formatter implements Closeable, Flushable {
             throw new IllegalFormatConversionException(c, arg.getClass());
         }
 
-        private char getZero(Locale l) {
-            if ((l != null) &&  !l.equals(locale())) {
+        private char getZero(Formatter fmt, Locale l) {
+            if ((l != null) &&  !l.equals(fmt.locale())) {
                 DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(l);
                 return dfs.getZeroDigit();
             }
-            return zero;
+            return fmt.zero;
         }
 
         private StringBuilder
-            localizedMagnitude(StringBuilder sb, long value, Flags f,
+            localizedMagnitude(Formatter fmt, StringBuilder sb, long value, Flags f,
                                int width, Locale l)
         {
             char[] va = Long.toString(value, 10).toCharArray();
-            return localizedMagnitude(sb, va, f, width, l);
+            return localizedMagnitude(fmt, sb, va, f, width, l);
         }
 
         private StringBuilder
-            localizedMagnitude(StringBuilder sb, char[] value, Flags f,
+            localizedMagnitude(Formatter fmt, StringBuilder sb, char[] value, Flags f,
                                int width, Locale l)
         {
             if (sb == null)
                 sb = new StringBuilder();
             int begin = sb.length();
 
-            char zero = getZero(l);
+            char zero = getZero(fmt, l);
 
             // determine localized grouping separator and size
             char grpSep = '\0';
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+/**
+ * This class implements stable sorts of primitive keys together with an
+ * {@code int} array, which is usually a permutation of indices.  They are
+ * the basis of the indirect and key-extracting sorts of class Arrays and
+ * of the key-extracting sorts of lists, which extract or gather the keys
+ * once into a primitive array, sort it together with a permutation, and
+ * then apply the permutation to the sorted data.  This avoids both the
+ * boxing of keys and the n log(n) invocations of a comparator.
+ *
+ * The sort is a bottom-up merge sort of runs that are first sorted by
+ * insertion sort, alternating between the arrays and workspace arrays.
+ * Merging two runs that are already in order degenerates into a copy.
+ *
+ * double keys are sorted as long keys of the same total order as the
+ * method Double.compare: NaNs are collapsed to the canonical NaN, and
+ * all bits but the sign bit of negative values are flipped, so that
+ * negative values compare in reverse order of magnitude, with
+ * {@code -0.0} before {@code 0.0}.
+ *
+ * All exposed methods are package-private, designed to be invoked
+ * from public methods (in classes Arrays, List and ArrayList) after
+ * performing any necessary argument checks.
+ *
+ * @since 1.9
+ */
+final class IndirectSort {
+
+    /**
+     * Prevents instantiation.
+     */
+    private IndirectSort() {}
+
+    /**
+     * The length of the runs sorted by insertion sort before merging.
+     */
+    private static final int RUN_LENGTH = 32;
+
+    /**
+     * Returns the long key of the given double value, whose signed order
+     * is the order of the method {@link Double#compare}.
+     */
+    static long doubleKey(double x) {
+        long k = Double.doubleToLongBits(x);
+        return k ^ ((k >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns an array of the indices {@code 0} to {@code n - 1}.
+     */
+    static int[] identity(int n) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; ++i)
+            p[i] = i;
+        return p;
+    }
+
+    /**
+     * Sorts the given keys into ascending order, reordering the given
+     * values in the same way.  The sort is stable.
+     *
+     * @param k the keys
+     * @param v the values, of the same length as the keys
+     */
+    static void sort(int[] k, int[] v) {
+        int n = k.length;
+        for (int lo = 0; lo < n; lo += RUN_LENGTH)
+            insertionSort(k, v, lo, Math.min(lo + RUN_LENGTH, n));
+        if (n <= RUN_LENGTH)
+            return;
+
+        int[] sk = k, dk = new int[n];
+        int[] sv = v, dv = new int[n];
+        for (int w = RUN_LENGTH; w < n; w = (w < n - w) ? w << 1 : n) {
+            for (int lo = 0; lo < n; ) {
+                int mid = (n - lo > w) ? lo + w : n;
+                int hi = (n - mid > w) ? mid + w : n;
+                merge(sk, sv, dk, dv, lo, mid, hi);
+                lo = hi;
+            }
+            int[] tk = sk; sk = dk; dk = tk;
+            int[] tv = sv; sv = dv; dv = tv;
+        }
+        if (sk != k) {
+            System.arraycopy(sk, 0, k, 0, n);
+            System.arraycopy(sv, 0, v, 0, n);
+        }
+    }
+
+    /**
+     * Sorts the given range of the keys by insertion sort, reordering the
+     * values in the same way.
+     */
+    private static void insertionSort(int[] k, int[] v, int lo, int hi) {
+        for (int i = lo + 1; i < hi; ++i) {
+            int ki = k[i];
+            int vi = v[i], j = i - 1;
+            if (k[j] <= ki)
+                continue;
+            do {
+                k[j + 1] = k[j];
+                v[j + 1] = v[j];
+            } while (--j >= lo && k[j] > ki);
+            k[j + 1] = ki;
+            v[j + 1] = vi;
+        }
+    }
+
+    /**
+     * Merges the sorted runs {@code [lo, mid)} and {@code [mid, hi)} of
+     * the source keys and values into the same range of the destination.
+     */
+    private static void merge(int[] sk, int[] sv, int[] dk, int[] dv,
+                              int lo, int mid, int hi) {
+        if (mid == hi || sk[mid - 1] <= sk[mid]) {
+            System.arraycopy(sk, lo, dk, lo, hi - lo);
+            System.arraycopy(sv, lo, dv, lo, hi - lo);
+            return;
+        }
+        for (int i = lo, j = mid, d = lo; d < hi; ++d) {
+            if (j >= hi || i < mid && sk[i] <= sk[j]) {
+                dk[d] = sk[i];
+                dv[d] = sv[i++];
+            } else {
+                dk[d] = sk[j];
+                dv[d] = sv[j++];
+            }
+        }
+    }
+
+    /**
+     * Sorts the given keys into ascending order, reordering the given
+     * values in the same way.  The sort is stable.
+     *
+     * @param k the keys
+     * @param v the values, of the same length as the keys
+     */
+    static void sort(long[] k, int[] v) {
+        int n = k.length;
+        for (int lo = 0; lo < n; lo += RUN_LENGTH)
+            insertionSort(k, v, lo, Math.min(lo + RUN_LENGTH, n));
+        if (n <= RUN_LENGTH)
+            return;
+
+        long[] sk = k, dk = new long[n];
+        int[] sv = v, dv = new int[n];
+        for (int w = RUN_LENGTH; w < n; w = (w < n - w) ? w << 1 : n) {
+            for (int lo = 0; lo < n; ) {
+                int mid = (n - lo > w) ? lo + w : n;
+                int hi = (n - mid > w) ? mid + w : n;
+                merge(sk, sv, dk, dv, lo, mid, hi);
+                lo = hi;
+            }
+            long[] tk = sk; sk = dk; dk = tk;
+            int[] tv = sv; sv = dv; dv = tv;
+        }
+        if (sk != k) {
+            System.arraycopy(sk, 0, k, 0, n);
+            System.arraycopy(sv, 0, v, 0, n);
+        }
+    }
+
+    /**
+     * Sorts the given range of the keys by insertion sort, reordering the
+     * values in the same way.
+     */
+    private static void insertionSort(long[] k, int[] v, int lo, int hi) {
+        for (int i = lo + 1; i < hi; ++i) {
+            long ki = k[i];
+            int vi = v[i], j = i - 1;
+            if (k[j] <= ki)
+                continue;
+            do {
+                k[j + 1] = k[j];
+                v[j + 1] = v[j];
+            } while (--j >= lo && k[j] > ki);
+            k[j + 1] = ki;
+            v[j + 1] = vi;
+        }
+    }
+
+    /**
+     * Merges the sorted runs {@code [lo, mid)} and {@code [mid, hi)} of
+     * the source keys and values into the same range of the destination.
+     */
+    private static void merge(long[] sk, int[] sv, long[] dk, int[] dv,
+                              int lo, int mid, int hi) {
+        if (mid == hi || sk[mid - 1] <= sk[mid]) {
+            System.arraycopy(sk, lo, dk, lo, hi - lo);
+            System.arraycopy(sv, lo, dv, lo, hi - lo);
+            return;
+        }
+        for (int i = lo, j = mid, d = lo; d < hi; ++d) {
+            if (j >= hi || i < mid && sk[i] <= sk[j]) {
+                dk[d] = sk[i];
+                dv[d] = sv[i++];
+            } else {
+                dk[d] = sk[j];
+                dv[d] = sv[j++];
+            }
+        }
+    }
+
+    /**
+     * Sorts the given indices into ascending order of the keys at those
+     * indices.  The sort is stable.
+     */
+    static void sortIndices(int[] indices, int[] keys) {
+        int n = indices.length;
+        int[] k = new int[n];
+        for (int i = 0; i < n; ++i)
+            k[i] = keys[indices[i]];
+        sort(k, indices);
+    }
+
+    /**
+     * Sorts the given indices into ascending order of the keys at those
+     * indices.  The sort is stable.
+     */
+    static void sortIndices(int[] indices, long[] keys) {
+        int n = indices.length;
+        long[] k = new long[n];
+        for (int i = 0; i < n; ++i)
+            k[i] = keys[indices[i]];
+        sort(k, indices);
+    }
+
+    /**
+     * Sorts the given indices into ascending order of the keys at those
+     * indices.  The sort is stable.
+     */
+    static void sortIndices(int[] indices, double[] keys) {
+        int n = indices.length;
+        long[] k = new long[n];
+        for (int i = 0; i < n; ++i)
+            k[i] = doubleKey(keys[indices[i]]);
+        sort(k, indices);
+    }
+
+    /**
+     * Sorts the given keys into ascending order, and returns the
+     * permutation that sorted them: the key at index {@code i} after the
+     * sort was at index {@code p[i]} before the sort.  The sort is stable.
+     */
+    static int[] sortWithPermutation(int[] keys) {
+        int[] p = identity(keys.length);
+        sort(keys, p);
+        return p;
+    }
+
+    /**
+     * Sorts the given keys into ascending order, and returns the
+     * permutation that sorted them.  The sort is stable.
+     */
+    static int[] sortWithPermutation(long[] keys) {
+        int[] p = identity(keys.length);
+        sort(keys, p);
+        return p;
+    }
+
+    /**
+     * Sorts the given keys into ascending order, and returns the
+     * permutation that sorted them.  The sort is stable.
+     */
+    static int[] sortWithPermutation(double[] keys) {
+        int n = keys.length;
+        long[] k = new long[n];
+        for (int i = 0; i < n; ++i)
+            k[i] = doubleKey(keys[i]);
+        int[] p = identity(n);
+        sort(k, p);
+        permute(keys, p);
+        return p;
+    }
+
+    /**
+     * Reorders the initial elements of the given array by the given
+     * permutation, so that the element at index {@code i} is the element
+     * that was at index {@code p[i]}.
+     */
+    static void permute(int[] a, int[] p) {
+        int[] t = Arrays.copyOf(a, p.length);
+        for (int i = 0; i < p.length; ++i)
+            a[i] = t[p[i]];
+    }
+
+    /**
+     * Reorders the initial elements of the given array by the given
+     * permutation, so that the element at index {@code i} is the element
+     * that was at index {@code p[i]}.
+     */
+    static void permute(long[] a, int[] p) {
+        long[] t = Arrays.copyOf(a, p.length);
+        for (int i = 0; i < p.length; ++i)
+            a[i] = t[p[i]];
+    }
+
+    /**
+     * Reorders the initial elements of the given array by the given
+     * permutation, so that the element at index {@code i} is the element
+     * that was at index {@code p[i]}.
+     */
+    static void permute(double[] a, int[] p) {
+        double[] t = Arrays.copyOf(a, p.length);
+        for (int i = 0; i < p.length; ++i)
+            a[i] = t[p[i]];
+    }
+
+    /**
+     * Reorders the initial elements of the given array by the given
+     * permutation, so that the element at index {@code i} is the element
+     * that was at index {@code p[i]}.
+     */
+    static void permute(Object[] a, int[] p) {
+        Object[] t = Arrays.copyOf(a, p.length);
+        for (int i = 0; i < p.length; ++i)
+            a[i] = t[p[i]];
+    }
+}
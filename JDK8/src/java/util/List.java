@@ -25,6 +25,9 @@
 
 package java.util;
 
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -483,6 +486,120 @@ public interface List<E> extends Collection<E> {
         }
     }
 
+    /**
+     * Sorts this list into the ascending numerical order of the
+     * {@code int} keys extracted from its elements by the specified
+     * function.  The function is applied exactly once to each element, and
+     * the keys are not boxed, whereas
+     * {@code sort(Comparator.comparingInt(keyExtractor))} applies it twice for
+     * each of the n log(n) comparisons of the sort.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * <p>This list must be modifiable, but need not be resizable.
+     *
+     * @implSpec
+     * The default implementation obtains an array containing all elements in
+     * this list, sorts the array with
+     * {@link Arrays#sortByIntKey(Object[], ToIntFunction) Arrays.sortByIntKey},
+     * and iterates over this list resetting each element from the
+     * corresponding position in the array.
+     *
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified key extractor is null
+     * @throws UnsupportedOperationException if the list's list-iterator does
+     *         not support the {@code set} operation
+     * @since 1.9
+     */
+    @SuppressWarnings("unchecked")
+    default void sortByIntKey(ToIntFunction<? super E> keyExtractor) {
+        Object[] a = this.toArray();
+        Arrays.sortByIntKey((E[]) a, keyExtractor);
+        ListIterator<E> i = this.listIterator();
+        for (Object e : a) {
+            i.next();
+            i.set((E) e);
+        }
+    }
+
+    /**
+     * Sorts this list into the ascending numerical order of the
+     * {@code long} keys extracted from its elements by the specified
+     * function.  The function is applied exactly once to each element, and
+     * the keys are not boxed, whereas
+     * {@code sort(Comparator.comparingLong(keyExtractor))} applies it twice for
+     * each of the n log(n) comparisons of the sort.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * <p>This list must be modifiable, but need not be resizable.
+     *
+     * @implSpec
+     * The default implementation obtains an array containing all elements in
+     * this list, sorts the array with
+     * {@link Arrays#sortByLongKey(Object[], ToLongFunction) Arrays.sortByLongKey},
+     * and iterates over this list resetting each element from the
+     * corresponding position in the array.
+     *
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified key extractor is null
+     * @throws UnsupportedOperationException if the list's list-iterator does
+     *         not support the {@code set} operation
+     * @since 1.9
+     */
+    @SuppressWarnings("unchecked")
+    default void sortByLongKey(ToLongFunction<? super E> keyExtractor) {
+        Object[] a = this.toArray();
+        Arrays.sortByLongKey((E[]) a, keyExtractor);
+        ListIterator<E> i = this.listIterator();
+        for (Object e : a) {
+            i.next();
+            i.set((E) e);
+        }
+    }
+
+    /**
+     * Sorts this list into the ascending numerical order of the
+     * {@code double} keys extracted from its elements by the specified
+     * function.  The function is applied exactly once to each element, and
+     * the keys are not boxed, whereas
+     * {@code sort(Comparator.comparingDouble(keyExtractor))} applies it twice for
+     * each of the n log(n) comparisons of the sort.
+     *
+     * <p>This sort is guaranteed to be <i>stable</i>:  elements with equal
+     * keys will not be reordered as a result of the sort.
+     *
+     * <p>The keys are ordered by the total order imposed by the method
+     * {@link Double#compareTo}.
+     *
+     * <p>This list must be modifiable, but need not be resizable.
+     *
+     * @implSpec
+     * The default implementation obtains an array containing all elements in
+     * this list, sorts the array with
+     * {@link Arrays#sortByDoubleKey(Object[], ToDoubleFunction) Arrays.sortByDoubleKey},
+     * and iterates over this list resetting each element from the
+     * corresponding position in the array.
+     *
+     * @param keyExtractor the function used to extract the sort key
+     * @throws NullPointerException if the specified key extractor is null
+     * @throws UnsupportedOperationException if the list's list-iterator does
+     *         not support the {@code set} operation
+     * @since 1.9
+     */
+    @SuppressWarnings("unchecked")
+    default void sortByDoubleKey(ToDoubleFunction<? super E> keyExtractor) {
+        Object[] a = this.toArray();
+        Arrays.sortByDoubleKey((E[]) a, keyExtractor);
+        ListIterator<E> i = this.listIterator();
+        for (Object e : a) {
+            i.next();
+            i.set((E) e);
+        }
+    }
+
     /**
      * Removes all of the elements from this list (optional operation).
      * The list will be empty after this call returns.
@@ -0,0 +1,830 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+
+/**
+ * Hash table based implementation of the <tt>Map</tt> interface for
+ * primitive <tt>long</tt> keys.  Keys and values are held directly in
+ * parallel arrays using open addressing with linear probing, so, unlike
+ * {@link HashMap}, inserting a mapping allocates neither a boxed key nor
+ * a per-entry node.  The primitive accessors ({@link #get(long)},
+ * {@link #putLong(long, Object)}, {@link #remove(long)} and so on) never
+ * box; the inherited <tt>Map</tt> methods and the collection views are
+ * fully supported, but box keys to <tt>Long</tt> as they are used.  The
+ * primitive accessors that take a value as well as a key carry the key
+ * type in their names, so that a call such as <tt>map.put(1L, 2L)</tt> on a
+ * <tt>LongHashMap&lt;Long&gt;</tt> resolves to the <tt>Map</tt> method rather
+ * than being ambiguous.  This map permits <tt>null</tt> values.
+ *
+ * <p>This implementation provides constant-time performance for the basic
+ * operations (<tt>get</tt> and <tt>put</tt>), assuming the hash function
+ * disperses the keys properly among the slots.  Keys are spread using the
+ * same transform as {@link HashMap}, and the table is a power of two in
+ * length that is doubled whenever the number of mappings exceeds the
+ * product of the load factor and the current capacity.  Because each
+ * mapping occupies its own slot, the load factor must be less than one;
+ * the default (.5) keeps probe sequences short.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access this map concurrently, and at least one of
+ * the threads modifies the map structurally, it <i>must</i> be
+ * synchronized externally.
+ *
+ * <p>The iterators returned by all of this class's "collection view methods"
+ * are <i>fail-fast</i>: if the map is structurally modified at any time after
+ * the iterator is created, in any way except through the iterator's own
+ * <tt>remove</tt> method, the iterator will throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * @param <V> the type of mapped values
+ *
+ * @see     HashMap
+ * @see     IntHashMap
+ * @since   1.9
+ */
+public class LongHashMap<V> extends AbstractMap<Long,V>
+    implements Map<Long,V>, Cloneable, Serializable {
+
+    private static final long serialVersionUID = 5437193920613460519L;
+
+    /*
+     * Implementation notes.
+     *
+     * Slots whose key is zero are free, so a mapping for key zero is
+     * kept out of band (fields hasZeroKey and zeroValue).  Removal
+     * uses backward-shift deletion rather than tombstones, so lookups
+     * never have to step over deleted slots and the table never needs
+     * to be rebuilt merely to purge them.
+     *
+     * Iterators traverse the table from high to low indices.  A
+     * backward shift performed by Iterator.remove moves entries to
+     * lower indices within their probe run, so it can only move an
+     * entry from a slot not yet visited into one that has been when
+     * the run wraps around the end of the table.  Such entries are
+     * collected in a side list by the iterator and returned after the
+     * table has been exhausted.
+     */
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     * The maximum capacity. MUST be a power of two <= 1<<30.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Spreads a key the same way as {@link HashMap#hash}.
+     */
+    static int hash(long key) {
+        int h = (int)(key ^ (key >>> 32));
+        return h ^ (h >>> 16);
+    }
+
+    /* ---------------- Fields -------------- */
+
+    /**
+     * The keys, initialized on first use.  Zero marks a free slot.
+     */
+    transient long[] keys;
+
+    /**
+     * The values, parallel to keys.
+     */
+    transient Object[] vals;
+
+    /**
+     * True if the map contains a mapping for key zero.
+     */
+    transient boolean hasZeroKey;
+
+    /**
+     * The value mapped to key zero, if hasZeroKey.
+     */
+    transient V zeroValue;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    transient int size;
+
+    /**
+     * The number of times this map has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     * Before the table is allocated it holds the initial capacity.
+     *
+     * @serial
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     *
+     * @serial
+     */
+    final float loadFactor;
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Constructs an empty <tt>LongHashMap</tt> with the specified initial
+     * capacity and load factor.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor      the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is not between zero and one (exclusive)
+     */
+    public LongHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                                               initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        this.threshold = HashMap.tableSizeFor(initialCapacity);
+    }
+
+    /**
+     * Constructs an empty <tt>LongHashMap</tt> with the specified initial
+     * capacity and the default load factor (0.5).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public LongHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty <tt>LongHashMap</tt> with the default initial
+     * capacity (16) and the default load factor (0.5).
+     */
+    public LongHashMap() {
+        this.loadFactor = DEFAULT_LOAD_FACTOR;
+    }
+
+    /**
+     * Constructs a new <tt>LongHashMap</tt> with the same mappings as the
+     * specified <tt>Map</tt>.
+     *
+     * @param   m the map whose mappings are to be placed in this map
+     * @throws  NullPointerException if the specified map is null or
+     *          contains a null key
+     */
+    public LongHashMap(Map<? extends Long, ? extends V> m) {
+        this.loadFactor = DEFAULT_LOAD_FACTOR;
+        putAll(m);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains no key-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the slot holding the given key, or -1 if absent.  Must
+     * not be called with key zero.
+     */
+    final int indexOf(long key) {
+        long[] ks; long k;
+        if ((ks = keys) != null) {
+            int mask = ks.length - 1;
+            for (int i = hash(key) & mask; (k = ks[i]) != 0; i = (i + 1) & mask) {
+                if (k == key)
+                    return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value mapped to the key, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0)
+            return zeroValue;
+        int i = indexOf(key);
+        return (i < 0) ? null : (V)vals[i];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value mapped to the key, or {@code defaultValue} if none
+     */
+    @SuppressWarnings("unchecked")
+    public V getLongOrDefault(long key, V defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return (i < 0) ? defaultValue : (V)vals[i];
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(long key) {
+        return (key == 0) ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>.
+     */
+    public V putLong(long key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is
+     * mapped to {@code null}), associates it with the given value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the key, or {@code null}
+     */
+    public V putLongIfAbsent(long key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     * Implements put and related methods.
+     *
+     * @param key the key
+     * @param value the value to put
+     * @param onlyIfAbsent if true, don't change existing non-null value
+     * @return previous value, or null if none
+     */
+    @SuppressWarnings("unchecked")
+    final V putVal(long key, V value, boolean onlyIfAbsent) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++modCount;
+                ++size;
+            }
+            if (!onlyIfAbsent || oldValue == null)
+                zeroValue = value;
+            return oldValue;
+        }
+        long[] ks; long k; int i, mask;
+        if ((ks = keys) == null)
+            ks = resize();
+        mask = ks.length - 1;
+        for (i = hash(key) & mask; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                V oldValue = (V)vals[i];
+                if (!onlyIfAbsent || oldValue == null)
+                    vals[i] = value;
+                return oldValue;
+            }
+        }
+        ks[i] = key;
+        vals[i] = value;
+        ++modCount;
+        if (++size > threshold)
+            resize();
+        return null;
+    }
+
+    /**
+     * Initializes or doubles table size.  If null, allocates in
+     * accord with initial capacity target held in field threshold.
+     * Otherwise, because we are using power-of-two expansion, each
+     * key is reinserted by a short probe into the new table.
+     *
+     * @return the key table
+     */
+    final long[] resize() {
+        long[] oldKeys = keys;
+        Object[] oldVals = vals;
+        int oldCap = (oldKeys == null) ? 0 : oldKeys.length;
+        int newCap;
+        if (oldCap > 0) {
+            if (oldCap >= MAXIMUM_CAPACITY) {
+                if (size >= MAXIMUM_CAPACITY - 1)
+                    throw new IllegalStateException("Map is full");
+                threshold = Integer.MAX_VALUE;
+                return oldKeys;
+            }
+            newCap = oldCap << 1;
+        }
+        else if (threshold > 0) // initial capacity was placed in threshold
+            newCap = threshold;
+        else
+            newCap = DEFAULT_INITIAL_CAPACITY;
+        if (newCap < 2)
+            newCap = 2;
+        float ft = (float)newCap * loadFactor;
+        threshold = (newCap < MAXIMUM_CAPACITY && ft < (float)MAXIMUM_CAPACITY ?
+                     (int)ft : Integer.MAX_VALUE);
+        long[] newKeys = new long[newCap];
+        Object[] newVals = new Object[newCap];
+        keys = newKeys;
+        vals = newVals;
+        if (oldKeys != null) {
+            int mask = newCap - 1;
+            for (int j = 0; j < oldCap; ++j) {
+                long k;
+                if ((k = oldKeys[j]) != 0) {
+                    int i = hash(k) & mask;
+                    while (newKeys[i] != 0)
+                        i = (i + 1) & mask;
+                    newKeys[i] = k;
+                    newVals[i] = oldVals[j];
+                }
+            }
+        }
+        return newKeys;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with <tt>key</tt>, or
+     *         <tt>null</tt> if there was no mapping for <tt>key</tt>.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                ++modCount;
+                --size;
+            }
+            return oldValue;
+        }
+        int i = indexOf(key);
+        if (i < 0)
+            return null;
+        V oldValue = (V)vals[i];
+        ++modCount;
+        --size;
+        shiftKeys(i);
+        return oldValue;
+    }
+
+    /**
+     * Empties the slot at index i, moving later entries of its probe
+     * run back so that no lookup passes over a hole.
+     *
+     * @return the key of an entry moved from a higher to a lower index
+     * across the end of the table (see Itr), or 0 if none
+     */
+    final long shiftKeys(int i) {
+        long[] ks = keys; Object[] vs = vals;
+        int mask = ks.length - 1;
+        long wrapped = 0L;
+        for (int last = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long k;
+            if ((k = ks[j]) == 0) {
+                ks[last] = 0;
+                vs[last] = null;
+                return wrapped;
+            }
+            int h = hash(k) & mask;
+            // move k into last unless its home slot lies in (last, j]
+            if (last <= j ? (h <= last || h > j) : (h <= last && h > j)) {
+                if (j < last)
+                    wrapped = k;
+                ks[last] = k;
+                vs[last] = vs[j];
+                last = j;
+            }
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        long[] ks;
+        modCount++;
+        if ((ks = keys) != null && size > 0) {
+            Arrays.fill(ks, 0);
+            Arrays.fill(vals, null);
+        }
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value))
+            return true;
+        long[] ks;
+        if ((ks = keys) != null && size > 0) {
+            Object[] vs = vals;
+            for (int i = 0; i < ks.length; ++i) {
+                if (ks[i] != 0 && Objects.equals(vs[i], value))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // Boxed Map methods, relaying to the primitive forms
+
+    public V get(Object key) {
+        return (key instanceof Long) ? get(((Long)key).longValue()) : null;
+    }
+
+    public V getOrDefault(Object key, V defaultValue) {
+        return (key instanceof Long) ?
+            getLongOrDefault(((Long)key).longValue(), defaultValue) : defaultValue;
+    }
+
+    public boolean containsKey(Object key) {
+        return (key instanceof Long) && containsKey(((Long)key).longValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the key is null
+     */
+    public V put(Long key, V value) {
+        return putVal(key.longValue(), value, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the key is null
+     */
+    public V putIfAbsent(Long key, V value) {
+        return putVal(key.longValue(), value, true);
+    }
+
+    public V remove(Object key) {
+        return (key instanceof Long) ? remove(((Long)key).longValue()) : null;
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     *
+     * @param m mappings to be stored in this map
+     * @throws NullPointerException if the specified map is null or
+     *         contains a null key
+     */
+    public void putAll(Map<? extends Long, ? extends V> m) {
+        int s = m.size();
+        if (s > threshold) {
+            if (keys == null)
+                threshold = HashMap.tableSizeFor((int)(s / loadFactor) + 1);
+            else {
+                while (s > threshold && keys.length < MAXIMUM_CAPACITY)
+                    resize();
+            }
+        }
+        for (Map.Entry<? extends Long, ? extends V> e : m.entrySet())
+            putVal(e.getKey().longValue(), e.getValue(), false);
+    }
+
+    /**
+     * Returns an iterator over the keys of this map that does not box.
+     * The iterator supports removal.
+     *
+     * @return an iterator over the keys of this map
+     */
+    public PrimitiveIterator.OfLong keyIterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  Each entry boxes its key
+     * when created; <tt>setValue</tt> writes through to the map.
+     *
+     * @return a set view of the mappings contained in this map
+     */
+    public Set<Map.Entry<Long,V>> entrySet() {
+        Set<Map.Entry<Long,V>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    /**
+     * Holds cached entrySet().
+     */
+    transient Set<Map.Entry<Long,V>> entrySet;
+
+    final class EntrySet extends AbstractSet<Map.Entry<Long,V>> {
+        public final int size()                 { return size; }
+        public final void clear()               { LongHashMap.this.clear(); }
+        public final Iterator<Map.Entry<Long,V>> iterator() {
+            return new EntryIterator();
+        }
+        public final boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object key = e.getKey();
+            if (!(key instanceof Long))
+                return false;
+            long k = ((Long)key).longValue();
+            return containsKey(k) && Objects.equals(get(k), e.getValue());
+        }
+        public final boolean remove(Object o) {
+            if (contains(o)) {
+                LongHashMap.this.remove(((Map.Entry<?,?>)o).getKey());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Entry returned by the entry set iterator.  Holds a snapshot of
+     * the value; setValue writes through to the map.
+     */
+    final class MapEntry implements Map.Entry<Long,V> {
+        final long key;
+        V value;
+        MapEntry(long key, V value) { this.key = key; this.value = value; }
+        public Long getKey()             { return key; }
+        public V getValue()              { return value; }
+        public V setValue(V value) {
+            V oldValue = this.value;
+            putVal(key, value, false);
+            this.value = value;
+            return oldValue;
+        }
+        public String toString()         { return key + "=" + value; }
+        public int hashCode() {
+            return Long.hashCode(key) ^ Objects.hashCode(value);
+        }
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (o instanceof Map.Entry) {
+                Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+                Object k = e.getKey();
+                return (k instanceof Long) &&
+                    ((Long)k).longValue() == key &&
+                    Objects.equals(value, e.getValue());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Base iterator.  Traverses the zero key, then the table from
+     * high to low indices, then any entries wrapped past the cursor
+     * by removals (see implementation notes).
+     */
+    abstract class Itr {
+        int index;              // next table slot to examine, descending
+        int remaining;          // entries left to return
+        long lastKey;            // key last returned
+        int lastIndex = -1;     // slot last returned, or -1
+        boolean lastValid;      // true if lastKey may be removed
+        boolean zeroPending;    // zero key not yet returned
+        long[] wrapped;          // keys moved behind the cursor
+        int wrappedCount;
+        int expectedModCount;
+
+        Itr() {
+            expectedModCount = modCount;
+            remaining = size;
+            zeroPending = hasZeroKey;
+            index = (keys == null) ? 0 : keys.length;
+        }
+
+        public final boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Advances and returns the next key.
+         */
+        final long nextKey() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            --remaining;
+            lastValid = true;
+            lastIndex = -1;
+            if (zeroPending) {
+                zeroPending = false;
+                return lastKey = 0;
+            }
+            long[] ks = keys;
+            while (index > 0) {
+                long k;
+                if ((k = ks[--index]) != 0) {
+                    lastIndex = index;
+                    return lastKey = k;
+                }
+            }
+            if (wrappedCount > 0)
+                return lastKey = wrapped[--wrappedCount];
+            throw new ConcurrentModificationException();
+        }
+
+        public final void remove() {
+            if (!lastValid)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastValid = false;
+            if (lastKey == 0)
+                LongHashMap.this.remove(lastKey);
+            else {
+                int i = (lastIndex >= 0) ? lastIndex : indexOf(lastKey);
+                ++modCount;
+                --size;
+                long k = shiftKeys(i);
+                // An entry moved across the end of the table lands in a
+                // visited slot, so it is returned later from the side
+                // list. Once the table is exhausted (as it is whenever a
+                // key from the side list is removed) every slot has been
+                // visited and the moved entry has already been returned.
+                if (k != 0 && index > 0) {
+                    if (wrapped == null)
+                        wrapped = new long[2];
+                    else if (wrappedCount == wrapped.length)
+                        wrapped = Arrays.copyOf(wrapped, wrappedCount << 1);
+                    wrapped[wrappedCount++] = k;
+                }
+            }
+            expectedModCount = modCount;
+        }
+    }
+
+    final class KeyIterator extends Itr implements PrimitiveIterator.OfLong {
+        public long nextLong() { return nextKey(); }
+    }
+
+    final class EntryIterator extends Itr
+        implements Iterator<Map.Entry<Long,V>> {
+        @SuppressWarnings("unchecked")
+        public Map.Entry<Long,V> next() {
+            long k = nextKey();
+            int i = lastIndex;
+            return new MapEntry(k, (i >= 0) ? (V)vals[i] : get(k));
+        }
+    }
+
+    /**
+     * Returns a shallow copy of this <tt>LongHashMap</tt> instance: the keys
+     * and values themselves are not cloned.
+     *
+     * @return a shallow copy of this map
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object clone() {
+        LongHashMap<V> result;
+        try {
+            result = (LongHashMap<V>)super.clone();
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError(e);
+        }
+        if (keys != null) {
+            result.keys = keys.clone();
+            result.vals = vals.clone();
+        }
+        result.entrySet = null;
+        result.modCount = 0;
+        return result;
+    }
+
+    /**
+     * Save the state of the <tt>LongHashMap</tt> instance to a stream (i.e.,
+     * serialize it).
+     *
+     * @serialData The <i>size</i> (an int, the number of key-value
+     *             mappings) is emitted, followed by the key (long) and
+     *             value (Object) for each key-value mapping.  The key-value
+     *             mappings are emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        if (hasZeroKey) {
+            s.writeLong(0L);
+            s.writeObject(zeroValue);
+        }
+        long[] ks;
+        if ((ks = keys) != null) {
+            Object[] vs = vals;
+            for (int i = 0; i < ks.length; ++i) {
+                if (ks[i] != 0) {
+                    s.writeLong(ks[i]);
+                    s.writeObject(vs[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconstitute the {@code LongHashMap} instance from a stream (i.e.,
+     * deserialize it).
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new InvalidObjectException("Illegal load factor: " +
+                                             loadFactor);
+        int mappings = s.readInt();
+        if (mappings < 0)
+            throw new InvalidObjectException("Illegal mappings count: " +
+                                             mappings);
+        threshold = HashMap.tableSizeFor((int)(mappings / loadFactor) + 1);
+        for (int i = 0; i < mappings; i++)
+            putVal(s.readLong(), (V)s.readObject(), false);
+    }
+}
@@ -0,0 +1,844 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+
+/**
+ * Hash table based implementation of the <tt>Map</tt> interface for
+ * primitive <tt>long</tt> keys and values.  Keys and values are held
+ * directly in parallel arrays using open addressing with linear probing,
+ * so, unlike {@link HashMap}, inserting a mapping allocates neither boxed
+ * keys or values nor a per-entry node.  The primitive accessors
+ * ({@link #get(long)}, {@link #put(long, long)}, {@link #addTo} and so on)
+ * never box; the inherited <tt>Map</tt> methods and the collection views
+ * are fully supported, but box keys and values to <tt>Long</tt> as they
+ * are used.  This map does not permit <tt>null</tt> values.
+ *
+ * <p>The primitive accessors cannot return <tt>null</tt>, so they return
+ * zero for an absent key.  Use {@link #containsKey(long)} or
+ * {@link #getOrDefault(long, long)} where an absent key must be told apart
+ * from one mapped to zero.
+ *
+ * <p>This implementation provides constant-time performance for the basic
+ * operations (<tt>get</tt> and <tt>put</tt>), assuming the hash function
+ * disperses the keys properly among the slots.  Keys are spread using the
+ * same transform as {@link HashMap}, and the table is a power of two in
+ * length that is doubled whenever the number of mappings exceeds the
+ * product of the load factor and the current capacity.  Because each
+ * mapping occupies its own slot, the load factor must be less than one;
+ * the default (.5) keeps probe sequences short.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access this map concurrently, and at least one of
+ * the threads modifies the map structurally, it <i>must</i> be
+ * synchronized externally.
+ *
+ * <p>The iterators returned by all of this class's "collection view methods"
+ * are <i>fail-fast</i>: if the map is structurally modified at any time after
+ * the iterator is created, in any way except through the iterator's own
+ * <tt>remove</tt> method, the iterator will throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * @see     HashMap
+ * @see     LongHashMap
+ * @since   1.9
+ */
+public class LongLongHashMap extends AbstractMap<Long,Long>
+    implements Map<Long,Long>, Cloneable, Serializable {
+
+    private static final long serialVersionUID = -1271664209348120273L;
+
+    /*
+     * Implementation notes.
+     *
+     * Slots whose key is zero are free, so a mapping for key zero is
+     * kept out of band (fields hasZeroKey and zeroValue).  Removal
+     * uses backward-shift deletion rather than tombstones, so lookups
+     * never have to step over deleted slots and the table never needs
+     * to be rebuilt merely to purge them.
+     *
+     * Iterators traverse the table from high to low indices.  A
+     * backward shift performed by Iterator.remove moves entries to
+     * lower indices within their probe run, so it can only move an
+     * entry from a slot not yet visited into one that has been when
+     * the run wraps around the end of the table.  Such entries are
+     * collected in a side list by the iterator and returned after the
+     * table has been exhausted.
+     */
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     * The maximum capacity. MUST be a power of two <= 1<<30.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The load factor used when none specified in constructor.
+     */
+    static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    /**
+     * Spreads a key the same way as {@link HashMap#hash}.
+     */
+    static int hash(long key) {
+        int h = (int)(key ^ (key >>> 32));
+        return h ^ (h >>> 16);
+    }
+
+    /* ---------------- Fields -------------- */
+
+    /**
+     * The keys, initialized on first use.  Zero marks a free slot.
+     */
+    transient long[] keys;
+
+    /**
+     * The values, parallel to keys.
+     */
+    transient long[] vals;
+
+    /**
+     * True if the map contains a mapping for key zero.
+     */
+    transient boolean hasZeroKey;
+
+    /**
+     * The value mapped to key zero, if hasZeroKey.
+     */
+    transient long zeroValue;
+
+    /**
+     * The number of key-value mappings contained in this map.
+     */
+    transient int size;
+
+    /**
+     * The number of times this map has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * The next size value at which to resize (capacity * load factor).
+     * Before the table is allocated it holds the initial capacity.
+     *
+     * @serial
+     */
+    int threshold;
+
+    /**
+     * The load factor for the hash table.
+     *
+     * @serial
+     */
+    final float loadFactor;
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Constructs an empty <tt>LongLongHashMap</tt> with the specified initial
+     * capacity and load factor.
+     *
+     * @param  initialCapacity the initial capacity
+     * @param  loadFactor      the load factor
+     * @throws IllegalArgumentException if the initial capacity is negative
+     *         or the load factor is not between zero and one (exclusive)
+     */
+    public LongLongHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal initial capacity: " +
+                                               initialCapacity);
+        if (initialCapacity > MAXIMUM_CAPACITY)
+            initialCapacity = MAXIMUM_CAPACITY;
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new IllegalArgumentException("Illegal load factor: " +
+                                               loadFactor);
+        this.loadFactor = loadFactor;
+        this.threshold = HashMap.tableSizeFor(initialCapacity);
+    }
+
+    /**
+     * Constructs an empty <tt>LongLongHashMap</tt> with the specified initial
+     * capacity and the default load factor (0.5).
+     *
+     * @param  initialCapacity the initial capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative.
+     */
+    public LongLongHashMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an empty <tt>LongLongHashMap</tt> with the default initial
+     * capacity (16) and the default load factor (0.5).
+     */
+    public LongLongHashMap() {
+        this.loadFactor = DEFAULT_LOAD_FACTOR;
+    }
+
+    /**
+     * Constructs a new <tt>LongLongHashMap</tt> with the same mappings as the
+     * specified <tt>Map</tt>.
+     *
+     * @param   m the map whose mappings are to be placed in this map
+     * @throws  NullPointerException if the specified map is null or
+     *          contains a null key or value
+     */
+    public LongLongHashMap(Map<? extends Long, ? extends Long> m) {
+        this.loadFactor = DEFAULT_LOAD_FACTOR;
+        putAll(m);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains no key-value mappings.
+     *
+     * @return <tt>true</tt> if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the slot holding the given key, or -1 if absent.  Must
+     * not be called with key zero.
+     */
+    final int indexOf(long key) {
+        long[] ks; long k;
+        if ((ks = keys) != null) {
+            int mask = ks.length - 1;
+            for (int i = hash(key) & mask; (k = ks[i]) != 0; i = (i + 1) & mask) {
+                if (k == key)
+                    return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or zero if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value mapped to the key, or zero if none
+     */
+    public long get(long key) {
+        if (key == 0)
+            return zeroValue;
+        int i = indexOf(key);
+        return (i < 0) ? 0L : vals[i];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value mapped to the key, or {@code defaultValue} if none
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        int i = indexOf(key);
+        return (i < 0) ? defaultValue : vals[i];
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map contains a mapping for the
+     * specified key.
+     *
+     * @param   key   The key whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map contains a mapping for the specified
+     * key.
+     */
+    public boolean containsKey(long key) {
+        return (key == 0) ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with <tt>key</tt>, or
+     *         zero if there was no mapping for <tt>key</tt>.
+     */
+    public long put(long key, long value) {
+        int i = slotFor(key);
+        long oldValue;
+        if (i < 0) {
+            oldValue = zeroValue;
+            zeroValue = value;
+        }
+        else {
+            oldValue = vals[i];
+            vals[i] = value;
+        }
+        return oldValue;
+    }
+
+    /**
+     * Adds the given delta to the value associated with the specified
+     * key, treating an absent key as mapped to zero.
+     *
+     * @param key key whose value is to be incremented
+     * @param delta the amount to add
+     * @return the updated value
+     */
+    public long addTo(long key, long delta) {
+        int i = slotFor(key);
+        return (i < 0) ? (zeroValue += delta) : (vals[i] += delta);
+    }
+
+    /**
+     * Returns the slot for the given key, inserting the key with value
+     * zero if absent.  Returns -1 for key zero, whose value is held in
+     * zeroValue.
+     */
+    final int slotFor(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = 0L;
+                ++modCount;
+                ++size;
+            }
+            return -1;
+        }
+        long[] ks; long k; int i, mask;
+        if ((ks = keys) == null)
+            ks = resize();
+        mask = ks.length - 1;
+        for (i = hash(key) & mask; (k = ks[i]) != 0; i = (i + 1) & mask) {
+            if (k == key)
+                return i;
+        }
+        ++modCount;
+        if (size + 1 > threshold) {
+            ks = resize();
+            mask = ks.length - 1;
+            for (i = hash(key) & mask; ks[i] != 0; i = (i + 1) & mask)
+                ;
+        }
+        ++size;
+        ks[i] = key;
+        vals[i] = 0L;
+        return i;
+    }
+
+    /**
+     * Initializes or doubles table size.  If null, allocates in
+     * accord with initial capacity target held in field threshold.
+     * Otherwise, because we are using power-of-two expansion, each
+     * key is reinserted by a short probe into the new table.
+     *
+     * @return the key table
+     */
+    final long[] resize() {
+        long[] oldKeys = keys;
+        long[] oldVals = vals;
+        int oldCap = (oldKeys == null) ? 0 : oldKeys.length;
+        int newCap;
+        if (oldCap > 0) {
+            if (oldCap >= MAXIMUM_CAPACITY) {
+                if (size >= MAXIMUM_CAPACITY - 1)
+                    throw new IllegalStateException("Map is full");
+                threshold = Integer.MAX_VALUE;
+                return oldKeys;
+            }
+            newCap = oldCap << 1;
+        }
+        else if (threshold > 0) // initial capacity was placed in threshold
+            newCap = threshold;
+        else
+            newCap = DEFAULT_INITIAL_CAPACITY;
+        if (newCap < 2)
+            newCap = 2;
+        float ft = (float)newCap * loadFactor;
+        threshold = (newCap < MAXIMUM_CAPACITY && ft < (float)MAXIMUM_CAPACITY ?
+                     (int)ft : Integer.MAX_VALUE);
+        long[] newKeys = new long[newCap];
+        long[] newVals = new long[newCap];
+        keys = newKeys;
+        vals = newVals;
+        if (oldKeys != null) {
+            int mask = newCap - 1;
+            for (int j = 0; j < oldCap; ++j) {
+                long k;
+                if ((k = oldKeys[j]) != 0) {
+                    int i = hash(k) & mask;
+                    while (newKeys[i] != 0)
+                        i = (i + 1) & mask;
+                    newKeys[i] = k;
+                    newVals[i] = oldVals[j];
+                }
+            }
+        }
+        return newKeys;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with <tt>key</tt>, or
+     *         zero if there was no mapping for <tt>key</tt>.
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            long oldValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = 0L;
+                ++modCount;
+                --size;
+            }
+            return oldValue;
+        }
+        int i = indexOf(key);
+        if (i < 0)
+            return 0L;
+        long oldValue = vals[i];
+        ++modCount;
+        --size;
+        shiftKeys(i);
+        return oldValue;
+    }
+
+    /**
+     * Empties the slot at index i, moving later entries of its probe
+     * run back so that no lookup passes over a hole.
+     *
+     * @return the key of an entry moved from a higher to a lower index
+     * across the end of the table (see Itr), or 0 if none
+     */
+    final long shiftKeys(int i) {
+        long[] ks = keys, vs = vals;
+        int mask = ks.length - 1;
+        long wrapped = 0L;
+        for (int last = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            long k;
+            if ((k = ks[j]) == 0) {
+                ks[last] = 0;
+                vs[last] = 0L;
+                return wrapped;
+            }
+            int h = hash(k) & mask;
+            // move k into last unless its home slot lies in (last, j]
+            if (last <= j ? (h <= last || h > j) : (h <= last && h > j)) {
+                if (j < last)
+                    wrapped = k;
+                ks[last] = k;
+                vs[last] = vs[j];
+                last = j;
+            }
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    public void clear() {
+        long[] ks;
+        modCount++;
+        if ((ks = keys) != null && size > 0) {
+            Arrays.fill(ks, 0L);
+            Arrays.fill(vals, 0L);
+        }
+        hasZeroKey = false;
+        zeroValue = 0L;
+        size = 0;
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        return (value instanceof Long) && containsValue(((Long)value).longValue());
+    }
+
+    /**
+     * Returns <tt>true</tt> if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return <tt>true</tt> if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(long value) {
+        if (hasZeroKey && zeroValue == value)
+            return true;
+        long[] ks;
+        if ((ks = keys) != null && size > 0) {
+            long[] vs = vals;
+            for (int i = 0; i < ks.length; ++i) {
+                if (ks[i] != 0 && vs[i] == value)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // Boxed Map methods, relaying to the primitive forms
+
+    public Long get(Object key) {
+        long k;
+        return (key instanceof Long && containsKey(k = ((Long)key).longValue())) ?
+            get(k) : null;
+    }
+
+    public Long getOrDefault(Object key, Long defaultValue) {
+        long k;
+        return (key instanceof Long && containsKey(k = ((Long)key).longValue())) ?
+            get(k) : defaultValue;
+    }
+
+    public boolean containsKey(Object key) {
+        return (key instanceof Long) && containsKey(((Long)key).longValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the key or value is null
+     */
+    public Long put(Long key, Long value) {
+        long k = key.longValue(), v = value.longValue();
+        boolean present = containsKey(k);
+        long oldValue = put(k, v);
+        return present ? oldValue : null;
+    }
+
+    public Long remove(Object key) {
+        long k;
+        return (key instanceof Long && containsKey(k = ((Long)key).longValue())) ?
+            remove(k) : null;
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     *
+     * @param m mappings to be stored in this map
+     * @throws NullPointerException if the specified map is null or
+     *         contains a null key or value
+     */
+    public void putAll(Map<? extends Long, ? extends Long> m) {
+        int s = m.size();
+        if (s > threshold) {
+            if (keys == null)
+                threshold = HashMap.tableSizeFor((int)(s / loadFactor) + 1);
+            else {
+                while (s > threshold && keys.length < MAXIMUM_CAPACITY)
+                    resize();
+            }
+        }
+        for (Map.Entry<? extends Long, ? extends Long> e : m.entrySet())
+            put(e.getKey().longValue(), e.getValue().longValue());
+    }
+
+    /**
+     * Returns an iterator over the keys of this map that does not box.
+     * The iterator supports removal.
+     *
+     * @return an iterator over the keys of this map
+     */
+    public PrimitiveIterator.OfLong keyIterator() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The set is backed by the map, so changes to the map are
+     * reflected in the set, and vice-versa.  Each entry boxes its key
+     * and value as they are requested; <tt>setValue</tt> writes through
+     * to the map.
+     *
+     * @return a set view of the mappings contained in this map
+     */
+    public Set<Map.Entry<Long,Long>> entrySet() {
+        Set<Map.Entry<Long,Long>> es;
+        return (es = entrySet) == null ? (entrySet = new EntrySet()) : es;
+    }
+
+    /**
+     * Holds cached entrySet().
+     */
+    transient Set<Map.Entry<Long,Long>> entrySet;
+
+    final class EntrySet extends AbstractSet<Map.Entry<Long,Long>> {
+        public final int size()                 { return size; }
+        public final void clear()               { LongLongHashMap.this.clear(); }
+        public final Iterator<Map.Entry<Long,Long>> iterator() {
+            return new EntryIterator();
+        }
+        public final boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+            Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+            Object key = e.getKey();
+            if (!(key instanceof Long))
+                return false;
+            long k = ((Long)key).longValue();
+            Object v = e.getValue();
+            return (v instanceof Long) && containsKey(k) &&
+                get(k) == ((Long)v).longValue();
+        }
+        public final boolean remove(Object o) {
+            if (contains(o)) {
+                LongLongHashMap.this.remove(((Map.Entry<?,?>)o).getKey());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Entry returned by the entry set iterator.  Holds a snapshot of
+     * the value; setValue writes through to the map.
+     */
+    final class MapEntry implements Map.Entry<Long,Long> {
+        final long key;
+        long value;
+        MapEntry(long key, long value) { this.key = key; this.value = value; }
+        public Long getKey()             { return key; }
+        public Long getValue()           { return value; }
+        public Long setValue(Long value) {
+            long oldValue = this.value, v = value.longValue();
+            put(key, v);
+            this.value = v;
+            return oldValue;
+        }
+        public String toString()         { return key + "=" + value; }
+        public int hashCode() {
+            return Long.hashCode(key) ^ Long.hashCode(value);
+        }
+        public boolean equals(Object o) {
+            if (o == this)
+                return true;
+            if (o instanceof Map.Entry) {
+                Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+                Object k = e.getKey();
+                Object v = e.getValue();
+                return (k instanceof Long) && (v instanceof Long) &&
+                    ((Long)k).longValue() == key &&
+                    ((Long)v).longValue() == value;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Base iterator.  Traverses the zero key, then the table from
+     * high to low indices, then any entries wrapped past the cursor
+     * by removals (see implementation notes).
+     */
+    abstract class Itr {
+        int index;              // next table slot to examine, descending
+        int remaining;          // entries left to return
+        long lastKey;            // key last returned
+        int lastIndex = -1;     // slot last returned, or -1
+        boolean lastValid;      // true if lastKey may be removed
+        boolean zeroPending;    // zero key not yet returned
+        long[] wrapped;          // keys moved behind the cursor
+        int wrappedCount;
+        int expectedModCount;
+
+        Itr() {
+            expectedModCount = modCount;
+            remaining = size;
+            zeroPending = hasZeroKey;
+            index = (keys == null) ? 0 : keys.length;
+        }
+
+        public final boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Advances and returns the next key.
+         */
+        final long nextKey() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            --remaining;
+            lastValid = true;
+            lastIndex = -1;
+            if (zeroPending) {
+                zeroPending = false;
+                return lastKey = 0;
+            }
+            long[] ks = keys;
+            while (index > 0) {
+                long k;
+                if ((k = ks[--index]) != 0) {
+                    lastIndex = index;
+                    return lastKey = k;
+                }
+            }
+            if (wrappedCount > 0)
+                return lastKey = wrapped[--wrappedCount];
+            throw new ConcurrentModificationException();
+        }
+
+        public final void remove() {
+            if (!lastValid)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            lastValid = false;
+            if (lastKey == 0)
+                LongLongHashMap.this.remove(lastKey);
+            else {
+                int i = (lastIndex >= 0) ? lastIndex : indexOf(lastKey);
+                ++modCount;
+                --size;
+                long k = shiftKeys(i);
+                // An entry moved across the end of the table lands in a
+                // visited slot, so it is returned later from the side
+                // list. Once the table is exhausted (as it is whenever a
+                // key from the side list is removed) every slot has been
+                // visited and the moved entry has already been returned.
+                if (k != 0 && index > 0) {
+                    if (wrapped == null)
+                        wrapped = new long[2];
+                    else if (wrappedCount == wrapped.length)
+                        wrapped = Arrays.copyOf(wrapped, wrappedCount << 1);
+                    wrapped[wrappedCount++] = k;
+                }
+            }
+            expectedModCount = modCount;
+        }
+    }
+
+    final class KeyIterator extends Itr implements PrimitiveIterator.OfLong {
+        public long nextLong() { return nextKey(); }
+    }
+
+    final class EntryIterator extends Itr
+        implements Iterator<Map.Entry<Long,Long>> {
+        public Map.Entry<Long,Long> next() {
+            long k = nextKey();
+            int i = lastIndex;
+            return new MapEntry(k, (i >= 0) ? vals[i] : get(k));
+        }
+    }
+
+    /**
+     * Returns a copy of this <tt>LongLongHashMap</tt> instance.
+     *
+     * @return a copy of this map
+     */
+    @Override
+    public Object clone() {
+        LongLongHashMap result;
+        try {
+            result = (LongLongHashMap)super.clone();
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError(e);
+        }
+        if (keys != null) {
+            result.keys = keys.clone();
+            result.vals = vals.clone();
+        }
+        result.entrySet = null;
+        result.modCount = 0;
+        return result;
+    }
+
+    /**
+     * Save the state of the <tt>LongLongHashMap</tt> instance to a stream (i.e.,
+     * serialize it).
+     *
+     * @serialData The <i>size</i> (an int, the number of key-value
+     *             mappings) is emitted, followed by the key (long) and
+     *             value (long) for each key-value mapping.  The key-value
+     *             mappings are emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        if (hasZeroKey) {
+            s.writeLong(0L);
+            s.writeLong(zeroValue);
+        }
+        long[] ks;
+        if ((ks = keys) != null) {
+            long[] vs = vals;
+            for (int i = 0; i < ks.length; ++i) {
+                if (ks[i] != 0) {
+                    s.writeLong(ks[i]);
+                    s.writeLong(vs[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconstitute the {@code LongLongHashMap} instance from a stream (i.e.,
+     * deserialize it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f))
+            throw new InvalidObjectException("Illegal load factor: " +
+                                             loadFactor);
+        int mappings = s.readInt();
+        if (mappings < 0)
+            throw new InvalidObjectException("Illegal mappings count: " +
+                                             mappings);
+        threshold = HashMap.tableSizeFor((int)(mappings / loadFactor) + 1);
+        for (int i = 0; i < mappings; i++)
+            put(s.readLong(), s.readLong());
+    }
+}
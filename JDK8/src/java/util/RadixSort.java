@@ -0,0 +1,790 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements least significant digit (LSD) radix sorts of
+ * arrays of {@code int}, {@code long}, {@code float} and {@code double}
+ * values, and parallel versions of them.
+ *
+ * Each element is mapped to an unsigned key of the same width whose
+ * unsigned order is the numerical order of the elements: the sign bit
+ * of integral values is flipped, and the bits of floating-point values
+ * are flipped entirely if negative, or only in the sign bit otherwise,
+ * so that {@code -0.0} precedes {@code 0.0}.  NaNs are first moved to
+ * the end of the range, as in DualPivotQuicksort, which leaves their
+ * bit patterns intact.  The keys are then distributed on successive
+ * 8-bit digits, from the least significant, back and forth between the
+ * array and a workspace array of the same length.  The digit histograms
+ * of all passes are counted in a single initial traversal, and a pass
+ * is skipped if all elements share the same digit, which avoids most of
+ * the passes for narrowly distributed values.
+ *
+ * The parallel sorts split the range into chunks.  For each pass, the
+ * digit histograms of the chunks are counted in parallel, turned into
+ * per-chunk bucket offsets, in chunk order so as to keep the sort
+ * stable, and the chunks are then distributed in parallel, each into
+ * its own disjoint slots of the buckets.
+ *
+ * All exposed methods are package-private, designed to be invoked
+ * from public methods (in class Arrays) after performing any
+ * necessary array bounds checks and expanding parameters into the
+ * required forms.
+ *
+ * @since 1.9
+ */
+final class RadixSort {
+
+    /**
+     * Prevents instantiation.
+     */
+    private RadixSort() {}
+
+    /*
+     * Tuning parameters.
+     */
+
+    /**
+     * If the length of an array to be sorted is less than this
+     * constant, DualPivotQuicksort is used in preference to radix sort.
+     */
+    private static final int RADIX_SORT_THRESHOLD = 1 << 12;
+
+    /**
+     * If the length of an array to be sorted in parallel is less than
+     * this constant, it is sorted sequentially.
+     */
+    private static final int MIN_PARALLEL_SIZE = 1 << 16;
+
+    /**
+     * The minimum length of a chunk of a parallel sort.  Smaller chunks
+     * spend more time on their histograms than on distributing elements.
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * The number of bits of a digit, and the number of buckets of a pass.
+     */
+    private static final int DIGIT_BITS = 8, BUCKETS = 1 << DIGIT_BITS;
+
+    /**
+     * Operations of the parallel tasks.
+     */
+    private static final int COUNT_ALL = 0, COUNT = 1, SCATTER = 2;
+
+    /**
+     * Returns the unsigned sort key of the given float value, which
+     * must not be NaN.
+     */
+    private static int floatKey(float x) {
+        int k = Float.floatToRawIntBits(x);
+        return k ^ ((k >> 31) | Integer.MIN_VALUE);
+    }
+
+    /**
+     * Returns the unsigned sort key of the given double value, which
+     * must not be NaN.
+     */
+    private static long doubleKey(double x) {
+        long k = Double.doubleToRawLongBits(x);
+        return k ^ ((k >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns the number of chunks into which a parallel sort of the
+     * given number of elements is split.
+     */
+    private static int chunks(int n, int parallelism) {
+        int m = n / MIN_CHUNK_SIZE;
+        int t = (parallelism < (1 << 29)) ? parallelism << 2 : Integer.MAX_VALUE;
+        return Math.max(1, Math.min(m, t));
+    }
+
+    /**
+     * Returns true if the given totals of a pass place all elements in
+     * a single bucket, in which case the pass does not move elements.
+     *
+     * @param counts the histograms of the chunks
+     * @param c the offset of the histogram of the pass in each chunk
+     * @param n the number of elements
+     */
+    private static boolean isTrivialPass(int[][] counts, int c, int n) {
+        for (int b = c; b < c + BUCKETS; ++b) {
+            long total = 0;
+            for (int[] count : counts)
+                total += count[b];
+            if (total != 0)
+                return total == n;
+        }
+        return true;
+    }
+
+    /**
+     * Turns the histograms of a pass into the first destination index
+     * of each bucket in each chunk.  The buckets of a chunk follow
+     * those of the preceding chunks, so that the pass is stable.
+     *
+     * @param counts the histograms of the chunks
+     * @param c the offset of the histogram of the pass in each chunk
+     * @param base the first index of the destination
+     */
+    private static void toOffsets(int[][] counts, int c, int base) {
+        int sum = base;
+        for (int b = c; b < c + BUCKETS; ++b) {
+            for (int[] count : counts) {
+                int t = count[b];
+                count[b] = sum;
+                sum += t;
+            }
+        }
+    }
+
+    /*
+     * int sorts.
+     */
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     */
+    static void sort(int[] a, int low, int high) {
+        if (high - low < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, low, high - 1, null, 0, 0);
+            return;
+        }
+        int n = high - low;
+        int[][] counts = new int[1][4 << DIGIT_BITS];
+        count(a, low, high, counts[0]);
+        int[] src = a, dst = new int[n];
+        int sb = low, db = 0;
+        for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            toOffsets(counts, c, db);
+            scatter(src, sb, sb + n, dst, counts[0], c);
+            int[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     * @param parallelism the target parallelism
+     */
+    static void parallelSort(int[] a, int low, int high, int parallelism) {
+        if (high - low < MIN_PARALLEL_SIZE || parallelism <= 1) {
+            sort(a, low, high);
+            return;
+        }
+        int n = high - low, m = chunks(n, parallelism);
+        int size = (n + m - 1) / m;
+        m = (n + size - 1) / size;
+        int[][] counts = new int[m][4 << DIGIT_BITS];
+        int[] src = a, dst = new int[n];
+        int sb = low, db = 0;
+        new FJInt(COUNT_ALL, src, sb, n, dst, db, size, counts, 0, 0, m).invoke();
+        boolean counted = true;
+        for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            if (!counted)
+                new FJInt(COUNT, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            toOffsets(counts, c, db);
+            new FJInt(SCATTER, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            counted = false;
+            int[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Counts the digits of all passes of the elements of the given range.
+     */
+    private static void count(int[] a, int low, int high, int[] count) {
+        for (int i = low; i < high; ++i) {
+            int k = a[i] ^ Integer.MIN_VALUE;
+            for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS, k >>>= DIGIT_BITS)
+                ++count[c + (k & 0xFF)];
+        }
+    }
+
+    /**
+     * Counts the digits of one pass of the elements of the given range.
+     */
+    private static void count(int[] a, int low, int high, int[] count, int c) {
+        Arrays.fill(count, c, c + BUCKETS, 0);
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i)
+            ++count[c + (((a[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)];
+    }
+
+    /**
+     * Distributes the elements of the given range on the digit of a pass,
+     * advancing the given destination indices of the buckets.
+     */
+    private static void scatter(int[] src, int low, int high, int[] dst,
+                                int[] offsets, int c) {
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i) {
+            int x = src[i];
+            dst[offsets[c + (((x ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++] = x;
+        }
+    }
+
+    /**
+     * Applies an operation to a range of the chunks of a parallel sort.
+     */
+    @SuppressWarnings("serial")
+    static final class FJInt extends RecursiveAction {
+        final int op;
+        final int[] src, dst;
+        final int sbase, n, dbase, size;
+        final int[][] counts;
+        final int c, lo, hi;
+        FJInt(int op, int[] src, int sbase, int n, int[] dst, int dbase,
+             int size, int[][] counts, int c, int lo, int hi) {
+            this.op = op; this.src = src; this.sbase = sbase; this.n = n;
+            this.dst = dst; this.dbase = dbase; this.size = size;
+            this.counts = counts; this.c = c; this.lo = lo; this.hi = hi;
+        }
+        protected void compute() {
+            int lo = this.lo, hi = this.hi;
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new FJInt(op, src, sbase, n, dst, dbase, size, counts, c, lo, mid),
+                          new FJInt(op, src, sbase, n, dst, dbase, size, counts, c, mid, hi));
+                return;
+            }
+            int from = sbase + lo * size;
+            int to = sbase + Math.min(n, hi * size);
+            if (op == COUNT_ALL)
+                count(src, from, to, counts[lo]);
+            else if (op == COUNT)
+                count(src, from, to, counts[lo], c);
+            else
+                scatter(src, from, to, dst, counts[lo], c);
+        }
+    }
+
+    /*
+     * long sorts.
+     */
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     */
+    static void sort(long[] a, int low, int high) {
+        if (high - low < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, low, high - 1, null, 0, 0);
+            return;
+        }
+        int n = high - low;
+        int[][] counts = new int[1][8 << DIGIT_BITS];
+        count(a, low, high, counts[0]);
+        long[] src = a, dst = new long[n];
+        int sb = low, db = 0;
+        for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            toOffsets(counts, c, db);
+            scatter(src, sb, sb + n, dst, counts[0], c);
+            long[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     * @param parallelism the target parallelism
+     */
+    static void parallelSort(long[] a, int low, int high, int parallelism) {
+        if (high - low < MIN_PARALLEL_SIZE || parallelism <= 1) {
+            sort(a, low, high);
+            return;
+        }
+        int n = high - low, m = chunks(n, parallelism);
+        int size = (n + m - 1) / m;
+        m = (n + size - 1) / size;
+        int[][] counts = new int[m][8 << DIGIT_BITS];
+        long[] src = a, dst = new long[n];
+        int sb = low, db = 0;
+        new FJLong(COUNT_ALL, src, sb, n, dst, db, size, counts, 0, 0, m).invoke();
+        boolean counted = true;
+        for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            if (!counted)
+                new FJLong(COUNT, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            toOffsets(counts, c, db);
+            new FJLong(SCATTER, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            counted = false;
+            long[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Counts the digits of all passes of the elements of the given range.
+     */
+    private static void count(long[] a, int low, int high, int[] count) {
+        for (int i = low; i < high; ++i) {
+            long k = a[i] ^ Long.MIN_VALUE;
+            for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS, k >>>= DIGIT_BITS)
+                ++count[c + ((int) k & 0xFF)];
+        }
+    }
+
+    /**
+     * Counts the digits of one pass of the elements of the given range.
+     */
+    private static void count(long[] a, int low, int high, int[] count, int c) {
+        Arrays.fill(count, c, c + BUCKETS, 0);
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i)
+            ++count[c + ((int) ((a[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF)];
+    }
+
+    /**
+     * Distributes the elements of the given range on the digit of a pass,
+     * advancing the given destination indices of the buckets.
+     */
+    private static void scatter(long[] src, int low, int high, long[] dst,
+                                int[] offsets, int c) {
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i) {
+            long x = src[i];
+            dst[offsets[c + ((int) ((x ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = x;
+        }
+    }
+
+    /**
+     * Applies an operation to a range of the chunks of a parallel sort.
+     */
+    @SuppressWarnings("serial")
+    static final class FJLong extends RecursiveAction {
+        final int op;
+        final long[] src, dst;
+        final int sbase, n, dbase, size;
+        final int[][] counts;
+        final int c, lo, hi;
+        FJLong(int op, long[] src, int sbase, int n, long[] dst, int dbase,
+             int size, int[][] counts, int c, int lo, int hi) {
+            this.op = op; this.src = src; this.sbase = sbase; this.n = n;
+            this.dst = dst; this.dbase = dbase; this.size = size;
+            this.counts = counts; this.c = c; this.lo = lo; this.hi = hi;
+        }
+        protected void compute() {
+            int lo = this.lo, hi = this.hi;
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new FJLong(op, src, sbase, n, dst, dbase, size, counts, c, lo, mid),
+                          new FJLong(op, src, sbase, n, dst, dbase, size, counts, c, mid, hi));
+                return;
+            }
+            int from = sbase + lo * size;
+            int to = sbase + Math.min(n, hi * size);
+            if (op == COUNT_ALL)
+                count(src, from, to, counts[lo]);
+            else if (op == COUNT)
+                count(src, from, to, counts[lo], c);
+            else
+                scatter(src, from, to, dst, counts[lo], c);
+        }
+    }
+
+    /*
+     * float sorts.
+     */
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     */
+    static void sort(float[] a, int low, int high) {
+        if (high - low < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, low, high - 1, null, 0, 0);
+            return;
+        }
+        /*
+         * Move NaNs to the end of the array.
+         */
+        int right = high - 1;
+        while (low <= right && Float.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= low; ) {
+            float ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        high = right + 1;
+        int n = high - low;
+        int[][] counts = new int[1][4 << DIGIT_BITS];
+        count(a, low, high, counts[0]);
+        float[] src = a, dst = new float[n];
+        int sb = low, db = 0;
+        for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            toOffsets(counts, c, db);
+            scatter(src, sb, sb + n, dst, counts[0], c);
+            float[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     * @param parallelism the target parallelism
+     */
+    static void parallelSort(float[] a, int low, int high, int parallelism) {
+        if (high - low < MIN_PARALLEL_SIZE || parallelism <= 1) {
+            sort(a, low, high);
+            return;
+        }
+        /*
+         * Move NaNs to the end of the array.
+         */
+        int right = high - 1;
+        while (low <= right && Float.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= low; ) {
+            float ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        high = right + 1;
+        if (high - low < MIN_PARALLEL_SIZE) {
+            sort(a, low, high);
+            return;
+        }
+        int n = high - low, m = chunks(n, parallelism);
+        int size = (n + m - 1) / m;
+        m = (n + size - 1) / size;
+        int[][] counts = new int[m][4 << DIGIT_BITS];
+        float[] src = a, dst = new float[n];
+        int sb = low, db = 0;
+        new FJFloat(COUNT_ALL, src, sb, n, dst, db, size, counts, 0, 0, m).invoke();
+        boolean counted = true;
+        for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            if (!counted)
+                new FJFloat(COUNT, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            toOffsets(counts, c, db);
+            new FJFloat(SCATTER, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            counted = false;
+            float[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Counts the digits of all passes of the elements of the given range.
+     */
+    private static void count(float[] a, int low, int high, int[] count) {
+        for (int i = low; i < high; ++i) {
+            int k = floatKey(a[i]);
+            for (int c = 0; c < 4 << DIGIT_BITS; c += BUCKETS, k >>>= DIGIT_BITS)
+                ++count[c + (k & 0xFF)];
+        }
+    }
+
+    /**
+     * Counts the digits of one pass of the elements of the given range.
+     */
+    private static void count(float[] a, int low, int high, int[] count, int c) {
+        Arrays.fill(count, c, c + BUCKETS, 0);
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i)
+            ++count[c + (((floatKey(a[i])) >>> shift) & 0xFF)];
+    }
+
+    /**
+     * Distributes the elements of the given range on the digit of a pass,
+     * advancing the given destination indices of the buckets.
+     */
+    private static void scatter(float[] src, int low, int high, float[] dst,
+                                int[] offsets, int c) {
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i) {
+            float x = src[i];
+            dst[offsets[c + (((floatKey(x)) >>> shift) & 0xFF)]++] = x;
+        }
+    }
+
+    /**
+     * Applies an operation to a range of the chunks of a parallel sort.
+     */
+    @SuppressWarnings("serial")
+    static final class FJFloat extends RecursiveAction {
+        final int op;
+        final float[] src, dst;
+        final int sbase, n, dbase, size;
+        final int[][] counts;
+        final int c, lo, hi;
+        FJFloat(int op, float[] src, int sbase, int n, float[] dst, int dbase,
+             int size, int[][] counts, int c, int lo, int hi) {
+            this.op = op; this.src = src; this.sbase = sbase; this.n = n;
+            this.dst = dst; this.dbase = dbase; this.size = size;
+            this.counts = counts; this.c = c; this.lo = lo; this.hi = hi;
+        }
+        protected void compute() {
+            int lo = this.lo, hi = this.hi;
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new FJFloat(op, src, sbase, n, dst, dbase, size, counts, c, lo, mid),
+                          new FJFloat(op, src, sbase, n, dst, dbase, size, counts, c, mid, hi));
+                return;
+            }
+            int from = sbase + lo * size;
+            int to = sbase + Math.min(n, hi * size);
+            if (op == COUNT_ALL)
+                count(src, from, to, counts[lo]);
+            else if (op == COUNT)
+                count(src, from, to, counts[lo], c);
+            else
+                scatter(src, from, to, dst, counts[lo], c);
+        }
+    }
+
+    /*
+     * double sorts.
+     */
+
+    /**
+     * Sorts the specified range of the array.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     */
+    static void sort(double[] a, int low, int high) {
+        if (high - low < RADIX_SORT_THRESHOLD) {
+            DualPivotQuicksort.sort(a, low, high - 1, null, 0, 0);
+            return;
+        }
+        /*
+         * Move NaNs to the end of the array.
+         */
+        int right = high - 1;
+        while (low <= right && Double.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= low; ) {
+            double ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        high = right + 1;
+        int n = high - low;
+        int[][] counts = new int[1][8 << DIGIT_BITS];
+        count(a, low, high, counts[0]);
+        double[] src = a, dst = new double[n];
+        int sb = low, db = 0;
+        for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            toOffsets(counts, c, db);
+            scatter(src, sb, sb + n, dst, counts[0], c);
+            double[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Sorts the specified range of the array in parallel.
+     *
+     * @param a the array to be sorted
+     * @param low the index of the first element, inclusive, to be sorted
+     * @param high the index of the last element, exclusive, to be sorted
+     * @param parallelism the target parallelism
+     */
+    static void parallelSort(double[] a, int low, int high, int parallelism) {
+        if (high - low < MIN_PARALLEL_SIZE || parallelism <= 1) {
+            sort(a, low, high);
+            return;
+        }
+        /*
+         * Move NaNs to the end of the array.
+         */
+        int right = high - 1;
+        while (low <= right && Double.isNaN(a[right])) {
+            --right;
+        }
+        for (int k = right; --k >= low; ) {
+            double ak = a[k];
+            if (ak != ak) { // a[k] is NaN
+                a[k] = a[right];
+                a[right] = ak;
+                --right;
+            }
+        }
+        high = right + 1;
+        if (high - low < MIN_PARALLEL_SIZE) {
+            sort(a, low, high);
+            return;
+        }
+        int n = high - low, m = chunks(n, parallelism);
+        int size = (n + m - 1) / m;
+        m = (n + size - 1) / size;
+        int[][] counts = new int[m][8 << DIGIT_BITS];
+        double[] src = a, dst = new double[n];
+        int sb = low, db = 0;
+        new FJDouble(COUNT_ALL, src, sb, n, dst, db, size, counts, 0, 0, m).invoke();
+        boolean counted = true;
+        for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS) {
+            if (isTrivialPass(counts, c, n))
+                continue;
+            if (!counted)
+                new FJDouble(COUNT, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            toOffsets(counts, c, db);
+            new FJDouble(SCATTER, src, sb, n, dst, db, size, counts, c, 0, m).invoke();
+            counted = false;
+            double[] t = src; src = dst; dst = t;
+            int tb = sb; sb = db; db = tb;
+        }
+        if (src != a)
+            System.arraycopy(src, sb, a, low, n);
+    }
+
+    /**
+     * Counts the digits of all passes of the elements of the given range.
+     */
+    private static void count(double[] a, int low, int high, int[] count) {
+        for (int i = low; i < high; ++i) {
+            long k = doubleKey(a[i]);
+            for (int c = 0; c < 8 << DIGIT_BITS; c += BUCKETS, k >>>= DIGIT_BITS)
+                ++count[c + ((int) k & 0xFF)];
+        }
+    }
+
+    /**
+     * Counts the digits of one pass of the elements of the given range.
+     */
+    private static void count(double[] a, int low, int high, int[] count, int c) {
+        Arrays.fill(count, c, c + BUCKETS, 0);
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i)
+            ++count[c + ((int) ((doubleKey(a[i])) >>> shift) & 0xFF)];
+    }
+
+    /**
+     * Distributes the elements of the given range on the digit of a pass,
+     * advancing the given destination indices of the buckets.
+     */
+    private static void scatter(double[] src, int low, int high, double[] dst,
+                                int[] offsets, int c) {
+        int shift = (c / BUCKETS) * DIGIT_BITS;
+        for (int i = low; i < high; ++i) {
+            double x = src[i];
+            dst[offsets[c + ((int) ((doubleKey(x)) >>> shift) & 0xFF)]++] = x;
+        }
+    }
+
+    /**
+     * Applies an operation to a range of the chunks of a parallel sort.
+     */
+    @SuppressWarnings("serial")
+    static final class FJDouble extends RecursiveAction {
+        final int op;
+        final double[] src, dst;
+        final int sbase, n, dbase, size;
+        final int[][] counts;
+        final int c, lo, hi;
+        FJDouble(int op, double[] src, int sbase, int n, double[] dst, int dbase,
+             int size, int[][] counts, int c, int lo, int hi) {
+            this.op = op; this.src = src; this.sbase = sbase; this.n = n;
+            this.dst = dst; this.dbase = dbase; this.size = size;
+            this.counts = counts; this.c = c; this.lo = lo; this.hi = hi;
+        }
+        protected void compute() {
+            int lo = this.lo, hi = this.hi;
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new FJDouble(op, src, sbase, n, dst, dbase, size, counts, c, lo, mid),
+                          new FJDouble(op, src, sbase, n, dst, dbase, size, counts, c, mid, hi));
+                return;
+            }
+            int from = sbase + lo * size;
+            int to = sbase + Math.min(n, hi * size);
+            if (op == COUNT_ALL)
+                count(src, from, to, counts[lo]);
+            else if (op == COUNT)
+                count(src, from, to, counts[lo], c);
+            else
+                scatter(src, from, to, dst, counts[lo], c);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared support for the bounded lock-free array queues {@link
+ * SpscArrayQueue} and {@link MpscArrayQueue}.
+ *
+ * Overview:
+ *
+ * Elements are held in a power-of-two sized array, indexed by the
+ * low bits of two monotonically increasing counters: head, the index
+ * of the next element to take, written only by the consumer, and
+ * tail, the index of the next slot to fill, written only by
+ * producers.  The counters are placed in separate cache lines (and
+ * subclasses keep each side's cached copy of the other side's counter
+ * with the counter it owns), so that producers and the consumer do
+ * not contend except when the queue is nearly empty or full.  The
+ * consumer nulls out each slot before publishing the advanced head,
+ * so a producer that observes space via head also observes the slot
+ * cleared.
+ *
+ * Blocking and timed operations retry the corresponding nonblocking
+ * ones, consulting the WaitStrategy between attempts, so the
+ * nonblocking paths never signal.
+ *
+ * The SKIP marker fills slots claimed by an MpscArrayQueue fill
+ * whose supplier failed; consumers discard it.
+ */
+abstract class AbstractArrayQueue<E> extends AbstractQueue<E>
+    implements BlockingQueue<E> {
+
+    /** Largest capacity supported */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Marker for slots abandoned by a failed fill */
+    static final Object SKIP = new Object();
+
+    /** The elements, of power of two length */
+    final Object[] buffer;
+
+    /** Mask for indexing buffer */
+    final int mask;
+
+    /** The capacity, at most buffer.length */
+    final int capacity;
+
+    /** The wait strategy for blocking and timed operations */
+    final WaitStrategy waitStrategy;
+
+    /** Index of the next element to take */
+    @sun.misc.Contended("consumer") volatile long head;
+
+    /** Index of the next slot to fill */
+    @sun.misc.Contended("producer") volatile long tail;
+
+    AbstractArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY)
+            throw new IllegalArgumentException();
+        if (waitStrategy == null)
+            throw new NullPointerException();
+        int n = 1;
+        while (n < capacity)
+            n <<= 1;
+        this.buffer = new Object[n];
+        this.mask = n - 1;
+        this.capacity = capacity;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /** Returns the address offset of the slot for the given index. */
+    final long slotOffset(long index) {
+        return ((index & mask) << ASHIFT) + ABASE;
+    }
+
+    /**
+     * Removes at most the given number of available elements from
+     * this queue, performing the given action on each, in order.
+     * Removal is published once for the whole batch, so this is more
+     * efficient than polling elements one at a time.  If the action
+     * throws an exception, the element on which it was performed has
+     * nevertheless been removed, and the exception is relayed to the
+     * caller.  Only the consumer thread may invoke this method.
+     *
+     * @param action the action to perform on each element
+     * @param limit the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException if the action is null
+     */
+    public abstract int drain(Consumer<? super E> action, int limit);
+
+    /**
+     * Inserts at most the given number of elements obtained from the
+     * given supplier, stopping when this queue is full.  Insertion is
+     * published once for the whole batch, so this is more efficient
+     * than offering elements one at a time.  If the supplier returns
+     * null or throws an exception, the elements already supplied
+     * remain inserted, and the exception (a {@link
+     * NullPointerException} in the case of null) is relayed to the
+     * caller.
+     *
+     * @param supplier the supplier of elements
+     * @param limit the maximum number of elements to insert
+     * @return the number of elements inserted
+     * @throws NullPointerException if the supplier is null or
+     *         supplies a null element
+     */
+    public abstract int fill(Supplier<? extends E> supplier, int limit);
+
+    /**
+     * Inserts the specified element into this queue, waiting as
+     * directed by this queue's wait strategy for space to become
+     * available.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void put(E e) throws InterruptedException {
+        if (e == null)
+            throw new NullPointerException();
+        for (int k = 0; !offer(e); k = (k < Integer.MAX_VALUE) ? k + 1 : k) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(k);
+        }
+    }
+
+    /**
+     * Inserts the specified element into this queue, waiting as
+     * directed by this queue's wait strategy, up to the specified
+     * wait time, for space to become available.
+     *
+     * @return {@code true} if successful, or {@code false} if
+     *         the specified waiting time elapses before space is available
+     * @throws InterruptedException {@inheritDoc}
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (e == null)
+            throw new NullPointerException();
+        long nanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + nanos;
+        for (int k = 0; !offer(e); k = (k < Integer.MAX_VALUE) ? k + 1 : k) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            if (nanos <= 0L)
+                return false;
+            waitStrategy.idle(k);
+            nanos = deadline - System.nanoTime();
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting as
+     * directed by this queue's wait strategy until an element becomes
+     * available.  Only the consumer thread may invoke this method.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public E take() throws InterruptedException {
+        E x;
+        for (int k = 0; (x = poll()) == null;
+             k = (k < Integer.MAX_VALUE) ? k + 1 : k) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            waitStrategy.idle(k);
+        }
+        return x;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, waiting as
+     * directed by this queue's wait strategy, up to the specified
+     * wait time, until an element becomes available.  Only the
+     * consumer thread may invoke this method.
+     *
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + nanos;
+        E x;
+        for (int k = 0; (x = poll()) == null;
+             k = (k < Integer.MAX_VALUE) ? k + 1 : k) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+            if (nanos <= 0L)
+                return null;
+            waitStrategy.idle(k);
+            nanos = deadline - System.nanoTime();
+        }
+        return x;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  The value is
+     * only an estimate if producers or the consumer are active.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        long h, t, h2 = head;
+        do {
+            h = h2;
+            t = tail;
+        } while ((h2 = head) != h);
+        long n = t - h;
+        return (n <= 0L) ? 0 : (n >= capacity) ? capacity : (int)n;
+    }
+
+    public boolean isEmpty() {
+        return head >= tail;
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * ideally (in the absence of memory or resource constraints)
+     * accept without blocking.  The value is only an estimate if
+     * producers or the consumer are active.
+     *
+     * @return the remaining capacity
+     */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        return drain(c::add, maxElements);
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue in proper
+     * sequence.  The iterator does not support removal.
+     *
+     * <p>The returned iterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return an iterator over the elements in this queue in proper sequence
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the elements in this queue.
+     *
+     * <p>The returned spliterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#CONCURRENT},
+     * {@link Spliterator#ORDERED}, and {@link Spliterator#NONNULL}.
+     *
+     * @return a {@code Spliterator} over the elements in this queue
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator
+            (this, Spliterator.ORDERED | Spliterator.NONNULL |
+             Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Iterates over the indices between head and tail at the time of
+     * creation, returning elements that have not yet been taken when
+     * read.  An element read from a slot after head passed its index
+     * may belong to a later lap, so is skipped.
+     */
+    final class Itr implements Iterator<E> {
+        private long index;
+        private final long end;
+        private E nextItem;
+
+        Itr() {
+            index = head;
+            end = tail;
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            E x = null;
+            while (index < end) {
+                long i = index++;
+                Object e = U.getObjectVolatile(buffer, slotOffset(i));
+                if (e != null && e != SKIP && head <= i) {
+                    x = (E)e;
+                    break;
+                }
+            }
+            nextItem = x;
+        }
+
+        public boolean hasNext() {
+            return nextItem != null;
+        }
+
+        public E next() {
+            E x = nextItem;
+            if (x == null)
+                throw new NoSuchElementException();
+            advance();
+            return x;
+        }
+    }
+
+    // Unsafe mechanics
+    static final sun.misc.Unsafe U;
+    static final long HEAD;
+    static final long TAIL;
+    static final long ABASE;
+    static final int ASHIFT;
+    static {
+        try {
+            U = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = AbstractArrayQueue.class;
+            HEAD = U.objectFieldOffset
+                (k.getDeclaredField("head"));
+            TAIL = U.objectFieldOffset
+                (k.getDeclaredField("tail"));
+            Class<?> ak = Object[].class;
+            ABASE = U.arrayBaseOffset(ak);
+            int scale = U.arrayIndexScale(ak);
+            if ((scale & (scale - 1)) != 0)
+                throw new Error("data type scale not a power of two");
+            ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
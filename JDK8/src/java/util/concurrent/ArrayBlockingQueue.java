@@ -185,6 +185,87 @@ public class ArrayBlockingQueue<E> extends AbstractQueue<E>
         return x;
     }
 
+    /**
+     * Inserts as many as possible of the n elements of a starting at
+     * off at current put position, advances, and signals a take per
+     * element while takes are waiting.  Call only when holding lock.
+     *
+     * @return the number of elements inserted
+     */
+    private int enqueueAll(Object[] a, int off, int n) {
+        // assert lock.getHoldCount() == 1;
+        final Object[] items = this.items;
+        if ((n = Math.min(n, items.length - count)) > 0) {
+            int put = putIndex;
+            int k = Math.min(n, items.length - put);
+            System.arraycopy(a, off, items, put, k);
+            System.arraycopy(a, off + k, items, 0, n - k);
+            if ((put += n) >= items.length)
+                put -= items.length;
+            putIndex = put;
+            count += n;
+            final ReentrantLock lock = this.lock;
+            for (int i = n; i > 0 && lock.hasWaiters(notEmpty); i--)
+                notEmpty.signal();
+        }
+        return n;
+    }
+
+    /**
+     * Transfers up to maxElements elements to c.  Call only when
+     * holding lock.
+     *
+     * @return the number of elements transferred
+     */
+    private int drainItems(Collection<? super E> c, int maxElements) {
+        // assert lock.getHoldCount() == 1;
+        final Object[] items = this.items;
+        int n = Math.min(maxElements, count);
+        int take = takeIndex;
+        int i = 0;
+        try {
+            while (i < n) {
+                @SuppressWarnings("unchecked")
+                E x = (E) items[take];
+                c.add(x);
+                items[take] = null;
+                if (++take == items.length)
+                    take = 0;
+                i++;
+            }
+            return n;
+        } finally {
+            // Restore invariants even if c.add() threw
+            if (i > 0) {
+                count -= i;
+                takeIndex = take;
+                if (itrs != null) {
+                    if (count == 0)
+                        itrs.queueIsEmpty();
+                    else if (i > take)
+                        itrs.takeIndexWrapped();
+                }
+                final ReentrantLock lock = this.lock;
+                for (; i > 0 && lock.hasWaiters(notFull); i--)
+                    notFull.signal();
+            }
+        }
+    }
+
+    /**
+     * Returns the elements of a collection to be inserted, checking
+     * them before any are inserted.
+     */
+    private Object[] toBatch(Collection<? extends E> c) {
+        checkNotNull(c);
+        if (c == this)
+            throw new IllegalArgumentException();
+        Object[] a = c.toArray();
+        for (Object e : a)
+            checkNotNull(e);
+        return a;
+    }
+
     /**
      * Deletes item at array index removeIndex.
      * Utility for remove(Object) and iterator.remove.
@@ -715,39 +796,144 @@ public class ArrayBlockingQueue<E> extends AbstractQueue<E>
             throw new IllegalArgumentException();
         if (maxElements <= 0)
             return 0;
-        final Object[] items = this.items;
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            int n = Math.min(maxElements, count);
-            int take = takeIndex;
-            int i = 0;
-            try {
-                while (i < n) {
-                    @SuppressWarnings("unchecked")
-                    E x = (E) items[take];
-                    c.add(x);
-                    items[take] = null;
-                    if (++take == items.length)
-                        take = 0;
-                    i++;
-                }
-                return n;
-            } finally {
-                // Restore invariants even if c.add() threw
-                if (i > 0) {
-                    count -= i;
-                    takeIndex = take;
-                    if (itrs != null) {
-                        if (count == 0)
-                            itrs.queueIsEmpty();
-                        else if (i > take)
-                            itrs.takeIndexWrapped();
-                    }
-                    for (; i > 0 && lock.hasWaiters(notFull); i--)
-                        notFull.signal();
-                }
+            return drainItems(c, maxElements);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes at most the given number of available elements from
+     * this queue and adds them to the given collection, waiting if
+     * necessary up to the specified wait time until at least {@code
+     * minElements} elements have been transferred.  Elements are
+     * transferred as they become available, while holding the lock,
+     * which is acquired once for the whole batch.  Behavior upon
+     * failure of addition is as described for {@link
+     * #drainTo(Collection,int)}.
+     *
+     * @param c the collection to transfer elements into
+     * @param minElements the number of elements to wait for
+     * @param maxElements the maximum number of elements to transfer
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return the number of elements transferred, which is less than
+     *         {@code minElements} only if the waiting time elapsed
+     * @throws InterruptedException if interrupted while waiting, in
+     *         which case the elements already transferred remain in
+     *         the collection
+     * @throws UnsupportedOperationException if addition of elements
+     *         is not supported by the specified collection
+     * @throws ClassCastException if the class of an element of this queue
+     *         prevents it from being added to the specified collection
+     * @throws NullPointerException if the specified collection is null
+     * @throws IllegalArgumentException if the specified collection is
+     *         this queue, or some property of an element of this queue
+     *         prevents it from being added to the specified collection,
+     *         or {@code minElements > maxElements}
+     * @since 1.9
+     */
+    public int drainTo(Collection<? super E> c, int minElements,
+                       int maxElements, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        checkNotNull(c);
+        if (c == this || minElements > maxElements)
+            throw new IllegalArgumentException();
+        if (maxElements <= 0)
+            return 0;
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            int n = 0;
+            for (;;) {
+                if (count > 0)
+                    n += drainItems(c, maxElements - n);
+                if (n >= minElements || nanos <= 0)
+                    return n;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts as many elements of the specified collection as
+     * possible at the tail of this queue without exceeding its
+     * capacity, in the order returned by the collection's iterator.
+     * The lock is acquired once for the whole batch, so this is more
+     * efficient than inserting the elements one at a time.
+     *
+     * @param c the collection of elements to insert
+     * @return the number of elements inserted, which are the first
+     *         elements of the collection
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    public int offerAll(Collection<? extends E> c) {
+        Object[] a = toBatch(c);
+        if (a.length == 0)
+            return 0;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return enqueueAll(a, 0, a.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the elements of the specified collection at the tail of
+     * this queue, in the order returned by the collection's iterator,
+     * waiting if necessary up to the specified wait time for space to
+     * become available.  Whenever space is available, as many of the
+     * remaining elements as fit are inserted at once, while holding
+     * the lock, which is acquired once for the whole batch.
+     *
+     * @param c the collection of elements to insert
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return the number of elements inserted, which are the first
+     *         elements of the collection, and which is less than its
+     *         size only if the waiting time elapsed
+     * @throws InterruptedException if interrupted while waiting, in
+     *         which case the elements already inserted remain in this
+     *         queue
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    public int offerAll(Collection<? extends E> c, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        Object[] a = toBatch(c);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            int n = 0;
+            while (n < a.length) {
+                if (count < items.length)
+                    n += enqueueAll(a, n, a.length - n);
+                else if (nanos <= 0)
+                    break;
+                else
+                    nanos = notFull.awaitNanos(nanos);
             }
+            return n;
         } finally {
             lock.unlock();
         }
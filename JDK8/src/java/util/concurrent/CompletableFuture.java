@@ -998,6 +998,167 @@ public class CompletableFuture<T> implements Future<T>, CompletionStage<T> {
         return d;
     }
 
+    @SuppressWarnings("serial")
+    static final class UniPipeline<T,V> extends UniCompletion<T,V> {
+        Object[] fns; byte[] ops; // stages of CompletionPipeline
+        final int index;          // first stage to run
+        UniPipeline(Executor executor, CompletableFuture<V> dep,
+                    CompletableFuture<T> src,
+                    Object[] fns, byte[] ops, int index) {
+            super(executor, dep, src);
+            this.fns = fns; this.ops = ops; this.index = index;
+        }
+        final CompletableFuture<V> tryFire(int mode) {
+            CompletableFuture<V> d; CompletableFuture<T> a;
+            if ((d = dep) == null ||
+                !d.uniPipeline(a = src, fns, ops, index,
+                               mode > 0 ? null : this))
+                return null;
+            dep = null; src = null; fns = null; ops = null;
+            return d.postFire(a, mode);
+        }
+    }
+
+    final boolean uniPipeline(CompletableFuture<?> a, Object[] fns,
+                              byte[] ops, int i, UniPipeline<?,T> c) {
+        Object r;
+        if (a == null || (r = a.result) == null || fns == null)
+            return false;
+        if (result == null) {
+            if (c != null && !c.claim())
+                return false;
+            runPipeline(r, fns, ops, i);
+        }
+        return true;
+    }
+
+    /** Returns x wrapped as a CompletionException unless it is one. */
+    static Throwable wrapThrowable(Throwable x) {
+        return (x instanceof CompletionException) ? x :
+            new CompletionException(x);
+    }
+
+    /**
+     * Runs stages i and above of a CompletionPipeline given the
+     * encoded result r of the preceding stage (or, if i is zero, of
+     * the source), and completes this future unless suspended
+     * waiting for a composed stage.  The outcome of each stage is
+     * held in locals v and x rather than encoded, so no objects are
+     * created other than by stage functions and on exceptional
+     * outcomes.  As in the chained forms, exceptions are wrapped as
+     * CompletionExceptions when propagated past, relayed from, or
+     * thrown by a stage, but handlers see the source exception as is.
+     */
+    @SuppressWarnings("unchecked")
+    final void runPipeline(Object r, Object[] fns, byte[] ops, int i) {
+        Object v; Throwable x;
+        if (r instanceof AltResult) {
+            v = null;
+            if ((x = ((AltResult)r).ex) != null && i > 0)
+                x = wrapThrowable(x);   // relayed from composed stage
+        }
+        else {
+            v = r;
+            x = null;
+        }
+        for (int n = ops.length; i < n; ++i) {
+            Object f = fns[i];
+            try {
+                switch (ops[i]) {
+                case CompletionPipeline.APPLY:
+                    if (x == null)
+                        v = ((Function<Object,Object>)f).apply(v);
+                    else
+                        x = wrapThrowable(x);
+                    break;
+                case CompletionPipeline.ACCEPT:
+                    if (x == null) {
+                        ((Consumer<Object>)f).accept(v);
+                        v = null;
+                    }
+                    else
+                        x = wrapThrowable(x);
+                    break;
+                case CompletionPipeline.RUN:
+                    if (x == null) {
+                        ((Runnable)f).run();
+                        v = null;
+                    }
+                    else
+                        x = wrapThrowable(x);
+                    break;
+                case CompletionPipeline.COMPOSE:
+                    if (x == null) {
+                        CompletableFuture<Object> g =
+                            ((Function<Object,CompletionStage<Object>>)f)
+                            .apply(v).toCompletableFuture();
+                        Object s;
+                        if ((s = g.result) == null) {
+                            UniPipeline<Object,T> c = new UniPipeline<Object,T>
+                                (null, this, g, fns, ops, i + 1);
+                            g.push(c);
+                            c.tryFire(SYNC);
+                            return;
+                        }
+                        if (s instanceof AltResult) {
+                            v = null;
+                            if ((x = ((AltResult)s).ex) != null)
+                                x = wrapThrowable(x);
+                        }
+                        else
+                            v = s;
+                    }
+                    else
+                        x = wrapThrowable(x);
+                    break;
+                case CompletionPipeline.HANDLE:
+                    v = ((BiFunction<Object,Throwable,Object>)f).apply(v, x);
+                    x = null;
+                    break;
+                case CompletionPipeline.WHEN_COMPLETE:
+                    ((BiConsumer<Object,Throwable>)f).accept(v, x);
+                    if (x != null)
+                        x = wrapThrowable(x);
+                    break;
+                case CompletionPipeline.EXCEPTIONALLY:
+                    if (x != null) {
+                        v = ((Function<Throwable,Object>)f).apply(x);
+                        x = null;
+                    }
+                    break;
+                default:
+                    throw new Error();
+                }
+            } catch (Throwable ex) {
+                // whenComplete keeps the source exception, if any
+                x = wrapThrowable((x != null &&
+                                   ops[i] == CompletionPipeline.WHEN_COMPLETE) ?
+                                  x : ex);
+                v = null;
+            }
+        }
+        if (x != null)
+            completeThrowable(x);
+        else
+            completeValue((T)v);
+    }
+
+    private <V> CompletableFuture<V> uniPipelineStage(
+        Executor e, CompletionPipeline<? super T, ? extends V> p) {
+        if (p == null) throw new NullPointerException();
+        CompletableFuture<V> d = new CompletableFuture<V>();
+        Object r;
+        if (e == null && (r = result) != null)
+            d.runPipeline(r, p.fns, p.ops, 0);
+        else {
+            UniPipeline<T,V> c =
+                new UniPipeline<T,V>(e, d, this, p.fns, p.ops, 0);
+            push(c);
+            c.tryFire(SYNC);
+        }
+        return d;
+    }
+
     /* ------------- Two-input Completions -------------- */
 
     /** A Completion for an action with two sources */
@@ -2196,6 +2357,60 @@ public class CompletableFuture<T> implements Future<T>, CompletionStage<T> {
         return uniExceptionallyStage(fn);
     }
 
+    /**
+     * Returns a new CompletableFuture that, when this stage completes,
+     * is completed by running the stages of the given pipeline in
+     * turn, starting with this stage's result or exception.  The
+     * effect is the same as that of invoking the corresponding chain
+     * of methods on this stage, but without creating intermediate
+     * futures; if this stage is already complete, the stages are run
+     * by the calling thread before returning.
+     *
+     * @param pipeline the stages to run
+     * @param <U> the type of the pipeline's result
+     * @return the new CompletableFuture
+     * @since 1.9
+     */
+    public <U> CompletableFuture<U> thenPipeline(
+        CompletionPipeline<? super T, ? extends U> pipeline) {
+        return uniPipelineStage(null, pipeline);
+    }
+
+    /**
+     * Returns a new CompletableFuture that, when this stage completes,
+     * is completed by running the stages of the given pipeline in
+     * turn, starting with this stage's result or exception, as a
+     * single task using this stage's default asynchronous execution
+     * facility.
+     *
+     * @param pipeline the stages to run
+     * @param <U> the type of the pipeline's result
+     * @return the new CompletableFuture
+     * @since 1.9
+     */
+    public <U> CompletableFuture<U> thenPipelineAsync(
+        CompletionPipeline<? super T, ? extends U> pipeline) {
+        return uniPipelineStage(asyncPool, pipeline);
+    }
+
+    /**
+     * Returns a new CompletableFuture that, when this stage completes,
+     * is completed by running the stages of the given pipeline in
+     * turn, starting with this stage's result or exception, as a
+     * single task using the supplied Executor.
+     *
+     * @param pipeline the stages to run
+     * @param executor the executor to use for asynchronous execution
+     * @param <U> the type of the pipeline's result
+     * @return the new CompletableFuture
+     * @since 1.9
+     */
+    public <U> CompletableFuture<U> thenPipelineAsync(
+        CompletionPipeline<? super T, ? extends U> pipeline,
+        Executor executor) {
+        return uniPipelineStage(screenExecutor(executor), pipeline);
+    }
+
     /* ------------- Arbitrary-arity constructions -------------- */
 
     /**
@@ -2244,6 +2459,210 @@ public class CompletableFuture<T> implements Future<T>, CompletionStage<T> {
         return orTree(cfs, 0, cfs.length - 1);
     }
 
+    /* ------------- Timeouts and delays -------------- */
+
+    /**
+     * Holder for the timing wheel shared by all timeouts and delayed
+     * executors, so that its thread is not created unless used.  A
+     * one millisecond tick bounds lateness well below the resolution
+     * usually requested for timeouts, and 512 buckets cover delays of
+     * up to half a second without extra rotations.
+     */
+    static final class Delayer {
+        static final TimingWheel wheel = new TimingWheel
+            (TimeUnit.MILLISECONDS.toNanos(1L), 512,
+             new DaemonThreadFactory());
+
+        static final class DaemonThreadFactory implements ThreadFactory {
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                t.setName("CompletableFutureDelayScheduler");
+                return t;
+            }
+        }
+    }
+
+    /**
+     * A timeout that completes its future with the given encoded
+     * result, or with a TimeoutException if null.  Expiry is relayed
+     * to the common pool, so that dependent actions are not run by
+     * the timer thread, unless the common pool cannot support
+     * parallelism, in which case creating a thread per expiry would
+     * be worse than running them in the timer thread.
+     */
+    static final class Timeout extends TimingWheel.Node
+        implements Runnable, AsynchronousCompletionTask {
+        final CompletableFuture<?> f;
+        final Object r;
+        Timeout(CompletableFuture<?> f, Object r) { this.f = f; this.r = r; }
+        final void expire() {
+            if (f.result == null) {
+                if (useCommonPool)
+                    asyncPool.execute(this);
+                else
+                    run();
+            }
+        }
+        public void run() {
+            if (f.result == null &&
+                f.internalComplete((r != null) ? r :
+                                   new AltResult(new TimeoutException())))
+                f.postComplete();
+        }
+    }
+
+    /**
+     * A dependent action cancelling a timeout when its source
+     * completes, so that completed futures do not occupy the wheel.
+     */
+    @SuppressWarnings("serial")
+    static final class TimeoutCanceller extends Completion {
+        TimingWheel.Node timeout;
+        TimeoutCanceller(TimingWheel.Node timeout) { this.timeout = timeout; }
+        final CompletableFuture<?> tryFire(int ignore) {
+            TimingWheel.Node t;
+            if ((t = timeout) != null) {
+                timeout = null;
+                t.cancel();
+            }
+            return null;
+        }
+        final boolean isLive() {
+            TimingWheel.Node t;
+            return (t = timeout) != null && !t.isDone();
+        }
+    }
+
+    /**
+     * Schedules a timeout completing this future with the given
+     * encoded result, and pushes its canceller.
+     */
+    private void scheduleTimeout(Object r, long timeout, TimeUnit unit) {
+        if (unit == null)
+            throw new NullPointerException();
+        if (result == null) {
+            Timeout t = new Timeout(this, r);
+            Delayer.wheel.schedule(t, unit.toNanos(timeout));
+            TimeoutCanceller c = new TimeoutCanceller(t);
+            while (result == null && !tryPushStack(c))
+                lazySetNext(c, null); // clear on failure
+            if (result != null)
+                t.cancel();
+        }
+    }
+
+    /**
+     * Exceptionally completes this CompletableFuture with a {@link
+     * TimeoutException} if not otherwise completed before the given
+     * timeout.  Timeouts are maintained in a shared hashed timing
+     * wheel, so scheduling and cancelling them take constant time
+     * regardless of how many are pending, and a timeout is cancelled
+     * when this future completes in any other way.  Timeouts may
+     * trigger up to one millisecond late.  Dependent actions of a
+     * future that times out are triggered using the default
+     * asynchronous execution facility of this class when it is the
+     * {@link ForkJoinPool#commonPool()}; otherwise they may be run by
+     * the timer thread.
+     *
+     * @param timeout how long to wait before completing exceptionally
+     *        with a TimeoutException, in units of {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return this CompletableFuture
+     * @since 1.9
+     */
+    public CompletableFuture<T> orTimeout(long timeout, TimeUnit unit) {
+        scheduleTimeout(null, timeout, unit);
+        return this;
+    }
+
+    /**
+     * Completes this CompletableFuture with the given value if not
+     * otherwise completed before the given timeout.  Timeouts are
+     * maintained as described for {@link #orTimeout orTimeout}.
+     *
+     * @param value the value to use upon timeout
+     * @param timeout how long to wait before completing normally
+     *        with the given value, in units of {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return this CompletableFuture
+     * @since 1.9
+     */
+    public CompletableFuture<T> completeOnTimeout(T value, long timeout,
+                                                  TimeUnit unit) {
+        scheduleTimeout((value == null) ? NIL : value, timeout, unit);
+        return this;
+    }
+
+    /**
+     * Returns a new Executor that submits a task to the given base
+     * executor after the given delay (or no delay if non-positive).
+     * Each delay commences upon invocation of the returned executor's
+     * {@code execute} method, and is maintained in the same timing
+     * wheel as the timeouts of {@link #orTimeout orTimeout}.
+     *
+     * @param delay how long to delay, in units of {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code delay} parameter
+     * @param executor the base executor
+     * @return the new delayed executor
+     * @throws NullPointerException if either {@code unit} or {@code
+     *         executor} is null
+     * @since 1.9
+     */
+    public static Executor delayedExecutor(long delay, TimeUnit unit,
+                                           Executor executor) {
+        if (unit == null)
+            throw new NullPointerException();
+        return new DelayedExecutor(unit.toNanos(delay),
+                                   screenExecutor(executor));
+    }
+
+    /**
+     * Returns a new Executor that submits a task to the default
+     * executor after the given delay (or no delay if non-positive).
+     * Each delay commences upon invocation of the returned executor's
+     * {@code execute} method.
+     *
+     * @param delay how long to delay, in units of {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code delay} parameter
+     * @return the new delayed executor
+     * @throws NullPointerException if {@code unit} is null
+     * @since 1.9
+     */
+    public static Executor delayedExecutor(long delay, TimeUnit unit) {
+        if (unit == null)
+            throw new NullPointerException();
+        return new DelayedExecutor(unit.toNanos(delay), asyncPool);
+    }
+
+    static final class DelayedExecutor implements Executor {
+        final long delayNanos;
+        final Executor executor;
+        DelayedExecutor(long delayNanos, Executor executor) {
+            this.delayNanos = delayNanos; this.executor = executor;
+        }
+        public void execute(Runnable r) {
+            if (r == null)
+                throw new NullPointerException();
+            Delayer.wheel.schedule(new TaskSubmitter(executor, r),
+                                   delayNanos);
+        }
+    }
+
+    /** A timeout submitting a task to an executor upon expiry. */
+    static final class TaskSubmitter extends TimingWheel.Node {
+        final Executor executor;
+        final Runnable action;
+        TaskSubmitter(Executor executor, Runnable action) {
+            this.executor = executor; this.action = action;
+        }
+        final void expire() { executor.execute(action); }
+    }
+
     /* ------------- Control and status methods -------------- */
 
     /**
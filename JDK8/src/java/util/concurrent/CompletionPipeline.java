@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An immutable, reusable sequence of dependent stages that may be
+ * attached to a {@link CompletableFuture} as a single unit using
+ * {@link CompletableFuture#thenPipeline thenPipeline} or its async
+ * forms.  Attaching a pipeline of {@code n} stages has the same
+ * effect as attaching the corresponding chain of {@code n}
+ * {@link CompletionStage} methods and returning the last stage, but
+ * creates only one dependent action and one resulting {@code
+ * CompletableFuture} rather than one of each per stage, and runs all
+ * stages in a single pass when triggered.  If the source future is
+ * already complete when a pipeline is attached in non-async mode, the
+ * stages are run immediately by the attaching thread without
+ * creating any dependent action.
+ *
+ * <p>Pipelines are typically constructed once and reused for many
+ * futures:
+ *
+ *  <pre> {@code
+ * static final CompletionPipeline<Request, Response> HANDLER =
+ *     CompletionPipeline.<Request>start()
+ *         .thenApply(Request::decode)
+ *         .thenCompose(backend::lookup)
+ *         .thenApply(Response::of)
+ *         .exceptionally(Response::error);
+ *
+ * CompletableFuture<Response> response = requestFuture.thenPipeline(HANDLER);
+ * }</pre>
+ *
+ * <p>Stages follow the rules of the {@code CompletionStage} methods
+ * of the same names: a stage that is not designed to handle
+ * exceptions is skipped if the preceding stage completed
+ * exceptionally, and an exception thrown by a stage's function
+ * becomes the exceptional result of that stage, wrapped in a
+ * {@link CompletionException} if it is not one already.  A stage
+ * produced by {@link #thenCompose thenCompose} whose function
+ * returns a stage that is not yet complete suspends the pipeline,
+ * which resumes in the thread completing that stage.  The
+ * intermediate stages are not represented by futures, so they
+ * cannot be independently observed, completed or cancelled.
+ *
+ * <p>Unless otherwise noted, passing a {@code null} argument to any
+ * method of this class will cause a {@link NullPointerException} to
+ * be thrown.
+ *
+ * @param <T> the type of the source result
+ * @param <R> the type of the pipeline result
+ * @since 1.9
+ */
+public final class CompletionPipeline<T,R> {
+
+    // Stage kinds
+    static final byte APPLY         = 0;
+    static final byte ACCEPT        = 1;
+    static final byte RUN           = 2;
+    static final byte COMPOSE       = 3;
+    static final byte HANDLE        = 4;
+    static final byte WHEN_COMPLETE = 5;
+    static final byte EXCEPTIONALLY = 6;
+
+    /** The function of each stage */
+    final Object[] fns;
+    /** The kind of each stage */
+    final byte[] ops;
+
+    private static final CompletionPipeline<?,?> EMPTY =
+        new CompletionPipeline<Object,Object>(new Object[0], new byte[0]);
+
+    private CompletionPipeline(Object[] fns, byte[] ops) {
+        this.fns = fns;
+        this.ops = ops;
+    }
+
+    /**
+     * Returns a pipeline with no stages, which relays the result of
+     * its source.
+     *
+     * @param <T> the type of the source result
+     * @return an empty pipeline
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletionPipeline<T,T> start() {
+        return (CompletionPipeline<T,T>)EMPTY;
+    }
+
+    /**
+     * Returns a new pipeline with the given stage appended.
+     */
+    private <U> CompletionPipeline<T,U> append(byte op, Object fn) {
+        if (fn == null) throw new NullPointerException();
+        int n = ops.length;
+        Object[] fs = Arrays.copyOf(fns, n + 1);
+        byte[] os = Arrays.copyOf(ops, n + 1);
+        fs[n] = fn;
+        os[n] = op;
+        return new CompletionPipeline<T,U>(fs, os);
+    }
+
+    /**
+     * Returns a new pipeline that additionally applies the given
+     * function to the result of this pipeline, as by {@link
+     * CompletionStage#thenApply}.
+     *
+     * @param fn the function to use to compute the value of the
+     * new last stage
+     * @param <U> the function's return type
+     * @return the new pipeline
+     */
+    public <U> CompletionPipeline<T,U> thenApply(
+        Function<? super R,? extends U> fn) {
+        return append(APPLY, fn);
+    }
+
+    /**
+     * Returns a new pipeline that additionally performs the given
+     * action with the result of this pipeline, as by {@link
+     * CompletionStage#thenAccept}.
+     *
+     * @param action the action to perform before completing the
+     * new last stage
+     * @return the new pipeline
+     */
+    public CompletionPipeline<T,Void> thenAccept(Consumer<? super R> action) {
+        return append(ACCEPT, action);
+    }
+
+    /**
+     * Returns a new pipeline that additionally performs the given
+     * action when this pipeline completes normally, as by {@link
+     * CompletionStage#thenRun}.
+     *
+     * @param action the action to perform before completing the
+     * new last stage
+     * @return the new pipeline
+     */
+    public CompletionPipeline<T,Void> thenRun(Runnable action) {
+        return append(RUN, action);
+    }
+
+    /**
+     * Returns a new pipeline that additionally continues with the
+     * stage returned by the given function applied to the result of
+     * this pipeline, as by {@link CompletionStage#thenCompose}.
+     *
+     * @param fn the function returning a new CompletionStage
+     * @param <U> the type of the returned CompletionStage's result
+     * @return the new pipeline
+     */
+    public <U> CompletionPipeline<T,U> thenCompose(
+        Function<? super R, ? extends CompletionStage<U>> fn) {
+        return append(COMPOSE, fn);
+    }
+
+    /**
+     * Returns a new pipeline that additionally applies the given
+     * function to the result (or {@code null} if none) and exception
+     * (or {@code null} if none) of this pipeline, as by {@link
+     * CompletionStage#handle}.
+     *
+     * @param fn the function to use to compute the value of the
+     * new last stage
+     * @param <U> the function's return type
+     * @return the new pipeline
+     */
+    public <U> CompletionPipeline<T,U> handle(
+        BiFunction<? super R, Throwable, ? extends U> fn) {
+        return append(HANDLE, fn);
+    }
+
+    /**
+     * Returns a new pipeline with the same result or exception as
+     * this pipeline, that additionally performs the given action
+     * with that result and exception, as by {@link
+     * CompletionStage#whenComplete}.
+     *
+     * @param action the action to perform
+     * @return the new pipeline
+     */
+    public CompletionPipeline<T,R> whenComplete(
+        BiConsumer<? super R, ? super Throwable> action) {
+        return append(WHEN_COMPLETE, action);
+    }
+
+    /**
+     * Returns a new pipeline that, if this pipeline completes
+     * exceptionally, completes with the result of the given function
+     * of the exception, as by {@link CompletableFuture#exceptionally};
+     * otherwise with the same result as this pipeline.
+     *
+     * @param fn the function to use to compute the value of the new
+     * last stage if this pipeline completed exceptionally
+     * @return the new pipeline
+     */
+    public CompletionPipeline<T,R> exceptionally(
+        Function<Throwable, ? extends R> fn) {
+        return append(EXCEPTIONALLY, fn);
+    }
+
+    /**
+     * Returns the number of stages in this pipeline.
+     *
+     * @return the number of stages
+     */
+    public int size() {
+        return ops.length;
+    }
+}
@@ -238,6 +238,17 @@ import java.util.stream.Stream;
  * arguments can be supplied using {@code new
  * AbstractMap.SimpleEntry(k,v)}.
  *
+ * <p>Two further bulk operations, {@link #putAll(long, Map)} and
+ * {@link #computeAll}, load many mappings at once.  They size the
+ * table once for the final number of mappings, partition the input
+ * using the same {@code parallelismThreshold} conventions (applied to
+ * the number of input elements rather than the map size), and update
+ * the map's element count once per partition rather than once per
+ * mapping, so that loading a large map does not repeatedly trigger
+ * resizes.  While such a load is in progress, {@code size} and related
+ * estimates may lag behind the mappings already visible to
+ * {@code get}.
+ *
  * <p>Bulk operations may complete abruptly, throwing an
  * exception encountered in the application of a supplied
  * function. Bear in mind when handling such exceptions that other
@@ -3641,6 +3652,186 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         return (b <= 0L || (n /= b) >= sp) ? sp : (int)n;
     }
 
+    /**
+     * Computes initial batch value for bulk loads of n elements,
+     * analogously to batchFor.
+     */
+    static int loadBatchFor(long b, int n) {
+        long m;
+        if (b == Long.MAX_VALUE || n <= 1 || n < b)
+            return 0;
+        int sp = ForkJoinPool.getCommonPoolParallelism() << 2; // slack of 4
+        return (b <= 0L || (m = n / b) >= sp) ? sp : (int)m;
+    }
+
+    /**
+     * Version of putVal used by bulk loads: replaces any existing
+     * value, and leaves updating the element count to the caller.
+     *
+     * @return true if a new mapping was added
+     */
+    final boolean loadVal(K key, V value) {
+        int hash = spread(key.hashCode());
+        int binCount = 0;
+        for (Node<K,V>[] tab = table;;) {
+            Node<K,V> f; int n, i, fh;
+            if (tab == null || (n = tab.length) == 0)
+                tab = initTable();
+            else if ((f = tabAt(tab, i = (n - 1) & hash)) == null) {
+                if (casTabAt(tab, i, null,
+                             new Node<K,V>(hash, key, value, null)))
+                    return true;
+            }
+            else if ((fh = f.hash) == MOVED)
+                tab = helpTransfer(tab, f);
+            else {
+                boolean added = false;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (fh >= 0) {
+                            binCount = 1;
+                            for (Node<K,V> e = f;; ++binCount) {
+                                K ek;
+                                if (e.hash == hash &&
+                                    ((ek = e.key) == key ||
+                                     (ek != null && key.equals(ek)))) {
+                                    e.val = value;
+                                    break;
+                                }
+                                Node<K,V> pred = e;
+                                if ((e = e.next) == null) {
+                                    pred.next = new Node<K,V>(hash, key,
+                                                              value, null);
+                                    added = true;
+                                    break;
+                                }
+                            }
+                        }
+                        else if (f instanceof TreeBin) {
+                            Node<K,V> p;
+                            binCount = 2;
+                            if ((p = ((TreeBin<K,V>)f).putTreeVal(hash, key,
+                                                           value)) != null)
+                                p.val = value;
+                            else
+                                added = true;
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (binCount >= TREEIFY_THRESHOLD)
+                        treeifyBin(tab, i);
+                    return added;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads elements [lo, hi) of a bulk load, adding the number of
+     * new mappings to the count when done (or when failing).
+     *
+     * @param a the Map.Entry elements, or keys if fn is non-null
+     * @param fn the function mapping keys to values, or null
+     */
+    @SuppressWarnings("unchecked")
+    final void loadRange(Object[] a, Function<? super K, ? extends V> fn,
+                         int lo, int hi) {
+        long c = 0L;
+        try {
+            for (int i = lo; i < hi; ++i) {
+                K k; V v;
+                if (fn == null) {
+                    Map.Entry<? extends K, ? extends V> e =
+                        (Map.Entry<? extends K, ? extends V>)a[i];
+                    k = e.getKey();
+                    v = e.getValue();
+                }
+                else if ((v = fn.apply(k = (K)a[i])) == null)
+                    continue;
+                if (loadVal(k, v))
+                    ++c;
+            }
+        } finally {
+            if (c != 0L)
+                addCount(c, 2);
+        }
+    }
+
+    /**
+     * Loads the given elements, in parallel if warranted.
+     */
+    private void bulkLoad(long parallelismThreshold, Object[] a,
+                          Function<? super K, ? extends V> fn) {
+        int n = a.length;
+        if (n == 0)
+            return;
+        long s = sumCount() + n;
+        tryPresize((s >= (long)MAXIMUM_CAPACITY) ? MAXIMUM_CAPACITY : (int)s);
+        int b = loadBatchFor(parallelismThreshold, n);
+        if (b == 0)
+            loadRange(a, fn, 0, n);
+        else
+            new BulkLoadTask<K,V>(null, this, b, 0, n, a, fn).invoke();
+    }
+
+    /**
+     * Copies all of the mappings from the specified map to this one,
+     * in parallel if the number of mappings reaches the given
+     * threshold.  Mappings are installed as if by {@link #put}, except
+     * that the table is sized once for the resulting number of
+     * mappings and the element count is updated in bulk.  The mappings
+     * of {@code m} are snapshotted (via {@code m.entrySet().toArray()})
+     * before any are installed.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param m mappings to be stored in this map
+     * @throws NullPointerException if the specified map is null or
+     *         contains a null key or value
+     * @since 1.9
+     */
+    public void putAll(long parallelismThreshold,
+                       Map<? extends K, ? extends V> m) {
+        Object[] a = m.entrySet().toArray();
+        for (Object o : a) {
+            Map.Entry<?,?> e = (Map.Entry<?,?>)o;
+            if (e.getKey() == null || e.getValue() == null)
+                throw new NullPointerException();
+        }
+        bulkLoad(parallelismThreshold, a, null);
+    }
+
+    /**
+     * For each of the given keys, computes a value using the given
+     * mapping function and, unless it is null, maps the key to it,
+     * replacing any existing mapping, in parallel if the number of
+     * keys reaches the given threshold.  Unlike {@link #compute}, the
+     * function is invoked outside of any lock, and may be invoked
+     * concurrently for different keys.  The table is sized once for
+     * the resulting number of mappings and the element count is
+     * updated in bulk.
+     *
+     * @param parallelismThreshold the (estimated) number of elements
+     * needed for this operation to be executed in parallel
+     * @param keys the keys to be mapped
+     * @param mappingFunction the function to compute a value
+     * @throws NullPointerException if the specified collection or
+     *         function is null, or the collection contains a null key
+     * @since 1.9
+     */
+    public void computeAll(long parallelismThreshold,
+                           Collection<? extends K> keys,
+                           Function<? super K, ? extends V> mappingFunction) {
+        if (mappingFunction == null) throw new NullPointerException();
+        Object[] a = keys.toArray();
+        for (Object k : a) {
+            if (k == null)
+                throw new NullPointerException();
+        }
+        bulkLoad(parallelismThreshold, a, mappingFunction);
+    }
+
     /**
      * Performs the given action for each (key, value).
      *
@@ -6274,6 +6465,40 @@ public class ConcurrentHashMap<K,V> extends AbstractMap<K,V>
         }
     }
 
+    /**
+     * Task for bulk loads: splits an array of elements by halves and
+     * installs each leaf range via loadRange.
+     */
+    @SuppressWarnings("serial")
+    static final class BulkLoadTask<K,V> extends CountedCompleter<Void> {
+        final ConcurrentHashMap<K,V> map;
+        final Object[] array;
+        final Function<? super K, ? extends V> fn;
+        final int lo;
+        int hi;
+        int batch;              // split control
+        BulkLoadTask
+            (BulkLoadTask<K,V> p, ConcurrentHashMap<K,V> map, int b,
+             int lo, int hi, Object[] array,
+             Function<? super K, ? extends V> fn) {
+            super(p);
+            this.map = map; this.batch = b;
+            this.lo = lo; this.hi = hi;
+            this.array = array; this.fn = fn;
+        }
+        public final void compute() {
+            for (int l = lo, f, h; batch > 0 &&
+                     (h = ((f = hi) + l) >>> 1) > l;) {
+                addToPendingCount(1);
+                new BulkLoadTask<K,V>
+                    (this, map, batch >>>= 1, h, f, array, fn).fork();
+                hi = h;
+            }
+            map.loadRange(array, fn, lo, hi);
+            propagateCompletion();
+        }
+    }
+
     // Unsafe mechanics
     private static final sun.misc.Unsafe U;
     private static final long SIZECTL;
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics maintained by a {@link ThreadPoolExecutor} or
+ * {@link ForkJoinPool} for which metrics have been enabled (see
+ * {@link ThreadPoolExecutor#enableMetrics} and {@link
+ * ForkJoinPool#enableMetrics}).  Gathering statistics has a small
+ * per-task cost, so it is disabled by default.  All statistics are
+ * maintained using {@link LongAdder}s, so updates by worker and
+ * submitting threads do not contend, and no pool locks are held
+ * while reading them.  Each value is an estimate that does not
+ * reflect updates in progress, and values read in succession need
+ * not be mutually consistent.  Statistics accumulate from the time
+ * metrics are enabled and are never reset; rates may be obtained by
+ * sampling them periodically.
+ *
+ * <p>Not all pools maintain all statistics; those that are not
+ * maintained remain zero.  A {@code ThreadPoolExecutor} maintains all
+ * task statistics (except that a {@link ScheduledThreadPoolExecutor}
+ * does not measure queue wait times), and maintains steal, scan and
+ * park counts only in {@linkplain ThreadPoolExecutor#allowWorkStealing
+ * work-stealing mode}.  A {@code ForkJoinPool} counts externally
+ * submitted tasks (not forked subtasks) as submitted, and measures
+ * the run times of top-level tasks taken by scanning worker threads,
+ * each of which includes the time spent running the subtasks the
+ * worker forked while running it; it does not measure queue wait
+ * times.
+ *
+ * <p>Durations are recorded in histograms with {@link #BUCKETS}
+ * buckets of exponentially increasing width: bucket {@code i > 0}
+ * counts durations {@code d} nanoseconds with
+ * {@code 2}<sup>{@code i}</sup> {@code <= d <}
+ * {@code 2}<sup>{@code i+1}</sup>, except that the last bucket also
+ * counts all longer durations, and bucket zero counts durations of
+ * less than two nanoseconds.
+ *
+ * <p>The metrics of all reachable pools are also available through
+ * the platform {@link java.lang.management.ExecutorPoolMXBean}.
+ *
+ * @since 1.9
+ */
+public final class ExecutorMetrics {
+
+    /**
+     * The number of buckets in each histogram.
+     */
+    public static final int BUCKETS = 48;
+
+    private final String name;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder parks = new LongAdder();
+    private final LongAdder totalQueueWait = new LongAdder();
+    private final LongAdder totalRunTime = new LongAdder();
+    private final LongAdder[] queueWait = newHistogram();
+    private final LongAdder[] runTime = newHistogram();
+
+    /**
+     * Creates metrics for a pool and registers them for management.
+     *
+     * @param prefix the name prefix, to which a sequence number
+     *        is appended
+     */
+    ExecutorMetrics(String prefix) {
+        this.name = prefix + "-" + sequence.incrementAndGet();
+        register(this);
+    }
+
+    /**
+     * Returns the name identifying the pool maintaining these
+     * metrics.  Names are unique within a Java virtual machine.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of tasks submitted for execution.
+     *
+     * @return the number of tasks submitted
+     */
+    public long getSubmittedTaskCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * Returns the number of tasks rejected, either because the pool
+     * was saturated or because it was shut down.
+     *
+     * @return the number of tasks rejected
+     */
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of tasks that completed execution, either
+     * normally or by throwing an exception.
+     *
+     * @return the number of tasks completed
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the number of tasks that completed execution by
+     * throwing an exception.  Tasks such as {@link FutureTask}s that
+     * capture the exceptions of the computations they run are not
+     * counted.
+     *
+     * @return the number of tasks that failed
+     */
+    public long getFailedTaskCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of tasks taken by worker threads from queues
+     * other than their own.
+     *
+     * @return the number of steals
+     */
+    public long getStealCount() {
+        return steals.sum();
+    }
+
+    /**
+     * Returns the number of scans over the pool's queues by idle
+     * worker threads that did not find a task.
+     *
+     * @return the number of unsuccessful scans
+     */
+    public long getScanCount() {
+        return scans.sum();
+    }
+
+    /**
+     * Returns the number of times worker threads blocked waiting for
+     * tasks.
+     *
+     * @return the number of parks
+     */
+    public long getParkCount() {
+        return parks.sum();
+    }
+
+    /**
+     * Returns the total time that tasks waited in queues before being
+     * run, in nanoseconds.
+     *
+     * @return the total queue wait time
+     */
+    public long getTotalQueueWaitTime() {
+        return totalQueueWait.sum();
+    }
+
+    /**
+     * Returns the total time spent running tasks, in nanoseconds.
+     *
+     * @return the total run time
+     */
+    public long getTotalRunTime() {
+        return totalRunTime.sum();
+    }
+
+    /**
+     * Returns a histogram of the times that tasks waited in queues
+     * before being run.
+     *
+     * @return an array of length {@link #BUCKETS} holding the number
+     *         of waits in each bucket
+     */
+    public long[] getQueueWaitHistogram() {
+        return sums(queueWait);
+    }
+
+    /**
+     * Returns a histogram of task run times.
+     *
+     * @return an array of length {@link #BUCKETS} holding the number
+     *         of runs in each bucket
+     */
+    public long[] getRunTimeHistogram() {
+        return sums(runTime);
+    }
+
+    /**
+     * Returns a string identifying these metrics, along with the
+     * current task and worker counts.
+     *
+     * @return a string identifying these metrics
+     */
+    public String toString() {
+        return super.toString() +
+            "[" + name +
+            ", submitted = " + submitted.sum() +
+            ", rejected = " + rejected.sum() +
+            ", completed = " + completed.sum() +
+            ", failed = " + failed.sum() +
+            ", steals = " + steals.sum() +
+            ", scans = " + scans.sum() +
+            ", parks = " + parks.sum() +
+            "]";
+    }
+
+    // Recording, called by pools
+
+    final void recordSubmit()   { submitted.increment(); }
+    final void recordReject()   { rejected.increment(); }
+    final void recordSteal()    { steals.increment(); }
+    final void recordScan()     { scans.increment(); }
+    final void recordPark()     { parks.increment(); }
+
+    final void recordQueueWait(long nanos) {
+        if (nanos < 0L)
+            nanos = 0L;
+        totalQueueWait.add(nanos);
+        queueWait[bucketFor(nanos)].increment();
+    }
+
+    final void recordRun(long nanos, boolean abrupt) {
+        if (nanos < 0L)
+            nanos = 0L;
+        completed.increment();
+        if (abrupt)
+            failed.increment();
+        totalRunTime.add(nanos);
+        runTime[bucketFor(nanos)].increment();
+    }
+
+    static int bucketFor(long nanos) {
+        int b = 63 - Long.numberOfLeadingZeros(nanos | 1L);
+        return (b < BUCKETS) ? b : BUCKETS - 1;
+    }
+
+    private static LongAdder[] newHistogram() {
+        LongAdder[] h = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; ++i)
+            h[i] = new LongAdder();
+        return h;
+    }
+
+    private static long[] sums(LongAdder[] h) {
+        long[] a = new long[h.length];
+        for (int i = 0; i < h.length; ++i)
+            a[i] = h[i].sum();
+        return a;
+    }
+
+    // Registry
+
+    /** Sequence number for names */
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Weakly held metrics of all pools for which metrics were
+     * enabled.  Pools hold their metrics strongly, so entries are
+     * cleared when pools become unreachable; cleared entries are
+     * removed on each registration and traversal.
+     */
+    private static final ConcurrentLinkedQueue<WeakReference<ExecutorMetrics>>
+        registry = new ConcurrentLinkedQueue<WeakReference<ExecutorMetrics>>();
+
+    private static void register(ExecutorMetrics m) {
+        expungeStaleEntries();
+        registry.add(new WeakReference<ExecutorMetrics>(m));
+    }
+
+    private static void expungeStaleEntries() {
+        for (Iterator<WeakReference<ExecutorMetrics>> it = registry.iterator();
+             it.hasNext();) {
+            if (it.next().get() == null)
+                it.remove();
+        }
+    }
+
+    /**
+     * Returns the metrics of all reachable pools for which metrics
+     * have been enabled.
+     *
+     * @return a list of metrics, in the order in which they were
+     *         enabled
+     */
+    public static List<ExecutorMetrics> getAllMetrics() {
+        ArrayList<ExecutorMetrics> list = new ArrayList<ExecutorMetrics>();
+        for (Iterator<WeakReference<ExecutorMetrics>> it = registry.iterator();
+             it.hasNext();) {
+            ExecutorMetrics m = it.next().get();
+            if (m == null)
+                it.remove();
+            else
+                list.add(m);
+        }
+        return list;
+    }
+}
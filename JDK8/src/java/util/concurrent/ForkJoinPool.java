@@ -1396,6 +1396,7 @@ public class ForkJoinPool extends AbstractExecutorService {
     final UncaughtExceptionHandler ueh;  // per-worker UEH
     final String workerNamePrefix;       // to create worker name string
     volatile AtomicLong stealCounter;    // also used as sync monitor
+    volatile ExecutorMetrics metrics;    // null unless enabled
 
     /**
      * Acquires the runState lock; returns current (locked) runState.
@@ -1688,10 +1689,24 @@ public class ForkJoinPool extends AbstractExecutorService {
         int seed = w.hint;               // initially holds randomization hint
         int r = (seed == 0) ? 1 : seed;  // avoid 0 for xorShift
         for (ForkJoinTask<?> t;;) {
-            if ((t = scan(w, r)) != null)
-                w.runTask(t);
-            else if (!awaitWork(w, r))
-                break;
+            ExecutorMetrics m = metrics;
+            if ((t = scan(w, r)) != null) {
+                if (m == null)
+                    w.runTask(t);
+                else {
+                    m.recordSteal();
+                    long start = System.nanoTime();
+                    w.runTask(t);
+                    m.recordRun(System.nanoTime() - start,
+                                t.isCompletedAbnormally());
+                }
+            }
+            else {
+                if (m != null)
+                    m.recordScan();
+                if (!awaitWork(w, r))
+                    break;
+            }
             r ^= r << 13; r ^= r >>> 17; r ^= r << 5; // xorshift
         }
     }
@@ -1820,8 +1835,12 @@ public class ForkJoinPool extends AbstractExecutorService {
                 Thread wt = Thread.currentThread();
                 U.putObject(wt, PARKBLOCKER, this);   // emulate LockSupport
                 w.parker = wt;
-                if (w.scanState < 0 && ctl == c)      // recheck before park
+                if (w.scanState < 0 && ctl == c) {    // recheck before park
+                    ExecutorMetrics m = metrics;
+                    if (m != null)
+                        m.recordPark();
                     U.park(false, parkTime);
+                }
                 U.putOrderedObject(w, QPARKER, null);
                 U.putObject(wt, PARKBLOCKER, null);
                 if (w.scanState >= 0)
@@ -2325,6 +2344,9 @@ public class ForkJoinPool extends AbstractExecutorService {
             boolean move = false;
             if ((rs = runState) < 0) {
                 tryTerminate(false, false);     // help terminate
+                ExecutorMetrics em = metrics;
+                if (em != null)
+                    em.recordReject();
                 throw new RejectedExecutionException();
             }
             else if ((rs & STARTED) == 0 ||     // initialize
@@ -2397,7 +2419,9 @@ public class ForkJoinPool extends AbstractExecutorService {
      * @param task the task. Caller must ensure non-null.
      */
     final void externalPush(ForkJoinTask<?> task) {
-        WorkQueue[] ws; WorkQueue q; int m;
+        WorkQueue[] ws; WorkQueue q; int m; ExecutorMetrics em;
+        if ((em = metrics) != null)
+            em.recordSubmit();
         int r = ThreadLocalRandom.getProbe();
         int rs = runState;
         if ((ws = workQueues) != null && (m = (ws.length - 1)) >= 0 &&
@@ -2864,6 +2888,41 @@ public class ForkJoinPool extends AbstractExecutorService {
         return count;
     }
 
+    /**
+     * Enables gathering of {@link ExecutorMetrics} for this pool, if
+     * not already enabled, and returns them.  Metrics cannot be
+     * disabled once enabled.
+     *
+     * @return the metrics for this pool
+     * @since 1.9
+     */
+    public ExecutorMetrics enableMetrics() {
+        ExecutorMetrics m;
+        if ((m = metrics) == null) {
+            int rs = lockRunState();
+            try {
+                if ((m = metrics) == null)
+                    metrics = m = new ExecutorMetrics
+                        ((this == common) ? "ForkJoinPool.commonPool" :
+                         getClass().getSimpleName());
+            } finally {
+                unlockRunState(rs, rs & ~RSLOCK);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the {@link ExecutorMetrics} for this pool, or {@code
+     * null} if metrics have not been enabled.
+     *
+     * @return the metrics for this pool, or {@code null}
+     * @since 1.9
+     */
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Returns an estimate of the total number of tasks currently held
      * in queues by worker threads (but not including tasks submitted
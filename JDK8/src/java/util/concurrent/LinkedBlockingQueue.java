@@ -218,6 +218,39 @@ public class LinkedBlockingQueue<E> extends AbstractQueue<E>
         return x;
     }
 
+    /**
+     * Links elements a[off, off+n) at end of queue.
+     *
+     * @param a the elements, known to be non-null
+     * @param off the index of the first element
+     * @param n the number of elements
+     */
+    @SuppressWarnings("unchecked")
+    private void enqueueAll(Object[] a, int off, int n) {
+        // assert putLock.isHeldByCurrentThread();
+        // assert last.next == null;
+        Node<E> p = last;
+        for (int end = off + n; off < end; ++off)
+            p = p.next = new Node<E>((E)a[off]);
+        last = p;
+    }
+
+    /**
+     * Returns the elements of a collection to be inserted, checking
+     * them before any are inserted.
+     */
+    private Object[] toBatch(Collection<? extends E> c) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        Object[] a = c.toArray();
+        for (Object e : a)
+            if (e == null)
+                throw new NullPointerException();
+        return a;
+    }
+
     /**
      * Locks to prevent both puts and takes.
      */
@@ -762,6 +795,213 @@ public class LinkedBlockingQueue<E> extends AbstractQueue<E>
         }
     }
 
+    /**
+     * Inserts as many elements of the specified collection as
+     * possible at the tail of this queue without exceeding its
+     * capacity, in the order returned by the collection's iterator.
+     * The put lock is acquired once, and a waiting take is signalled
+     * at most once, for the whole batch, so this is more efficient
+     * than inserting the elements one at a time.
+     *
+     * @param c the collection of elements to insert
+     * @return the number of elements inserted, which are the first
+     *         elements of the collection
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    public int offerAll(Collection<? extends E> c) {
+        Object[] a = toBatch(c);
+        final AtomicInteger count = this.count;
+        if (a.length == 0 || count.get() == capacity)
+            return 0;
+        int n = 0, k = -1;
+        final ReentrantLock putLock = this.putLock;
+        putLock.lock();
+        try {
+            if ((n = Math.min(a.length, capacity - count.get())) > 0) {
+                enqueueAll(a, 0, n);
+                k = count.getAndAdd(n);
+                if (k + n < capacity)
+                    notFull.signal();
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (k == 0)
+            signalNotEmpty();
+        return n;
+    }
+
+    /**
+     * Inserts the elements of the specified collection at the tail of
+     * this queue, in the order returned by the collection's iterator,
+     * waiting if necessary up to the specified wait time for space to
+     * become available.  Whenever space is available, as many of the
+     * remaining elements as fit are inserted at once.  Unless the
+     * queue fills, the put lock is acquired once, and a waiting take
+     * is signalled at most once, for the whole batch.
+     *
+     * @param c the collection of elements to insert
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return the number of elements inserted, which are the first
+     *         elements of the collection, and which is less than its
+     *         size only if the waiting time elapsed
+     * @throws InterruptedException if interrupted while waiting, in
+     *         which case the elements already inserted remain in this
+     *         queue
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    public int offerAll(Collection<? extends E> c, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        Object[] a = toBatch(c);
+        long nanos = unit.toNanos(timeout);
+        int n = 0;
+        boolean signalNotEmpty = false;
+        final ReentrantLock putLock = this.putLock;
+        final AtomicInteger count = this.count;
+        putLock.lockInterruptibly();
+        try {
+            while (n < a.length) {
+                int room = capacity - count.get();
+                if (room > 0) {
+                    int k = Math.min(a.length - n, room);
+                    enqueueAll(a, n, k);
+                    n += k;
+                    int c0 = count.getAndAdd(k);
+                    if (c0 == 0)
+                        signalNotEmpty = true;
+                    if (c0 + k < capacity)
+                        notFull.signal();
+                }
+                else if (nanos <= 0)
+                    break;
+                else {
+                    if (signalNotEmpty) { // takers must run to make room
+                        signalNotEmpty = false;
+                        signalNotEmpty();
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+            }
+        } finally {
+            putLock.unlock();
+            if (signalNotEmpty)
+                signalNotEmpty();
+        }
+        return n;
+    }
+
+    /**
+     * Removes at most the given number of available elements from
+     * this queue and adds them to the given collection, waiting if
+     * necessary up to the specified wait time until at least {@code
+     * minElements} elements have been transferred.  Elements are
+     * transferred as they become available, while holding the take
+     * lock, which is acquired once for the whole batch unless the
+     * queue was full.  A waiting put is signalled at most once per
+     * acquisition.  Behavior upon failure of addition is as described
+     * for {@link #drainTo(Collection,int)}.
+     *
+     * @param c the collection to transfer elements into
+     * @param minElements the number of elements to wait for
+     * @param maxElements the maximum number of elements to transfer
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return the number of elements transferred, which is less than
+     *         {@code minElements} only if the waiting time elapsed
+     * @throws InterruptedException if interrupted while waiting, in
+     *         which case the elements already transferred remain in
+     *         the collection
+     * @throws UnsupportedOperationException if addition of elements
+     *         is not supported by the specified collection
+     * @throws ClassCastException if the class of an element of this queue
+     *         prevents it from being added to the specified collection
+     * @throws NullPointerException if the specified collection is null
+     * @throws IllegalArgumentException if the specified collection is
+     *         this queue, or some property of an element of this queue
+     *         prevents it from being added to the specified collection,
+     *         or {@code minElements > maxElements}
+     * @since 1.9
+     */
+    public int drainTo(Collection<? super E> c, int minElements,
+                       int maxElements, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this || minElements > maxElements)
+            throw new IllegalArgumentException();
+        if (maxElements <= 0)
+            return 0;
+        long nanos = unit.toNanos(timeout);
+        int n = 0;
+        boolean signalNotFull = false;
+        final AtomicInteger count = this.count;
+        final ReentrantLock takeLock = this.takeLock;
+        takeLock.lockInterruptibly();
+        try {
+            for (;;) {
+                int k = Math.min(maxElements - n, count.get());
+                if (k > 0) {
+                    // count.get provides visibility to first k Nodes
+                    Node<E> h = head;
+                    int i = 0;
+                    try {
+                        while (i < k) {
+                            Node<E> p = h.next;
+                            c.add(p.item);
+                            p.item = null;
+                            h.next = h;
+                            h = p;
+                            ++i;
+                        }
+                    } finally {
+                        // Restore invariants even if c.add() threw
+                        if (i > 0) {
+                            head = h;
+                            n += i;
+                            if (count.getAndAdd(-i) == capacity)
+                                signalNotFull = true;
+                        }
+                    }
+                }
+                if (n >= minElements || nanos <= 0)
+                    break;
+                if (signalNotFull) {
+                    // Puts must run to supply more, but putLock cannot
+                    // be acquired while holding takeLock
+                    signalNotFull = false;
+                    takeLock.unlock();
+                    try {
+                        signalNotFull();
+                    } finally {
+                        takeLock.lock();
+                    }
+                }
+                else
+                    nanos = notEmpty.awaitNanos(nanos);
+            }
+            if (count.get() > 0)
+                notEmpty.signal(); // pass on a consumed signal
+        } finally {
+            takeLock.unlock();
+            if (signalNotFull)
+                signalNotFull();
+        }
+        return n;
+    }
+
     /**
      * Returns an iterator over the elements in this queue in proper sequence.
      * The elements will be returned in order from first (head) to last (tail).
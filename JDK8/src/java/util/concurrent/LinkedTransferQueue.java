@@ -1318,6 +1318,169 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
         return n;
     }
 
+    /**
+     * Inserts all elements of the specified collection at the tail of
+     * this queue, in the order returned by the collection's iterator.
+     * Elements are first transferred to consumers already waiting to
+     * receive them, if any; the remainder are linked into a chain that
+     * is appended to the queue using a single atomic update.  As the
+     * queue is unbounded, this method will never block.
+     *
+     * @param c the collection of elements to insert
+     * @return the number of elements inserted, which is the size of
+     *         the collection
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    @SuppressWarnings("unchecked")
+    public int offerAll(Collection<? extends E> c) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        Object[] a = c.toArray();
+        int n = a.length;
+        for (Object e : a)
+            if (e == null)
+                throw new NullPointerException();
+        Node s = null;                     // chain of a[i..n), if built
+        for (int i = 0; i < n;) {
+            if (xfer((E)a[i], true, NOW, 0) == null) { // matched a consumer
+                ++i;
+                if (s != null)
+                    s = s.next;
+            }
+            else {
+                if (s == null) {
+                    Node t = s = new Node(a[i], true);
+                    for (int j = i + 1; j < n; ++j)
+                        t = t.next = new Node(a[j], true);
+                }
+                if (tryAppend(s, true) != null)
+                    break;                 // else lost race vs opposite mode
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Inserts all elements of the specified collection at the tail of
+     * this queue, as by {@link #offerAll(Collection)}.  As the queue
+     * is unbounded, this method will never block or insert fewer
+     * elements than the size of the collection.
+     *
+     * @param c the collection of elements to insert
+     * @param timeout ignored
+     * @param unit ignored
+     * @return the number of elements inserted, which is the size of
+     *         the collection
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements is null, in which case no elements are
+     *         inserted
+     * @throws IllegalArgumentException if the collection is this queue
+     * @since 1.9
+     */
+    public int offerAll(Collection<? extends E> c, long timeout, TimeUnit unit) {
+        return offerAll(c);
+    }
+
+    /**
+     * Removes at most the given number of available elements from
+     * this queue and adds them to the given collection, waiting if
+     * necessary up to the specified wait time until at least {@code
+     * minElements} elements have been transferred.  Available elements
+     * are matched in a single traversal that advances the head of the
+     * queue once, rather than once per element.  Behavior upon
+     * failure of addition is as described for {@link
+     * #drainTo(Collection,int)}.
+     *
+     * @param c the collection to transfer elements into
+     * @param minElements the number of elements to wait for
+     * @param maxElements the maximum number of elements to transfer
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return the number of elements transferred, which is less than
+     *         {@code minElements} only if the waiting time elapsed
+     * @throws InterruptedException if interrupted while waiting, in
+     *         which case the elements already transferred remain in
+     *         the collection
+     * @throws NullPointerException if the specified collection is null
+     * @throws IllegalArgumentException if the specified collection is
+     *         this queue, or {@code minElements > maxElements}
+     * @since 1.9
+     */
+    public int drainTo(Collection<? super E> c, int minElements,
+                       int maxElements, long timeout, TimeUnit unit)
+        throws InterruptedException {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this || minElements > maxElements)
+            throw new IllegalArgumentException();
+        long nanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + nanos;
+        int n = 0;
+        for (;;) {
+            n += matchAll(c, maxElements - n);
+            if (n >= minElements || nanos <= 0L)
+                return n;
+            E e = xfer(null, false, TIMED, nanos);
+            if (e != null) {
+                c.add(e);
+                ++n;
+            }
+            else if (Thread.interrupted())
+                throw new InterruptedException();
+            nanos = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * Matches up to max leading data nodes, adding their items to c,
+     * then advances head past the last node matched, as in xfer.
+     *
+     * @return the number of items added
+     */
+    private int matchAll(Collection<? super E> c, int max) {
+        int n = 0;
+        Node h = head, last = null;
+        for (Node p = h; p != null && n < max;) {
+            Object item = p.item;
+            if (item != p && (item != null) == p.isData) { // unmatched
+                if (!p.isData)
+                    break;                 // waiting consumers; none left
+                if (!p.casItem(item, null))
+                    continue;              // reread
+                LockSupport.unpark(p.waiter);
+                last = p;
+                ++n;
+                c.add(LinkedTransferQueue.<E>cast(item));
+            }
+            Node q = p.next;
+            if (p != q)
+                p = q;
+            else {                         // offlist; restart from head
+                p = h = head;
+                last = null;
+            }
+        }
+        for (Node q = last; q != null && q != h;) {
+            Node n2 = q.next;              // update by 2 unless singleton
+            if (head == h && casHead(h, n2 == null ? q : n2)) {
+                h.forgetNext();
+                break;
+            }                              // advance and retry
+            if ((h = head)   == null ||
+                (q = h.next) == null || !q.isMatched())
+                break;                     // unless slack < 2
+        }
+        return n;
+    }
+
     /**
      * Returns an iterator over the elements in this queue in proper sequence.
      * The elements will be returned in order from first (head) to last (tail).
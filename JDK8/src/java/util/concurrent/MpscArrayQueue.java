@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded lock-free {@linkplain BlockingQueue blocking queue}
+ * backed by an array, for use by any number of producer threads and
+ * a single consumer thread.  This queue orders elements FIFO
+ * (first-in-first-out) with respect to the order in which producers
+ * claim slots.  Any thread may perform insertions ({@code offer},
+ * {@code put}, {@code add}, {@link #fill fill}, and so on), but at
+ * most one thread at a time may perform removals ({@code poll},
+ * {@code take}, {@code peek}, {@link #drain drain}, {@code drainTo},
+ * {@code clear}, and so on); the effects of violating this constraint
+ * are undefined.  Other methods may be invoked by any thread.
+ * Removal of arbitrary elements, as by {@code remove(Object)} or
+ * iterator removal, is not supported.
+ *
+ * <p>Insertion takes a single compare-and-set, and removal no atomic
+ * read-modify-write instructions; neither allocates, and producers
+ * and the consumer touch separate cache lines except when the queue
+ * is nearly empty or full.  This makes this class preferable to
+ * {@link ArrayBlockingQueue}, which uses a single lock, and {@link
+ * ConcurrentLinkedQueue}, which allocates a node per element, for
+ * delivering elements to a single consuming thread, such as an event
+ * loop.  A producer that has claimed a slot but not yet filled it
+ * delays the consumer from proceeding past that slot.
+ *
+ * <p>Blocking and timed operations wait as directed by the {@link
+ * WaitStrategy} supplied at construction, rather than by being
+ * signalled, so nonblocking operations never incur signalling costs.
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link java.util.Collection} and
+ * {@link java.util.Iterator} interfaces, except those that remove
+ * elements other than the head.
+ *
+ * @since 1.9
+ * @param <E> the type of elements held in this collection
+ */
+public class MpscArrayQueue<E> extends AbstractArrayQueue<E> {
+
+    /*
+     * Producers claim slots by CASing tail, then fill them with
+     * ordered stores, so the consumer may find a slot below tail
+     * still null, in which case it waits for the producer to fill it
+     * (yielding, since the producer may have been descheduled).
+     * Producers check for space against producerLimit, a cached bound
+     * on tail (head + capacity) refreshed from head only when it
+     * appears to be reached; stale writes of it by racing producers
+     * are harmless.  A fill claims a range of slots with one CAS; if
+     * its supplier fails, the rest of the range is filled with SKIP
+     * so that the consumer is not left waiting.
+     */
+
+    /** Cached bound on tail for insertions: head + capacity */
+    @sun.misc.Contended("producer") volatile long producerLimit;
+
+    /**
+     * Creates a {@code MpscArrayQueue} with the given capacity and a
+     * {@linkplain WaitStrategy#parking() parking} wait strategy.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or exceeds 2<sup>30</sup>
+     */
+    public MpscArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.parking());
+    }
+
+    /**
+     * Creates a {@code MpscArrayQueue} with the given capacity and
+     * wait strategy.
+     *
+     * @param capacity the capacity of this queue
+     * @param waitStrategy the wait strategy for blocking and timed
+     *        operations
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or exceeds 2<sup>30</sup>
+     * @throws NullPointerException if {@code waitStrategy} is null
+     */
+    public MpscArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+        this.producerLimit = capacity;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it is
+     * possible to do so immediately without exceeding the queue's capacity,
+     * returning {@code true} upon success and {@code false} if this queue
+     * is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        long limit = producerLimit, t;
+        do {
+            if ((t = tail) >= limit) {
+                if (t >= (limit = head + capacity))
+                    return false;
+                producerLimit = limit;
+            }
+        } while (!U.compareAndSwapLong(this, TAIL, t, t + 1L));
+        U.putOrderedObject(buffer, slotOffset(t), e);
+        return true;
+    }
+
+    /**
+     * Returns the element in the slot at the given offset, whose
+     * index is known to be below tail, waiting for its producer to
+     * fill it if necessary.
+     */
+    private Object awaitSlot(long off) {
+        Object x;
+        while ((x = U.getObjectVolatile(buffer, off)) == null)
+            Thread.yield();
+        return x;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        final Object[] b = buffer;
+        for (;;) {
+            final long h = head;
+            long off = slotOffset(h);
+            Object x = U.getObjectVolatile(b, off);
+            if (x == null) {
+                if (h >= tail)
+                    return null;
+                x = awaitSlot(off);
+            }
+            U.putObject(b, off, null);
+            U.putOrderedLong(this, HEAD, h + 1L);
+            if (x != SKIP)
+                return (E)x;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final Object[] b = buffer;
+        for (;;) {
+            final long h = head;
+            long off = slotOffset(h);
+            Object x = U.getObjectVolatile(b, off);
+            if (x == null) {
+                if (h >= tail)
+                    return null;
+                x = awaitSlot(off);
+            }
+            if (x != SKIP)
+                return (E)x;
+            U.putObject(b, off, null);
+            U.putOrderedLong(this, HEAD, h + 1L);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> action, int limit) {
+        if (action == null)
+            throw new NullPointerException();
+        if (limit <= 0)
+            return 0;
+        final Object[] b = buffer;
+        final long h = head;
+        long i = h;
+        int n = 0;
+        try {
+            while (n < limit) {
+                long off = slotOffset(i);
+                Object x = U.getObjectVolatile(b, off);
+                if (x == null) {
+                    if (i >= tail)
+                        break;
+                    x = awaitSlot(off);
+                }
+                U.putObject(b, off, null);
+                ++i;
+                if (x != SKIP) {
+                    ++n;
+                    action.accept((E)x);
+                }
+            }
+        } finally {
+            if (i != h)
+                U.putOrderedLong(this, HEAD, i);
+        }
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All slots for the batch are claimed with a single atomic
+     * update before the supplier is invoked, so the supplier should
+     * be fast: the consumer cannot proceed past a claimed slot until
+     * it is filled.  If the supplier fails, the slots claimed for
+     * elements it did not supply remain occupied, and are included
+     * in {@link #size}, until the consumer passes them.
+     *
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        if (supplier == null)
+            throw new NullPointerException();
+        if (limit <= 0)
+            return 0;
+        long lim = producerLimit, t, k;
+        do {
+            if ((k = lim - (t = tail)) <= 0L) {
+                if ((k = (lim = head + capacity) - t) <= 0L)
+                    return 0;
+                producerLimit = lim;
+            }
+            if (k > limit)
+                k = limit;
+        } while (!U.compareAndSwapLong(this, TAIL, t, t + k));
+        final Object[] b = buffer;
+        final long end = t + k;
+        long i = t;
+        try {
+            while (i < end) {
+                E x = supplier.get();
+                if (x == null)
+                    throw new NullPointerException();
+                U.putOrderedObject(b, slotOffset(i), x);
+                ++i;
+            }
+        } finally {
+            while (i < end)                // release abandoned slots
+                U.putOrderedObject(b, slotOffset(i++), SKIP);
+        }
+        return (int)k;
+    }
+}
@@ -0,0 +1,1363 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IntHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent hash map of serialized keys to serialized values whose
+ * contents are held outside of the Java heap.  Keys and values are
+ * {@link ByteBuffer}s; the bytes between position and limit of each
+ * argument are copied into slab-allocated direct buffers, so the heap
+ * footprint of the map does not grow with the number or size of its
+ * mappings.  Keys are compared by content, as by
+ * {@link ByteBuffer#equals}.  Retrieval methods return freshly
+ * allocated heap buffers positioned at zero; buffers passed to this map
+ * are never retained, and their positions are not changed.
+ *
+ * <p>The total size of the slabs is bounded by a byte budget given at
+ * construction.  When a new slab is needed and the budget is exhausted,
+ * the map first tries to reclaim space held by replaced and removed
+ * mappings by <em>compacting</em> the sparsest slab, copying its live
+ * mappings into a fresh slab.  If no slab is sparse enough to be worth
+ * compacting, the oldest slab is <em>evicted</em>, removing all
+ * mappings still stored in it.  Eviction is thus first-in-first-out by
+ * time of last update.  Compaction may transiently exceed the budget by
+ * one slab.  Method {@link #compact} compacts all slabs on demand.
+ *
+ * <p>Like {@link ConcurrentHashMap}, this class supports full
+ * concurrency of retrievals and high expected concurrency for updates,
+ * and does not allow {@code null} keys or values.  Updates to a bin
+ * are serialized by a lock covering that bin; retrievals usually
+ * proceed without locking.  Bins that accumulate many colliding keys
+ * are converted into sorted bins that are searched in logarithmic
+ * time.  Iterators are weakly consistent, and return copies of the
+ * mappings as they were when each group of bins was traversed; their
+ * entries do not support {@code setValue}.
+ *
+ * <p>Since mappings may be evicted at any time, this class is
+ * appropriate for caches, but not for maps whose contents must be
+ * retained.  Every mapping, including its key, value and a small
+ * header, must fit within a single slab.
+ *
+ * @since 1.9
+ */
+public class OffHeapConcurrentHashMap extends AbstractMap<ByteBuffer,ByteBuffer>
+    implements ConcurrentMap<ByteBuffer,ByteBuffer> {
+
+    /*
+     * Overview:
+     *
+     * Each mapping is a record appended to the current ("active")
+     * slab, a direct ByteBuffer.  Records are never modified in
+     * place except for their next and flags fields: updating a
+     * mapping appends a new record and marks the old one dead.
+     * Record layout, at an 8-byte aligned offset:
+     *
+     *   0  long next   address of next record in bin, or 0
+     *   8  int  hash   spread hash of key
+     *  12  int  klen   key length
+     *  16  int  vlen   value length
+     *  20  int  flags  DEAD once unlinked or never linked
+     *  24  key bytes, then value bytes
+     *
+     * An address combines a slab id (high 32 bits) and offset (low
+     * 32 bits).  Offsets start at SLAB_BASE so no address is zero.
+     *
+     * The bin table ("index") is itself a direct buffer of longs,
+     * each holding the address of the first record of a chain, zero
+     * if empty, or TREEBIN if the bin has been converted to a
+     * TreeBin.  As in ConcurrentHashMap, bins are locked for update,
+     * but since bins hold no objects to lock on, bins share a fixed
+     * array of StampedLock stripes, selected by the low bits of the
+     * hash.  The table is never smaller than the number of stripes,
+     * so doubling it maps every bin to the same stripe as its
+     * predecessor, and resizing (which holds all stripes) is the
+     * only operation that must lock more than one.  Reads use
+     * optimistic stamps, validating after copying out the value;
+     * because slabs and tables are never released while reachable,
+     * racing reads see only stale bytes, never unmapped memory.  Any
+     * anomaly encountered while reading optimistically (including
+     * exceptions from bounds checks on stale offsets) just causes a
+     * retry under the read lock.
+     *
+     * TreeBins replace chains longer than TREEIFY_THRESHOLD.  As in
+     * ConcurrentHashMap they order records by hash and then by key
+     * (here, lexicographically by bytes), giving logarithmic lookups
+     * even when many keys share a hash.  They are held on-heap as
+     * sorted arrays of record addresses, in a per-stripe map keyed by
+     * bin index, and revert to chains when they shrink.
+     *
+     * Space is allocated by bumping a slab's top with CAS, outside
+     * of any bin lock, and the record is then linked under the bin
+     * lock.  A slab that can no longer satisfy an allocation is
+     * sealed (by setting the sign bit of top) and replaced under
+     * allocLock, which is the only place that evicts or compacts.
+     * Since those operations lock bins, allocLock must never be
+     * acquired while holding a stripe.  Each slab counts allocations
+     * not yet linked or discarded ("pending"); eviction and
+     * compaction wait for this to drop to zero after sealing, so
+     * they never miss a record that is about to be linked.
+     */
+
+    /* ---------------- Constants -------------- */
+
+    /**
+     * The default slab size.
+     */
+    static final int DEFAULT_SLAB_SIZE = 1 << 22;
+
+    /**
+     * The smallest and largest slab sizes.
+     */
+    static final int MIN_SLAB_SIZE = 1 << 12;
+    static final int MAX_SLAB_SIZE = 1 << 30;
+
+    /**
+     * The largest possible table capacity, bounded by the size of a
+     * direct buffer of longs.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 27;
+
+    /**
+     * The bin count threshold for using a tree rather than a chain.
+     */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * The bin count threshold for converting a tree back to a chain.
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * The smallest table capacity for which bins may be treeified.
+     */
+    static final int MIN_TREEIFY_CAPACITY = 64;
+
+    /**
+     * A slab whose live bytes are at most this fraction of its size
+     * is compacted rather than evicted.
+     */
+    static final float COMPACTION_RATIO = 0.5f;
+
+    /**
+     * Bound on chain steps while reading optimistically.
+     */
+    static final int MAX_OPTIMISTIC_STEPS = 1 << 8;
+
+    static final int HASH_BITS = 0x7fffffff;
+    static final long TREEBIN  = -1L;
+    static final int SLAB_BASE = 8;
+    static final int SEALED    = 0x80000000;
+    static final int DEAD      = 1;
+
+    static final int NEXT  = 0;
+    static final int HASH  = 8;
+    static final int KLEN  = 12;
+    static final int VLEN  = 16;
+    static final int FLAGS = 20;
+    static final int HEADER = 24;
+
+    /** Number of CPUS, to place bounds on some sizings */
+    static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    /* ---------------- Nodes -------------- */
+
+    /**
+     * A slab of record storage.
+     */
+    static final class Slab {
+        final ByteBuffer buf;
+        final int id;
+        volatile int top;       // allocation offset; SEALED when full
+        volatile int live;      // bytes of linked records
+        volatile int pending;   // allocations not yet linked or killed
+        Slab(int id, int size) {
+            this.id = id;
+            this.buf = ByteBuffer.allocateDirect(size);
+            this.top = SLAB_BASE;
+        }
+        /** Returns the offset past the last allocated record. */
+        int end() { return top & ~SEALED; }
+
+        // Unsafe mechanics
+        private static final sun.misc.Unsafe U;
+        private static final long TOP;
+        private static final long LIVE;
+        private static final long PENDING;
+        static {
+            try {
+                U = sun.misc.Unsafe.getUnsafe();
+                Class<?> k = Slab.class;
+                TOP = U.objectFieldOffset(k.getDeclaredField("top"));
+                LIVE = U.objectFieldOffset(k.getDeclaredField("live"));
+                PENDING = U.objectFieldOffset(k.getDeclaredField("pending"));
+            } catch (Exception e) {
+                throw new Error(e);
+            }
+        }
+    }
+
+    /**
+     * A sorted bin: record addresses ordered by (hash, key bytes).
+     */
+    static final class TreeBin {
+        long[] addrs;
+        int size;
+        TreeBin(long[] addrs, int size) {
+            this.addrs = addrs;
+            this.size = size;
+        }
+    }
+
+    /**
+     * A lock covering the bins whose index has given low bits, along
+     * with the TreeBins among them.
+     */
+    @SuppressWarnings("serial")
+    static final class Stripe extends StampedLock {
+        final IntHashMap<TreeBin> trees = new IntHashMap<TreeBin>();
+    }
+
+    /* ---------------- Fields -------------- */
+
+    /** The bin table; a direct buffer of capacity * 8 bytes. */
+    private volatile ByteBuffer index;
+
+    /** The element count at which to resize. */
+    private volatile long sizeThreshold;
+
+    private final Stripe[] stripes;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** Guards the fields below, and slab replacement. */
+    private final ReentrantLock allocLock = new ReentrantLock();
+    private volatile Slab[] slabs;              // by id, grown as needed
+    private volatile Slab active;
+    private final ArrayDeque<Slab> sealed = new ArrayDeque<Slab>();
+    private final ArrayDeque<Slab> free = new ArrayDeque<Slab>();
+    private int slabCount;                      // slabs allocated
+
+    private final int slabSize;
+    private final int maxSlabs;
+
+    /* ---------------- Public operations -------------- */
+
+    /**
+     * Creates a new, empty map that stores at most the given number of
+     * bytes of mappings, with the default slab size.
+     *
+     * @param maxBytes the byte budget
+     * @throws IllegalArgumentException if the budget is smaller than
+     *         one slab
+     */
+    public OffHeapConcurrentHashMap(long maxBytes) {
+        this(maxBytes, (int)Math.min(DEFAULT_SLAB_SIZE,
+                                     Math.max(MIN_SLAB_SIZE, maxBytes >>> 4)));
+    }
+
+    /**
+     * Creates a new, empty map that stores at most the given number of
+     * bytes of mappings in slabs of the given size.  Larger slabs
+     * reduce allocation overhead; smaller ones make eviction and
+     * compaction finer-grained.
+     *
+     * @param maxBytes the byte budget
+     * @param slabSize the size of each slab, rounded up to a power of two
+     * @throws IllegalArgumentException if the slab size is not within
+     *         range, or the budget is smaller than one slab
+     */
+    public OffHeapConcurrentHashMap(long maxBytes, int slabSize) {
+        if (slabSize < MIN_SLAB_SIZE || slabSize > MAX_SLAB_SIZE)
+            throw new IllegalArgumentException("Illegal slab size: " + slabSize);
+        slabSize = Integer.highestOneBit(slabSize - 1) << 1;
+        long ms = maxBytes / slabSize;
+        if (ms < 1L)
+            throw new IllegalArgumentException("Illegal byte budget: " + maxBytes);
+        this.slabSize = slabSize;
+        this.maxSlabs = (int)Math.min(ms, Integer.MAX_VALUE - 1);
+        int ns = 1;
+        while (ns < (NCPU << 3) && ns < (1 << 12))
+            ns <<= 1;
+        Stripe[] ss = new Stripe[ns];
+        for (int i = 0; i < ns; ++i)
+            ss[i] = new Stripe();
+        this.stripes = ss;
+        int cap = Math.max(ns, 16);
+        this.index = ByteBuffer.allocateDirect(cap << 3);
+        this.sizeThreshold = (long)(cap - (cap >>> 2));
+        this.slabs = new Slab[Math.min(this.maxSlabs + 1, 16)];
+    }
+
+    /**
+     * Spreads (XORs) higher bits of hash to lower, as in
+     * ConcurrentHashMap, and forces the result non-negative.
+     */
+    static final int spread(int h) {
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    static int slabId(long a)     { return (int)(a >>> 32); }
+    static int offset(long a)     { return (int)a; }
+    static long address(int id, int off) {
+        return ((long)id << 32) | (off & 0xffffffffL);
+    }
+
+    /** Returns the space taken by a record, rounded to 8 bytes. */
+    static int recordSize(int klen, int vlen) {
+        long s = ((long)HEADER + klen + vlen + 7L) & ~7L;
+        return (s > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)s;
+    }
+
+    final Slab slabFor(long a) {
+        return slabs[slabId(a)];
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        long n = count.sum();
+        return ((n < 0L) ? 0 :
+                (n > (long)Integer.MAX_VALUE) ? Integer.MAX_VALUE :
+                (int)n);
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return count.sum() <= 0L;
+    }
+
+    /**
+     * Returns the number of mappings evicted to keep within the byte
+     * budget since this map was created.
+     *
+     * @return the number of evicted mappings
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of bytes of direct memory currently reserved
+     * for slabs.
+     *
+     * @return the number of bytes reserved for slabs
+     */
+    public long allocatedBytes() {
+        allocLock.lock();
+        try {
+            return (long)slabCount * slabSize;
+        } finally {
+            allocLock.unlock();
+        }
+    }
+
+    /* ---------------- Record access -------------- */
+
+    /**
+     * Returns true if the record at a has the given hash and key.
+     */
+    static boolean matches(ByteBuffer b, int off, int h, ByteBuffer k) {
+        int n;
+        if (b.getInt(off + HASH) != h ||
+            b.getInt(off + KLEN) != (n = k.remaining()))
+            return false;
+        int p = off + HEADER, q = k.position(), i = 0;
+        // Eight bytes at a time only when both buffers read them alike
+        if (k.order() == b.order()) {
+            for (; i + 8 <= n; i += 8) {
+                if (b.getLong(p + i) != k.getLong(q + i))
+                    return false;
+            }
+        }
+        for (; i < n; ++i) {
+            if (b.get(p + i) != k.get(q + i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compares the record at a with the given hash and key, in TreeBin
+     * order.
+     */
+    final int compareRecord(long a, int h, ByteBuffer k) {
+        ByteBuffer b = slabFor(a).buf; int off = offset(a);
+        int rh = b.getInt(off + HASH);
+        if (rh != h)
+            return (rh < h) ? -1 : 1;
+        int rn = b.getInt(off + KLEN), n = k.remaining();
+        int p = off + HEADER, q = k.position();
+        for (int i = 0, m = Math.min(rn, n); i < m; ++i) {
+            int c = (b.get(p + i) & 0xff) - (k.get(q + i) & 0xff);
+            if (c != 0)
+                return c;
+        }
+        return rn - n;
+    }
+
+    /**
+     * Compares two records in TreeBin order.
+     */
+    final int compareRecords(long a, long c) {
+        ByteBuffer b = slabFor(c).buf; int off = offset(c);
+        ByteBuffer k = b.duplicate();
+        k.position(off + HEADER);
+        k.limit(off + HEADER + b.getInt(off + KLEN));
+        return compareRecord(a, b.getInt(off + HASH), k);
+    }
+
+    final long nextOf(long a) {
+        return slabFor(a).buf.getLong(offset(a) + NEXT);
+    }
+
+    final void setNext(long a, long next) {
+        slabFor(a).buf.putLong(offset(a) + NEXT, next);
+    }
+
+    final int hashOf(long a) {
+        return slabFor(a).buf.getInt(offset(a) + HASH);
+    }
+
+    final int sizeOf(long a) {
+        ByteBuffer b = slabFor(a).buf; int off = offset(a);
+        return recordSize(b.getInt(off + KLEN), b.getInt(off + VLEN));
+    }
+
+    /**
+     * Returns a heap copy of the key (if key) or value of record a.
+     */
+    final ByteBuffer copyOf(long a, boolean key) {
+        ByteBuffer b = slabFor(a).buf; int off = offset(a);
+        int klen = b.getInt(off + KLEN);
+        int p = off + HEADER, n = klen;
+        if (!key) {
+            p += klen;
+            n = b.getInt(off + VLEN);
+        }
+        byte[] bytes = new byte[n];
+        ByteBuffer src = b.duplicate();
+        src.limit(p + n).position(p);
+        src.get(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Returns true if the value of record a equals the given value.
+     */
+    final boolean valueEquals(long a, ByteBuffer v) {
+        ByteBuffer b = slabFor(a).buf; int off = offset(a);
+        int n = v.remaining();
+        if (b.getInt(off + VLEN) != n)
+            return false;
+        int p = off + HEADER + b.getInt(off + KLEN), q = v.position();
+        for (int i = 0; i < n; ++i) {
+            if (b.get(p + i) != v.get(q + i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Marks a linked record dead, crediting its slab.
+     */
+    final void kill(long a) {
+        Slab s = slabFor(a); int off = offset(a);
+        s.buf.putInt(off + FLAGS, DEAD);
+        Slab.U.getAndAddInt(s, Slab.LIVE, -sizeOf(a));
+    }
+
+    /* ---------------- Allocation, eviction and compaction -------------- */
+
+    /**
+     * Allocates and fills a record, outside of any bin lock.  On
+     * return the record's slab has been marked pending, which the
+     * caller must undo via release after linking or discarding it.
+     */
+    final long allocate(int h, ByteBuffer k, ByteBuffer v) {
+        int klen = k.remaining(), vlen = v.remaining();
+        int size = recordSize(klen, vlen);
+        if (size > slabSize - SLAB_BASE)
+            throw new IllegalArgumentException("Mapping too large: " + size);
+        long a = 0L;
+        for (Slab s;;) {
+            if ((s = active) != null) {
+                Slab.U.getAndAddInt(s, Slab.PENDING, 1);
+                int t = s.top, nt;
+                if (t >= 0 && (nt = t + size) <= slabSize) {
+                    if (Slab.U.compareAndSwapInt(s, Slab.TOP, t, nt)) {
+                        a = address(s.id, t);
+                        break;
+                    }
+                    Slab.U.getAndAddInt(s, Slab.PENDING, -1);
+                    continue;
+                }
+                Slab.U.getAndAddInt(s, Slab.PENDING, -1);
+            }
+            replaceActive(s);
+        }
+        writeRecord(a, h, k, v);
+        return a;
+    }
+
+    final void writeRecord(long a, int h, ByteBuffer k, ByteBuffer v) {
+        ByteBuffer b = slabFor(a).buf; int off = offset(a);
+        int klen = k.remaining(), vlen = v.remaining();
+        b.putLong(off + NEXT, 0L);
+        b.putInt(off + HASH, h);
+        b.putInt(off + KLEN, klen);
+        b.putInt(off + VLEN, vlen);
+        b.putInt(off + FLAGS, 0);
+        ByteBuffer dst = b.duplicate();
+        dst.position(off + HEADER);
+        dst.put(k.duplicate());
+        dst.put(v.duplicate());
+    }
+
+    /**
+     * Releases the pending mark of a record allocated by allocate,
+     * crediting its slab if it was linked, else killing it.
+     */
+    final void release(long a, boolean linked) {
+        Slab s = slabFor(a);
+        if (linked)
+            Slab.U.getAndAddInt(s, Slab.LIVE, sizeOf(a));
+        else
+            s.buf.putInt(offset(a) + FLAGS, DEAD);
+        Slab.U.getAndAddInt(s, Slab.PENDING, -1);
+    }
+
+    /**
+     * Seals slab s, if still active, and installs a replacement,
+     * evicting or compacting if over budget.
+     */
+    private void replaceActive(Slab s) {
+        final ReentrantLock lock = allocLock;
+        lock.lock();
+        try {
+            if (active == s) {
+                if (s != null) {
+                    seal(s);
+                    sealed.addLast(s);
+                }
+                active = takeSlab();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prevents further allocation in slab s and waits for allocations
+     * in progress to be linked or discarded.  Called with allocLock
+     * held, but no stripe, since those allocations may be waiting to
+     * lock their bins.
+     */
+    private static void seal(Slab s) {
+        for (int t; (t = s.top) >= 0 &&
+                 !Slab.U.compareAndSwapInt(s, Slab.TOP, t, t | SEALED);)
+            ;
+        while (s.pending != 0)
+            Thread.yield();
+    }
+
+    /**
+     * Returns an empty slab, reusing a free one, allocating a new one
+     * if under budget, or else reclaiming one.  Called with allocLock
+     * held.
+     */
+    private Slab takeSlab() {
+        Slab s;
+        if ((s = free.pollFirst()) == null) {
+            if (slabCount < maxSlabs)
+                s = newSlab();
+            else {
+                Slab victim = null;
+                int limit = (int)(slabSize * COMPACTION_RATIO);
+                for (Slab x : sealed) {
+                    if (x.live <= limit && (victim == null || x.live < victim.live))
+                        victim = x;
+                }
+                if (victim != null) {
+                    sealed.remove(victim);
+                    s = newSlab(); // transiently over budget
+                    evacuate(victim, s);
+                    drop(victim);
+                    return s;
+                }
+                else if ((s = sealed.pollFirst()) == null)
+                    s = newSlab(); // sole slab is active; cannot happen
+                else
+                    evict(s);
+            }
+        }
+        s.top = SLAB_BASE;
+        s.live = 0;
+        return s;
+    }
+
+    /**
+     * Allocates a slab, using the lowest free id.
+     */
+    private Slab newSlab() {
+        Slab[] ss = slabs;
+        int id = 0, n = ss.length;
+        while (id < n && ss[id] != null)
+            ++id;
+        if (id == n)
+            ss = Arrays.copyOf(ss, n + (n >>> 1) + 1);
+        Slab s = new Slab(id, slabSize);
+        ss[id] = s;
+        slabs = ss;
+        ++slabCount;
+        return s;
+    }
+
+    /**
+     * Releases a slab whose records are all dead.  The buffer itself
+     * is reclaimed by the garbage collector once no optimistic reader
+     * still refers to it.
+     */
+    private void drop(Slab s) {
+        slabs[s.id] = null;
+        --slabCount;
+    }
+
+    /**
+     * Makes slab s reusable.
+     */
+    private void recycle(Slab s) {
+        s.top = SLAB_BASE;
+        s.live = 0;
+        free.addFirst(s);
+    }
+
+    /**
+     * Removes all live records in sealed slab s from the map.
+     */
+    private void evict(Slab s) {
+        ByteBuffer b = s.buf;
+        for (int off = SLAB_BASE, end = s.end(); off < end; ) {
+            long a = address(s.id, off);
+            int size = recordSize(b.getInt(off + KLEN), b.getInt(off + VLEN));
+            if (b.getInt(off + FLAGS) != DEAD && relink(a, 0L))
+                evictions.increment();
+            off += size;
+        }
+    }
+
+    /**
+     * Copies all live records in sealed slab s into slab d.
+     */
+    private void evacuate(Slab s, Slab d) {
+        ByteBuffer b = s.buf;
+        for (int off = SLAB_BASE, end = s.end(); off < end; ) {
+            long a = address(s.id, off);
+            int size = recordSize(b.getInt(off + KLEN), b.getInt(off + VLEN));
+            if (b.getInt(off + FLAGS) != DEAD) {
+                int t = d.top;
+                if (t + size > slabSize) { // live count was stale
+                    if (relink(a, 0L))
+                        evictions.increment();
+                    off += size;
+                    continue;
+                }
+                long na = address(d.id, t);
+                ByteBuffer src = b.duplicate();
+                src.limit(off + size).position(off);
+                ByteBuffer dst = d.buf.duplicate();
+                dst.position(t);
+                dst.put(src);
+                d.top = t + size;
+                if (!relink(a, na))
+                    d.top = t;  // raced with removal; reuse space
+            }
+            off += size;
+        }
+    }
+
+    /**
+     * Under the bin lock, unlinks live record a, replacing it by na
+     * (already filled in) if nonzero.
+     *
+     * @return true if a was live and has been unlinked
+     */
+    private boolean relink(long a, long copy) {
+        int h = hashOf(a);
+        Stripe st = stripeFor(h);
+        long stamp = st.writeLock();
+        try {
+            if (slabFor(a).buf.getInt(offset(a) + FLAGS) == DEAD)
+                return false;
+            ByteBuffer ix = index;
+            int i = h & ((ix.capacity() >>> 3) - 1);
+            long f = ix.getLong(i << 3);
+            if (f == TREEBIN) {
+                TreeBin t = st.trees.get(i);
+                int j = 0;
+                while (j < t.size && t.addrs[j] != a)
+                    ++j;
+                if (j == t.size)
+                    return false;
+                if (copy != 0L)
+                    t.addrs[j] = copy;
+                else
+                    removeFromTree(st, ix, i, t, j);
+            }
+            else {
+                long pred = 0L, e = f;
+                while (e != 0L && e != a)
+                    e = nextOf(pred = e);
+                if (e == 0L)
+                    return false;
+                long next = nextOf(a), r = next;
+                if (copy != 0L)
+                    setNext(r = copy, next);
+                if (pred == 0L)
+                    ix.putLong(i << 3, r);
+                else
+                    setNext(pred, r);
+            }
+            if (copy != 0L)
+                Slab.U.getAndAddInt(slabFor(copy), Slab.LIVE, sizeOf(copy));
+            else
+                count.decrement();
+            kill(a);
+            return true;
+        } finally {
+            st.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Compacts all slabs, copying live mappings into as few slabs as
+     * possible and making the rest available for reuse.  Updates
+     * requiring new space are blocked while this method runs.
+     */
+    public void compact() {
+        final ReentrantLock lock = allocLock;
+        lock.lock();
+        try {
+            Slab s = active;
+            if (s != null) {
+                seal(s);
+                sealed.addLast(s);
+                active = null;
+            }
+            ArrayList<Slab> victims = new ArrayList<Slab>(sealed);
+            sealed.clear();
+            victims.sort((x, y) -> Integer.compare(x.live, y.live));
+            Slab d = null;
+            for (Slab v : victims) {
+                if (d == null || d.top + v.live > slabSize) {
+                    if (d != null)
+                        sealed.addLast(d);
+                    if ((d = free.pollFirst()) == null)
+                        d = newSlab();
+                    d.top = SLAB_BASE;
+                    d.live = 0;
+                }
+                evacuate(v, d);
+                recycle(v);
+            }
+            active = d;
+            while (slabCount > maxSlabs && (s = free.pollFirst()) != null)
+                drop(s);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---------------- Table access -------------- */
+
+    final Stripe stripeFor(int h) {
+        Stripe[] ss = stripes;
+        return ss[h & (ss.length - 1)];
+    }
+
+    /**
+     * Returns the address of the live record for key k in its bin, or
+     * zero if none.  Called under the stripe lock, or optimistically,
+     * in which case returns -1 upon any anomaly.
+     */
+    final long find(Stripe st, int h, ByteBuffer k, boolean optimistic) {
+        ByteBuffer ix = index;
+        int i = h & ((ix.capacity() >>> 3) - 1);
+        long e = ix.getLong(i << 3);
+        if (e == TREEBIN) {
+            if (optimistic)
+                return -1L;
+            TreeBin t = st.trees.get(i);
+            int j = treeIndex(t, h, k);
+            return (j >= 0) ? t.addrs[j] : 0L;
+        }
+        for (int steps = 0; e != 0L; e = nextOf(e)) {
+            ByteBuffer b = slabFor(e).buf;
+            if (matches(b, offset(e), h, k))
+                return e;
+            if (optimistic && ++steps >= MAX_OPTIMISTIC_STEPS)
+                return -1L;
+        }
+        return 0L;
+    }
+
+    /**
+     * Binary search of TreeBin t; returns index, or -(insertion point) - 1.
+     */
+    final int treeIndex(TreeBin t, int h, ByteBuffer k) {
+        int lo = 0, hi = t.size - 1;
+        long[] as = t.addrs;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compareRecord(as[mid], h, k);
+            if (c < 0)
+                lo = mid + 1;
+            else if (c > 0)
+                hi = mid - 1;
+            else
+                return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private void removeFromTree(Stripe st, ByteBuffer ix, int i, TreeBin t, int j) {
+        System.arraycopy(t.addrs, j + 1, t.addrs, j, t.size - j - 1);
+        if (--t.size <= UNTREEIFY_THRESHOLD) {
+            long head = 0L;
+            for (int q = t.size - 1; q >= 0; --q) {
+                setNext(t.addrs[q], head);
+                head = t.addrs[q];
+            }
+            st.trees.remove(i);
+            ix.putLong(i << 3, head);
+        }
+    }
+
+    /**
+     * Converts the chain at bin i to a TreeBin.  Called under lock.
+     */
+    private void treeifyBin(Stripe st, ByteBuffer ix, int i) {
+        long[] as = new long[TREEIFY_THRESHOLD << 1];
+        int n = 0;
+        for (long e = ix.getLong(i << 3); e != 0L; e = nextOf(e)) {
+            if (n == as.length)
+                as = Arrays.copyOf(as, n << 1);
+            as[n++] = e;
+        }
+        sortAddresses(as, n);
+        st.trees.putInt(i, new TreeBin(as, n));
+        ix.putLong(i << 3, TREEBIN);
+    }
+
+    private void sortAddresses(long[] as, int n) {
+        for (int p = 1; p < n; ++p) { // insertion sort; bins are small
+            long x = as[p];
+            int q = p - 1;
+            while (q >= 0 && compareRecords(as[q], x) > 0) {
+                as[q + 1] = as[q];
+                --q;
+            }
+            as[q + 1] = x;
+        }
+    }
+
+    /**
+     * Doubles the table if its capacity is still n.
+     */
+    private void resize(int n) {
+        Stripe[] ss = stripes;
+        long[] stamps = new long[ss.length];
+        for (int i = 0; i < ss.length; ++i)
+            stamps[i] = ss[i].writeLock();
+        try {
+            ByteBuffer ix = index;
+            if ((ix.capacity() >>> 3) != n || n >= MAXIMUM_CAPACITY)
+                return;
+            int nn = n << 1, mask = nn - 1;
+            ByteBuffer nix = ByteBuffer.allocateDirect(nn << 3);
+            int[] counts = new int[nn];
+            for (int i = 0; i < n; ++i) {
+                long f = ix.getLong(i << 3);
+                if (f == TREEBIN) {
+                    Stripe st = ss[i & (ss.length - 1)];
+                    TreeBin t = st.trees.remove(i);
+                    for (int j = t.size - 1; j >= 0; --j)
+                        push(nix, counts, t.addrs[j], mask);
+                }
+                else {
+                    for (long e = f, next; e != 0L; e = next) {
+                        next = nextOf(e);
+                        push(nix, counts, e, mask);
+                    }
+                }
+            }
+            for (int j = 0; j < nn; ++j) {
+                if (counts[j] >= TREEIFY_THRESHOLD)
+                    treeifyBin(ss[j & (ss.length - 1)], nix, j);
+            }
+            index = nix;
+            sizeThreshold = (long)(nn - (nn >>> 2));
+        } finally {
+            for (int i = ss.length - 1; i >= 0; --i)
+                ss[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    private void push(ByteBuffer nix, int[] counts, long e, int mask) {
+        int j = hashOf(e) & mask;
+        setNext(e, nix.getLong(j << 3));
+        nix.putLong(j << 3, e);
+        ++counts[j];
+    }
+
+    /* ---------------- Map operations -------------- */
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public ByteBuffer get(Object key) {
+        if (!(key instanceof ByteBuffer)) {
+            if (key == null) throw new NullPointerException();
+            return null;
+        }
+        ByteBuffer k = (ByteBuffer)key;
+        int h = spread(k.hashCode());
+        Stripe st = stripeFor(h);
+        long stamp;
+        if ((stamp = st.tryOptimisticRead()) != 0L) {
+            try {
+                long a = find(st, h, k, true);
+                ByteBuffer v = (a > 0L) ? copyOf(a, false) : null;
+                if (a >= 0L && st.validate(stamp))
+                    return v;
+            } catch (RuntimeException ex) {
+                if (st.validate(stamp))
+                    throw ex;
+            }
+        }
+        stamp = st.readLock();
+        try {
+            long a = find(st, h, k, false);
+            return (a != 0L) ? copyOf(a, false) : null;
+        } finally {
+            st.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Tests if the specified object is a key in this map.
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean containsKey(Object key) {
+        if (!(key instanceof ByteBuffer)) {
+            if (key == null) throw new NullPointerException();
+            return false;
+        }
+        ByteBuffer k = (ByteBuffer)key;
+        int h = spread(k.hashCode());
+        Stripe st = stripeFor(h);
+        long stamp;
+        if ((stamp = st.tryOptimisticRead()) != 0L) {
+            try {
+                long a = find(st, h, k, true);
+                if (a >= 0L && st.validate(stamp))
+                    return a != 0L;
+            } catch (RuntimeException ex) {
+                if (st.validate(stamp))
+                    throw ex;
+            }
+        }
+        stamp = st.readLock();
+        try {
+            return find(st, h, k, false) != 0L;
+        } finally {
+            st.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Maps the specified key to the specified value in this map.
+     *
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key or value is null
+     * @throws IllegalArgumentException if the mapping does not fit in
+     *         a slab
+     */
+    public ByteBuffer put(ByteBuffer key, ByteBuffer value) {
+        return update(key, null, value, PUT);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     * @throws IllegalArgumentException if the mapping does not fit in
+     *         a slab
+     */
+    public ByteBuffer putIfAbsent(ByteBuffer key, ByteBuffer value) {
+        ByteBuffer v;
+        if ((v = get(key)) != null)
+            return v;
+        return update(key, null, value, PUT_IF_ABSENT);
+    }
+
+    /**
+     * Removes the key (and its corresponding value) from this map.
+     *
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     * @throws NullPointerException if the specified key is null
+     */
+    public ByteBuffer remove(Object key) {
+        if (!(key instanceof ByteBuffer)) {
+            if (key == null) throw new NullPointerException();
+            return null;
+        }
+        return update((ByteBuffer)key, null, null, REMOVE);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if the specified key is null
+     */
+    public boolean remove(Object key, Object value) {
+        if (key == null) throw new NullPointerException();
+        return (key instanceof ByteBuffer) && (value instanceof ByteBuffer) &&
+            update((ByteBuffer)key, (ByteBuffer)value, null, REMOVE) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public boolean replace(ByteBuffer key, ByteBuffer oldValue,
+                           ByteBuffer newValue) {
+        if (oldValue == null) throw new NullPointerException();
+        return update(key, oldValue, newValue, REPLACE) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the previous value associated with the specified key,
+     *         or {@code null} if there was no mapping for the key
+     * @throws NullPointerException if the specified key or value is null
+     */
+    public ByteBuffer replace(ByteBuffer key, ByteBuffer value) {
+        return update(key, null, value, REPLACE);
+    }
+
+    /** Modes for update */
+    static final int PUT = 0, PUT_IF_ABSENT = 1, REPLACE = 2, REMOVE = 3;
+
+    /**
+     * Implements all updates.  Returns the previous value (or, for
+     * conditional forms given cv, cv itself upon success), or null.
+     *
+     * @param k the key
+     * @param cv if non-null, update only if currently mapped to cv
+     * @param v the new value, or null to remove
+     * @param mode one of PUT, PUT_IF_ABSENT, REPLACE, REMOVE
+     */
+    final ByteBuffer update(ByteBuffer k, ByteBuffer cv, ByteBuffer v, int mode) {
+        if (k == null || (v == null && mode != REMOVE))
+            throw new NullPointerException();
+        int h = spread(k.hashCode());
+        long na = (v == null) ? 0L : allocate(h, k, v);
+        boolean linked = false, added = false;
+        int binCount = 0, n;
+        ByteBuffer oldVal = null;
+        Stripe st = stripeFor(h);
+        long stamp = st.writeLock();
+        try {
+            ByteBuffer ix = index;
+            int i = h & ((n = ix.capacity() >>> 3) - 1);
+            long f = ix.getLong(i << 3);
+            if (f == TREEBIN) {
+                TreeBin t = st.trees.get(i);
+                int j = treeIndex(t, h, k);
+                binCount = TREEIFY_THRESHOLD;
+                if (j >= 0) {
+                    long e = t.addrs[j];
+                    if (mode != PUT_IF_ABSENT &&
+                        (cv == null || valueEquals(e, cv))) {
+                        oldVal = (cv != null) ? cv : copyOf(e, false);
+                        if (na != 0L) {
+                            t.addrs[j] = na;
+                            linked = true;
+                        }
+                        else {
+                            removeFromTree(st, ix, i, t, j);
+                            count.decrement();
+                        }
+                        kill(e);
+                    }
+                    else if (mode == PUT_IF_ABSENT)
+                        oldVal = copyOf(e, false);
+                }
+                else if (na != 0L && (mode == PUT || mode == PUT_IF_ABSENT)) {
+                    j = -(j + 1);
+                    if (t.size == t.addrs.length)
+                        t.addrs = Arrays.copyOf(t.addrs, t.size << 1);
+                    System.arraycopy(t.addrs, j, t.addrs, j + 1, t.size - j);
+                    t.addrs[j] = na;
+                    ++t.size;
+                    linked = added = true;
+                }
+            }
+            else {
+                long pred = 0L, e = f;
+                for (; e != 0L; e = nextOf(pred = e), ++binCount) {
+                    if (matches(slabFor(e).buf, offset(e), h, k))
+                        break;
+                }
+                if (e != 0L) {
+                    if (mode != PUT_IF_ABSENT &&
+                        (cv == null || valueEquals(e, cv))) {
+                        oldVal = (cv != null) ? cv : copyOf(e, false);
+                        long next = nextOf(e);
+                        long r = next;
+                        if (na != 0L) {
+                            setNext(na, next);
+                            r = na;
+                            linked = true;
+                        }
+                        else
+                            count.decrement();
+                        if (pred == 0L)
+                            ix.putLong(i << 3, r);
+                        else
+                            setNext(pred, r);
+                        kill(e);
+                    }
+                    else if (mode == PUT_IF_ABSENT)
+                        oldVal = copyOf(e, false);
+                }
+                else if (na != 0L && (mode == PUT || mode == PUT_IF_ABSENT)) {
+                    setNext(na, f);
+                    ix.putLong(i << 3, na);
+                    linked = added = true;
+                    if (++binCount >= TREEIFY_THRESHOLD &&
+                        n >= MIN_TREEIFY_CAPACITY)
+                        treeifyBin(st, ix, i);
+                }
+            }
+        } finally {
+            st.unlockWrite(stamp);
+            if (na != 0L)
+                release(na, linked);
+        }
+        if (added) {
+            count.increment();
+            if (count.sum() > sizeThreshold ||
+                (binCount >= TREEIFY_THRESHOLD && n < MIN_TREEIFY_CAPACITY))
+                resize(n);
+        }
+        return oldVal;
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        final ReentrantLock lock = allocLock;
+        lock.lock();
+        try {
+            Slab s = active;
+            if (s != null)
+                seal(s);            // before locking bins; see seal
+            active = null;
+            Stripe[] ss = stripes;
+            long[] stamps = new long[ss.length];
+            for (int i = 0; i < ss.length; ++i)
+                stamps[i] = ss[i].writeLock();
+            try {
+                ByteBuffer ix = index;
+                for (int i = 0, n = ix.capacity(); i < n; i += 8)
+                    ix.putLong(i, 0L);
+                for (Stripe st : ss)
+                    st.trees.clear();
+                for (Slab x : sealed)
+                    recycle(x);
+                sealed.clear();
+                if (s != null)
+                    recycle(s);
+                count.reset();
+            } finally {
+                for (int i = ss.length - 1; i >= 0; --i)
+                    ss[i].unlockWrite(stamps[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---------------- Views -------------- */
+
+    private transient EntrySetView entrySet;
+
+    /**
+     * Returns a {@link Set} view of the mappings contained in this map.
+     * The set supports removal but not addition.  Its iterators are
+     * weakly consistent, and return entries holding copies of keys and
+     * values that do not support {@code setValue}.
+     *
+     * @return the set view
+     */
+    public Set<Map.Entry<ByteBuffer,ByteBuffer>> entrySet() {
+        EntrySetView es;
+        return (es = entrySet) != null ? es : (entrySet = new EntrySetView());
+    }
+
+    final class EntrySetView extends AbstractSet<Map.Entry<ByteBuffer,ByteBuffer>> {
+        public Iterator<Map.Entry<ByteBuffer,ByteBuffer>> iterator() {
+            return new EntryIterator();
+        }
+        public int size()        { return OffHeapConcurrentHashMap.this.size(); }
+        public boolean isEmpty() { return OffHeapConcurrentHashMap.this.isEmpty(); }
+        public void clear()      { OffHeapConcurrentHashMap.this.clear(); }
+        public boolean contains(Object o) {
+            Object k, v, r; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (r = get(k)) != null &&
+                    (v = e.getValue()) != null &&
+                    (v == r || v.equals(r)));
+        }
+        public boolean remove(Object o) {
+            Object k, v; Map.Entry<?,?> e;
+            return ((o instanceof Map.Entry) &&
+                    (k = (e = (Map.Entry<?,?>)o).getKey()) != null &&
+                    (v = e.getValue()) != null &&
+                    OffHeapConcurrentHashMap.this.remove(k, v));
+        }
+    }
+
+    /**
+     * Traverses the table by base bins of the table as it was when
+     * the iterator was created: since the table only doubles, all
+     * keys in base bin b are later found in bins congruent to b
+     * modulo the base size, all covered by the same stripe.  Each base
+     * bin is copied under its stripe's read lock.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<ByteBuffer,ByteBuffer>> {
+        final int baseSize;
+        int baseIndex;
+        final ArrayList<Map.Entry<ByteBuffer,ByteBuffer>> batch =
+            new ArrayList<Map.Entry<ByteBuffer,ByteBuffer>>();
+        int next;
+        ByteBuffer lastKey;
+
+        EntryIterator() {
+            baseSize = index.capacity() >>> 3;
+            advance();
+        }
+
+        private void advance() {
+            batch.clear();
+            next = 0;
+            while (batch.isEmpty() && baseIndex < baseSize) {
+                int b = baseIndex++;
+                Stripe st = stripeFor(b);
+                long stamp = st.readLock();
+                try {
+                    ByteBuffer ix = index;
+                    for (int i = b, n = ix.capacity() >>> 3; i < n; i += baseSize) {
+                        long f = ix.getLong(i << 3);
+                        if (f == TREEBIN) {
+                            TreeBin t = st.trees.get(i);
+                            for (int j = 0; j < t.size; ++j)
+                                add(t.addrs[j]);
+                        }
+                        else {
+                            for (long e = f; e != 0L; e = nextOf(e))
+                                add(e);
+                        }
+                    }
+                } finally {
+                    st.unlockRead(stamp);
+                }
+            }
+        }
+
+        private void add(long a) {
+            batch.add(new AbstractMap.SimpleImmutableEntry<ByteBuffer,ByteBuffer>
+                      (copyOf(a, true), copyOf(a, false)));
+        }
+
+        public boolean hasNext() {
+            return next < batch.size();
+        }
+
+        public Map.Entry<ByteBuffer,ByteBuffer> next() {
+            if (next >= batch.size())
+                throw new NoSuchElementException();
+            Map.Entry<ByteBuffer,ByteBuffer> e = batch.get(next++);
+            lastKey = e.getKey();
+            if (next == batch.size())
+                advance();
+            return e;
+        }
+
+        public void remove() {
+            ByteBuffer k;
+            if ((k = lastKey) == null)
+                throw new IllegalStateException();
+            lastKey = null;
+            OffHeapConcurrentHashMap.this.remove(k);
+        }
+    }
+}
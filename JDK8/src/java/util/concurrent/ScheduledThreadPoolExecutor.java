@@ -322,6 +322,9 @@ public class ScheduledThreadPoolExecutor
      * @param task the task
      */
     private void delayedExecute(RunnableScheduledFuture<?> task) {
+        ExecutorMetrics m = getMetrics();
+        if (m != null)
+            m.recordSubmit();
         if (isShutdown())
             reject(task);
         else {
@@ -801,6 +804,21 @@ public class ScheduledThreadPoolExecutor
         return super.getQueue();
     }
 
+    /**
+     * Throws {@code UnsupportedOperationException} if {@code value}
+     * is {@code true}: delayed tasks are always held in the delay
+     * queue, so this executor does not support work stealing.
+     *
+     * @param value must be {@code false}
+     * @throws UnsupportedOperationException if {@code value} is
+     *         {@code true}
+     * @since 1.9
+     */
+    public void allowWorkStealing(boolean value) {
+        if (value)
+            throw new UnsupportedOperationException();
+    }
+
     /**
      * Specialized delay queue. To mesh with TPE declarations, this
      * class must be declared as a BlockingQueue<Runnable> even though
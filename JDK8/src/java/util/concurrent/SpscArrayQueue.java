@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bounded lock-free {@linkplain BlockingQueue blocking queue}
+ * backed by an array, for use by a single producer thread and a
+ * single consumer thread.  This queue orders elements FIFO
+ * (first-in-first-out).  At most one thread at a time may perform
+ * insertions ({@code offer}, {@code put}, {@code add}, {@link #fill
+ * fill}, and so on), and at most one thread at a time may perform
+ * removals ({@code poll}, {@code take}, {@code peek}, {@link #drain
+ * drain}, {@code drainTo}, {@code clear}, and so on); the effects of
+ * violating these constraints are undefined.  Other methods may be
+ * invoked by any thread.  Removal of arbitrary elements, as by
+ * {@code remove(Object)} or iterator removal, is not supported.
+ *
+ * <p>Insertion and removal each take constant time, require no
+ * atomic read-modify-write instructions and allocate nothing, and
+ * the producer and consumer touch separate cache lines except when
+ * the queue is nearly empty or full.  This makes this class
+ * preferable to {@link ArrayBlockingQueue}, which uses a single lock,
+ * and {@link ConcurrentLinkedQueue}, which allocates a node per
+ * element, for passing elements between a pair of threads.
+ *
+ * <p>Blocking and timed operations wait as directed by the {@link
+ * WaitStrategy} supplied at construction, rather than by being
+ * signalled, so nonblocking operations never incur signalling costs.
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link java.util.Collection} and
+ * {@link java.util.Iterator} interfaces, except those that remove
+ * elements other than the head.
+ *
+ * @since 1.9
+ * @param <E> the type of elements held in this collection
+ */
+public class SpscArrayQueue<E> extends AbstractArrayQueue<E> {
+
+    /*
+     * The producer publishes each insertion with an ordered store of
+     * tail after writing the slot, and the consumer each removal with
+     * an ordered store of head after clearing it.  Each side caches
+     * the last value it read of the other side's counter, and rereads
+     * it only when the cached value shows the queue full (for the
+     * producer) or empty (for the consumer).  The batch operations
+     * publish their side's counter once, at the end.
+     */
+
+    /** The producer's cached value of head */
+    @sun.misc.Contended("producer") long headCache;
+
+    /** The consumer's cached value of tail */
+    @sun.misc.Contended("consumer") long tailCache;
+
+    /**
+     * Creates a {@code SpscArrayQueue} with the given capacity and a
+     * {@linkplain WaitStrategy#parking() parking} wait strategy.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or exceeds 2<sup>30</sup>
+     */
+    public SpscArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.parking());
+    }
+
+    /**
+     * Creates a {@code SpscArrayQueue} with the given capacity and
+     * wait strategy.
+     *
+     * @param capacity the capacity of this queue
+     * @param waitStrategy the wait strategy for blocking and timed
+     *        operations
+     * @throws IllegalArgumentException if {@code capacity} is not
+     *         positive or exceeds 2<sup>30</sup>
+     * @throws NullPointerException if {@code waitStrategy} is null
+     */
+    public SpscArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        super(capacity, waitStrategy);
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it is
+     * possible to do so immediately without exceeding the queue's capacity,
+     * returning {@code true} upon success and {@code false} if this queue
+     * is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        final long t = tail;
+        if (t - headCache >= capacity && t - (headCache = head) >= capacity)
+            return false;
+        U.putOrderedObject(buffer, slotOffset(t), e);
+        U.putOrderedLong(this, TAIL, t + 1L);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        final long h = head;
+        if (h >= tailCache && h >= (tailCache = tail))
+            return null;
+        final Object[] b = buffer;
+        long off = slotOffset(h);
+        E x = (E)U.getObject(b, off);
+        U.putObject(b, off, null);
+        U.putOrderedLong(this, HEAD, h + 1L);
+        return x;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final long h = head;
+        if (h >= tailCache && h >= (tailCache = tail))
+            return null;
+        return (E)U.getObject(buffer, slotOffset(h));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> action, int limit) {
+        if (action == null)
+            throw new NullPointerException();
+        if (limit <= 0)
+            return 0;
+        final Object[] b = buffer;
+        final long h = head;
+        long t = tailCache;
+        if (t - h < limit)
+            tailCache = t = tail;
+        final long end = Math.min(t, h + limit);
+        long i = h;
+        try {
+            while (i < end) {
+                long off = slotOffset(i++);
+                E x = (E)U.getObject(b, off);
+                U.putObject(b, off, null);
+                action.accept(x);
+            }
+        } finally {
+            if (i != h)
+                U.putOrderedLong(this, HEAD, i);
+        }
+        return (int)(i - h);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public int fill(Supplier<? extends E> supplier, int limit) {
+        if (supplier == null)
+            throw new NullPointerException();
+        if (limit <= 0)
+            return 0;
+        final Object[] b = buffer;
+        final long t = tail;
+        long room = capacity - (t - headCache);
+        if (room < limit)
+            room = capacity - (t - (headCache = head));
+        final long end = t + Math.min(room, (long)limit);
+        long i = t;
+        try {
+            while (i < end) {
+                E x = supplier.get();
+                if (x == null)
+                    throw new NullPointerException();
+                U.putObject(b, slotOffset(i++), x);
+            }
+        } finally {
+            if (i != t)
+                U.putOrderedLong(this, TAIL, i); // orders slot writes
+        }
+        return (int)(i - t);
+    }
+}
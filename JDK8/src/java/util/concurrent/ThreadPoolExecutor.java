@@ -40,6 +40,7 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.*;
@@ -261,6 +262,31 @@ import java.util.*;
  * assist in storage reclamation when large numbers of queued tasks
  * become cancelled.</dd>
  *
+ * <dt>Work stealing</dt>
+ *
+ * <dd>By default all queued tasks pass through the single work
+ * queue, which may become a point of contention when many threads
+ * submit and take tasks.  Method {@link #allowWorkStealing(boolean)}
+ * enables a mode in which queued tasks are instead spread over a set
+ * of bounded per-worker queues.  Each worker first takes tasks from
+ * its own queue, then tries to steal from the queues of others, and
+ * only then polls the work queue, which in this mode holds tasks
+ * that overflow the per-worker queues.  The queuing rules above
+ * still apply, except that a request is treated as queued if it can
+ * be placed in a per-worker queue, so threads beyond the core pool
+ * size are created (and tasks rejected) only when both a per-worker
+ * queue and the work queue are full.  Tasks submitted in this mode
+ * are not run in strict submission order.  The mode is intended for
+ * pools with unbounded or large work queues; it is not useful with
+ * direct handoffs.</dd>
+ *
+ * <dt>Metrics</dt>
+ *
+ * <dd>Method {@link #enableMetrics} starts gathering {@link
+ * ExecutorMetrics} such as task queue wait and run time histograms,
+ * rejection counts, and, in work-stealing mode, steal counts, without
+ * requiring locks for either updating or reading them.</dd>
+ *
  * <dt>Finalization</dt>
  *
  * <dd>A pool that is no longer referenced in a program <em>AND</em>
@@ -447,6 +473,88 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     private final BlockingQueue<Runnable> workQueue;
 
+    /*
+     * Work-stealing mode.  When enabled (see allowWorkStealing),
+     * execute places tasks into one of a fixed set of LocalQueues,
+     * chosen using the submitting thread's probe, falling back to
+     * workQueue when that queue is full.  Each worker is assigned a
+     * home LocalQueue (workers share queues if there are more workers
+     * than queues) and scans from it through all others before
+     * polling workQueue.  LocalQueues are never discarded, so tasks
+     * do not depend on the survival of any particular worker.
+     *
+     * Idle workers do not block in workQueue.take, but push a fresh
+     * IdleNode onto a Treiber stack (idleWaiters), rescan, and then
+     * park.  Producers pop and unpark one node after each successful
+     * enqueue (signalWork).  Each node is claimed exactly once, either
+     * by a producer (signal) or by its waiter (cancellation on
+     * timeout, interrupt or successful rescan); a waiter whose
+     * cancellation fails has consumed a signal and passes it on if it
+     * does not wait.  Because nodes are never reused, the stack is
+     * free of ABA problems.  Once localQueues is set, workers use
+     * this protocol for the rest of the pool's lifetime, even if
+     * work stealing is later disabled, so queued tasks are never
+     * stranded.
+     */
+
+    /**
+     * Per-worker queues, or null if work stealing has never been
+     * enabled.  Length is a power of two.
+     */
+    private volatile LocalQueue[] localQueues;
+
+    /**
+     * If true, execute places tasks into localQueues.
+     */
+    private volatile boolean workStealing;
+
+    /**
+     * Top of the stack of idle workers in work-stealing mode.
+     */
+    private volatile IdleNode idleWaiters;
+
+    /**
+     * Sequence number used to assign home queues to workers.
+     * Accessed only under mainLock.
+     */
+    private int workerSequence;
+
+    /**
+     * The maximum number of local queues.  Workers beyond this share
+     * queues.
+     */
+    private static final int MAX_LOCAL_QUEUES = 1 << 6;
+
+    /**
+     * Metrics, or null if not enabled.  Once set, never cleared.
+     */
+    private volatile ExecutorMetrics metrics;
+
+    /**
+     * The times at which queued tasks were submitted, used to record
+     * queue waits when metrics are enabled.  Set before metrics, and
+     * only accessed after reading them.  The tasks themselves are
+     * queued unchanged, so that the queue (which may be ordered by
+     * the tasks), getQueue, remove and shutdownNow all see the tasks
+     * as submitted.  Entries are added by execute just before
+     * queuing, and removed by runWorker when the task is taken, and
+     * by remove, purge and drainQueue.  Entries of tasks removed
+     * from the queue in other ways, such as through getQueue, are
+     * pruned by purge, and by execute once the map grows past
+     * queueTimesPruneAt.
+     */
+    private ConcurrentHashMap<TaskKey, Long> queueTimes;
+
+    /**
+     * Size of queueTimes at which execute prunes it.
+     */
+    private volatile int queueTimesPruneAt = MIN_QUEUE_TIMES_PRUNE;
+
+    /**
+     * Smallest value of queueTimesPruneAt.
+     */
+    private static final int MIN_QUEUE_TIMES_PRUNE = 1 << 10;
+
     /**
      * Lock held on access to workers set and related bookkeeping.
      * While we could use a concurrent set of some sort, it turns out
@@ -608,6 +716,8 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         Runnable firstTask;
         /** Per-thread task counter */
         volatile long completedTasks;
+        /** Index of home local queue in work-stealing mode */
+        int home;
 
         /**
          * Creates with given first task and thread from ThreadFactory.
@@ -663,6 +773,179 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         }
     }
 
+    /**
+     * A bounded queue of tasks used in work-stealing mode, adapted
+     * from ForkJoinPool.WorkQueue.  Pushes are performed under a
+     * simple try-lock (qlock) because any submitting thread may push;
+     * a push that fails to obtain the lock or finds the queue full
+     * fails, and the caller tries another queue.  Takes are performed
+     * FIFO from base by CASing array slots, by the home worker and
+     * thieves alike.  Removed tasks are replaced by the CANCELLED
+     * marker, which takers discard.
+     */
+    static final class LocalQueue {
+        static final int CAPACITY = 1 << 12;
+        static final int MASK     = CAPACITY - 1;
+
+        final Runnable[] array = new Runnable[CAPACITY];
+        volatile int base;       // index of next slot for poll
+        volatile int top;        // index of next slot for push
+        volatile int qlock;      // 1: locked, else 0
+
+        /**
+         * Pushes the given task unless the queue is full or the lock
+         * is contended.
+         *
+         * @return true if pushed
+         */
+        final boolean tryPush(Runnable task) {
+            boolean pushed = false;
+            if (U.compareAndSwapInt(this, QLOCK, 0, 1)) {
+                int s = top;
+                if (s - base < MASK) {
+                    U.putOrderedObject(array,
+                                       ((long)(s & MASK) << ASHIFT) + ABASE,
+                                       task);
+                    top = s + 1;
+                    pushed = true;
+                }
+                qlock = 0;
+            }
+            return pushed;
+        }
+
+        /**
+         * Takes the next task, if one exists, in FIFO order.
+         */
+        final Runnable poll() {
+            Runnable[] a = array;
+            for (int b; (b = base) - top < 0;) {
+                long j = ((long)(b & MASK) << ASHIFT) + ABASE;
+                Runnable t = (Runnable)U.getObjectVolatile(a, j);
+                if (base == b) {
+                    if (t != null) {
+                        if (U.compareAndSwapObject(a, j, t, null)) {
+                            base = b + 1;
+                            if (t != CANCELLED)
+                                return t;
+                        }
+                    }
+                    else if (b + 1 == top) // now empty
+                        break;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Replaces the given task with the CANCELLED marker, if
+         * present.
+         */
+        final boolean remove(Object task) {
+            Runnable[] a = array;
+            for (int b = base, s = top; b - s < 0; ++b) {
+                long j = ((long)(b & MASK) << ASHIFT) + ABASE;
+                if (U.getObjectVolatile(a, j) == task &&
+                    U.compareAndSwapObject(a, j, task, CANCELLED))
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Replaces all cancelled Futures with the CANCELLED marker.
+         */
+        final void purge() {
+            Runnable[] a = array;
+            for (int b = base, s = top; b - s < 0; ++b) {
+                long j = ((long)(b & MASK) << ASHIFT) + ABASE;
+                Object r = U.getObjectVolatile(a, j);
+                if (r instanceof Future<?> && ((Future<?>)r).isCancelled())
+                    U.compareAndSwapObject(a, j, r, CANCELLED);
+            }
+        }
+
+        /**
+         * Adds the keys of the tasks in the queue to the given set.
+         */
+        final void addKeysTo(Set<TaskKey> keys) {
+            Runnable[] a = array;
+            for (int b = base, s = top; b - s < 0; ++b) {
+                Runnable r = (Runnable)U.getObjectVolatile(
+                    a, ((long)(b & MASK) << ASHIFT) + ABASE);
+                if (r != null && r != CANCELLED)
+                    keys.add(new TaskKey(r));
+            }
+        }
+
+        /**
+         * Moves all remaining tasks to the given list.
+         */
+        final void drainTo(List<Runnable> list) {
+            for (Runnable r; (r = poll()) != null;)
+                list.add(r);
+        }
+
+        /**
+         * Returns an estimate of the number of tasks in the queue.
+         */
+        final int size() {
+            int n = top - base;
+            return (n < 0) ? 0 : n;
+        }
+
+        final boolean isEmpty() {
+            return top - base <= 0;
+        }
+    }
+
+    /**
+     * Key of a queued task in queueTimes.  Tasks are matched by
+     * identity, since they may define equals.
+     */
+    static final class TaskKey {
+        final Runnable task;
+
+        TaskKey(Runnable task) {
+            this.task = task;
+        }
+
+        public int hashCode() {
+            return System.identityHashCode(task);
+        }
+
+        public boolean equals(Object o) {
+            return (o instanceof TaskKey) && ((TaskKey)o).task == task;
+        }
+    }
+
+    /**
+     * Marker replacing tasks removed from LocalQueues.
+     */
+    static final Runnable CANCELLED = new Runnable() {
+            public void run() {}
+        };
+
+    /**
+     * A node in the stack of idle workers.  The status is CASed from
+     * zero exactly once, by either a signalling producer or the
+     * waiter itself.
+     */
+    static final class IdleNode {
+        final Thread thread;
+        final IdleNode next;
+        volatile int status;
+
+        IdleNode(Thread thread, IdleNode next) {
+            this.thread = thread;
+            this.next = next;
+        }
+
+        final boolean tryClaim() {
+            return status == 0 && U.compareAndSwapInt(this, STATUS, 0, 1);
+        }
+    }
+
     /*
      * Methods for setting control state
      */
@@ -698,7 +981,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             int c = ctl.get();
             if (isRunning(c) ||
                 runStateAtLeast(c, TIDYING) ||
-                (runStateOf(c) == SHUTDOWN && ! workQueue.isEmpty()))
+                (runStateOf(c) == SHUTDOWN && ! queuesEmpty()))
                 return;
             if (workerCountOf(c) != 0) { // Eligible to terminate
                 interruptIdleWorkers(ONLY_ONE);
@@ -827,6 +1110,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      * Package-protected for use by ScheduledThreadPoolExecutor.
      */
     final void reject(Runnable command) {
+        ExecutorMetrics m = metrics;
+        if (m != null)
+            m.recordReject();
         handler.rejectedExecution(command, this);
     }
 
@@ -858,6 +1144,11 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
     private List<Runnable> drainQueue() {
         BlockingQueue<Runnable> q = workQueue;
         ArrayList<Runnable> taskList = new ArrayList<Runnable>();
+        LocalQueue[] qs = localQueues;
+        if (qs != null) {
+            for (LocalQueue lq : qs)
+                lq.drainTo(taskList);
+        }
         q.drainTo(taskList);
         if (!q.isEmpty()) {
             for (Runnable r : q.toArray(new Runnable[0])) {
@@ -865,9 +1156,172 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                     taskList.add(r);
             }
         }
+        if (metrics != null) {
+            ConcurrentHashMap<TaskKey, Long> times = queueTimes;
+            for (int i = 0, n = taskList.size(); i < n; ++i)
+                times.remove(new TaskKey(taskList.get(i)));
+        }
         return taskList;
     }
 
+    /*
+     * Support for work-stealing mode
+     */
+
+    /**
+     * Returns true if the work queue and all local queues are empty.
+     */
+    private boolean queuesEmpty() {
+        LocalQueue[] qs = localQueues;
+        if (qs != null) {
+            for (LocalQueue q : qs)
+                if (!q.isEmpty())
+                    return false;
+        }
+        return workQueue.isEmpty();
+    }
+
+    /**
+     * Returns an estimate of the number of tasks in the work queue
+     * and all local queues.
+     */
+    private int queueSize() {
+        int n = workQueue.size();
+        LocalQueue[] qs = localQueues;
+        if (qs != null) {
+            for (LocalQueue q : qs)
+                n += q.size();
+        }
+        return (n < 0) ? Integer.MAX_VALUE : n;
+    }
+
+    /**
+     * Tries to push the given task onto a local queue chosen using
+     * the caller's probe, advancing the probe on contention or
+     * overflow.
+     *
+     * @return true if pushed, false if not in work-stealing mode or
+     *         all tried queues were busy or full
+     */
+    private boolean pushLocal(Runnable command) {
+        LocalQueue[] qs = localQueues;
+        if (qs != null && workStealing) {
+            int n = qs.length, r;
+            if ((r = ThreadLocalRandom.getProbe()) == 0) {
+                ThreadLocalRandom.localInit();
+                r = ThreadLocalRandom.getProbe();
+            }
+            for (int k = 0; k < n; ++k) {
+                if (qs[r & (n - 1)].tryPush(command))
+                    return true;
+                r = ThreadLocalRandom.advanceProbe(r);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wakes up an idle worker, if one exists.
+     */
+    private void signalWork() {
+        IdleNode h;
+        while ((h = idleWaiters) != null) {
+            if (U.compareAndSwapObject(this, IDLEWAITERS, h, h.next) &&
+                h.tryClaim()) {
+                LockSupport.unpark(h.thread);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Pops cancelled nodes from the top of the idle stack.
+     */
+    private void cleanIdleWaiters() {
+        IdleNode h;
+        while ((h = idleWaiters) != null && h.status != 0)
+            U.compareAndSwapObject(this, IDLEWAITERS, h, h.next);
+    }
+
+    /**
+     * Takes a task from the worker's home queue, else by stealing
+     * from other local queues, else from the work queue.
+     */
+    private Runnable scan(Worker w) {
+        LocalQueue[] qs = localQueues;
+        int n = qs.length, h = w.home;
+        for (int i = 0; i < n; ++i) {
+            Runnable r = qs[(h + i) & (n - 1)].poll();
+            if (r != null) {
+                ExecutorMetrics m;
+                if (i != 0 && (m = metrics) != null)
+                    m.recordSteal();
+                return r;
+            }
+        }
+        Runnable r = workQueue.poll();
+        ExecutorMetrics m;
+        if (r == null && (m = metrics) != null)
+            m.recordScan();
+        return r;
+    }
+
+    /**
+     * Work-stealing counterpart of workQueue.take and timed poll,
+     * used by getTask once local queues exist.
+     *
+     * @param w the worker
+     * @param timed whether to wait at most keepAliveTime
+     * @return task, or null if timed out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private Runnable awaitTask(Worker w, boolean timed)
+        throws InterruptedException {
+        long nanos = keepAliveTime;
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        final Thread wt = Thread.currentThread();
+        for (;;) {
+            Runnable r;
+            if ((r = scan(w)) != null)
+                return r;
+            IdleNode node, h;
+            do {
+                node = new IdleNode(wt, h = idleWaiters);
+            } while (!U.compareAndSwapObject(this, IDLEWAITERS, h, node));
+            if ((r = scan(w)) != null) {
+                if (node.tryClaim())
+                    cleanIdleWaiters();
+                else
+                    signalWork(); // pass on consumed signal
+                return r;
+            }
+            while (node.status == 0) {
+                if (Thread.interrupted()) {
+                    if (node.tryClaim())
+                        cleanIdleWaiters();
+                    else
+                        signalWork();
+                    throw new InterruptedException();
+                }
+                ExecutorMetrics m = metrics;
+                if (!timed) {
+                    if (m != null)
+                        m.recordPark();
+                    LockSupport.park(this);
+                }
+                else if ((nanos = deadline - System.nanoTime()) > 0L) {
+                    if (m != null)
+                        m.recordPark();
+                    LockSupport.parkNanos(this, nanos);
+                }
+                else if (node.tryClaim()) {
+                    cleanIdleWaiters();
+                    return null;
+                }
+            }
+        }
+    }
+
     /*
      * Methods for creating, running and cleaning up after workers
      */
@@ -908,7 +1362,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             if (rs >= SHUTDOWN &&
                 ! (rs == SHUTDOWN &&
                    firstTask == null &&
-                   ! workQueue.isEmpty()))
+                   ! queuesEmpty()))
                 return false;
 
             for (;;) {
@@ -945,6 +1399,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                         if (t.isAlive()) // precheck that t is startable
                             throw new IllegalThreadStateException();
                         workers.add(w);
+                        w.home = workerSequence++;
                         int s = workers.size();
                         if (s > largestPoolSize)
                             largestPoolSize = s;
@@ -1017,7 +1472,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         if (runStateLessThan(c, STOP)) {
             if (!completedAbruptly) {
                 int min = allowCoreThreadTimeOut ? 0 : corePoolSize;
-                if (min == 0 && ! workQueue.isEmpty())
+                if (min == 0 && ! queuesEmpty())
                     min = 1;
                 if (workerCountOf(c) >= min)
                     return; // replacement not needed
@@ -1040,10 +1495,11 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      *    both before and after the timed wait, and if the queue is
      *    non-empty, this worker is not the last thread in the pool.
      *
+     * @param w the worker
      * @return task, or null if the worker must exit, in which case
      *         workerCount is decremented
      */
-    private Runnable getTask() {
+    private Runnable getTask(Worker w) {
         boolean timedOut = false; // Did the last poll() time out?
 
         for (;;) {
@@ -1051,7 +1507,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             int rs = runStateOf(c);
 
             // Check if queue empty only if necessary.
-            if (rs >= SHUTDOWN && (rs >= STOP || workQueue.isEmpty())) {
+            if (rs >= SHUTDOWN && (rs >= STOP || queuesEmpty())) {
                 decrementWorkerCount();
                 return null;
             }
@@ -1062,14 +1518,15 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             boolean timed = allowCoreThreadTimeOut || wc > corePoolSize;
 
             if ((wc > maximumPoolSize || (timed && timedOut))
-                && (wc > 1 || workQueue.isEmpty())) {
+                && (wc > 1 || queuesEmpty())) {
                 if (compareAndDecrementWorkerCount(c))
                     return null;
                 continue;
             }
 
             try {
-                Runnable r = timed ?
+                Runnable r = (localQueues != null) ? awaitTask(w, timed) :
+                    timed ?
                     workQueue.poll(keepAliveTime, TimeUnit.NANOSECONDS) :
                     workQueue.take();
                 if (r != null)
@@ -1129,9 +1586,10 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         Runnable task = w.firstTask;
         w.firstTask = null;
         w.unlock(); // allow interrupts
+        boolean queued = (task == null); // whether task came from a queue
         boolean completedAbruptly = true;
         try {
-            while (task != null || (task = getTask()) != null) {
+            while (task != null || (task = getTask(w)) != null) {
                 w.lock();
                 // If pool is stopping, ensure thread is interrupted;
                 // if not, ensure thread is not interrupted.  This
@@ -1142,9 +1600,16 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                       runStateAtLeast(ctl.get(), STOP))) &&
                     !wt.isInterrupted())
                     wt.interrupt();
+                final ExecutorMetrics m = metrics;
+                if (m != null && queued) {
+                    Long t = queueTimes.remove(new TaskKey(task));
+                    if (t != null)
+                        m.recordQueueWait(System.nanoTime() - t);
+                }
                 try {
                     beforeExecute(wt, task);
                     Throwable thrown = null;
+                    long start = (m == null) ? 0L : System.nanoTime();
                     try {
                         task.run();
                     } catch (RuntimeException x) {
@@ -1154,10 +1619,14 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                     } catch (Throwable x) {
                         thrown = x; throw new Error(x);
                     } finally {
+                        if (m != null)
+                            m.recordRun(System.nanoTime() - start,
+                                        thrown != null);
                         afterExecute(task, thrown);
                     }
                 } finally {
                     task = null;
+                    queued = true;
                     w.completedTasks++;
                     w.unlock();
                 }
@@ -1351,7 +1820,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
          * workerCount, and so prevents false alarms that would add
          * threads when it shouldn't, by returning false.
          *
-         * 2. If a task can be successfully queued, then we still need
+         * 2. If a task can be successfully queued (to a local queue
+         * in work-stealing mode, else to the work queue), then we
+         * wake an idle worker if using local queues, and still need
          * to double-check whether we should have added a thread
          * (because existing ones died since last checking) or that
          * the pool shut down since entry into this method. So we
@@ -1362,21 +1833,76 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
          * thread.  If it fails, we know we are shut down or saturated
          * and so reject the task.
          */
+        final ExecutorMetrics m = metrics;
+        if (m != null)
+            m.recordSubmit();
         int c = ctl.get();
         if (workerCountOf(c) < corePoolSize) {
             if (addWorker(command, true))
                 return;
             c = ctl.get();
         }
-        if (isRunning(c) && workQueue.offer(command)) {
+        // With metrics, the submission time is recorded before
+        // queuing, so that a worker taking the task finds it
+        Long queuedAt = null;
+        if (m != null && isRunning(c) &&
+            queueTimes.putIfAbsent(new TaskKey(command),
+                                   queuedAt = System.nanoTime()) != null)
+            queuedAt = null; // already queued; keep the earlier time
+        if (isRunning(c) && (pushLocal(command) || workQueue.offer(command))) {
+            if (localQueues != null)
+                signalWork();
+            if (m != null && queueTimes.size() >= queueTimesPruneAt)
+                pruneQueueTimes(queueTimesPruneAt);
             int recheck = ctl.get();
             if (! isRunning(recheck) && remove(command))
                 reject(command);
             else if (workerCountOf(recheck) == 0)
                 addWorker(null, false);
         }
-        else if (!addWorker(command, false))
-            reject(command);
+        else {
+            if (queuedAt != null)
+                queueTimes.remove(new TaskKey(command), queuedAt);
+            if (!addWorker(command, false))
+                reject(command);
+        }
+    }
+
+    /**
+     * Removes from queueTimes the entries of tasks no longer queued,
+     * if it holds at least the given number of entries.  Entries
+     * recorded after pruning starts are kept, but those of tasks
+     * being queued as it starts may be removed too, in which case
+     * their queue waits are not recorded.
+     *
+     * @param minSize the size below which queueTimes is left as is
+     */
+    private void pruneQueueTimes(int minSize) {
+        final ReentrantLock mainLock = this.mainLock;
+        mainLock.lock();
+        try {
+            ConcurrentHashMap<TaskKey, Long> times = queueTimes;
+            if (times.size() < minSize)
+                return; // pruned by another thread
+            long start = System.nanoTime();
+            Set<TaskKey> keys = new HashSet<TaskKey>();
+            for (Object r : workQueue.toArray())
+                keys.add(new TaskKey((Runnable)r));
+            LocalQueue[] qs = localQueues;
+            if (qs != null) {
+                for (LocalQueue q : qs)
+                    q.addKeysTo(keys);
+            }
+            for (Map.Entry<TaskKey, Long> e : times.entrySet()) {
+                Long t = e.getValue();
+                if (t - start < 0L && !keys.contains(e.getKey()))
+                    times.remove(e.getKey(), t);
+            }
+            queueTimesPruneAt = Math.max(MIN_QUEUE_TIMES_PRUNE,
+                                         times.size() << 1);
+        } finally {
+            mainLock.unlock();
+        }
     }
 
     /**
@@ -1562,9 +2088,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             // As a heuristic, prestart enough new workers (up to new
             // core size) to handle the current number of tasks in
             // queue, but stop if queue becomes empty while doing so.
-            int k = Math.min(delta, workQueue.size());
+            int k = Math.min(delta, queueSize());
             while (k-- > 0 && addWorker(null, true)) {
-                if (workQueue.isEmpty())
+                if (queuesEmpty())
                     break;
             }
         }
@@ -1663,6 +2189,62 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
         }
     }
 
+    /**
+     * Returns true if this pool places queued tasks in per-worker
+     * queues from which idle workers steal.
+     *
+     * @return {@code true} if work stealing is enabled
+     *
+     * @since 1.9
+     */
+    public boolean allowsWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Sets the policy governing whether queued tasks are placed in
+     * per-worker queues from which idle workers steal, rather than
+     * in the work queue.  When true, each task that is not run
+     * immediately by a new thread is placed in one of a set of bounded
+     * per-worker queues, and is offered to the work queue only if
+     * that queue is full.  Workers take tasks from their own queues,
+     * then from the queues of other workers, and then from the work
+     * queue.  When false (the default), all queued tasks are placed
+     * in the work queue; tasks already held in per-worker queues
+     * remain eligible to run.  This method should in general be
+     * called before the pool is actively used.
+     *
+     * @param value {@code true} if queued tasks should be placed in
+     *        per-worker queues, else {@code false}
+     *
+     * @since 1.9
+     */
+    public void allowWorkStealing(boolean value) {
+        if (value && localQueues == null) {
+            final ReentrantLock mainLock = this.mainLock;
+            mainLock.lock();
+            try {
+                if (localQueues == null) {
+                    int p = Math.max(corePoolSize,
+                                     Runtime.getRuntime().availableProcessors());
+                    int n = 1;
+                    while (n < p && n < MAX_LOCAL_QUEUES)
+                        n <<= 1;
+                    LocalQueue[] qs = new LocalQueue[n];
+                    for (int i = 0; i < n; ++i)
+                        qs[i] = new LocalQueue();
+                    localQueues = qs;
+                }
+            } finally {
+                mainLock.unlock();
+            }
+            workStealing = true;
+            interruptIdleWorkers(); // release workers waiting on workQueue
+        }
+        else
+            workStealing = value;
+    }
+
     /**
      * Sets the maximum allowed number of threads. This overrides any
      * value set in the constructor. If the new value is smaller than
@@ -1738,7 +2320,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      * Returns the task queue used by this executor. Access to the
      * task queue is intended primarily for debugging and monitoring.
      * This queue may be in active use.  Retrieving the task queue
-     * does not prevent queued tasks from executing.
+     * does not prevent queued tasks from executing.  In
+     * work-stealing mode, the returned queue does not include tasks
+     * held in per-worker queues.
      *
      * @return the task queue
      */
@@ -1764,6 +2348,15 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     public boolean remove(Runnable task) {
         boolean removed = workQueue.remove(task);
+        LocalQueue[] qs;
+        if (!removed && (qs = localQueues) != null) {
+            for (LocalQueue q : qs) {
+                if (removed = q.remove(task))
+                    break;
+            }
+        }
+        if (removed && metrics != null)
+            queueTimes.remove(new TaskKey(task));
         tryTerminate(); // In case SHUTDOWN and now empty
         return removed;
     }
@@ -1795,12 +2388,59 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                 if (r instanceof Future<?> && ((Future<?>)r).isCancelled())
                     q.remove(r);
         }
+        LocalQueue[] qs = localQueues;
+        if (qs != null) {
+            for (LocalQueue lq : qs)
+                lq.purge();
+        }
+        if (metrics != null)
+            pruneQueueTimes(0);
 
         tryTerminate(); // In case SHUTDOWN and now empty
     }
 
     /* Statistics */
 
+    /**
+     * Enables gathering of {@link ExecutorMetrics} for this pool, if
+     * not already enabled, and returns them.  Metrics cannot be
+     * disabled once enabled.
+     *
+     * @return the metrics for this pool
+     * @since 1.9
+     */
+    public ExecutorMetrics enableMetrics() {
+        ExecutorMetrics m;
+        if ((m = metrics) == null) {
+            final ReentrantLock mainLock = this.mainLock;
+            mainLock.lock();
+            try {
+                if ((m = metrics) == null) {
+                    String prefix = getClass().getSimpleName();
+                    if (prefix.isEmpty())
+                        prefix = "ThreadPoolExecutor";
+                    queueTimes = new ConcurrentHashMap<TaskKey, Long>();
+                    metrics = m = new ExecutorMetrics(prefix);
+                }
+            } finally {
+                mainLock.unlock();
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Returns the {@link ExecutorMetrics} for this pool, or {@code
+     * null} if metrics have not been enabled.  Unlike other
+     * statistics methods, reading metrics does not require locking.
+     *
+     * @return the metrics for this pool, or {@code null}
+     * @since 1.9
+     */
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Returns the current number of threads in the pool.
      *
@@ -1873,7 +2513,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                 if (w.isLocked())
                     ++n;
             }
-            return n + workQueue.size();
+            return n + queueSize();
         } finally {
             mainLock.unlock();
         }
@@ -1933,7 +2573,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             "[" + rs +
             ", pool size = " + nworkers +
             ", active threads = " + nactive +
-            ", queued tasks = " + workQueue.size() +
+            ", queued tasks = " + queueSize() +
             ", completed tasks = " + ncompleted +
             "]";
     }
@@ -2111,4 +2751,32 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             }
         }
     }
+
+    // Unsafe mechanics
+    private static final sun.misc.Unsafe U;
+    private static final long IDLEWAITERS;
+    private static final long QLOCK;
+    private static final long STATUS;
+    private static final long ABASE;
+    private static final int ASHIFT;
+    static {
+        try {
+            U = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = ThreadPoolExecutor.class;
+            IDLEWAITERS = U.objectFieldOffset
+                (k.getDeclaredField("idleWaiters"));
+            QLOCK = U.objectFieldOffset
+                (LocalQueue.class.getDeclaredField("qlock"));
+            STATUS = U.objectFieldOffset
+                (IdleNode.class.getDeclaredField("status"));
+            Class<?> ak = Runnable[].class;
+            ABASE = U.arrayBaseOffset(ak);
+            int scale = U.arrayIndexScale(ak);
+            if ((scale & (scale - 1)) != 0)
+                throw new Error("data type scale not a power of two");
+            ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
 }
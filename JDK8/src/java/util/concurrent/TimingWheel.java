@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel, used to trigger large numbers of timeouts
+ * with O(1) cost per insertion and cancellation, at the price of
+ * firing each timeout up to one tick late.
+ *
+ * Overview:
+ *
+ * Timeouts are represented by subclasses of Node, whose expire method
+ * is invoked by a single worker thread once the node's deadline has
+ * passed, unless it was cancelled first.  Expire methods should be
+ * short; normally they just hand off to an executor.
+ *
+ * The wheel is an array of buckets (power of two sized), each a
+ * doubly linked list of nodes, that the worker visits in turn, one
+ * per tick.  A node due at tick t is placed in bucket (t & mask) with
+ * a count of the full rotations remaining, which is decremented on
+ * each visit until the node expires.  Buckets are accessed only by
+ * the worker, so need no locking.  Other threads insert nodes by
+ * pushing them onto a Treiber stack (pending) that the worker drains
+ * before each tick, and cancel them by CASing their state; cancelled
+ * nodes are unlinked when next encountered by the worker, which
+ * happens within one rotation, so are not retained long.
+ *
+ * The worker thread is started upon first use.  When there are no
+ * nodes, it parks until the next insertion rather than ticking;
+ * producers unpark it if it has announced itself idle, using the
+ * usual volatile write/recheck protocol to avoid lost wakeups.
+ * Tick times are computed from a fixed origin, so delays in waking
+ * up do not accumulate.
+ *
+ * Lifecycle: RUNNING accepts insertions; SHUTDOWN rejects them but
+ * continues until all nodes have expired or been cancelled; STOP
+ * discards all nodes.  The terminated method is invoked by the
+ * worker (or by the thread initiating shutdown if the worker was
+ * never started) upon reaching TERMINATED.
+ */
+class TimingWheel {
+
+    /**
+     * A timeout.  Nodes are scheduled at most once at a time, but may
+     * be rescheduled after expiring.
+     */
+    abstract static class Node {
+        Node next;           // bucket or pending stack link
+        Node prev;           // bucket link
+        long deadline;       // in System.nanoTime units
+        long rounds;         // full rotations until due
+        volatile int state;  // WAITING, CANCELLED, or EXPIRED
+
+        /**
+         * Performs the timeout action.  Called by the worker thread.
+         */
+        abstract void expire();
+
+        /**
+         * Cancels this node unless it has already expired or been
+         * cancelled.
+         *
+         * @return true if cancelled by this call
+         */
+        final boolean cancel() {
+            return state == WAITING &&
+                U.compareAndSwapInt(this, STATE, WAITING, CANCELLED);
+        }
+
+        /** Returns true if cancelled. */
+        final boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /** Returns true if expired or cancelled. */
+        final boolean isDone() {
+            return state != WAITING;
+        }
+
+        /** Returns the deadline, in System.nanoTime units. */
+        final long deadline() {
+            return deadline;
+        }
+
+        final boolean tryExpire() {
+            return state == WAITING &&
+                U.compareAndSwapInt(this, STATE, WAITING, EXPIRED);
+        }
+    }
+
+    // Node states
+    static final int WAITING   = 0;
+    static final int CANCELLED = 1;
+    static final int EXPIRED   = 2;
+
+    // Run states
+    static final int RUNNING    = 0;
+    static final int SHUTDOWN   = 1;
+    static final int STOP       = 2;
+    static final int TERMINATED = 3;
+
+    /** Bound on delays, avoiding overflow in deadline computations */
+    private static final long MAX_DELAY = Long.MAX_VALUE >>> 2;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Node[] buckets;          // heads of bucket lists
+    private final long origin;             // start of tick zero
+    private final ThreadFactory threadFactory;
+
+    private volatile Node pending;         // stack of inserted nodes
+    private volatile Thread worker;        // null until started
+    private volatile int runState;
+    private volatile boolean idle;         // true if worker parked when empty
+
+    // Accessed only by worker thread
+    private long currentTick;
+    private int size;                      // number of nodes in buckets
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickNanos the tick duration, in nanoseconds
+     * @param wheelSize the number of buckets, rounded up to a power
+     *        of two
+     * @param threadFactory the factory to create the worker thread
+     * @throws IllegalArgumentException if tickNanos or wheelSize is
+     *         not positive, or wheelSize exceeds 2^30
+     */
+    TimingWheel(long tickNanos, int wheelSize, ThreadFactory threadFactory) {
+        if (tickNanos <= 0L || wheelSize <= 0 || wheelSize > (1 << 30))
+            throw new IllegalArgumentException();
+        if (threadFactory == null)
+            throw new NullPointerException();
+        int n = 1;
+        while (n < wheelSize)
+            n <<= 1;
+        this.tickNanos = tickNanos;
+        this.mask = n - 1;
+        this.buckets = new Node[n];
+        this.threadFactory = threadFactory;
+        this.origin = System.nanoTime();
+    }
+
+    /** Returns the tick duration in nanoseconds. */
+    final long tickNanos() {
+        return tickNanos;
+    }
+
+    /** Returns the number of buckets. */
+    final int wheelSize() {
+        return mask + 1;
+    }
+
+    /**
+     * Schedules the given node to expire after the given delay.
+     *
+     * @throws RejectedExecutionException if shut down or if the
+     *         worker thread cannot be started
+     */
+    final void schedule(Node node, long delayNanos) {
+        if (delayNanos < 0L)
+            delayNanos = 0L;
+        else if (delayNanos > MAX_DELAY)
+            delayNanos = MAX_DELAY;
+        scheduleAt(node, System.nanoTime() + delayNanos);
+    }
+
+    /**
+     * Schedules the given node to expire at the given deadline, in
+     * System.nanoTime units, or as soon as possible if it has passed.
+     * The deadline must be within MAX_DELAY of the current time.
+     *
+     * @throws RejectedExecutionException if shut down or if the
+     *         worker thread cannot be started
+     */
+    final void scheduleAt(Node node, long deadline) {
+        node.deadline = deadline;
+        node.state = WAITING;
+        if (worker == null)
+            startWorker();
+        if (runState != RUNNING)
+            throw new RejectedExecutionException();
+        Node h;
+        do {
+            node.next = h = pending;
+        } while (!U.compareAndSwapObject(this, PENDING, h, node));
+        Thread w;
+        if (idle && (w = worker) != null)
+            LockSupport.unpark(w);
+        if (runState != RUNNING && node.cancel()) // lost race with shutdown
+            throw new RejectedExecutionException();
+    }
+
+    private synchronized void startWorker() {
+        if (worker == null && runState == RUNNING) {
+            Thread t = threadFactory.newThread(new Runnable() {
+                    public void run() { runWorker(); }
+                });
+            if (t == null)
+                throw new RejectedExecutionException();
+            worker = t;
+            t.start();
+        }
+    }
+
+    /**
+     * Initiates an orderly shutdown in which nodes already scheduled
+     * still expire, but no new nodes are accepted.
+     */
+    final void shutdown() {
+        advanceRunState(SHUTDOWN);
+    }
+
+    /**
+     * Stops the wheel, returning all nodes that were neither expired
+     * nor cancelled.  Nodes are returned in no particular order.
+     * Waits for the worker to exit, unless called by the worker.
+     */
+    final List<Node> shutdownNow() {
+        advanceRunState(STOP);
+        Thread w = worker;
+        if (w != null && w != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (w.isAlive()) {
+                try {
+                    w.join();
+                } catch (InterruptedException ie) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+        ArrayList<Node> list = new ArrayList<Node>();
+        collect(list);
+        return list;
+    }
+
+    /** Returns true if the wheel has terminated. */
+    final boolean isTerminated() {
+        return runState == TERMINATED;
+    }
+
+    /** Returns true if shutdown has been initiated. */
+    final boolean isShutdown() {
+        return runState != RUNNING;
+    }
+
+    /**
+     * Invoked once upon termination.  This implementation does
+     * nothing.
+     */
+    void terminated() {
+    }
+
+    private void advanceRunState(int rs) {
+        for (int s;;) {
+            if ((s = runState) >= rs)
+                return;
+            if (U.compareAndSwapInt(this, RUNSTATE, s, rs))
+                break;
+        }
+        Thread w;
+        synchronized (this) {     // exclude concurrent startWorker
+            w = worker;
+        }
+        if (w != null)
+            LockSupport.unpark(w);
+        else
+            terminate();
+    }
+
+    private void terminate() {
+        for (int s;;) {
+            if ((s = runState) == TERMINATED)
+                return;
+            if (U.compareAndSwapInt(this, RUNSTATE, s, TERMINATED))
+                break;
+        }
+        terminated();
+    }
+
+    /** Main worker loop. */
+    final void runWorker() {
+        try {
+            currentTick = ticksUntil(System.nanoTime());
+            for (int rs;;) {
+                transferPending();
+                if ((rs = runState) >= STOP ||
+                    (rs == SHUTDOWN && size == 0 && pending == null))
+                    break;
+                if (size == 0) {
+                    idle = true;
+                    if (pending == null && runState == RUNNING)
+                        LockSupport.park(this);
+                    idle = false;
+                    long t = ticksUntil(System.nanoTime());
+                    if (t > currentTick)   // skip over empty ticks
+                        currentTick = t;
+                    continue;
+                }
+                long delay = origin + (currentTick + 1L) * tickNanos -
+                    System.nanoTime();
+                if (delay > 0L)
+                    LockSupport.parkNanos(this, delay);
+                else
+                    expireBucket();
+            }
+        } finally {
+            Thread.interrupted(); // clear in case set by expire
+            terminate();
+        }
+    }
+
+    /** Returns the last tick whose time has passed as of now. */
+    private long ticksUntil(long now) {
+        long t = (now - origin) / tickNanos - 1L;
+        return (t < 0L) ? 0L : t;
+    }
+
+    /** Moves pending nodes into buckets. */
+    private void transferPending() {
+        Node p = pending;
+        if (p != null && (p = (Node)U.getAndSetObject(this, PENDING, null))
+            != null) {
+            long cur = currentTick, tn = tickNanos;
+            Node[] bs = buckets;
+            do {
+                Node next = p.next;
+                if (p.state == WAITING) {
+                    long t = (p.deadline - origin + tn - 1L) / tn - 1L;
+                    if (t < cur)
+                        t = cur;
+                    p.rounds = (t - cur) / bs.length;
+                    int i = (int)t & mask;
+                    Node h = bs[i];
+                    p.prev = null;
+                    p.next = h;
+                    if (h != null)
+                        h.prev = p;
+                    bs[i] = p;
+                    ++size;
+                }
+                else
+                    p.next = null;
+                p = next;
+            } while (p != null);
+        }
+    }
+
+    /** Processes the bucket of the current tick and advances. */
+    private void expireBucket() {
+        Node[] bs = buckets;
+        int i = (int)currentTick++ & mask;
+        for (Node p = bs[i]; p != null;) {
+            Node next = p.next;
+            boolean due = (p.rounds-- <= 0L);
+            if (due || p.state != WAITING) {
+                if (p.prev == null)
+                    bs[i] = next;
+                else
+                    p.prev.next = next;
+                if (next != null)
+                    next.prev = p.prev;
+                p.next = p.prev = null;
+                --size;
+                if (due && p.tryExpire()) {
+                    try {
+                        p.expire();
+                    } catch (Throwable ex) {
+                        Thread t = Thread.currentThread();
+                        try {
+                            t.getUncaughtExceptionHandler()
+                                .uncaughtException(t, ex);
+                        } catch (Throwable ignore) {
+                        }
+                    }
+                }
+            }
+            p = next;
+        }
+    }
+
+    /**
+     * Adds all waiting nodes to the given list and clears buckets.
+     * Called only after the worker has exited (or was never started).
+     */
+    private void collect(List<Node> list) {
+        Node[] bs = buckets;
+        for (int i = 0; i < bs.length; ++i) {
+            for (Node p = bs[i]; p != null;) {
+                Node next = p.next;
+                p.next = p.prev = null;
+                if (p.state == WAITING)
+                    list.add(p);
+                p = next;
+            }
+            bs[i] = null;
+        }
+        size = 0;
+        Node p = (Node)U.getAndSetObject(this, PENDING, null);
+        while (p != null) {
+            Node next = p.next;
+            p.next = null;
+            if (p.state == WAITING)
+                list.add(p);
+            p = next;
+        }
+    }
+
+    // Unsafe mechanics
+    private static final sun.misc.Unsafe U;
+    private static final long PENDING;
+    private static final long RUNSTATE;
+    private static final long STATE;
+    static {
+        try {
+            U = sun.misc.Unsafe.getUnsafe();
+            Class<?> k = TimingWheel.class;
+            PENDING = U.objectFieldOffset
+                (k.getDeclaredField("pending"));
+            RUNSTATE = U.objectFieldOffset
+                (k.getDeclaredField("runState"));
+            STATE = U.objectFieldOffset
+                (Node.class.getDeclaredField("state"));
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ScheduledExecutorService} that maintains delayed tasks in
+ * a hashed timing wheel rather than a priority queue, so that
+ * scheduling and cancelling a task take constant time regardless of
+ * the number of tasks pending.  This class is preferable to {@link
+ * ScheduledThreadPoolExecutor} when very many tasks are scheduled
+ * and most are cancelled before they run, as is typical of timeouts,
+ * and when the time at which a task is enabled need not be precise.
+ *
+ * <p>Time is divided into ticks of a duration given at construction,
+ * and a single timer thread enables all tasks due in a tick at its
+ * end, so tasks may be enabled up to one tick later than requested
+ * (but never earlier).  Longer ticks reduce the timer thread's
+ * overhead.  The wheel comprises a fixed number of buckets, also
+ * given at construction; tasks whose delays exceed the product of the
+ * tick duration and the number of buckets are revisited once per
+ * rotation of the wheel, so the number of buckets should be large
+ * enough to cover the most common delays.  The timer thread is
+ * started when the first delayed task is scheduled, and does not
+ * tick while there are no delayed tasks.  Enabled tasks, as well as
+ * tasks submitted with no delay, are run by a fixed pool of {@code
+ * corePoolSize} threads.  Tasks enabled in the same tick are not
+ * necessarily run in order of submission.
+ *
+ * <p>Cancelled tasks are never run, and are removed from the wheel
+ * no later than one rotation after cancellation, so do not
+ * accumulate.  Successive executions of a task scheduled via {@code
+ * scheduleAtFixedRate} or {@code scheduleWithFixedDelay} do not
+ * overlap, and the effects of prior executions <a
+ * href="package-summary.html#MemoryVisibility"><i>happen-before</i></a>
+ * those of subsequent ones.
+ *
+ * <p>Upon {@link #shutdown}, tasks already scheduled with a delay
+ * still run when enabled, but periodic tasks are cancelled, as with
+ * the default policies of {@code ScheduledThreadPoolExecutor}.
+ *
+ * @since 1.9
+ */
+public class TimingWheelScheduledExecutor extends AbstractExecutorService
+    implements ScheduledExecutorService {
+
+    /*
+     * Delayed tasks are inserted into a TimingWheel (see its internal
+     * documentation) whose nodes hand tasks to a fixed-size
+     * ThreadPoolExecutor upon expiry.  Tasks with no delay bypass the
+     * wheel.  The pool is shut down when the wheel terminates, so
+     * termination of the pool implies termination of this executor.
+     * Periodic tasks are also held in a set, so that they can be
+     * cancelled upon shutdown without traversing the wheel, which is
+     * accessible only to the timer thread.
+     */
+
+    /** Default tick duration, in nanoseconds */
+    private static final long DEFAULT_TICK_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(1L);
+
+    /** Default number of buckets */
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /** Sequence number to break scheduling ties */
+    private static final AtomicLong sequencer = new AtomicLong();
+
+    private final ThreadPoolExecutor pool;
+    private final Wheel wheel;
+    private final Set<WheelTask<?>> periodicTasks =
+        ConcurrentHashMap.<WheelTask<?>>newKeySet();
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with the
+     * given pool size, a tick duration of one millisecond, and 512
+     * buckets.
+     *
+     * @param corePoolSize the number of threads to run tasks
+     * @throws IllegalArgumentException if {@code corePoolSize <= 0}
+     */
+    public TimingWheelScheduledExecutor(int corePoolSize) {
+        this(corePoolSize, DEFAULT_TICK_NANOS, NANOSECONDS,
+             DEFAULT_WHEEL_SIZE, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with the
+     * given pool size and tick duration, and 512 buckets.
+     *
+     * @param corePoolSize the number of threads to run tasks
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @throws IllegalArgumentException if {@code corePoolSize <= 0}
+     *         or {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit} is null
+     */
+    public TimingWheelScheduledExecutor(int corePoolSize,
+                                        long tickDuration,
+                                        TimeUnit unit) {
+        this(corePoolSize, tickDuration, unit,
+             DEFAULT_WHEEL_SIZE, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Creates a new {@code TimingWheelScheduledExecutor} with the
+     * given parameters.
+     *
+     * @param corePoolSize the number of threads to run tasks
+     * @param tickDuration the duration of a tick
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @param wheelSize the number of buckets, which is rounded up to
+     *        a power of two
+     * @param threadFactory the factory to use when creating the
+     *        timer thread and the threads running tasks
+     * @throws IllegalArgumentException if {@code corePoolSize <= 0},
+     *         {@code tickDuration <= 0}, {@code wheelSize <= 0}, or
+     *         {@code wheelSize} exceeds 2<sup>30</sup>
+     * @throws NullPointerException if {@code unit} or {@code
+     *         threadFactory} is null
+     */
+    public TimingWheelScheduledExecutor(int corePoolSize,
+                                        long tickDuration,
+                                        TimeUnit unit,
+                                        int wheelSize,
+                                        ThreadFactory threadFactory) {
+        if (unit == null || threadFactory == null)
+            throw new NullPointerException();
+        if (corePoolSize <= 0)
+            throw new IllegalArgumentException();
+        this.wheel = new Wheel(unit.toNanos(tickDuration), wheelSize,
+                               threadFactory);
+        this.pool = new ThreadPoolExecutor(corePoolSize, corePoolSize,
+                                           0L, NANOSECONDS,
+                                           new LinkedBlockingQueue<Runnable>(),
+                                           threadFactory);
+    }
+
+    /** The wheel, shutting down the pool upon termination. */
+    final class Wheel extends TimingWheel {
+        Wheel(long tickNanos, int wheelSize, ThreadFactory threadFactory) {
+            super(tickNanos, wheelSize, threadFactory);
+        }
+        void terminated() {
+            pool.shutdown();
+        }
+    }
+
+    private final class WheelTask<V>
+            extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        /** Sequence number to break ties FIFO */
+        private final long sequenceNumber;
+
+        /**
+         * Period in nanoseconds for repeating tasks.  A positive
+         * value indicates fixed-rate execution.  A negative value
+         * indicates fixed-delay execution.  A value of 0 indicates a
+         * non-repeating task.
+         */
+        private final long period;
+
+        /** The wheel node enabling this task */
+        final Trigger trigger = new Trigger();
+
+        WheelTask(Runnable r, V result, long period) {
+            super(r, result);
+            this.period = period;
+            this.sequenceNumber = sequencer.getAndIncrement();
+        }
+
+        WheelTask(Callable<V> callable) {
+            super(callable);
+            this.period = 0;
+            this.sequenceNumber = sequencer.getAndIncrement();
+        }
+
+        final class Trigger extends TimingWheel.Node {
+            final void expire() {
+                pool.execute(WheelTask.this);
+            }
+            final WheelTask<V> task() {
+                return WheelTask.this;
+            }
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(trigger.deadline() - System.nanoTime(),
+                                NANOSECONDS);
+        }
+
+        public int compareTo(Delayed other) {
+            if (other == this) // compare zero if same object
+                return 0;
+            if (other instanceof WheelTask) {
+                WheelTask<?> x = (WheelTask<?>)other;
+                long diff = trigger.deadline() - x.trigger.deadline();
+                if (diff < 0)
+                    return -1;
+                else if (diff > 0)
+                    return 1;
+                else if (sequenceNumber < x.sequenceNumber)
+                    return -1;
+                else
+                    return 1;
+            }
+            long diff = getDelay(NANOSECONDS) - other.getDelay(NANOSECONDS);
+            return (diff < 0) ? -1 : (diff > 0) ? 1 : 0;
+        }
+
+        /**
+         * Returns {@code true} if this is a periodic (not a one-shot) action.
+         *
+         * @return {@code true} if periodic
+         */
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                trigger.cancel();
+                if (period != 0)
+                    periodicTasks.remove(this);
+            }
+            return cancelled;
+        }
+
+        /**
+         * Overrides FutureTask version so as to reset and reschedule
+         * if periodic.
+         */
+        public void run() {
+            long p = period;
+            if (p == 0)
+                super.run();
+            else if (isShutdown())
+                cancel(false);
+            else if (super.runAndReset()) {
+                long next = (p > 0) ? trigger.deadline() + p :
+                    System.nanoTime() - p;
+                try {
+                    wheel.scheduleAt(trigger, next);
+                } catch (RejectedExecutionException ex) {
+                    cancel(false);      // shut down while running
+                    return;
+                }
+                if (isCancelled())      // cancelled while running
+                    trigger.cancel();
+            }
+            else
+                periodicTasks.remove(this);
+        }
+    }
+
+    /**
+     * Schedules the given task, or submits it to the pool if it has
+     * no delay.
+     */
+    private void delayedExecute(WheelTask<?> task, long delayNanos) {
+        boolean periodic = task.isPeriodic();
+        if (periodic)
+            periodicTasks.add(task);
+        try {
+            if (isShutdown())
+                throw new RejectedExecutionException();
+            if (delayNanos > 0L)
+                wheel.schedule(task.trigger, delayNanos);
+            else {
+                task.trigger.deadline = System.nanoTime();
+                pool.execute(task);
+            }
+        } catch (RejectedExecutionException ex) {
+            if (periodic)
+                periodicTasks.remove(task);
+            throw ex;
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public ScheduledFuture<?> schedule(Runnable command,
+                                       long delay,
+                                       TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<Void> t = new WheelTask<Void>(command, null, 0L);
+        delayedExecute(t, unit.toNanos(delay));
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable,
+                                           long delay,
+                                           TimeUnit unit) {
+        if (callable == null || unit == null)
+            throw new NullPointerException();
+        WheelTask<V> t = new WheelTask<V>(callable);
+        delayedExecute(t, unit.toNanos(delay));
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                  long initialDelay,
+                                                  long period,
+                                                  TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (period <= 0)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null, unit.toNanos(period));
+        delayedExecute(t, unit.toNanos(initialDelay));
+        return t;
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     * @throws IllegalArgumentException   {@inheritDoc}
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                                                     long initialDelay,
+                                                     long delay,
+                                                     TimeUnit unit) {
+        if (command == null || unit == null)
+            throw new NullPointerException();
+        if (delay <= 0)
+            throw new IllegalArgumentException();
+        WheelTask<Void> t =
+            new WheelTask<Void>(command, null, -unit.toNanos(delay));
+        delayedExecute(t, unit.toNanos(initialDelay));
+        return t;
+    }
+
+    /**
+     * Executes {@code command} with zero required delay.
+     * This has effect equivalent to
+     * {@link #schedule(Runnable,long,TimeUnit) schedule(command, 0, anyUnit)}.
+     *
+     * @throws RejectedExecutionException if this executor has been
+     *         shut down
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void execute(Runnable command) {
+        schedule(command, 0, NANOSECONDS);
+    }
+
+    // Override AbstractExecutorService methods
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public Future<?> submit(Runnable task) {
+        return schedule(task, 0, NANOSECONDS);
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <T> Future<T> submit(Runnable task, T result) {
+        return schedule(Executors.callable(task, result), 0, NANOSECONDS);
+    }
+
+    /**
+     * @throws RejectedExecutionException {@inheritDoc}
+     * @throws NullPointerException       {@inheritDoc}
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return schedule(task, 0, NANOSECONDS);
+    }
+
+    /**
+     * Returns the duration of a tick.
+     *
+     * @param unit the desired time unit
+     * @return the tick duration
+     */
+    public long getTickDuration(TimeUnit unit) {
+        return unit.convert(wheel.tickNanos(), NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of buckets in the wheel.
+     *
+     * @return the number of buckets
+     */
+    public int getWheelSize() {
+        return wheel.wheelSize();
+    }
+
+    /**
+     * Initiates an orderly shutdown in which previously submitted
+     * tasks are executed, including delayed tasks when enabled, but
+     * periodic tasks are cancelled and no new tasks will be accepted.
+     * Invocation has no additional effect if already shut down.
+     *
+     * <p>This method does not wait for previously submitted tasks to
+     * complete execution.  Use {@link #awaitTermination awaitTermination}
+     * to do that.
+     *
+     * @throws SecurityException {@inheritDoc}
+     */
+    public void shutdown() {
+        wheel.shutdown();
+        for (WheelTask<?> t : periodicTasks)
+            t.cancel(false);
+    }
+
+    /**
+     * Attempts to stop all actively executing tasks, halts the
+     * processing of waiting tasks, and returns a list of the tasks
+     * that were awaiting execution, including delayed tasks that were
+     * not yet enabled.  These tasks are drained (removed) from the
+     * wheel and work queue upon return from this method.
+     *
+     * <p>This method does not wait for actively executing tasks to
+     * terminate.  Use {@link #awaitTermination awaitTermination} to
+     * do that.
+     *
+     * <p>There are no guarantees beyond best-effort attempts to stop
+     * processing actively executing tasks.  This implementation
+     * cancels tasks via {@link Thread#interrupt}, so any task that
+     * fails to respond to interrupts may never terminate.
+     *
+     * @return list of tasks that never commenced execution.
+     *         Each element of this list is a {@link ScheduledFuture}.
+     * @throws SecurityException {@inheritDoc}
+     */
+    public List<Runnable> shutdownNow() {
+        List<TimingWheel.Node> nodes = wheel.shutdownNow();
+        List<Runnable> tasks = pool.shutdownNow();
+        for (TimingWheel.Node n : nodes)
+            tasks.add(((WheelTask<?>.Trigger)n).task());
+        periodicTasks.clear();
+        return tasks;
+    }
+
+    public boolean isShutdown() {
+        return wheel.isShutdown();
+    }
+
+    public boolean isTerminated() {
+        return pool.isTerminated();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Returns a string identifying this executor, as well as its
+     * state, tick duration and wheel size.
+     *
+     * @return a string identifying this executor, as well as its state
+     */
+    public String toString() {
+        String rs = (isTerminated() ? "Terminated" :
+                     isShutdown() ? "Shutting down" : "Running");
+        return super.toString() +
+            "[" + rs +
+            ", pool size = " + pool.getPoolSize() +
+            ", tick = " + wheel.tickNanos() + "ns" +
+            ", wheel size = " + wheel.wheelSize() +
+            ", periodic tasks = " + periodicTasks.size() +
+            "]";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A policy for how a thread waits while an operation cannot proceed,
+ * used by {@link SpscArrayQueue} and {@link MpscArrayQueue} to
+ * implement their blocking and timed operations without locks or
+ * signalling.  A waiting thread repeatedly retries the operation,
+ * invoking {@link #idle} between attempts; a strategy trades the
+ * latency with which waiting threads notice progress against the
+ * processor time they consume.
+ *
+ * <p>Implementations must not block indefinitely, since no thread
+ * will wake them: an operation may become possible at any time, and
+ * waiting threads notice only by retrying.  Interruption is checked
+ * by callers between attempts, so implementations need not respond
+ * to it, and must not clear a thread's interrupt status.
+ *
+ * @since 1.9
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Waits, or returns immediately, after an unsuccessful attempt.
+     *
+     * @param attempts the number of consecutive unsuccessful
+     *        attempts preceding the one that just failed, starting
+     *        at zero
+     */
+    void idle(int attempts);
+
+    /**
+     * Returns a strategy that returns immediately, so that waiting
+     * threads spin.  This minimizes latency, but wastes a processor
+     * per waiting thread, so is suitable only when there are more
+     * processors than active threads.
+     *
+     * @return a spinning strategy
+     */
+    static WaitStrategy spinning() {
+        return attempts -> { };
+    }
+
+    /**
+     * Returns a strategy that invokes {@link Thread#yield}, so that
+     * waiting threads spin while other threads are not runnable.
+     *
+     * @return a yielding strategy
+     */
+    static WaitStrategy yielding() {
+        return attempts -> Thread.yield();
+    }
+
+    /**
+     * Returns a strategy that spins for 128 attempts, then yields
+     * for 16 attempts, then parks for exponentially increasing times
+     * up to one millisecond.
+     *
+     * @return a parking strategy
+     */
+    static WaitStrategy parking() {
+        return parking(128, 16, TimeUnit.MILLISECONDS.toNanos(1L));
+    }
+
+    /**
+     * Returns a strategy that spins for the given number of attempts,
+     * then yields for the given number of attempts, then parks for
+     * exponentially increasing times, starting at one microsecond, up
+     * to the given maximum.
+     *
+     * @param spins the number of attempts for which to spin
+     * @param yields the number of attempts for which to yield
+     * @param maxParkNanos the maximum time to park, in nanoseconds
+     * @return a parking strategy
+     * @throws IllegalArgumentException if any argument is negative
+     */
+    static WaitStrategy parking(int spins, int yields, long maxParkNanos) {
+        if (spins < 0 || yields < 0 || maxParkNanos < 0L)
+            throw new IllegalArgumentException();
+        final int yieldLimit = (spins + yields < 0) ?
+            Integer.MAX_VALUE : spins + yields;
+        return attempts -> {
+            if (attempts >= spins) {
+                if (attempts < yieldLimit)
+                    Thread.yield();
+                else {
+                    int shift = Math.min(attempts - yieldLimit, 30);
+                    LockSupport.parkNanos(Math.min(1000L << shift,
+                                                   maxParkNanos));
+                }
+            }
+        };
+    }
+}
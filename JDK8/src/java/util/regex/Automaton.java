@@ -0,0 +1,1406 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern.Anchor;
+import java.util.regex.Pattern.BmpCharProperty;
+import java.util.regex.Pattern.Branch;
+import java.util.regex.Pattern.BranchConn;
+import java.util.regex.Pattern.CharProperty;
+import java.util.regex.Pattern.Curly;
+import java.util.regex.Pattern.GroupCurly;
+import java.util.regex.Pattern.GroupHead;
+import java.util.regex.Pattern.GroupTail;
+import java.util.regex.Pattern.LastNode;
+import java.util.regex.Pattern.LazyLoop;
+import java.util.regex.Pattern.Loop;
+import java.util.regex.Pattern.Node;
+import java.util.regex.Pattern.Prolog;
+import java.util.regex.Pattern.Ques;
+import java.util.regex.Pattern.Slice;
+import java.util.regex.Pattern.SliceI;
+import java.util.regex.Pattern.SliceU;
+import java.util.regex.Pattern.Start;
+import java.util.regex.Pattern.StartS;
+
+/**
+ * A matching engine that runs a compiled {@link Pattern} in time linear in
+ * the length of the input.
+ *
+ * <p> The node tree built by {@code Pattern} is translated into a small
+ * instruction program: a Thompson NFA whose alternatives are ordered, so
+ * that simulating it yields the same match as the backtracking nodes
+ * would.  The program is then run in one of two ways.
+ *
+ * <p> A lazily built DFA, whose states are the ordered thread lists of the
+ * program, is used whenever the program has no anchors or boundaries.
+ * States and their transitions are created on demand and are shared by all
+ * matchers of the pattern.  A forward scan finds where the leftmost match
+ * ends, and a scan of the reversed program from there finds where it
+ * starts; if the pattern has no capturing groups that is the whole answer.
+ *
+ * <p> A Pike VM simulates the program directly, carrying the capture
+ * positions along with each thread.  It fills in the groups of a match the
+ * DFA has located, and runs the whole search whenever the DFA can not be
+ * used: for programs with anchors, for input containing surrogates, and
+ * when the DFA's state cache is full.
+ *
+ * <p> Both take time proportional to the length of the input times the
+ * size of the program.  Back references, lookaround, independent groups,
+ * possessive quantifiers and a few rarer constructs cannot be simulated
+ * this way; {@link #of} returns {@code null} for patterns containing them
+ * and those patterns keep running on the node tree.
+ */
+final class Automaton {
+
+    /*
+     * Instruction opcodes. The consuming instructions come first; each
+     * continues at x once it has consumed its character.
+     */
+    private static final int CHAR    = 0;   // code point satisfying obj
+    private static final int BMP     = 1;   // char satisfying obj
+    private static final int LIT     = 2;   // char y
+    private static final int LIT_I   = 3;   // char y, ASCII case folded
+    private static final int LIT_U   = 4;   // char y, Unicode case folded
+    private static final int ANY     = 5;   // any char, DFA search loop only
+    private static final int MATCH   = 6;   // accept with index y
+    private static final int SPLIT   = 7;   // x, or else y
+    private static final int JMP     = 8;   // x
+    private static final int SET     = 9;   // register y = position, then x
+    private static final int CAPTURE = 10;  // group slots y, y+1 = register z,
+                                            // position, then x
+    private static final int LOOP    = 11;  // x if position > register y,
+                                            // else z, or fail if z < 0
+    private static final int ASSERT  = 12;  // x if anchor obj holds
+
+    /**
+     * Largest program that will be built; counted repetitions of groups are
+     * unrolled and could otherwise grow without bound.
+     */
+    private static final int MAX_PROGRAM_SIZE = 1 << 14;
+
+    /**
+     * Largest program that will be built for a union of patterns.
+     */
+    private static final int MAX_UNION_SIZE = 1 << 18;
+
+    /**
+     * Largest number of states each DFA caches before it is discarded.
+     */
+    private static final int MAX_STATES = 1 << 11;
+
+    /**
+     * Largest number of states the DFA of a union caches; a union of many
+     * patterns is in a large number of partial matches at once.
+     */
+    private static final int MAX_UNION_STATES = 1 << 14;
+
+    /**
+     * Number of times the DFA caches may overflow before the DFA is
+     * abandoned and the Pike VM is used for every search.
+     */
+    private static final int MAX_DFA_RESETS = 8;
+
+    /* Results of the DFA scans besides a position. */
+    private static final int NO_MATCH = -1;
+    private static final int GIVE_UP  = -2;
+
+    /* Indices of the DFAs of a pattern. */
+    private static final int FIND    = 0;   // unanchored, leftmost first
+    private static final int PREFIX  = 1;   // anchored, leftmost first
+    private static final int WHOLE   = 2;   // anchored at both ends
+    private static final int REVERSE = 3;   // reversed, longest
+
+    private final Program forward;
+    private final Program reverse;      // null for a union
+
+    /**
+     * The DFAs, or null if the program has anchors. An entry is replaced by
+     * a fresh DFA when its cache overflows.
+     */
+    private final DFA[] dfas;
+    private int dfaResets;
+
+    /** The number of group slots, two per capturing group. */
+    private final int groupSlots;
+
+    /** The number of registers each thread carries. */
+    private final int registers;
+
+    /** Whether find only tries a match at its starting index. */
+    private final boolean anchoredSearch;
+
+    /** Whether find skips the low surrogate of a surrogate pair. */
+    private final boolean skipLowSurrogates;
+
+    /** The minimum length of a match, for find. */
+    private final int minLength;
+
+    private Automaton(Pattern pattern, Program forward, Program reverse) {
+        this.forward = forward;
+        this.reverse = reverse;
+        this.groupSlots = pattern.capturingGroupCount * 2;
+        this.registers = groupSlots + pattern.localCount;
+        Node root = pattern.root;
+        this.anchoredSearch = root == pattern.matchRoot;
+        this.skipLowSurrogates = root instanceof StartS;
+        this.minLength = (root instanceof Start) ? ((Start)root).minLength : 0;
+        if (forward.hasAnchors) {
+            dfas = null;
+        } else {
+            dfas = new DFA[] {
+                new DFA(forward, forward.searchStart, true),
+                new DFA(forward, 0, true),
+                new DFA(forward, 0, false),
+                new DFA(reverse, 0, false)
+            };
+        }
+    }
+
+    private Automaton(Program forward, int registers) {
+        this.forward = forward;
+        this.reverse = null;
+        this.groupSlots = 0;
+        this.registers = registers;
+        this.anchoredSearch = false;
+        this.skipLowSurrogates = false;
+        this.minLength = 0;
+        if (forward.hasAnchors)
+            dfas = null;
+        else
+            dfas = new DFA[] { new DFA(forward, forward.searchStart, false) };
+    }
+
+    /**
+     * Returns an automaton for the given pattern, or null if the pattern
+     * uses constructs that cannot be matched in linear time. Unless it is
+     * required, null is also returned if the pattern has neither
+     * alternation nor repetition, so the node tree can never backtrack
+     * more than a bounded amount, and if a group is captured within nested
+     * repetitions, where the node tree may report the capture of an
+     * iteration it backed off from rather than that of the last one.
+     */
+    static Automaton of(Pattern pattern, boolean required) {
+        Translator translator =
+            new Translator(pattern.capturingGroupCount * 2);
+        Term term = translator.sequence(pattern.matchRoot, null, -1);
+        if (!translator.supported)
+            return null;
+        if (!required && (!translator.branching || translator.nestedCapture))
+            return null;
+        Program forward = Program.build(term, false);
+        Program reverse = Program.build(term, true);
+        if (forward == null || reverse == null)
+            return null;
+        return new Automaton(pattern, forward, reverse);
+    }
+
+    /**
+     * Returns an automaton for the union of those given patterns that are
+     * not yet marked in {@code included} and that have anchors or not, as
+     * {@code anchored} says, or null if there are none or the union is too
+     * large. The union accepts with the index of each pattern that matches,
+     * and the patterns it is made of are marked in {@code included}; they
+     * do not need to branch. Keeping the patterns with anchors apart lets
+     * the others be searched with a DFA. Patterns that cannot be matched in
+     * linear time are left out, as are those whose search skips low
+     * surrogates, since the union tries a match at every index.
+     */
+    static Automaton union(Pattern[] patterns, boolean[] included,
+                           boolean anchored) {
+        ArrayList<Term> terms = new ArrayList<>();
+        int[] indices = new int[patterns.length];
+        int registers = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            Pattern pattern = patterns[i];
+            if (included[i] || pattern.root instanceof StartS)
+                continue;
+            Translator translator = new Translator(registers);
+            translator.accept = i;
+            Term term = translator.sequence(pattern.matchRoot, null, -1);
+            if (!translator.supported || translator.anchors != anchored)
+                continue;
+            indices[terms.size()] = i;
+            terms.add(term);
+            registers += pattern.localCount;
+        }
+        if (terms.isEmpty())
+            return null;
+        Term alt = new Term(Term.ALT);
+        alt.subs = terms.toArray(new Term[terms.size()]);
+        Program forward = Program.union(alt);
+        if (forward == null)
+            return null;
+        for (int i = 0; i < terms.size(); i++)
+            included[indices[i]] = true;
+        return new Automaton(forward, registers);
+    }
+
+    /**
+     * Searches for the next match at or after the given index, leaving the
+     * matcher in the state {@code Start.match} would.
+     */
+    boolean search(Matcher matcher, int from, CharSequence seq) {
+        Threads threads = threads(matcher);
+        if (dfas != null && !anchoredSearch) {
+            int end = scanForward(FIND, seq, from, matcher.to, threads);
+            if (end == NO_MATCH) {
+                matcher.hitEnd = true;
+                return false;
+            }
+            if (end >= 0) {
+                boolean hitEnd = threads.hitEnd;
+                int start = scanBackward(seq, end, from, threads);
+                if (start >= 0) {
+                    matcher.hitEnd = hitEnd;
+                    if (groupSlots == 2)
+                        return accept(matcher, start, end);
+                    return simulate(matcher, seq, start, true, threads);
+                }
+            }
+        }
+        return simulate(matcher, seq, from, anchoredSearch, threads);
+    }
+
+    /**
+     * Matches at the given index, leaving the matcher in the state the
+     * match root would.
+     */
+    boolean match(Matcher matcher, int from, CharSequence seq) {
+        Threads threads = threads(matcher);
+        if (dfas != null) {
+            boolean whole = matcher.acceptMode == Matcher.ENDANCHOR;
+            int end = scanForward(whole ? WHOLE : PREFIX,
+                                  seq, from, matcher.to, threads);
+            if (end >= NO_MATCH) {
+                matcher.hitEnd = threads.hitEnd;
+                if (end == NO_MATCH)
+                    return false;
+                if (groupSlots == 2)
+                    return accept(matcher, from, end);
+            }
+        }
+        return simulate(matcher, seq, from, true, threads);
+    }
+
+    private static boolean accept(Matcher matcher, int start, int end) {
+        matcher.first = start;
+        matcher.last = end;
+        matcher.groups[0] = start;
+        matcher.groups[1] = end;
+        return true;
+    }
+
+    private Threads threads(Matcher matcher) {
+        Threads threads = matcher.threads;
+        if (threads == null || threads.owner != this)
+            matcher.threads = threads = new Threads(this);
+        return threads;
+    }
+
+    /**
+     * Sets in {@code matched} the index of every pattern of a union that
+     * matches somewhere in the input, stopping at the first one found if
+     * {@code any} is set. The matcher only supplies the bounds of the
+     * search and of the anchors. Returns the number of indices set, which
+     * were clear before.
+     */
+    int findAll(Matcher matcher, CharSequence seq, Threads threads,
+                BitSet matched, boolean any) {
+        threads.found = 0;
+        if (dfas == null || scanAll(seq, matcher.from, matcher.to, threads,
+                                    matched, any) == GIVE_UP)
+            simulateAll(matcher, seq, threads, matched, any);
+        return threads.found;
+    }
+
+    /**
+     * Sets the index of a pattern of a union in {@code matched}, counting
+     * it in {@code threads.found}, and returns true if the search is done.
+     */
+    private boolean found(int index, Threads threads, BitSet matched,
+                          boolean any) {
+        if (!matched.get(index)) {
+            matched.set(index);
+            threads.found++;
+        }
+        return any || threads.found == forward.accepting;
+    }
+
+    /**
+     * Runs the union DFA over the input, until every pattern has matched.
+     * Returns the end of the scan, or GIVE_UP if the DFA can not be used
+     * for this input; the indices found until then remain set.
+     */
+    private int scanAll(CharSequence seq, int from, int to, Threads threads,
+                        BitSet matched, boolean any) {
+        DFA dfa = dfas[FIND];
+        if (dfa.exhausted)
+            return GIVE_UP;
+        State state = initial(dfa, threads);
+        if (state == null)
+            return overflow(FIND);
+        for (int i = from; ; i++) {
+            if (state.match) {
+                boolean done = false;
+                for (int index : state.accepting)
+                    done |= found(index, threads, matched, any);
+                if (done)
+                    return i;
+            }
+            if (i == to)
+                return i;
+            char c = seq.charAt(i);
+            if (Character.isSurrogate(c))
+                return GIVE_UP;
+            State next = state.next(c);
+            if (next == null && (next = step(dfa, state, c, threads)) == null)
+                return overflow(FIND);
+            state = next;
+        }
+    }
+
+    /**
+     * Simulates the union program over the input, starting a thread at
+     * every index. Threads carry no registers: the registers only tell a
+     * loop iteration that consumed nothing, and as in the DFA they can be
+     * cleared at every position.
+     */
+    private void simulateAll(Matcher matcher, CharSequence seq,
+                             Threads threads, BitSet matched, boolean any) {
+        Program prog = forward;
+        ThreadList[] lists = threads.lists;
+        for (ThreadList list : lists)
+            list.clear();
+        int[] work = threads.work;
+        Arrays.fill(work, -1);
+        int to = matcher.to;
+        for (int i = matcher.from; i <= to; i++) {
+            ThreadList list = lists[i % 3];
+            addThread(prog, list, 0, i, work, threads.stack,
+                      matcher, seq, false);
+            for (int k = 0; k < list.count; k++) {
+                int pc = list.pcs[k];
+                int op = prog.op[pc];
+                if (op == MATCH) {
+                    if (found(prog.y[pc], threads, matched, any))
+                        return;
+                    continue;
+                }
+                if (i == to)
+                    continue;
+                int width = 1;
+                boolean ok;
+                char c = seq.charAt(i);
+                switch (op) {
+                case CHAR:
+                    int ch = Character.codePointAt(seq, i);
+                    ok = ((CharProperty)prog.obj[pc]).isSatisfiedBy(ch);
+                    width = Character.charCount(ch);
+                    break;
+                case BMP:
+                    ok = ((CharProperty)prog.obj[pc]).isSatisfiedBy(c);
+                    break;
+                default:
+                    ok = accepts(prog, pc, c);
+                }
+                if (ok)
+                    addThread(prog, lists[(i + width) % 3], prog.x[pc],
+                              i + width, work, threads.stack,
+                              matcher, seq, false);
+            }
+            list.clear();
+        }
+    }
+
+    // Pike VM
+
+    /**
+     * Runs the program over the input from the given index, trying a match
+     * at every index reached unless anchored. Threads advance by the width
+     * of what they consume, so the lists of the next two positions are
+     * kept at once.
+     */
+    private boolean simulate(Matcher matcher, CharSequence seq, int from,
+                             boolean anchored, Threads threads) {
+        Program prog = forward;
+        ThreadList[] lists = threads.lists;
+        for (ThreadList list : lists)
+            list.clear();
+        int[] work = threads.work;
+        int[] best = threads.best;
+        int to = matcher.to;
+        int guard = anchored ? from : to - minLength;
+        boolean endAnchor = matcher.acceptMode == Matcher.ENDANCHOR;
+        boolean matched = false;
+        for (int i = from; ; i++) {
+            ThreadList list = lists[i % 3];
+            if (!matched && i <= guard && (i == from || !anchored)
+                && !(skipLowSurrogates && isLowSurrogateOfPair(seq, i, from))) {
+                Arrays.fill(work, -1);
+                work[0] = i;
+                addThread(prog, list, 0, i, work, threads.stack,
+                          matcher, seq, false);
+            }
+            for (int k = 0; k < list.count; k++) {
+                int pc = list.pcs[k];
+                int[] regs = list.regs[k];
+                int op = prog.op[pc];
+                if (op == MATCH) {
+                    if (endAnchor && i != to)
+                        continue;
+                    System.arraycopy(regs, 0, best, 0, registers);
+                    best[1] = i;
+                    matched = true;
+                    break;                  // cut lower priority threads
+                }
+                if (i >= to) {
+                    matcher.hitEnd = true;
+                    continue;
+                }
+                int width = 1;
+                boolean ok;
+                char c = seq.charAt(i);
+                switch (op) {
+                case CHAR:
+                    int ch = Character.codePointAt(seq, i);
+                    ok = ((CharProperty)prog.obj[pc]).isSatisfiedBy(ch);
+                    width = Character.charCount(ch);
+                    break;
+                case BMP:
+                    ok = ((CharProperty)prog.obj[pc]).isSatisfiedBy(c);
+                    break;
+                default:
+                    ok = accepts(prog, pc, c);
+                }
+                if (ok) {
+                    System.arraycopy(regs, 0, work, 0, registers);
+                    addThread(prog, lists[(i + width) % 3], prog.x[pc],
+                              i + width, work, threads.stack,
+                              matcher, seq, false);
+                }
+            }
+            list.clear();
+            if (lists[(i + 1) % 3].count == 0 && lists[(i + 2) % 3].count == 0
+                && (matched || anchored || i >= guard))
+                break;
+        }
+        if (!matched) {
+            if (!anchored)
+                matcher.hitEnd = true;
+            return false;
+        }
+        matcher.first = best[0];
+        matcher.last = best[1];
+        System.arraycopy(best, 0, matcher.groups, 0, groupSlots);
+        return true;
+    }
+
+    private static boolean isLowSurrogateOfPair(CharSequence seq, int i,
+                                                int from) {
+        return i > from && i < seq.length()
+            && Character.isLowSurrogate(seq.charAt(i))
+            && Character.isHighSurrogate(seq.charAt(i - 1));
+    }
+
+    /**
+     * Tests a literal or DFA-safe instruction against a char that is not
+     * a surrogate.
+     */
+    private static boolean accepts(Program prog, int pc, char c) {
+        int lit = prog.y[pc];
+        switch (prog.op[pc]) {
+        case CHAR:
+        case BMP:
+            return ((CharProperty)prog.obj[pc]).isSatisfiedBy(c);
+        case LIT:
+            return c == lit;
+        case LIT_I:
+            return c == lit || ASCII.toLower(c) == lit;
+        case LIT_U:
+            return c == lit
+                || Character.toLowerCase(Character.toUpperCase(c)) == lit;
+        case ANY:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Adds the thread at pc, with the given registers, to the list at the
+     * given position, following every instruction that consumes nothing.
+     * Threads are added in priority order and a thread whose key, see
+     * {@link Program}, is already in the list is not added again, which is
+     * what bounds the work per position. The
+     * registers are restored before returning, except when {@code cut} is
+     * set and a match was reached; the lower priority threads are then
+     * dropped and true is returned.
+     */
+    private static boolean addThread(Program prog, ThreadList list, int pc,
+                                     int pos, int[] regs, int[] stack,
+                                     Matcher matcher, CharSequence seq,
+                                     boolean cut) {
+        int sp = 0;
+        for (;;) {
+            follow:
+            while (list.visit(prog.key(pc, pos, regs))) {
+                int r;
+                switch (prog.op[pc]) {
+                case JMP:
+                    pc = prog.x[pc];
+                    continue;
+                case SPLIT:
+                    stack[sp++] = prog.y[pc];
+                    stack[sp++] = 0;
+                    pc = prog.x[pc];
+                    continue;
+                case SET:
+                    r = prog.y[pc];
+                    stack[sp++] = ~r;
+                    stack[sp++] = regs[r];
+                    regs[r] = pos;
+                    pc = prog.x[pc];
+                    continue;
+                case CAPTURE:
+                    r = prog.y[pc];
+                    stack[sp++] = ~r;
+                    stack[sp++] = regs[r];
+                    stack[sp++] = ~(r + 1);
+                    stack[sp++] = regs[r + 1];
+                    regs[r] = regs[prog.z[pc]];
+                    regs[r + 1] = pos;
+                    pc = prog.x[pc];
+                    continue;
+                case LOOP:
+                    pc = (pos > regs[prog.y[pc]]) ? prog.x[pc] : prog.z[pc];
+                    if (pc < 0)
+                        break follow;
+                    continue;
+                case ASSERT:
+                    if (((Anchor)prog.obj[pc]).isSatisfiedAt(matcher, pos, seq)) {
+                        pc = prog.x[pc];
+                        continue;
+                    }
+                    break follow;
+                case MATCH:
+                    list.add(pc, regs);
+                    if (cut)
+                        return true;
+                    break follow;
+                default:
+                    list.add(pc, regs);
+                    break follow;
+                }
+            }
+            for (;;) {
+                if (sp == 0)
+                    return false;
+                int value = stack[--sp];
+                int frame = stack[--sp];
+                if (frame >= 0) {
+                    pc = frame;
+                    break;
+                }
+                regs[~frame] = value;
+            }
+        }
+    }
+
+    // Lazy DFA
+
+    /**
+     * Scans forward from the given index with one of the forward DFAs.
+     * Returns the end of the match, NO_MATCH, or GIVE_UP if the DFA can
+     * not be used for this input; {@code threads.hitEnd} tells whether
+     * the scan was still alive at the end of the region.
+     */
+    private int scanForward(int which, CharSequence seq, int from, int to,
+                            Threads threads) {
+        DFA dfa = dfas[which];
+        if (dfa.exhausted)
+            return GIVE_UP;
+        State state = initial(dfa, threads);
+        if (state == null)
+            return overflow(which);
+        int end = state.match ? from : NO_MATCH;
+        int i = from;
+        while (i < to && state.pcs.length != 0) {
+            char c = seq.charAt(i);
+            if (Character.isSurrogate(c))
+                return GIVE_UP;
+            State next = state.next(c);
+            if (next == null && (next = step(dfa, state, c, threads)) == null)
+                return overflow(which);
+            state = next;
+            i++;
+            if (state.match)
+                end = i;
+        }
+        threads.hitEnd = i == to && state.consumes;
+        if (which == WHOLE)
+            return (i == to && state.match) ? to : NO_MATCH;
+        return end;
+    }
+
+    /**
+     * Scans backward from the end of a match with the reverse DFA and
+     * returns the smallest index, not below {@code from}, at which a match
+     * ending there can start, or GIVE_UP.
+     */
+    private int scanBackward(CharSequence seq, int end, int from,
+                             Threads threads) {
+        DFA dfa = dfas[REVERSE];
+        if (dfa.exhausted)
+            return GIVE_UP;
+        State state = initial(dfa, threads);
+        if (state == null)
+            return overflow(REVERSE);
+        int start = state.match ? end : NO_MATCH;
+        int i = end;
+        while (i > from && state.pcs.length != 0) {
+            char c = seq.charAt(--i);
+            if (Character.isSurrogate(c))
+                return GIVE_UP;
+            State next = state.next(c);
+            if (next == null && (next = step(dfa, state, c, threads)) == null)
+                return overflow(REVERSE);
+            state = next;
+            if (state.match)
+                start = i;
+        }
+        return start;
+    }
+
+    /**
+     * Discards a DFA whose cache is full; the search in progress falls
+     * back to the Pike VM.
+     */
+    private int overflow(int which) {
+        DFA dfa = dfas[which];
+        if (++dfaResets < MAX_DFA_RESETS)
+            dfas[which] = new DFA(dfa.prog, dfa.start, dfa.cut);
+        else
+            dfas[which] = new DFA(dfa.prog, dfa.start, dfa.cut, true);
+        return GIVE_UP;
+    }
+
+    private State initial(DFA dfa, Threads threads) {
+        State state = dfa.initial;
+        if (state == null) {
+            ThreadList list = threads.closure;
+            list.clear();
+            Arrays.fill(threads.work, -1);
+            addThread(dfa.prog, list, dfa.start, 0, threads.work,
+                      threads.stack, null, null, dfa.cut);
+            if ((state = intern(dfa, list)) != null)
+                dfa.initial = state;
+        }
+        return state;
+    }
+
+    /**
+     * Computes the state reached from the given one on a char. The
+     * positions passed to addThread only need to tell a loop iteration
+     * that consumed nothing, so every step closes over position 0 with
+     * cleared registers.
+     */
+    private State step(DFA dfa, State from, char c, Threads threads) {
+        Program prog = dfa.prog;
+        ThreadList list = threads.closure;
+        list.clear();
+        Arrays.fill(threads.work, -1);
+        for (int pc : from.pcs) {
+            if (accepts(prog, pc, c)
+                && addThread(prog, list, prog.x[pc], 0, threads.work,
+                             threads.stack, null, null, dfa.cut))
+                break;
+        }
+        State to = intern(dfa, list);
+        if (to != null)
+            from.cache(c, to);
+        return to;
+    }
+
+    private static State intern(DFA dfa, ThreadList list) {
+        Program prog = dfa.prog;
+        int[] pcs = Arrays.copyOf(list.pcs, list.count);
+        int[] accepting = new int[pcs.length];
+        int matches = 0;
+        boolean consumes = false;
+        for (int pc : pcs) {
+            if (prog.op[pc] == MATCH)
+                accepting[matches++] = prog.y[pc];
+            else
+                consumes = true;
+        }
+        State state = new State(pcs, Arrays.copyOf(accepting, matches),
+                                consumes);
+        State cached = dfa.states.get(state);
+        if (cached != null)
+            return cached;
+        if (dfa.states.size() >= prog.maxStates)
+            return null;
+        cached = dfa.states.putIfAbsent(state, state);
+        return (cached != null) ? cached : state;
+    }
+
+    /**
+     * A DFA over a program, started at a given pc. With {@code cut} set the
+     * threads after a match are dropped, giving leftmost-first matches;
+     * otherwise every thread is kept.
+     */
+    private static final class DFA {
+        final Program prog;
+        final int start;
+        final boolean cut;
+        final boolean exhausted;
+        final ConcurrentHashMap<State, State> states =
+            new ConcurrentHashMap<>();
+        volatile State initial;
+
+        DFA(Program prog, int start, boolean cut) {
+            this(prog, start, cut, false);
+        }
+
+        DFA(Program prog, int start, boolean cut, boolean exhausted) {
+            this.prog = prog;
+            this.start = start;
+            this.cut = cut;
+            this.exhausted = exhausted;
+        }
+    }
+
+    /**
+     * A DFA state: the pcs of the consuming and match instructions of the
+     * live threads, in priority order, and the indices the match
+     * instructions accept with. Transitions are cached in the state; the
+     * caches are written without locking, which is safe since states are
+     * immutable and interned.
+     */
+    private static final class State {
+        final int[] pcs;
+        final int[] accepting;
+        final boolean match;
+        final boolean consumes;
+        final int hash;
+        final State[] ascii = new State[128];
+        final Edge[] others = new Edge[16];
+
+        State(int[] pcs, int[] accepting, boolean consumes) {
+            this.pcs = pcs;
+            this.accepting = accepting;
+            this.match = accepting.length != 0;
+            this.consumes = consumes;
+            this.hash = Arrays.hashCode(pcs);
+        }
+
+        State next(char c) {
+            if (c < 128)
+                return ascii[c];
+            Edge e = others[c & 15];
+            return (e != null && e.c == c) ? e.to : null;
+        }
+
+        void cache(char c, State to) {
+            if (c < 128)
+                ascii[c] = to;
+            else
+                others[c & 15] = new Edge(c, to);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof State && Arrays.equals(pcs, ((State)o).pcs);
+        }
+    }
+
+    /** A cached transition on a non-ASCII char. */
+    private static final class Edge {
+        final char c;
+        final State to;
+
+        Edge(char c, State to) {
+            this.c = c;
+            this.to = to;
+        }
+    }
+
+    // Per-matcher storage
+
+    /**
+     * The storage a matcher needs to run an automaton, kept in the matcher
+     * so that repeated searches do not allocate.
+     */
+    static final class Threads {
+        final Automaton owner;
+        final ThreadList[] lists;
+        final ThreadList closure;
+        final int[] work;
+        final int[] best;
+        final int[] stack;
+        boolean hitEnd;
+        int found;
+
+        Threads(Automaton owner) {
+            this.owner = owner;
+            int size = owner.forward.size;
+            int keys = owner.forward.keyCount;
+            if (owner.reverse != null) {
+                size = Math.max(size, owner.reverse.size);
+                keys = Math.max(keys, owner.reverse.keyCount);
+            }
+            int registers = owner.registers;
+            // The threads of a union carry no registers
+            int carried = (owner.groupSlots > 0) ? registers : 0;
+            lists = new ThreadList[] {
+                new ThreadList(size, keys, carried),
+                new ThreadList(size, keys, carried),
+                new ThreadList(size, keys, carried)
+            };
+            closure = new ThreadList(size, keys, 0);
+            work = new int[registers];
+            best = new int[registers];
+            stack = new int[keys * 4 + 4];
+        }
+    }
+
+    /**
+     * A list of threads in priority order, with a sparse set of every key
+     * visited while the list was built.
+     */
+    static final class ThreadList {
+        final int[] sparse;
+        final int[] dense;
+        int visited;
+        final int[] pcs;
+        final int[][] regs;
+        int count;
+        final int registers;
+
+        ThreadList(int size, int keys, int registers) {
+            sparse = new int[keys];
+            dense = new int[keys];
+            pcs = new int[size];
+            regs = (registers > 0) ? new int[size][] : null;
+            this.registers = registers;
+        }
+
+        /** Marks a key as visited, returning false if it already was. */
+        boolean visit(int key) {
+            int i = sparse[key];
+            if (i < visited && dense[i] == key)
+                return false;
+            sparse[key] = visited;
+            dense[visited++] = key;
+            return true;
+        }
+
+        void add(int pc, int[] r) {
+            if (regs != null) {
+                int[] t = regs[count];
+                if (t == null)
+                    regs[count] = t = new int[registers];
+                System.arraycopy(r, 0, t, 0, registers);
+            }
+            pcs[count++] = pc;
+        }
+
+        void clear() {
+            visited = 0;
+            count = 0;
+        }
+    }
+
+    // Program
+
+    /**
+     * An instruction program, stored as parallel arrays.
+     * <p>
+     * A thread is identified in a list by its pc and, for instructions
+     * that consume nothing, by the outermost loop enclosing the pc whose
+     * iteration has not consumed anything yet. Two threads at the same pc
+     * that differ there may still take different exits from that loop, so
+     * both are kept; there are at most as many such keys per pc as loops
+     * enclosing it, which keeps the work per position linear.
+     */
+    static final class Program {
+        int[] op = new int[16];
+        int[] x = new int[16];
+        int[] y = new int[16];
+        int[] z = new int[16];
+        Object[] obj = new Object[16];
+        int[][] enclosing = new int[16][];
+        int[] keyBase;
+        int keyCount;
+        int size;
+        int accepting;                  // number of indices accepted with
+        int maxStates = MAX_STATES;
+        private int limit = MAX_PROGRAM_SIZE;
+        private boolean captures = true;
+        private int[] loops = new int[0];
+        boolean tooLarge;
+        boolean hasAnchors;
+        int searchStart;
+
+        /**
+         * Emits the program for a term, or its reverse, which drops the
+         * captures and the loop checks. The forward program is followed by
+         * the lazy loop the DFA uses to try a match at every index.
+         */
+        static Program build(Term term, boolean reverse) {
+            Program prog = new Program();
+            prog.emit(term, reverse);
+            if (reverse)
+                prog.add(MATCH, 0, null);
+            else
+                prog.searchLoop();
+            return prog.finish();
+        }
+
+        /**
+         * Emits the program for the alternation of the terms of a union,
+         * which drops the captures.
+         */
+        static Program union(Term alt) {
+            Program prog = new Program();
+            prog.limit = MAX_UNION_SIZE;
+            prog.maxStates = MAX_UNION_STATES;
+            prog.captures = false;
+            prog.emit(alt, false);
+            prog.searchLoop();
+            prog.accepting = alt.subs.length;
+            return prog.finish();
+        }
+
+        private void searchLoop() {
+            int split = searchStart = add(SPLIT, 0, null);
+            x[split] = 0;
+            y[split] = split + 1;
+            int any = add(ANY, 0, null);
+            x[any] = split;
+        }
+
+        private Program finish() {
+            if (tooLarge)
+                return null;
+            keyBase = new int[size];
+            int keys = 0;
+            for (int pc = 0; pc < size; pc++) {
+                keyBase[pc] = keys;
+                keys += (op[pc] <= MATCH) ? 1 : enclosing[pc].length + 1;
+            }
+            keyCount = keys;
+            accepting = Math.max(accepting, 1);
+            return this;
+        }
+
+        /**
+         * Returns the key of a thread at pc with the given registers.
+         */
+        int key(int pc, int pos, int[] regs) {
+            int key = keyBase[pc];
+            if (op[pc] <= MATCH)
+                return key;
+            int[] loops = enclosing[pc];
+            int i = 0;
+            while (i < loops.length && regs[loops[i]] != pos)
+                i++;
+            return key + i;
+        }
+
+        int add(int o, int arg, Object ob) {
+            if (size == op.length) {
+                int n = size * 2;
+                op = Arrays.copyOf(op, n);
+                x = Arrays.copyOf(x, n);
+                y = Arrays.copyOf(y, n);
+                z = Arrays.copyOf(z, n);
+                obj = Arrays.copyOf(obj, n);
+                enclosing = Arrays.copyOf(enclosing, n);
+            }
+            enclosing[size] = loops;
+            op[size] = o;
+            x[size] = size + 1;
+            y[size] = arg;
+            z[size] = 0;
+            obj[size] = ob;
+            return size++;
+        }
+
+        void emit(Term t, boolean reverse) {
+            if (size > limit)
+                tooLarge = true;
+            if (tooLarge)
+                return;
+            switch (t.kind) {
+            case Term.INSN:
+                if (t.op == ASSERT)
+                    hasAnchors = true;
+                add(t.op, t.arg, t.obj);
+                break;
+            case Term.SEQ:
+                if (reverse) {
+                    for (int i = t.subs.length - 1; i >= 0; i--)
+                        emit(t.subs[i], true);
+                } else {
+                    for (Term sub : t.subs)
+                        emit(sub, false);
+                }
+                break;
+            case Term.ALT:
+                emitAlternation(t, reverse);
+                break;
+            case Term.REPEAT:
+                emitRepetition(t, reverse);
+                break;
+            case Term.OPEN:
+                if (!reverse)
+                    add(SET, t.reg, null);
+                break;
+            case Term.CLOSE:
+                if (!reverse && captures) {
+                    int pc = add(CAPTURE, t.arg, null);
+                    z[pc] = t.reg;
+                }
+                break;
+            case Term.ACCEPT:
+                if (!reverse)
+                    add(MATCH, t.arg, null);
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void emitAlternation(Term t, boolean reverse) {
+            int n = t.subs.length;
+            int[] jumps = new int[n - 1];
+            for (int i = 0; i < n - 1; i++) {
+                int split = add(SPLIT, 0, null);
+                emit(t.subs[i], reverse);
+                jumps[i] = add(JMP, 0, null);
+                y[split] = size;
+            }
+            emit(t.subs[n - 1], reverse);
+            for (int jump : jumps)
+                x[jump] = size;
+        }
+
+        /**
+         * Unrolls a repetition the way the Loop, Curly and GroupCurly nodes
+         * count it: the required copies, then either the optional copies
+         * or a loop. When the term names a register, an iteration that
+         * consumed nothing leaves the repetition, as in Loop, or when the
+         * term is {@code failsEmpty}, fails unless it was required, as in
+         * GroupCurly.
+         */
+        private void emitRepetition(Term t, boolean reverse) {
+            int min = t.min, max = t.max;
+            if (max == 0)
+                return;
+            boolean unbounded = max == Pattern.MAX_REPS;
+            int reg = reverse ? -1 : t.reg;
+            int copies = unbounded ? min : max;
+            if (copies > MAX_PROGRAM_SIZE) {
+                tooLarge = true;
+                return;
+            }
+            int[] outer = loops;
+            int[] inner = outer;
+            if (reg >= 0) {
+                inner = Arrays.copyOf(outer, outer.length + 1);
+                inner[outer.length] = reg;
+            }
+            int[] exits = new int[copies * 2 + 4];
+            int exitCount = 0;
+            if (min == 0 && !unbounded)
+                exits[exitCount++] = split(t.greedy);
+            for (int k = 1; k <= copies && !tooLarge; k++) {
+                loops = inner;
+                emit(t.body(), reverse);
+                if (reg >= 0 && !t.failsEmpty)
+                    exits[exitCount++] = ~add(LOOP, reg, null);
+                else if (reg >= 0 && k > min) {
+                    int pc = add(LOOP, reg, null);
+                    z[pc] = -1;
+                }
+                loops = outer;
+                if (k >= min && k < copies)
+                    exits[exitCount++] = split(t.greedy);
+            }
+            if (unbounded) {
+                int loop = size;
+                exits[exitCount++] = split(t.greedy);
+                loops = inner;
+                emit(t.body(), reverse);
+                int back = add(reg >= 0 ? LOOP : JMP, Math.max(reg, 0), null);
+                loops = outer;
+                x[back] = loop;
+                if (reg >= 0 && t.failsEmpty)
+                    z[back] = -1;
+                else if (reg >= 0)
+                    exits[exitCount++] = ~back;
+            }
+            for (int i = 0; i < exitCount; i++) {
+                int e = exits[i];
+                if (e < 0)
+                    z[~e] = size;
+                else if (y[e] == -1)
+                    y[e] = size;
+                else
+                    x[e] = size;
+            }
+        }
+
+        /**
+         * Adds a split between the next instruction and the exit of a
+         * repetition, to be patched; greedy splits prefer to go on.
+         */
+        private int split(boolean greedy) {
+            int split = add(SPLIT, 0, null);
+            if (greedy) {
+                y[split] = -1;
+            } else {
+                y[split] = split + 1;
+            }
+            return split;
+        }
+    }
+
+    // Translation
+
+    /**
+     * A node of the expression tree the node graph is translated into,
+     * from which the forward and reverse programs are emitted.
+     */
+    static final class Term {
+        static final int EMPTY  = 0;
+        static final int INSN   = 1;
+        static final int SEQ    = 2;
+        static final int ALT    = 3;
+        static final int REPEAT = 4;
+        static final int OPEN   = 5;
+        static final int CLOSE  = 6;
+        static final int ACCEPT = 7;
+
+        final int kind;
+        int op;
+        int arg;
+        int reg = -1;
+        Object obj;
+        Term[] subs;
+        int min, max;
+        boolean greedy;
+        boolean failsEmpty;
+
+        Term(int kind) {
+            this.kind = kind;
+        }
+
+        Term body() {
+            return subs[0];
+        }
+    }
+
+    /**
+     * Translates the node graph into a term, recording whether it can be
+     * matched in linear time, whether it branches at all, whether it has
+     * anchors and whether a group is captured within nested repetitions.
+     */
+    static final class Translator {
+        private final int base;
+        private int depth;
+        int accept;
+        boolean anchors;
+        boolean supported = true;
+        boolean branching;
+        boolean nestedCapture;
+
+        Translator(int base) {
+            this.base = base;
+        }
+
+        /**
+         * Translates the nodes from the given one up to, and not including,
+         * {@code stop} or the tail of the group whose local is
+         * {@code tailLocal}.
+         */
+        Term sequence(Node node, Node stop, int tailLocal) {
+            ArrayList<Term> terms = new ArrayList<>();
+            while (supported && node != stop && node != null) {
+                if (node instanceof CharProperty) {
+                    terms.add(insn(node instanceof BmpCharProperty ? BMP : CHAR,
+                                   0, node));
+                    node = node.next;
+                } else if (node instanceof Slice || node instanceof SliceI
+                           || node instanceof SliceU) {
+                    int op = (node instanceof Slice) ? LIT
+                           : (node instanceof SliceI) ? LIT_I : LIT_U;
+                    for (int c : ((Pattern.SliceNode)node).buffer)
+                        terms.add(insn(op, c, null));
+                    node = node.next;
+                } else if (node instanceof Anchor) {
+                    anchors = true;
+                    terms.add(insn(ASSERT, 0, node));
+                    node = node.next;
+                } else if (node instanceof GroupHead) {
+                    if (depth > 1)
+                        nestedCapture = true;
+                    Term open = new Term(Term.OPEN);
+                    open.reg = base + ((GroupHead)node).localIndex;
+                    terms.add(open);
+                    node = node.next;
+                } else if (node instanceof GroupTail) {
+                    GroupTail tail = (GroupTail)node;
+                    if (tail.localIndex == tailLocal)
+                        break;
+                    if (tail.groupIndex > 0)
+                        terms.add(close(tail.groupIndex, tail.localIndex));
+                    node = node.next;
+                } else if (node instanceof Branch) {
+                    Branch branch = (Branch)node;
+                    Term alt = new Term(Term.ALT);
+                    alt.subs = new Term[branch.size];
+                    for (int i = 0; i < branch.size; i++) {
+                        alt.subs[i] = (branch.atoms[i] == null)
+                            ? new Term(Term.EMPTY)
+                            : sequence(branch.atoms[i], branch.conn, -1);
+                    }
+                    terms.add(alt);
+                    branching = true;
+                    node = branch.conn.next;
+                } else if (node instanceof Prolog) {
+                    Loop loop = ((Prolog)node).loop;
+                    depth++;
+                    Term body = sequence(loop.body, loop, -1);
+                    depth--;
+                    terms.add(repeat(body, loop.cmin, loop.cmax,
+                                     !(loop instanceof LazyLoop),
+                                     base + loop.beginIndex));
+                    node = loop.next;
+                } else if (node instanceof GroupCurly) {
+                    GroupCurly curly = (GroupCurly)node;
+                    if (!isBacktracking(curly.type))
+                        break;
+                    if (curly.capture && depth > 0)
+                        nestedCapture = true;
+                    // The atom is matched on its own, and the groups within
+                    // it keep the captures of any iteration it backs off
+                    // from, so they count as nested whatever the depth.
+                    depth += 2;
+                    Term atom = sequence(curly.atom, null, curly.localIndex);
+                    depth -= 2;
+                    Term open = new Term(Term.OPEN);
+                    open.reg = base + curly.localIndex;
+                    Term body = new Term(Term.SEQ);
+                    body.subs = new Term[] {
+                        open,
+                        atom,
+                        curly.capture
+                            ? close(curly.groupIndex, curly.localIndex)
+                            : new Term(Term.EMPTY)
+                    };
+                    Term repeat = repeat(body, curly.cmin, curly.cmax,
+                                         curly.type == Pattern.GREEDY,
+                                         open.reg);
+                    repeat.failsEmpty = true;
+                    terms.add(repeat);
+                    node = node.next;
+                } else if (node instanceof Curly) {
+                    Curly curly = (Curly)node;
+                    if (!isBacktracking(curly.type)
+                        || !(curly.atom instanceof CharProperty
+                             || curly.atom instanceof Pattern.SliceNode))
+                        break;
+                    terms.add(repeat(sequence(curly.atom, Pattern.accept, -1),
+                                     curly.cmin, curly.cmax,
+                                     curly.type == Pattern.GREEDY, -1));
+                    node = node.next;
+                } else if (node instanceof Ques) {
+                    Ques ques = (Ques)node;
+                    if (!isBacktracking(ques.type))
+                        break;
+                    terms.add(repeat(sequence(ques.atom, Pattern.accept, -1),
+                                     0, 1, ques.type == Pattern.GREEDY, -1));
+                    node = node.next;
+                } else if (node instanceof LastNode) {
+                    Term accept = new Term(Term.ACCEPT);
+                    accept.arg = this.accept;
+                    terms.add(accept);
+                    break;
+                } else {
+                    break;
+                }
+            }
+            if (node != stop && !(node instanceof LastNode)
+                && !(node instanceof GroupTail
+                     && ((GroupTail)node).localIndex == tailLocal))
+                supported = false;
+            Term seq = new Term(Term.SEQ);
+            seq.subs = terms.toArray(new Term[terms.size()]);
+            return seq;
+        }
+
+        private boolean isBacktracking(int type) {
+            return type == Pattern.GREEDY || type == Pattern.LAZY;
+        }
+
+        private Term insn(int op, int arg, Object obj) {
+            Term t = new Term(Term.INSN);
+            t.op = op;
+            t.arg = arg;
+            t.obj = obj;
+            return t;
+        }
+
+        private Term close(int groupIndex, int localIndex) {
+            Term t = new Term(Term.CLOSE);
+            t.arg = groupIndex;
+            t.reg = base + localIndex;
+            return t;
+        }
+
+        private Term repeat(Term body, int min, int max, boolean greedy,
+                            int reg) {
+            Term t = new Term(Term.REPEAT);
+            t.subs = new Term[] { body };
+            t.min = min;
+            t.max = max;
+            t.greedy = greedy;
+            t.reg = reg;
+            branching = true;
+            return t;
+        }
+    }
+}
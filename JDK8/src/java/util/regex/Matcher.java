@@ -207,6 +207,46 @@ public final class Matcher implements MatchResult {
      */
     boolean anchoringBounds = true;
 
+    /**
+     * Storage used when the pattern is matched by its linear-time
+     * automaton, allocated on first use.
+     */
+    Automaton.Threads threads;
+
+    /**
+     * Whether this matcher is held among the free matchers of the current
+     * thread, see {@link Pattern#releaseMatcher}.
+     */
+    boolean pooled;
+
+    /**
+     * The index at which the literal required by the pattern's prefilter
+     * was last found, or -1 if it has not been looked for since the last
+     * reset.
+     */
+    int requiredAt = -1;
+
+    /**
+     * The automaton follows every alternative at once, so the hitEnd and
+     * requireEnd it leaves may differ from those of the object tree, which
+     * stops at the first alternative that matches.  When the last match
+     * operation was performed by the automaton, these hold the root of the
+     * tree to repeat it with, its start index, input, region and anchoring,
+     * so that the tree can repeat it if either flag is asked for.  The root
+     * is null if there is nothing to repeat.
+     */
+    Pattern.Node replayRoot;
+    int replayStart, replayFrom, replayTo, replayAnchor, replayOldLast;
+    boolean replayTransparentBounds, replayAnchoringBounds;
+    CharSequence replayText;
+
+    /**
+     * Whether hitEnd or requireEnd has been asked for, in which case this
+     * matcher is expected to ask again, and uses the object tree rather
+     * than repeating each match operation with it.
+     */
+    boolean endQueried;
+
     /**
      * No default constructor.
      */
@@ -273,6 +313,8 @@ public final class Matcher implements MatchResult {
     public Matcher usePattern(Pattern newPattern) {
         if (newPattern == null)
             throw new IllegalArgumentException("Pattern cannot be null");
+        if (replayRoot != null)
+            replay();
         parentPattern = newPattern;
 
         // Reallocate state storage
@@ -283,6 +325,7 @@ public final class Matcher implements MatchResult {
             groups[i] = -1;
         for (int i = 0; i < locals.length; i++)
             locals[i] = -1;
+        requiredAt = -1;
         return this;
     }
 
@@ -307,6 +350,7 @@ public final class Matcher implements MatchResult {
         lastAppendPosition = 0;
         from = 0;
         to = getTextLength();
+        requiredAt = -1;
         return this;
     }
 
@@ -575,6 +619,63 @@ public final class Matcher implements MatchResult {
         return getSubSequence(groups[group * 2], groups[group * 2 + 1]).toString();
     }
 
+    /**
+     * Returns a view of the input subsequence matched by the previous match.
+     *
+     * <p> This method works as {@link #group() group()} does, except that the
+     * subsequence is not copied: the returned sequence reads the characters
+     * of the input sequence, and reflects any later change to it.  It is
+     * not affected by further match operations of this matcher.  </p>
+     *
+     * @return The (possibly empty) subsequence matched by the previous match,
+     *         as a view of the input sequence
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     * @since 1.9
+     */
+    public CharSequence groupView() {
+        return groupView(0);
+    }
+
+    /**
+     * Returns a view of the input subsequence captured by the given group
+     * during the previous match operation.
+     *
+     * <p> This method works as {@link #group(int) group(int)} does, except
+     * that the subsequence is not copied: the returned sequence reads the
+     * characters of the input sequence, and reflects any later change to
+     * it.  It is not affected by further match operations of this matcher.
+     * </p>
+     *
+     * @param  group
+     *         The index of a capturing group in this matcher's pattern
+     *
+     * @return  The (possibly empty) subsequence captured by the group
+     *          during the previous match, as a view of the input sequence,
+     *          or <tt>null</tt> if the group failed to match part of
+     *          the input
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If there is no capturing group in the pattern
+     *          with the given index
+     * @since 1.9
+     */
+    public CharSequence groupView(int group) {
+        if (first < 0)
+            throw new IllegalStateException("No match found");
+        if (group < 0 || group > groupCount())
+            throw new IndexOutOfBoundsException("No group " + group);
+        if ((groups[group*2] == -1) || (groups[group*2+1] == -1))
+            return null;
+        return new View(text, groups[group * 2], groups[group * 2 + 1]);
+    }
+
     /**
      * Returns the number of capturing groups in this matcher's pattern.
      *
@@ -798,9 +899,74 @@ public final class Matcher implements MatchResult {
             throw new IllegalStateException("No match available");
 
         // Process substitution string to replace group references with groups
-        int cursor = 0;
         StringBuilder result = new StringBuilder();
+        appendExpandedReplacement(replacement, result);
+        // Append the intervening text
+        sb.append(text, lastAppendPosition, first);
+        // Append the match substitution
+        sb.append(result);
+
+        lastAppendPosition = last;
+        return this;
+    }
 
+    /**
+     * Implements a non-terminal append-and-replace step.
+     *
+     * <p> This method works as {@link #appendReplacement(StringBuffer,
+     * String) appendReplacement(StringBuffer, String)} does, except that it
+     * appends to a string builder, and that the replacement is appended
+     * without building an intermediate string.  If the replacement string
+     * is invalid the string builder is left as it was.
+     *
+     * @param  sb
+     *         The target string builder
+     *
+     * @param  replacement
+     *         The replacement string
+     *
+     * @return  This matcher
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IllegalArgumentException
+     *          If the replacement string refers to a named-capturing
+     *          group that does not exist in the pattern
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the replacement string refers to a capturing group
+     *          that does not exist in the pattern
+     * @since 1.9
+     */
+    public Matcher appendReplacement(StringBuilder sb, String replacement) {
+
+        // If no match, return error
+        if (first < 0)
+            throw new IllegalStateException("No match available");
+
+        int length = sb.length();
+        // Append the intervening text
+        sb.append(text, lastAppendPosition, first);
+        try {
+            appendExpandedReplacement(replacement, sb);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            sb.setLength(length);
+            throw e;
+        }
+
+        lastAppendPosition = last;
+        return this;
+    }
+
+    /**
+     * Processes a replacement string, appending it to the result with
+     * every group reference replaced by the group it refers to.
+     */
+    private void appendExpandedReplacement(String replacement,
+                                           StringBuilder result) {
+        int cursor = 0;
         while (cursor < replacement.length()) {
             char nextChar = replacement.charAt(cursor);
             if (nextChar == '\\') {
@@ -884,13 +1050,6 @@ public final class Matcher implements MatchResult {
                 cursor++;
             }
         }
-        // Append the intervening text
-        sb.append(text, lastAppendPosition, first);
-        // Append the match substitution
-        sb.append(result);
-
-        lastAppendPosition = last;
-        return this;
     }
 
     /**
@@ -912,6 +1071,27 @@ public final class Matcher implements MatchResult {
         return sb;
     }
 
+    /**
+     * Implements a terminal append-and-replace step.
+     *
+     * <p> This method works as {@link #appendTail(StringBuffer)
+     * appendTail(StringBuffer)} does, except that it appends to a string
+     * builder.  It is intended to be invoked after one or more invocations
+     * of the {@link #appendReplacement(StringBuilder, String)
+     * appendReplacement} method in order to copy the remainder of the input
+     * sequence.
+     *
+     * @param  sb
+     *         The target string builder
+     *
+     * @return  The target string builder
+     * @since 1.9
+     */
+    public StringBuilder appendTail(StringBuilder sb) {
+        sb.append(text, lastAppendPosition, getTextLength());
+        return sb;
+    }
+
     /**
      * Replaces every subsequence of the input sequence that matches the
      * pattern with the given replacement string.
@@ -950,7 +1130,7 @@ public final class Matcher implements MatchResult {
         reset();
         boolean result = find();
         if (result) {
-            StringBuffer sb = new StringBuffer();
+            StringBuilder sb = new StringBuilder();
             do {
                 appendReplacement(sb, replacement);
                 result = find();
@@ -961,6 +1141,37 @@ public final class Matcher implements MatchResult {
         return text.toString();
     }
 
+    /**
+     * Replaces every subsequence of the input sequence that matches the
+     * pattern with the given replacement string, appending the result to
+     * the given string builder.
+     *
+     * <p> This method works as {@link #replaceAll(String) replaceAll(String)}
+     * does, except that the result is appended to a string builder supplied
+     * by the caller, so that no string is created for it.  If the
+     * replacement string is invalid the string builder may hold the input
+     * sequence up to the first match.
+     *
+     * <p> Invoking this method changes this matcher's state.  If the matcher
+     * is to be used in further matching operations then it should first be
+     * reset.  </p>
+     *
+     * @param  replacement
+     *         The replacement string
+     *
+     * @param  sb
+     *         The target string builder
+     *
+     * @return  The target string builder
+     * @since 1.9
+     */
+    public StringBuilder replaceAll(String replacement, StringBuilder sb) {
+        reset();
+        while (find())
+            appendReplacement(sb, replacement);
+        return appendTail(sb);
+    }
+
     /**
      * Replaces the first subsequence of the input sequence that matches the
      * pattern with the given replacement string.
@@ -1000,7 +1211,7 @@ public final class Matcher implements MatchResult {
         reset();
         if (!find())
             return text.toString();
-        StringBuffer sb = new StringBuffer();
+        StringBuilder sb = new StringBuilder();
         appendReplacement(sb, replacement);
         appendTail(sb);
         return sb.toString();
@@ -1202,6 +1413,9 @@ public final class Matcher implements MatchResult {
      * @since 1.5
      */
     public boolean hitEnd() {
+        endQueried = true;
+        if (replayRoot != null)
+            replay();
         return hitEnd;
     }
 
@@ -1220,9 +1434,98 @@ public final class Matcher implements MatchResult {
      * @since 1.5
      */
     public boolean requireEnd() {
+        endQueried = true;
+        if (replayRoot != null)
+            replay();
         return requireEnd;
     }
 
+    /**
+     * Returns the automaton to perform a match operation with, or null if
+     * the object tree is to be used.  The tree is used once hitEnd or
+     * requireEnd has been asked for, unless linear time is required.
+     */
+    private Automaton automaton() {
+        Automaton automaton = parentPattern.automaton;
+        if (automaton != null && endQueried
+            && (parentPattern.flags() & Pattern.LINEAR_TIME) == 0)
+            return null;
+        return automaton;
+    }
+
+    /**
+     * Records a match operation performed by the automaton from the given
+     * index, which the given root of the object tree performs, so that hitEnd and requireEnd can be computed by the object
+     * tree, unless linear time is required.
+     */
+    private void replayLater(Pattern.Node root, int from, int anchor,
+                             int oldLast) {
+        if ((parentPattern.flags() & Pattern.LINEAR_TIME) != 0)
+            return;
+        replayRoot = root;
+        replayStart = from;
+        replayAnchor = anchor;
+        replayOldLast = oldLast;
+        replayText = text;
+        replayFrom = this.from;
+        replayTo = to;
+        replayTransparentBounds = transparentBounds;
+        replayAnchoringBounds = anchoringBounds;
+    }
+
+    /**
+     * Repeats the last match operation, which was performed by the
+     * automaton, with the object tree to compute hitEnd and requireEnd.
+     * The rest of the state of this matcher is left as it was.  If the
+     * tree overflows the stack, which the automaton does not, the flags
+     * left by the automaton are kept.
+     */
+    private void replay() {
+        Pattern.Node root = replayRoot;
+        int start = replayStart;
+        replayRoot = null;
+        CharSequence savedText = text;
+        int savedFrom = from, savedTo = to;
+        boolean savedTransparentBounds = transparentBounds;
+        boolean savedAnchoringBounds = anchoringBounds;
+        int savedFirst = first, savedLast = last, savedOldLast = oldLast;
+        int savedAcceptMode = acceptMode, savedRequiredAt = requiredAt;
+        boolean savedHitEnd = hitEnd, savedRequireEnd = requireEnd;
+        int[] savedGroups = groups.clone();
+        text = replayText;
+        replayText = null;
+        from = replayFrom;
+        to = replayTo;
+        transparentBounds = replayTransparentBounds;
+        anchoringBounds = replayAnchoringBounds;
+        first = start;
+        oldLast = replayOldLast;
+        acceptMode = replayAnchor;
+        requiredAt = -1;
+        hitEnd = false;
+        requireEnd = false;
+        for (int i = 0; i < groups.length; i++)
+            groups[i] = -1;
+        try {
+            root.match(this, start, text);
+        } catch (StackOverflowError e) {
+            hitEnd = savedHitEnd;
+            requireEnd = savedRequireEnd;
+        } finally {
+            text = savedText;
+            from = savedFrom;
+            to = savedTo;
+            transparentBounds = savedTransparentBounds;
+            anchoringBounds = savedAnchoringBounds;
+            first = savedFirst;
+            last = savedLast;
+            oldLast = savedOldLast;
+            acceptMode = savedAcceptMode;
+            requiredAt = savedRequiredAt;
+            groups = savedGroups;
+        }
+    }
+
     /**
      * Initiates a search to find a Pattern within the given bounds.
      * The groups are filled with default values and the match of the root
@@ -1239,13 +1542,28 @@ public final class Matcher implements MatchResult {
     boolean search(int from) {
         this.hitEnd = false;
         this.requireEnd = false;
+        this.replayRoot = null;
         from        = from < 0 ? 0 : from;
         this.first  = from;
         this.oldLast = oldLast < 0 ? from : oldLast;
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = NOANCHOR;
-        boolean result = parentPattern.root.match(this, from, text);
+        Automaton automaton = automaton();
+        Pattern.Prefilter filter = parentPattern.prefilter;
+        boolean result;
+        int start = from;
+        if (automaton == null) {
+            result = parentPattern.root.match(this, from, text);
+        } else if (filter != null
+                   && (start = filter.start(this, from, text)) < 0) {
+            // As the tree would leave them, see Pattern.Prefilter
+            this.hitEnd = true;
+            result = false;
+        } else {
+            replayLater(parentPattern.root, from, NOANCHOR, oldLast);
+            result = automaton.search(this, start, text);
+        }
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -1261,13 +1579,21 @@ public final class Matcher implements MatchResult {
     boolean match(int from, int anchor) {
         this.hitEnd = false;
         this.requireEnd = false;
+        this.replayRoot = null;
         from        = from < 0 ? 0 : from;
         this.first  = from;
         this.oldLast = oldLast < 0 ? from : oldLast;
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = anchor;
-        boolean result = parentPattern.matchRoot.match(this, from, text);
+        Automaton automaton = automaton();
+        boolean result;
+        if (automaton != null) {
+            replayLater(parentPattern.matchRoot, from, anchor, oldLast);
+            result = automaton.match(this, from, text);
+        } else {
+            result = parentPattern.matchRoot.match(this, from, text);
+        }
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -1316,4 +1642,41 @@ public final class Matcher implements MatchResult {
             throw new IllegalArgumentException("No group with name <" + name + ">");
         return parentPattern.namedGroups().get(name);
     }
+
+    /**
+     * A subsequence of a character sequence that reads the characters of
+     * the sequence instead of copying them.
+     */
+    private static final class View implements CharSequence {
+        private final CharSequence text;
+        private final int start;
+        private final int end;
+
+        View(CharSequence text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int length() {
+            return end - start;
+        }
+
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start)
+                throw new IndexOutOfBoundsException("index " + index);
+            return text.charAt(start + index);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > this.end - this.start || start > end)
+                throw new IndexOutOfBoundsException(
+                    "start " + start + ", end " + end);
+            return new View(text, this.start + start, this.start + end);
+        }
+
+        public String toString() {
+            return text.subSequence(start, end).toString();
+        }
+    }
 }
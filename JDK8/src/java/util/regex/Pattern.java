@@ -917,6 +917,40 @@ public final class Pattern
      */
     public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+    /**
+     * Requires that this pattern be matched in time linear in the length of
+     * the input.
+     *
+     * <p> When this flag is specified the pattern is matched by an automaton
+     * that follows every alternative of the expression in parallel instead
+     * of backtracking, so the time taken is bounded by the length of the
+     * input times the size of the pattern.  Groups capture what they would
+     * capture without the flag, except that a group nested within a
+     * quantified group captures its last iteration, where the backtracking
+     * matcher may report an earlier one.  Back references, lookahead,
+     * lookbehind, independent groups, possessive quantifiers and
+     * <tt>\R</tt> cannot be matched this way, and a pattern containing any
+     * of them is rejected.
+     *
+     * <p> Patterns with alternation or quantifiers that contain none of
+     * these constructs are matched by the automaton whether or not this
+     * flag is specified, unless they have such nested groups.  The flag
+     * makes the guarantee explicit and extends it to patterns that would
+     * otherwise keep the backtracking matcher.
+     *
+     * <p> With this flag, {@link Matcher#hitEnd hitEnd} and {@link
+     * Matcher#requireEnd requireEnd} are also computed by the automaton.
+     * Since it tries alternatives that the backtracking matcher would not,
+     * they may return true where the backtracking matcher would return
+     * false.  Without the flag they return what the backtracking matcher
+     * would return.
+     *
+     * <p> There is no embedded flag character for linear-time matching.
+     *
+     * @since 1.9
+     */
+    public static final int LINEAR_TIME = 0x200;
+
     /* Pattern has only two serialized components: The pattern string
      * and the flags, which are all that is needed to recompile the pattern
      * when it is deserialized.
@@ -1015,6 +1049,24 @@ public final class Pattern
      */
     private transient boolean hasSupplementary;
 
+    /**
+     * If a node of the pattern may set requireEnd, which it may do even in
+     * a match attempt that fails: $, \Z, \b, \B or a negative lookahead.
+     */
+    private transient boolean mayRequireEnd;
+
+    /**
+     * The linear-time automaton matching this pattern in place of the
+     * object tree, or null if the tree is used.
+     */
+    transient Automaton automaton;
+
+    /**
+     * The screen applied to candidate start positions of a search, or null
+     * if every position is tried.
+     */
+    transient Prefilter prefilter;
+
     /**
      * Compiles the given regular expression into a pattern.
      *
@@ -1039,8 +1091,8 @@ public final class Pattern
      *         Match flags, a bit mask that may include
      *         {@link #CASE_INSENSITIVE}, {@link #MULTILINE}, {@link #DOTALL},
      *         {@link #UNICODE_CASE}, {@link #CANON_EQ}, {@link #UNIX_LINES},
-     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS}
-     *         and {@link #COMMENTS}
+     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS},
+     *         {@link #LINEAR_TIME} and {@link #COMMENTS}
      *
      * @return the given regular expression compiled into a pattern with the given flags
      * @throws  IllegalArgumentException
@@ -1094,6 +1146,94 @@ public final class Pattern
         return m;
     }
 
+    /**
+     * Returns a matcher that will match the given input against this
+     * pattern, reusing one released on the current thread if there is one.
+     *
+     * <p> The matchers of a pattern hold storage proportional to its number
+     * of groups.  Code that matches a pattern very frequently can avoid
+     * allocating a matcher each time by acquiring it with this method and
+     * handing it back with {@link #releaseMatcher releaseMatcher} once it is
+     * done with it:
+     *
+     * <blockquote><pre>
+     * Matcher m = p.acquireMatcher(input);
+     * try {
+     *     while (m.find())
+     *         process(m.start(), m.end());
+     * } finally {
+     *     p.releaseMatcher(m);
+     * }</pre></blockquote>
+     *
+     * <p> Released matchers are kept per thread, a few at a time across all
+     * patterns, so a matcher is never handed to two threads.  The matcher
+     * returned is in the state of a newly created one.  </p>
+     *
+     * @param  input
+     *         The character sequence to be matched
+     *
+     * @return  A matcher for this pattern
+     * @since 1.9
+     */
+    public Matcher acquireMatcher(CharSequence input) {
+        Matcher[] free = freeMatchers.get();
+        for (int i = 0; i < free.length; i++) {
+            Matcher m = free[i];
+            if (m != null && m.parentPattern == this) {
+                System.arraycopy(free, i + 1, free, i, free.length - i - 1);
+                free[free.length - 1] = null;
+                m.pooled = false;
+                return m.reset(input);
+            }
+        }
+        return matcher(input);
+    }
+
+    /**
+     * Hands back a matcher of this pattern, so that it may be returned by a
+     * later invocation of {@link #acquireMatcher acquireMatcher} on the
+     * current thread.  The matcher must not be used after it is released.
+     *
+     * @param  matcher
+     *         A matcher of this pattern, obtained from {@link #matcher
+     *         matcher} or {@link #acquireMatcher acquireMatcher}
+     *
+     * @throws  IllegalArgumentException
+     *          If the matcher does not use this pattern
+     *
+     * @throws  IllegalStateException
+     *          If the matcher has already been released
+     * @since 1.9
+     */
+    public void releaseMatcher(Matcher matcher) {
+        if (matcher.parentPattern != this)
+            throw new IllegalArgumentException("Matcher of another pattern");
+        if (matcher.pooled)
+            throw new IllegalStateException("Matcher already released");
+        matcher.reset("");
+        matcher.transparentBounds = false;
+        matcher.anchoringBounds = true;
+        matcher.replayRoot = null;
+        matcher.replayText = null;
+        matcher.endQueried = false;
+        matcher.pooled = true;
+        Matcher[] free = freeMatchers.get();
+        System.arraycopy(free, 0, free, 1, free.length - 1);
+        free[0] = matcher;
+    }
+
+    /**
+     * The most recently released matchers of the current thread, most
+     * recent first.  They are not kept per pattern, so that a pattern is
+     * only held by a thread while one of its matchers is among these.
+     */
+    private static final ThreadLocal<Matcher[]> freeMatchers =
+        new ThreadLocal<Matcher[]>() {
+            protected Matcher[] initialValue() {
+                return new Matcher[4];
+            }
+        };
+
     /**
      * Returns this pattern's match flags.
      *
@@ -1203,7 +1343,7 @@ public final class Pattern
         int index = 0;
         boolean matchLimited = limit > 0;
         ArrayList<String> matchList = new ArrayList<>();
-        Matcher m = matcher(input);
+        Matcher m = acquireMatcher(input);
 
         // Add segments before each match found
         while(m.find()) {
@@ -1223,6 +1363,7 @@ public final class Pattern
                 index = m.end();
             }
         }
+        releaseMatcher(m);
 
         // If no match was found, return this
         if (index == 0)
@@ -1273,6 +1414,84 @@ public final class Pattern
         return split(input, 0);
     }
 
+    /**
+     * Splits the given input sequence around matches of this pattern,
+     * storing the bounds of the pieces in the given array.
+     *
+     * <p> This method finds the same pieces as {@link
+     * #split(java.lang.CharSequence, int) split(input, limit)}, but rather
+     * than creating a string for each it stores the index of its first
+     * character at <tt>bounds[2*</tt><i>k</i><tt>]</tt> and the index after
+     * its last character at <tt>bounds[2*</tt><i>k</i><tt>+1]</tt>, where
+     * <i>k</i> is the index the piece would have in the resulting array.
+     * If the array is too short for all the pieces, the bounds of as many
+     * as fit are stored.  Used with {@link #acquireMatcher acquireMatcher},
+     * this allows input to be split without allocating.  </p>
+     *
+     * @param  input
+     *         The character sequence to be split
+     *
+     * @param  limit
+     *         The result threshold, as described in {@link
+     *         #split(java.lang.CharSequence, int) split(input, limit)}
+     *
+     * @param  bounds
+     *         The array in which the bounds of the pieces are stored
+     *
+     * @return  The number of pieces, which may be larger than
+     *          <tt>bounds.length/2</tt>
+     * @since 1.9
+     */
+    public int split(CharSequence input, int limit, int[] bounds) {
+        int index = 0;
+        boolean matchLimited = limit > 0;
+        int count = 0;
+        int nonEmpty = 0;
+        Matcher m = acquireMatcher(input);
+
+        // Add segments before each match found
+        while (m.find()) {
+            if (!matchLimited || count < limit - 1) {
+                if (index == 0 && index == m.start() && m.start() == m.end()) {
+                    // no empty leading substring included for zero-width match
+                    // at the beginning of the input char sequence.
+                    continue;
+                }
+                storePiece(bounds, count++, index, m.start());
+                if (index < m.start())
+                    nonEmpty = count;
+                index = m.end();
+            } else if (count == limit - 1) { // last one
+                storePiece(bounds, count++, index, input.length());
+                index = m.end();
+            }
+        }
+        releaseMatcher(m);
+
+        // If no match was found, the input is the only piece
+        if (index == 0) {
+            storePiece(bounds, 0, 0, input.length());
+            return 1;
+        }
+
+        // Add remaining segment
+        if (!matchLimited || count < limit) {
+            storePiece(bounds, count++, index, input.length());
+            if (index < input.length())
+                nonEmpty = count;
+        }
+
+        // Trailing empty pieces are dropped without a limit
+        return (limit == 0) ? nonEmpty : count;
+    }
+
+    private static void storePiece(int[] bounds, int k, int start, int end) {
+        if (2 * k + 1 < bounds.length) {
+            bounds[2 * k] = start;
+            bounds[2 * k + 1] = end;
+        }
+    }
+
     /**
      * Returns a literal pattern <code>String</code> for the specified
      * <code>String</code>.
@@ -1717,6 +1936,16 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         } else {
             root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
         }
+        if (root.getClass() == Start.class) {
+            Start start = (Start) root;
+            prefilter = start.prefilter =
+                Prefilter.of(matchRoot, start.minLength, mayRequireEnd);
+        }
+
+        automaton = Automaton.of(this, has(LINEAR_TIME));
+        if (automaton == null && has(LINEAR_TIME))
+            throw new PatternSyntaxException(
+                "Construct not supported in linear time", normalizedPattern, -1);
 
         // Release temporary storage
         temp = null;
@@ -2094,6 +2323,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                 break;
             case '$':
                 next();
+                mayRequireEnd = true;
                 if (has(UNIX_LINES))
                     node = new UnixDollar(has(MULTILINE));
                 else
@@ -2321,6 +2551,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         case 'B':
             if (inclass) break;
             if (create) root = new Bound(Bound.NONE, has(UNICODE_CHARACTER_CLASS));
+            mayRequireEnd = true;
             return -1;
         case 'C':
             break;
@@ -2380,12 +2611,14 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                 else
                     root = new Dollar(false);
             }
+            mayRequireEnd = true;
             return -1;
         case 'a':
             return '\007';
         case 'b':
             if (inclass) break;
             if (create) root = new Bound(Bound.BOTH, has(UNICODE_CHARACTER_CLASS));
+            mayRequireEnd = true;
             return -1;
         case 'c':
             return c();
@@ -2831,6 +3064,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                     head = tail = new Pos(head);
                 } else {
                     head = tail = new Neg(head);
+                    mayRequireEnd = true;
                 }
                 break;
             case '>':   // (?>xxx)  independent group
@@ -3447,6 +3681,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      */
     static class Start extends Node {
         int minLength;
+        Prefilter prefilter;
         Start(Node node) {
             this.next = node;
             TreeInfo info = new TreeInfo();
@@ -3459,7 +3694,10 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                 return false;
             }
             int guard = matcher.to - minLength;
+            Prefilter filter = prefilter;
             for (; i <= guard; i++) {
+                if (filter != null && (i = filter.next(matcher, i, guard, seq)) < 0)
+                    break;
                 if (next.match(matcher, i, seq)) {
                     matcher.first = i;
                     matcher.groups[0] = matcher.first;
@@ -3515,16 +3753,33 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         }
     }
 
+    /**
+     * Base class for the zero-width nodes whose outcome depends only on
+     * the input around the current position. The test is kept apart from
+     * the match so the linear-time engine can evaluate it on its own.
+     */
+    static abstract class Anchor extends Node {
+        abstract boolean isSatisfiedAt(Matcher matcher, int i,
+                                       CharSequence seq);
+        boolean match(Matcher matcher, int i, CharSequence seq) {
+            return isSatisfiedAt(matcher, i, seq)
+                && next.match(matcher, i, seq);
+        }
+    }
+
     /**
      * Node to anchor at the beginning of input. This object implements the
      * match for a \A sequence, and the caret anchor will use this if not in
      * multiline mode.
      */
-    static final class Begin extends Node {
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+    static final class Begin extends Anchor {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int fromIndex = (matcher.anchoringBounds) ?
                 matcher.from : 0;
-            if (i == fromIndex && next.match(matcher, i, seq)) {
+            return i == fromIndex;
+        }
+        boolean match(Matcher matcher, int i, CharSequence seq) {
+            if (isSatisfiedAt(matcher, i, seq) && next.match(matcher, i, seq)) {
                 matcher.first = i;
                 matcher.groups[0] = i;
                 matcher.groups[1] = matcher.last;
@@ -3539,13 +3794,13 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Node to anchor at the end of input. This is the absolute end, so this
      * should not match at the last newline before the end as $ will.
      */
-    static final class End extends Node {
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+    static final class End extends Anchor {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int endIndex = (matcher.anchoringBounds) ?
                 matcher.to : matcher.getTextLength();
             if (i == endIndex) {
                 matcher.hitEnd = true;
-                return next.match(matcher, i, seq);
+                return true;
             }
             return false;
         }
@@ -3555,8 +3810,8 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Node to anchor at the beginning of a line. This is essentially the
      * object to match for the multiline ^.
      */
-    static final class Caret extends Node {
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+    static final class Caret extends Anchor {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int startIndex = matcher.from;
             int endIndex = matcher.to;
             if (!matcher.anchoringBounds) {
@@ -3579,15 +3834,15 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                 if (ch == '\r' && seq.charAt(i) == '\n')
                     return false;
             }
-            return next.match(matcher, i, seq);
+            return true;
         }
     }
 
     /**
      * Node to anchor at the beginning of a line when in unixdot mode.
      */
-    static final class UnixCaret extends Node {
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+    static final class UnixCaret extends Anchor {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int startIndex = matcher.from;
             int endIndex = matcher.to;
             if (!matcher.anchoringBounds) {
@@ -3605,7 +3860,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                     return false;
                 }
             }
-            return next.match(matcher, i, seq);
+            return true;
         }
     }
 
@@ -3613,11 +3868,9 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Node to match the location where the last match ended.
      * This is used for the \G construct.
      */
-    static final class LastMatch extends Node {
-        boolean match(Matcher matcher, int i, CharSequence seq) {
-            if (i != matcher.oldLast)
-                return false;
-            return next.match(matcher, i, seq);
+    static final class LastMatch extends Anchor {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
+            return i == matcher.oldLast;
         }
     }
 
@@ -3634,12 +3887,12 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Like ^ the $ operator matches at a position, it does not match the
      * line terminators themselves.
      */
-    static final class Dollar extends Node {
+    static final class Dollar extends Anchor {
         boolean multiline;
         Dollar(boolean mul) {
             multiline = mul;
         }
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int endIndex = (matcher.anchoringBounds) ?
                 matcher.to : matcher.getTextLength();
             if (!multiline) {
@@ -3669,11 +3922,11 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                      if (i > 0 && seq.charAt(i-1) == '\r')
                          return false;
                      if (multiline)
-                         return next.match(matcher, i, seq);
+                         return true;
                  } else if (ch == '\r' || ch == '\u0085' ||
                             (ch|1) == '\u2029') {
                      if (multiline)
-                         return next.match(matcher, i, seq);
+                         return true;
                  } else { // No line terminator, no match
                      return false;
                  }
@@ -3683,7 +3936,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
             // If a $ matches because of end of input, then more input
             // could cause it to fail!
             matcher.requireEnd = true;
-            return next.match(matcher, i, seq);
+            return true;
         }
         boolean study(TreeInfo info) {
             next.study(info);
@@ -3695,12 +3948,12 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Node to anchor at the end of a line or the end of input based on the
      * multiline mode when in unix lines mode.
      */
-    static final class UnixDollar extends Node {
+    static final class UnixDollar extends Anchor {
         boolean multiline;
         UnixDollar(boolean mul) {
             multiline = mul;
         }
-        boolean match(Matcher matcher, int i, CharSequence seq) {
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
             int endIndex = (matcher.anchoringBounds) ?
                 matcher.to : matcher.getTextLength();
             if (i < endIndex) {
@@ -3710,10 +3963,10 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
                     // match at very end or one before end
                     if (multiline == false && i != endIndex - 1)
                         return false;
-                    // If multiline return next.match without setting
+                    // If multiline match here without setting
                     // matcher.hitEnd
                     if (multiline)
-                        return next.match(matcher, i, seq);
+                        return true;
                 } else {
                     return false;
                 }
@@ -3765,7 +4018,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Abstract node class to match one character satisfying some
      * boolean property.
      */
-    private static abstract class CharProperty extends Node {
+    static abstract class CharProperty extends Node {
         abstract boolean isSatisfiedBy(int ch);
         CharProperty complement() {
             return new CharProperty() {
@@ -3793,7 +4046,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * Optimized version of CharProperty that works only for
      * properties never satisfied by Supplementary characters.
      */
-    private static abstract class BmpCharProperty extends CharProperty {
+    static abstract class BmpCharProperty extends CharProperty {
         boolean match(Matcher matcher, int i, CharSequence seq) {
             if (i < matcher.to) {
                 return isSatisfiedBy(seq.charAt(i))
@@ -5280,7 +5533,7 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
      * can are also part of a word if they have a base character, otherwise
      * they are ignored for purposes of finding word boundaries.
      */
-    static final class Bound extends Node {
+    static final class Bound extends Anchor {
         static int LEFT = 0x1;
         static int RIGHT= 0x2;
         static int BOTH = 0x3;
@@ -5326,9 +5579,8 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
             }
             return ((left ^ right) ? (right ? LEFT : RIGHT) : NONE);
         }
-        boolean match(Matcher matcher, int i, CharSequence seq) {
-            return (check(matcher, i, seq) & type) > 0
-                && next.match(matcher, i, seq);
+        boolean isSatisfiedAt(Matcher matcher, int i, CharSequence seq) {
+            return (check(matcher, i, seq) & type) > 0;
         }
     }
 
@@ -5539,6 +5791,312 @@ NEXT:       while (i <= last) {
         }
     }
 
+    /**
+     * Screens the candidate start positions of an unanchored search before
+     * the object tree is entered. The screen is derived from the tree when
+     * the pattern is compiled and uses, in order of preference, a literal
+     * prefix every match starts with, or the set of characters a match can
+     * start with. Independently, a literal every match must contain is
+     * looked for once before any position is tried, so that inputs lacking
+     * it fail without a match attempt.
+     *
+     * Positions are only skipped where the tree would fail before reaching
+     * the end of input, so hitEnd and requireEnd are left as the tree would
+     * leave them. A failed search sets hitEnd in any case, but a failed
+     * attempt may also set requireEnd, so the required literal is not used
+     * if the pattern has a node that may set it.
+     */
+    static final class Prefilter {
+        /**
+         * Bound on the nodes visited while collecting the first characters;
+         * nested optional alternations can otherwise be explored an
+         * exponential number of times.
+         */
+        private static final int MAX_VISITS = 1000;
+
+        final int minLength;
+        char[] prefix;
+        int[] prefixShift;
+        char[] required;
+        int[] requiredShift;
+        long[] firstChars;
+        boolean nonAsciiFirst;
+        private int visits;
+
+        private Prefilter(int minLength) {
+            this.minLength = minLength;
+        }
+
+        /**
+         * Returns the screen for the given match root, or null if nothing
+         * can be learnt from it that would save any match attempts.
+         */
+        static Prefilter of(Node root, int minLength, boolean mayRequireEnd) {
+            Prefilter f = new Prefilter(minLength);
+            StringBuilder sb = new StringBuilder();
+            Node node = root;
+            while (node != null) {
+                if (node instanceof GroupHead || node instanceof GroupTail) {
+                    node = node.next;
+                } else if (node instanceof Slice) {
+                    for (int c : ((Slice)node).buffer)
+                        sb.append((char)c);
+                    node = node.next;
+                } else if (node instanceof Single) {
+                    sb.append((char)((Single)node).c);
+                    node = node.next;
+                } else if (node instanceof Curly
+                           && ((Curly)node).atom instanceof Single
+                           && ((Curly)node).cmin > 0) {
+                    Curly curly = (Curly)node;
+                    for (int j = 0; j < curly.cmin && sb.length() < minLength; j++)
+                        sb.append((char)((Single)curly.atom).c);
+                    node = (curly.cmin == curly.cmax) ? node.next : null;
+                } else {
+                    node = null;
+                }
+            }
+            if (sb.length() > minLength)
+                sb.setLength(minLength);
+            if (sb.length() > 0) {
+                f.prefix = sb.toString().toCharArray();
+                f.prefixShift = shifts(f.prefix);
+            } else if (minLength > 0) {
+                f.firstChars = new long[2];
+                if (!f.first(root) || f.nonAsciiFirst
+                    && f.firstChars[0] == -1L && f.firstChars[1] == -1L)
+                    f.firstChars = null;
+            }
+            char[] literal = mayRequireEnd ? null : required(root);
+            if (literal != null) {
+                f.required = literal;
+                f.requiredShift = shifts(literal);
+            }
+            if (f.prefix == null && f.firstChars == null && f.required == null)
+                return null;
+            return f;
+        }
+
+        /**
+         * Collects the characters the match at the given node can start
+         * with. Returns false if the node might match without consuming
+         * a character, or cannot be analyzed.
+         */
+        private boolean first(Node node) {
+            while (node != null && ++visits < MAX_VISITS) {
+                if (node instanceof GroupHead || node instanceof GroupTail
+                    || node instanceof BranchConn
+                    || node instanceof Caret || node instanceof UnixCaret) {
+                    // Zero width, and never at the end of input here
+                    node = node.next;
+                } else if (node instanceof SliceNode
+                           && ((SliceNode)node).buffer.length == 0) {
+                    node = node.next;
+                } else if (node.getClass() == Slice.class) {
+                    addFirst(((Slice)node).buffer[0]);
+                    return true;
+                } else if (node.getClass() == SliceI.class) {
+                    int c = ((SliceI)node).buffer[0];
+                    addFirst(c);
+                    if (ASCII.isLower(c))
+                        addFirst(ASCII.toUpper(c));
+                    return true;
+                } else if (node instanceof Single) {
+                    addFirst(((Single)node).c);
+                    return true;
+                } else if (node instanceof SingleI) {
+                    addFirst(((SingleI)node).lower);
+                    addFirst(((SingleI)node).upper);
+                    return true;
+                } else if (node instanceof CharProperty) {
+                    CharProperty cp = (CharProperty)node;
+                    for (int c = 0; c < 128; c++) {
+                        if (cp.isSatisfiedBy(c))
+                            addFirst(c);
+                    }
+                    nonAsciiFirst = true;
+                    return true;
+                } else if (node instanceof Branch) {
+                    Branch b = (Branch)node;
+                    for (int n = 0; n < b.size; n++) {
+                        if (!first(b.atoms[n] == null ? b.conn.next : b.atoms[n]))
+                            return false;
+                    }
+                    return true;
+                } else if (node instanceof Ques) {
+                    Ques q = (Ques)node;
+                    if (!first(q.atom))
+                        return false;
+                    if (q.type == INDEPENDENT)
+                        return true;
+                    node = node.next;
+                } else if (node instanceof Curly) {
+                    Curly c = (Curly)node;
+                    if (!first(c.atom))
+                        return false;
+                    if (c.cmin > 0)
+                        return true;
+                    node = node.next;
+                } else if (node instanceof GroupCurly) {
+                    GroupCurly c = (GroupCurly)node;
+                    if (!first(c.atom))
+                        return false;
+                    if (c.cmin > 0)
+                        return true;
+                    node = node.next;
+                } else if (node instanceof Prolog) {
+                    Loop loop = ((Prolog)node).loop;
+                    if (!first(loop.body))
+                        return false;
+                    if (loop.cmin > 0)
+                        return true;
+                    node = loop.next;
+                } else {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private void addFirst(int c) {
+            if (c < 128)
+                firstChars[c >>> 6] |= 1L << c;
+            else
+                nonAsciiFirst = true;
+        }
+
+        /**
+         * Returns the longest run of literal characters that every match
+         * of the given root consumes, other than its prefix, or null.
+         */
+        private static char[] required(Node node) {
+            StringBuilder run = new StringBuilder();
+            String longest = null;
+            boolean leading = true;
+            while (node != null) {
+                if (node instanceof GroupHead || node instanceof GroupTail) {
+                    node = node.next;
+                    continue;
+                }
+                if (node.getClass() == Slice.class) {
+                    for (int c : ((Slice)node).buffer)
+                        run.append((char)c);
+                    node = node.next;
+                    continue;
+                }
+                if (node instanceof Single) {
+                    run.append((char)((Single)node).c);
+                    node = node.next;
+                    continue;
+                }
+                // Any other node ends the current run
+                if (!leading && run.length() > 0
+                    && (longest == null || run.length() > longest.length()))
+                    longest = run.toString();
+                run.setLength(0);
+                leading = false;
+                if (node instanceof Branch)
+                    node = ((Branch)node).conn.next;
+                else if (node instanceof Prolog)
+                    node = ((Prolog)node).loop.next;
+                else if (node instanceof Ques || node instanceof Curly
+                         || node instanceof GroupCurly
+                         || node instanceof CharProperty
+                         || node instanceof SliceNode
+                         || node instanceof Anchor)
+                    node = node.next;
+                else
+                    node = null;
+            }
+            return longest == null ? null : longest.toCharArray();
+        }
+
+        /**
+         * Builds the Horspool shift table of the given literal. As in BnM
+         * only the last seven bits of a character select its entry, each
+         * entry holding the smallest shift among the characters sharing it.
+         */
+        private static int[] shifts(char[] lit) {
+            int m = lit.length;
+            int[] shift = new int[128];
+            Arrays.fill(shift, m);
+            for (int k = 0; k < m - 1; k++)
+                shift[lit[k] & 0x7F] = m - 1 - k;
+            return shift;
+        }
+
+        /**
+         * Returns the index of the first occurrence of the literal lying
+         * entirely within [from, to) of seq, or -1.
+         */
+        private static int indexOf(char[] lit, int[] shift,
+                                   CharSequence seq, int from, int to) {
+            int m = lit.length;
+            int last = to - m;
+            if (m == 1) {
+                char c = lit[0];
+                for (int i = from; i <= last; i++) {
+                    if (seq.charAt(i) == c)
+                        return i;
+                }
+                return -1;
+            }
+            char tail = lit[m - 1];
+            int i = from;
+        NEXT:
+            while (i <= last) {
+                char c = seq.charAt(i + m - 1);
+                if (c == tail) {
+                    for (int j = 0; j < m - 1; j++) {
+                        if (seq.charAt(i + j) != lit[j]) {
+                            i += shift[c & 0x7F];
+                            continue NEXT;
+                        }
+                    }
+                    return i;
+                }
+                i += shift[c & 0x7F];
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the first candidate start position in [i, guard], or -1
+         * if no match can start there.
+         */
+        int next(Matcher matcher, int i, int guard, CharSequence seq) {
+            if (required != null && matcher.requiredAt < i) {
+                int at = indexOf(required, requiredShift, seq, i, matcher.to);
+                if (at < 0)
+                    return -1;
+                matcher.requiredAt = at;
+            }
+            if (prefix != null)
+                return indexOf(prefix, prefixShift, seq, i,
+                               guard + prefix.length);
+            if (firstChars != null) {
+                long[] set = firstChars;
+                for (; i <= guard; i++) {
+                    char c = seq.charAt(i);
+                    if (c < 128 ? (set[c >>> 6] & (1L << c)) != 0
+                                : nonAsciiFirst)
+                        return i;
+                }
+                return -1;
+            }
+            return i;
+        }
+
+        /**
+         * Returns the first candidate start position of a search from i,
+         * or -1 if the search cannot succeed.
+         */
+        int start(Matcher matcher, int i, CharSequence seq) {
+            int guard = matcher.to - minLength;
+            return (i > guard) ? -1 : next(matcher, i, guard, seq);
+        }
+    }
+
 ///////////////////////////////////////////////////////////////////////////////
 ///////////////////////////////////////////////////////////////////////////////
 
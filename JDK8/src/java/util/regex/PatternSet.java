@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A compiled set of regular expressions that are searched for together.
+ *
+ * <p> A pattern set tells which of its patterns occur in an input sequence,
+ * that is, for which of them {@link Matcher#find() find} would succeed on a
+ * newly created matcher of the input.  Rather than searching the input once
+ * for every pattern, the patterns are combined into a single automaton that
+ * reads each character of the input once, so the cost of a search grows
+ * with the length of the input and only slowly with the number of patterns.
+ * This makes a set suitable for testing an input against a large number of
+ * rules:
+ *
+ * <blockquote><pre>
+ * PatternSet rules = PatternSet.compile("(?i)select\\s.*\\sfrom\\s",
+ *                                       "&lt;script",
+ *                                       "\\.\\./");
+ * BitSet hits = rules.find(request);</pre></blockquote>
+ *
+ * <p> Each pattern is compiled by {@link Pattern#compile(String, int)} and
+ * supports the same syntax and flags.  Patterns that use constructs which
+ * cannot be matched by a finite automaton, such as back references,
+ * lookaround, independent groups and possessive quantifiers, are searched
+ * for one at a time after the combined scan, as are patterns containing
+ * supplementary characters.  Specifying {@link Pattern#LINEAR_TIME} rejects
+ * such patterns instead.
+ *
+ * <p> Instances of this class are immutable and are safe for use by multiple
+ * concurrent threads.
+ *
+ * @see Pattern
+ * @since 1.9
+ */
+public final class PatternSet {
+
+    private final Pattern[] patterns;
+
+    /**
+     * The unions of the patterns without anchors and of those with anchors
+     * that an automaton can match, or null if there are no such patterns.
+     */
+    private final Union plain;
+    private final Union anchored;
+
+    /** The indices of the patterns searched for one at a time. */
+    private final int[] separate;
+
+    private PatternSet(Pattern[] patterns) {
+        this.patterns = patterns;
+        boolean[] included = new boolean[patterns.length];
+        plain = Union.of(patterns, included, false);
+        anchored = Union.of(patterns, included, true);
+        int count = 0;
+        for (boolean in : included) {
+            if (!in)
+                count++;
+        }
+        separate = new int[count];
+        count = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (!included[i])
+                separate[count++] = i;
+        }
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid
+     */
+    public static PatternSet compile(String... regexes) {
+        return compile(regexes, 0);
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set with the
+     * given flags, which apply to every expression.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @param  flags
+     *         Match flags, a bit mask that may include the flags accepted
+     *         by {@link Pattern#compile(String, int)}
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  IllegalArgumentException
+     *          If bit values other than those corresponding to the defined
+     *          match flags are set in <tt>flags</tt>
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of any of the expressions is invalid, or if
+     *          {@link Pattern#LINEAR_TIME} is specified and one of them
+     *          cannot be matched in linear time
+     */
+    public static PatternSet compile(String[] regexes, int flags) {
+        Pattern[] patterns = new Pattern[regexes.length];
+        for (int i = 0; i < regexes.length; i++)
+            patterns[i] = Pattern.compile(regexes[i], flags);
+        return new PatternSet(patterns);
+    }
+
+    /**
+     * Returns a pattern set of the given compiled patterns.
+     *
+     * @param  patterns
+     *         The patterns, each compiled with its own flags
+     *
+     * @return a pattern set of the given patterns
+     */
+    public static PatternSet of(Pattern... patterns) {
+        Pattern[] copy = patterns.clone();
+        for (Pattern p : copy)
+            Objects.requireNonNull(p);
+        return new PatternSet(copy);
+    }
+
+    /**
+     * Returns the number of patterns in this set.
+     *
+     * @return the number of patterns in this set
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the pattern with the given index in this set.
+     *
+     * @param  index
+     *         The index of the pattern, in the order the patterns were
+     *         given when the set was created
+     *
+     * @return the pattern with the given index
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the index is negative or not less than {@link #size}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Tells whether any pattern of this set occurs in the given input.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return <tt>true</tt> if, and only if, a subsequence of the input
+     *         matches one of the patterns
+     */
+    public boolean findAny(CharSequence input) {
+        BitSet result = new BitSet();
+        if (plain != null && plain.search(input, result, true) > 0
+            || anchored != null && anchored.search(input, result, true) > 0)
+            return true;
+        for (int i : separate) {
+            if (patterns[i].matcher(input).find())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the indices of the patterns of this set that occur in the
+     * given input.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @return a bit set in which the bit of each pattern, by index, is set
+     *         if, and only if, a subsequence of the input matches it
+     */
+    public BitSet find(CharSequence input) {
+        BitSet result = new BitSet(patterns.length);
+        find(input, result);
+        return result;
+    }
+
+    /**
+     * Finds the patterns of this set that occur in the given input and
+     * records them in a bit set supplied by the caller.  The bit set is
+     * cleared first; then the bit of each pattern, by index, is set if, and
+     * only if, a subsequence of the input matches it.
+     *
+     * @param  input
+     *         The character sequence to be searched
+     *
+     * @param  result
+     *         The bit set the result is stored in
+     *
+     * @return the number of patterns that occur in the input
+     */
+    public int find(CharSequence input, BitSet result) {
+        Objects.requireNonNull(input);
+        result.clear();
+        int count = 0;
+        if (plain != null)
+            count += plain.search(input, result, false);
+        if (anchored != null)
+            count += anchored.search(input, result, false);
+        for (int i : separate) {
+            if (patterns[i].matcher(input).find()) {
+                result.set(i);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * An automaton for the union of some of the patterns of a set, with the
+     * storage used by its last search, kept while no search is running so
+     * that consecutive searches do not allocate it.
+     */
+    private static final class Union {
+        final Automaton automaton;
+        final Pattern first;
+        final AtomicReference<Scratch> spare = new AtomicReference<>();
+
+        private Union(Automaton automaton, Pattern first) {
+            this.automaton = automaton;
+            this.first = first;
+        }
+
+        static Union of(Pattern[] patterns, boolean[] included,
+                        boolean anchored) {
+            Automaton automaton =
+                Automaton.union(patterns, included, anchored);
+            return (automaton != null)
+                ? new Union(automaton, patterns[0]) : null;
+        }
+
+        int search(CharSequence input, BitSet result, boolean any) {
+            Scratch scratch = spare.getAndSet(null);
+            if (scratch == null)
+                scratch = new Scratch(automaton, first, input);
+            Matcher matcher = scratch.matcher.reset(input);
+            // As if find were invoked for the first time, for \G
+            matcher.oldLast = 0;
+            int count = automaton.findAll(matcher, input, scratch.threads,
+                                          result, any);
+            matcher.reset("");
+            spare.set(scratch);
+            return count;
+        }
+    }
+
+    /**
+     * The storage for a search of a union: the threads of the automaton and
+     * a matcher providing the bounds its anchors are tested against.
+     */
+    private static final class Scratch {
+        final Automaton.Threads threads;
+        final Matcher matcher;
+
+        Scratch(Automaton union, Pattern pattern, CharSequence input) {
+            threads = new Automaton.Threads(union);
+            matcher = new Matcher(pattern, input);
+        }
+    }
+}
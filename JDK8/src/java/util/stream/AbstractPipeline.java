@@ -24,8 +24,16 @@
  */
 package java.util.stream;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
@@ -74,6 +82,18 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     private static final String MSG_STREAM_LINKED = "stream has already been operated upon or closed";
     private static final String MSG_CONSUMED = "source already consumed or closed";
 
+    private static final String BATCHED_TRAVERSAL_PROPERTY
+            = "org.openjdk.java.util.stream.batchedTraversal";
+
+    /**
+     * Whether a pipeline whose first sink accepts batches is traversed by
+     * pushing batches of elements to it.
+     *
+     * @see Sink#acceptsBatches()
+     */
+    static final boolean BATCHED_TRAVERSAL = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> Boolean.getBoolean(BATCHED_TRAVERSAL_PROPERTY));
+
     /**
      * Backlink to the head of the pipeline chain (self if this is the source
      * stage).
@@ -148,6 +168,31 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     private boolean parallel;
 
+    /**
+     * The pool in which parallel computations are executed, or null if they
+     * are executed in the common pool; only valid for the source stage.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The target number of leaf tasks of parallel computations, or 0 if it
+     * is {@link AbstractTask#LEAF_TARGET}; only valid for the source stage.
+     */
+    private int leafTarget;
+
+    /**
+     * The maximum number of elements traversed by a leaf task of parallel
+     * computations, or 0 if it is derived from {@link #leafTarget}; only
+     * valid for the source stage.
+     */
+    private long leafSize;
+
+    /**
+     * The profiler recording the evaluation of the pipeline, or null if the
+     * pipeline is not being profiled; only valid for the source stage.
+     */
+    private StreamProfiler profiler;
+
     /**
      * Constructor for the head of a stream pipeline.
      *
@@ -211,6 +256,8 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         if (opIsStateful())
             sourceStage.sourceAnyStateful = true;
         this.depth = previousStage.depth + 1;
+        if (sourceStage.profiler != null)
+            sourceStage.profiler.stageAdded(this);
     }
 
 
@@ -229,9 +276,18 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
-        return isParallel()
-               ? terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags()))
-               : terminalOp.evaluateSequential(this, sourceSpliterator(terminalOp.getOpFlags()));
+        StreamProfiler profiler = sourceStage.profiler;
+        if (profiler != null)
+            profiler.begin(stages());
+        try {
+            return isParallel()
+                   ? inPool(() -> terminalOp.evaluateParallel(this, sourceSpliterator(terminalOp.getOpFlags())))
+                   : terminalOp.evaluateSequential(this, sourceSpliterator(terminalOp.getOpFlags()));
+        }
+        finally {
+            if (profiler != null)
+                profiler.end(isParallel());
+        }
     }
 
     /**
@@ -246,18 +302,41 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             throw new IllegalStateException(MSG_STREAM_LINKED);
         linkedOrConsumed = true;
 
-        // If the last intermediate operation is stateful then
-        // evaluate directly to avoid an extra collection step
-        if (isParallel() && previousStage != null && opIsStateful()) {
-            // Set the depth of this, last, pipeline stage to zero to slice the
-            // pipeline such that this operation will not be included in the
-            // upstream slice and upstream operations will not be included
-            // in this slice
-            depth = 0;
-            return opEvaluateParallel(previousStage, previousStage.sourceSpliterator(0), generator);
+        StreamProfiler profiler = sourceStage.profiler;
+        if (profiler != null)
+            profiler.begin(stages());
+        try {
+            // If the last intermediate operation is stateful then
+            // evaluate directly to avoid an extra collection step
+            if (isParallel() && previousStage != null && opIsStateful()) {
+                // Set the depth of this, last, pipeline stage to zero to slice the
+                // pipeline such that this operation will not be included in the
+                // upstream slice and upstream operations will not be included
+                // in this slice
+                depth = 0;
+                return inPool(() -> {
+                    Spliterator<?> spliterator = previousStage.sourceSpliterator(0);
+                    StreamProfiler.Record r = profilerRecord(this);
+                    if (r == null)
+                        return opEvaluateParallel(previousStage, spliterator, generator);
+
+                    long start = System.nanoTime();
+                    Node<E_OUT> node = opEvaluateParallel(previousStage, spliterator, generator);
+                    r.barrierNanos.add(System.nanoTime() - start);
+                    r.barrierCount = node.count();
+                    return node;
+                });
+            }
+            else if (isParallel()) {
+                return inPool(() -> evaluate(sourceSpliterator(0), true, generator));
+            }
+            else {
+                return evaluate(sourceSpliterator(0), true, generator);
+            }
         }
-        else {
-            return evaluate(sourceSpliterator(0), true, generator);
+        finally {
+            if (profiler != null)
+                profiler.end(isParallel());
         }
     }
 
@@ -302,6 +381,9 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     @SuppressWarnings("unchecked")
     public final S sequential() {
         sourceStage.parallel = false;
+        sourceStage.pool = null;
+        sourceStage.leafTarget = 0;
+        sourceStage.leafSize = 0;
         return (S) this;
     }
 
@@ -309,6 +391,24 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     @SuppressWarnings("unchecked")
     public final S parallel() {
         sourceStage.parallel = true;
+        sourceStage.pool = null;
+        sourceStage.leafTarget = 0;
+        sourceStage.leafSize = 0;
+        return (S) this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final S parallel(ForkJoinPool pool, int parallelism, long leafSize) {
+        Objects.requireNonNull(pool);
+        if (parallelism <= 0)
+            throw new IllegalArgumentException(Integer.toString(parallelism));
+        if (leafSize < 0)
+            throw new IllegalArgumentException(Long.toString(leafSize));
+        sourceStage.parallel = true;
+        sourceStage.pool = pool;
+        sourceStage.leafTarget = (parallelism < (1 << 29)) ? parallelism << 2 : Integer.MAX_VALUE;
+        sourceStage.leafSize = leafSize;
         return (S) this;
     }
 
@@ -361,7 +461,7 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
             }
         }
         else {
-            return wrap(this, () -> sourceSpliterator(0), isParallel());
+            return wrap(this, () -> inPool(() -> sourceSpliterator(0)), isParallel());
         }
     }
 
@@ -428,7 +528,13 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
                         thisOpFlags = thisOpFlags & ~StreamOpFlag.IS_SHORT_CIRCUIT;
                     }
 
+                    StreamProfiler.Record r = profilerRecord(p);
+                    long start = (r != null) ? System.nanoTime() : 0L;
                     spliterator = p.opEvaluateParallelLazy(u, spliterator);
+                    if (r != null) {
+                        r.barrierNanos.add(System.nanoTime() - start);
+                        r.barrierCount = spliterator.getExactSizeIfKnown();
+                    }
 
                     // Inject or clear SIZED on the source pipeline stage
                     // based on the stage's spliterator
@@ -473,13 +579,27 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     final <P_IN> void copyInto(Sink<P_IN> wrappedSink, Spliterator<P_IN> spliterator) {
         Objects.requireNonNull(wrappedSink);
 
         if (!StreamOpFlag.SHORT_CIRCUIT.isKnown(getStreamAndOpFlags())) {
+            StreamProfiler.Record r = (sourceStage.profiler != null)
+                                      ? profilerRecord(segmentHead())
+                                      : null;
+            long start = (r != null) ? System.nanoTime() : 0L;
             wrappedSink.begin(spliterator.getExactSizeIfKnown());
-            spliterator.forEachRemaining(wrappedSink);
+            if (BATCHED_TRAVERSAL && wrappedSink.acceptsBatches()) {
+                @SuppressWarnings("rawtypes")
+                AbstractPipeline p = segmentHead();
+                p.forEachInBatches(spliterator, wrappedSink);
+            }
+            else {
+                spliterator.forEachRemaining(wrappedSink);
+            }
             wrappedSink.end();
+            if (r != null)
+                r.traversalNanos.add(System.nanoTime() - start);
         }
         else {
             copyIntoWithCancel(wrappedSink, spliterator);
@@ -494,9 +614,13 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
         while (p.depth > 0) {
             p = p.previousStage;
         }
+        StreamProfiler.Record r = profilerRecord(p);
+        long start = (r != null) ? System.nanoTime() : 0L;
         wrappedSink.begin(spliterator.getExactSizeIfKnown());
         p.forEachWithCancel(spliterator, wrappedSink);
         wrappedSink.end();
+        if (r != null)
+            r.traversalNanos.add(System.nanoTime() - start);
     }
 
     @Override
@@ -513,12 +637,31 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     final <P_IN> Sink<P_IN> wrapSink(Sink<E_OUT> sink) {
         Objects.requireNonNull(sink);
 
+        if (sourceStage.profiler != null)
+            return profiledWrapSink(sourceStage.profiler, sink);
+
         for ( @SuppressWarnings("rawtypes") AbstractPipeline p=AbstractPipeline.this; p.depth > 0; p=p.previousStage) {
             sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
         }
         return (Sink<P_IN>) sink;
     }
 
+    /**
+     * Wraps a sink as {@link #wrapSink} does, interposing a probe sink of
+     * the given profiler after each stage if the profiler is active.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Sink profiledWrapSink(StreamProfiler profiler, Sink sink) {
+        for (AbstractPipeline p = AbstractPipeline.this; ; p = p.previousStage) {
+            StreamProfiler.Record r = profiler.record(p);
+            if (r != null)
+                sink = StreamProfiler.probe(p.getOutputShape(), r, sink);
+            if (p.depth == 0)
+                return sink;
+            sink = p.opWrapSink(p.previousStage.combinedFlags, sink);
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     final <P_IN> Spliterator<E_OUT> wrapSpliterator(Spliterator<P_IN> sourceSpliterator) {
@@ -547,6 +690,118 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
     }
 
 
+    // Parallel execution
+
+    /**
+     * Performs the given parallel computation of this pipeline in the pool
+     * of this pipeline.  The computation is submitted to the pool and
+     * awaited, unless the pipeline has no pool, or the current thread is a
+     * worker of that pool, in which case the computation is performed
+     * directly, and so its tasks are forked into the common pool or the
+     * pool of the current thread respectively.
+     *
+     * @param computation the computation
+     * @return the result of the computation
+     */
+    private <R> R inPool(Supplier<R> computation) {
+        ForkJoinPool pool = sourceStage.pool;
+        if (pool == null)
+            return computation.get();
+        Thread t = Thread.currentThread();
+        if (t instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) t).getPool() == pool)
+            return computation.get();
+        return pool.invoke(ForkJoinTask.adapt(computation::get));
+    }
+
+    /**
+     * Returns the target number of leaf tasks of parallel computations of
+     * this pipeline.
+     */
+    final int leafTarget() {
+        int t = sourceStage.leafTarget;
+        return (t != 0) ? t : AbstractTask.LEAF_TARGET;
+    }
+
+    /**
+     * Returns a suggested target leaf size for parallel computations of this
+     * pipeline, based on the initial size estimate.
+     *
+     * @return suggested target leaf size
+     */
+    final long suggestTargetSize(long sizeEstimate) {
+        long s = sourceStage.leafSize;
+        if (s != 0L)
+            return s;
+        long est = sizeEstimate / leafTarget();
+        return est > 0L ? est : 1L;
+    }
+
+
+    // Profiling
+
+    /**
+     * Enables profiling of this pipeline, or adds a listener to receive the
+     * profile if profiling is already enabled.
+     *
+     * @param listener the listener to receive the profile
+     * @throws IllegalStateException if this stage has already been linked
+     *         or consumed
+     */
+    final void enableProfiling(Consumer<? super StreamProfile> listener) {
+        if (linkedOrConsumed)
+            throw new IllegalStateException(MSG_STREAM_LINKED);
+        if (sourceStage.profiler == null) {
+            StreamProfiler profiler = new StreamProfiler(listener);
+            for (AbstractPipeline<?, ?, ?> p = sourceStage.nextStage; p != null; p = p.nextStage)
+                profiler.stageFound(p);
+            sourceStage.profiler = profiler;
+        }
+        else
+            sourceStage.profiler.addListener(listener);
+    }
+
+    /**
+     * Returns the profiler of this pipeline, or {@code null} if the pipeline
+     * is not being profiled.
+     */
+    final StreamProfiler profiler() {
+        return sourceStage.profiler;
+    }
+
+    /**
+     * Returns the profiled statistics of the given stage, or {@code null} if
+     * this pipeline is not being profiled, or its profiler is not active.
+     */
+    private StreamProfiler.Record profilerRecord(AbstractPipeline<?, ?, ?> stage) {
+        StreamProfiler profiler = sourceStage.profiler;
+        return (profiler != null) ? profiler.record(stage) : null;
+    }
+
+    /**
+     * Returns the stage at the head of the segment of the pipeline ending
+     * with this stage.
+     */
+    private AbstractPipeline<?, ?, ?> segmentHead() {
+        AbstractPipeline<?, ?, ?> p = this;
+        while (p.depth > 0)
+            p = p.previousStage;
+        return p;
+    }
+
+    /**
+     * Returns the stages of the pipeline, from the source up to and
+     * including this stage.
+     */
+    private List<AbstractPipeline<?, ?, ?>> stages() {
+        List<AbstractPipeline<?, ?, ?>> stages = new ArrayList<>();
+        for (AbstractPipeline<?, ?, ?> p = sourceStage; ; p = p.nextStage) {
+            stages.add(p);
+            if (p == this)
+                return stages;
+        }
+    }
+
+
     // Shape-specific abstract methods, implemented by XxxPipeline classes
 
     /**
@@ -604,6 +859,19 @@ abstract class AbstractPipeline<E_IN, E_OUT, S extends BaseStream<E_OUT, S>>
      */
     abstract void forEachWithCancel(Spliterator<E_OUT> spliterator, Sink<E_OUT> sink);
 
+    /**
+     * Traverse the elements of a spliterator compatible with this stream
+     * shape, pushing those elements into a sink in batches, by its
+     * {@code acceptAll} method for this stream shape.  If the spliterator
+     * is a {@link Sink.BatchSource} then the batches are ranges of the
+     * arrays holding its elements, otherwise they are gathered from the
+     * spliterator into batches of at most {@link Sink#BATCH_SIZE} elements.
+     *
+     * @param spliterator the spliterator to pull elements from
+     * @param sink the sink to push elements to
+     */
+    abstract void forEachInBatches(Spliterator<E_OUT> spliterator, Sink<E_OUT> sink);
+
     /**
      * Make a node builder compatible with this stream shape.
      *
@@ -125,6 +125,9 @@ abstract class AbstractTask<P_IN, P_OUT, R,
     /** The result of this node, if completed */
     private R localResult;
 
+    /** The profile of this task, or null if the pipeline is not profiled */
+    final StreamProfile.Task profile;
+
     /**
      * Constructor for root nodes.
      *
@@ -139,6 +142,12 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         this.helper = helper;
         this.spliterator = spliterator;
         this.targetSize = 0L;
+        StreamProfiler profiler = (helper instanceof AbstractPipeline)
+                                  ? ((AbstractPipeline<?, ?, ?>) helper).profiler()
+                                  : null;
+        this.profile = (profiler != null)
+                       ? profiler.rootTask(spliterator.estimateSize())
+                       : null;
     }
 
     /**
@@ -154,6 +163,9 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         this.spliterator = spliterator;
         this.helper = parent.helper;
         this.targetSize = parent.targetSize;
+        this.profile = (parent.profile != null)
+                       ? parent.profile.newChild(spliterator.estimateSize())
+                       : null;
     }
 
     /**
@@ -185,6 +197,29 @@ abstract class AbstractTask<P_IN, P_OUT, R,
         return est > 0L ? est : 1L;
     }
 
+    /**
+     * Returns a suggested target leaf size for a parallel computation of
+     * the given pipeline based on the initial size estimate, taking into
+     * account the partitioning requested for the pipeline, if any.
+     *
+     * @return suggested target leaf size
+     */
+    static long suggestTargetSize(PipelineHelper<?> helper, long sizeEstimate) {
+        return (helper instanceof AbstractPipeline)
+               ? ((AbstractPipeline<?, ?, ?>) helper).suggestTargetSize(sizeEstimate)
+               : suggestTargetSize(sizeEstimate);
+    }
+
+    /**
+     * Returns the target number of leaf tasks of a parallel computation of
+     * the given pipeline.
+     */
+    static int leafTarget(PipelineHelper<?> helper) {
+        return (helper instanceof AbstractPipeline)
+               ? ((AbstractPipeline<?, ?, ?>) helper).leafTarget()
+               : LEAF_TARGET;
+    }
+
     /**
      * Returns the targetSize, initializing it via the supplied
      * size estimate if not already initialized.
@@ -192,7 +227,7 @@ abstract class AbstractTask<P_IN, P_OUT, R,
     protected final long getTargetSize(long sizeEstimate) {
         long s;
         return ((s = targetSize) != 0 ? s :
-                (targetSize = suggestTargetSize(sizeEstimate)));
+                (targetSize = suggestTargetSize(helper, sizeEstimate)));
     }
 
     /**
@@ -313,10 +348,27 @@ abstract class AbstractTask<P_IN, P_OUT, R,
             taskToFork.fork();
             sizeEstimate = rs.estimateSize();
         }
-        task.setLocalResult(task.doLeaf());
+        task.setLocalResult(task.computeLeaf());
         task.tryComplete();
     }
 
+    /**
+     * Computes the result of this task as a leaf, by {@link #doLeaf},
+     * recording the time taken in the profile of the pipeline if it is
+     * being profiled.
+     *
+     * @return the computed result of this leaf task
+     */
+    final R computeLeaf() {
+        StreamProfile.Task p = profile;
+        if (p == null)
+            return doLeaf();
+        long start = System.nanoTime();
+        R result = doLeaf();
+        p.leafCompleted(System.nanoTime() - start);
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntConsumer;
 import java.util.function.Predicate;
 
@@ -116,6 +117,95 @@ public interface BaseStream<T, S extends BaseStream<T, S>>
      */
     S parallel();
 
+    /**
+     * Returns an equivalent stream that is parallel, and whose parallel
+     * computations are executed as tasks in the given pool rather than in
+     * the {@link ForkJoinPool#commonPool() common pool}.  The computation is
+     * partitioned for the {@link ForkJoinPool#getParallelism() parallelism}
+     * of the pool.  May return itself, either because the stream was already
+     * parallel in the given pool, or because the underlying stream state was
+     * modified to be parallel in the given pool.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @implSpec
+     * The default implementation invokes
+     * {@link #parallel(ForkJoinPool, int, long)} with the parallelism of the
+     * given pool and a leaf size of {@code 0}.
+     *
+     * @param pool the pool in which to execute parallel computations
+     * @return a parallel stream
+     * @throws NullPointerException if {@code pool} is null
+     * @throws UnsupportedOperationException if this stream cannot execute its
+     *         parallel computations in a given pool
+     * @see #parallel(ForkJoinPool, int, long)
+     * @since 1.9
+     */
+    default S parallel(ForkJoinPool pool) {
+        return parallel(pool, pool.getParallelism(), 0L);
+    }
+
+    /**
+     * Returns an equivalent stream that is parallel, and whose parallel
+     * computations are executed as tasks in the given pool rather than in
+     * the {@link ForkJoinPool#commonPool() common pool}.  May return itself,
+     * either because the stream was already parallel in the given pool, or
+     * because the underlying stream state was modified to be parallel in the
+     * given pool.
+     *
+     * <p>A parallel computation splits its source into leaf tasks.  Unless
+     * a non-zero {@code leafSize} is given, the source is split into
+     * approximately four leaf tasks for each unit of {@code parallelism},
+     * which allows load balancing if leaf tasks are uneven or some threads
+     * are otherwise busy.  A non-zero {@code leafSize} instead bounds the
+     * number of elements traversed by each leaf task, for example to favour
+     * many small tasks when the stream performs blocking I/O.  Neither value
+     * limits the number of threads of the pool that may take part in the
+     * computation.
+     *
+     * <p>A subsequent call to {@link #parallel()} or {@link #sequential()}
+     * on the stream discards the pool and the partitioning given here.
+     *
+     * <p>This is an <a href="package-summary.html#StreamOps">intermediate
+     * operation</a>.
+     *
+     * @apiNote
+     * A terminal operation on the returned stream submits its computation
+     * to the pool and waits for it to complete, unless it is already running
+     * in a worker thread of that pool.  Thus a pipeline that blocks, for
+     * example when reading files, may be bound to a pool dedicated to it, so
+     * as not to starve unrelated computations in the common pool:
+     * <pre>{@code
+     *     ForkJoinPool ioPool = new ForkJoinPool(64);
+     *     List<Document> docs = paths.stream()
+     *                                .parallel(ioPool, 64, 1)
+     *                                .map(Document::load)
+     *                                .collect(toList());
+     * }</pre>
+     *
+     * @implSpec
+     * The default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param pool the pool in which to execute parallel computations
+     * @param parallelism the target parallelism for which the computation is
+     *        partitioned, which is usually the parallelism of the pool
+     * @param leafSize the maximum number of elements traversed by a leaf
+     *        task, or {@code 0} if it is to be derived from the size of the
+     *        source and the target parallelism
+     * @return a parallel stream
+     * @throws NullPointerException if {@code pool} is null
+     * @throws IllegalArgumentException if {@code parallelism} is not
+     *         positive, or {@code leafSize} is negative
+     * @throws UnsupportedOperationException if this stream cannot execute its
+     *         parallel computations in a given pool
+     * @since 1.9
+     */
+    default S parallel(ForkJoinPool pool, int parallelism, long leafSize) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns an equivalent stream that is
      * <a href="package-summary.html#Ordering">unordered</a>.  May return
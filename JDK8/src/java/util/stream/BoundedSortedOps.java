@@ -0,0 +1,809 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CountedCompleter;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Factory methods for transforming streams into sorted streams truncated
+ * to a maximum size, the equivalent of {@code sorted().limit(maxSize)}.
+ *
+ * <p>Rather than buffering and sorting all elements, each operation retains
+ * only the {@code maxSize} least elements seen so far in a bounded max-heap,
+ * so memory use is proportional to {@code maxSize} rather than to the size
+ * of the stream.  For parallel evaluation each leaf task fills its own heap,
+ * which is then sorted, and sibling results are merged as tasks complete,
+ * each merge again retaining at most {@code maxSize} elements.
+ *
+ * <p>For reference streams the sort is stable: elements comparing equal
+ * retain their encounter order.  The heap breaks ties between such elements
+ * by a sequence number recording the order in which they were accepted, so
+ * an element is only admitted to a full heap if it is strictly less than the
+ * greatest retained element, and merging of sorted leaf results prefers
+ * elements from the left.
+ *
+ * @since 1.9
+ */
+final class BoundedSortedOps {
+
+    private BoundedSortedOps() { }
+
+    /**
+     * Appends a bounded "sorted" operation to the provided stream, sorting
+     * by natural order.
+     *
+     * @param <T> the type of both input and output elements
+     * @param upstream a reference stream with element type T
+     * @param maxSize the maximum number of elements to retain, which must be
+     *        positive and less than {@link Nodes#MAX_ARRAY_SIZE}
+     */
+    static <T> Stream<T> makeRef(AbstractPipeline<?, T, ?> upstream,
+                                 long maxSize) {
+        // Will throw CCE when we try to compare if T is not Comparable
+        @SuppressWarnings("unchecked")
+        Comparator<? super T> comp = (Comparator<? super T>) Comparator.naturalOrder();
+        return new OfRef<>(upstream, comp, true, (int) maxSize);
+    }
+
+    /**
+     * Appends a bounded "sorted" operation to the provided stream.
+     *
+     * @param <T> the type of both input and output elements
+     * @param upstream a reference stream with element type T
+     * @param comparator the comparator to order elements by
+     * @param maxSize the maximum number of elements to retain, which must be
+     *        positive and less than {@link Nodes#MAX_ARRAY_SIZE}
+     */
+    static <T> Stream<T> makeRef(AbstractPipeline<?, T, ?> upstream,
+                                 Comparator<? super T> comparator,
+                                 long maxSize) {
+        return new OfRef<>(upstream, Objects.requireNonNull(comparator),
+                           false, (int) maxSize);
+    }
+
+    /**
+     * Appends a bounded "sorted" operation to the provided stream.
+     *
+     * @param upstream an int stream
+     * @param maxSize the maximum number of elements to retain, which must be
+     *        positive and less than {@link Nodes#MAX_ARRAY_SIZE}
+     */
+    static IntStream makeInt(AbstractPipeline<?, Integer, ?> upstream,
+                             long maxSize) {
+        return new OfInt(upstream, (int) maxSize);
+    }
+
+    /**
+     * Appends a bounded "sorted" operation to the provided stream.
+     *
+     * @param upstream a long stream
+     * @param maxSize the maximum number of elements to retain, which must be
+     *        positive and less than {@link Nodes#MAX_ARRAY_SIZE}
+     */
+    static LongStream makeLong(AbstractPipeline<?, Long, ?> upstream,
+                               long maxSize) {
+        return new OfLong(upstream, (int) maxSize);
+    }
+
+    /**
+     * Appends a bounded "sorted" operation to the provided stream.
+     *
+     * @param upstream a double stream
+     * @param maxSize the maximum number of elements to retain, which must be
+     *        positive and less than {@link Nodes#MAX_ARRAY_SIZE}
+     */
+    static DoubleStream makeDouble(AbstractPipeline<?, Double, ?> upstream,
+                                   long maxSize) {
+        return new OfDouble(upstream, (int) maxSize);
+    }
+
+    /**
+     * Returns the stream and operation flags for a bounded sort.
+     */
+    private static int flags(boolean isNaturalSort) {
+        return StreamOpFlag.IS_ORDERED | StreamOpFlag.NOT_SIZED |
+               (isNaturalSort ? StreamOpFlag.IS_SORTED : StreamOpFlag.NOT_SORTED);
+    }
+
+    /**
+     * Specialized subtype for bounded sorting of reference streams.
+     */
+    private static final class OfRef<T> extends ReferencePipeline.StatefulOp<T, T> {
+        private final Comparator<? super T> comparator;
+        private final int maxSize;
+
+        OfRef(AbstractPipeline<?, T, ?> upstream, Comparator<? super T> comparator,
+              boolean isNaturalSort, int maxSize) {
+            super(upstream, StreamShape.REFERENCE, flags(isNaturalSort));
+            this.comparator = comparator;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Sink<T> opWrapSink(int flags, Sink<T> sink) {
+            return new RefBuffer<>(Objects.requireNonNull(sink), comparator, maxSize);
+        }
+
+        @Override
+        public <P_IN> Node<T> opEvaluateParallel(PipelineHelper<T> helper,
+                                                 Spliterator<P_IN> spliterator,
+                                                 IntFunction<T[]> generator) {
+            return new BoundedSortTask<>(helper, spliterator,
+                                         () -> new RefBuffer<T>(null, comparator, maxSize))
+                    .invoke().node(generator);
+        }
+    }
+
+    /**
+     * Specialized subtype for bounded sorting of int streams.
+     */
+    private static final class OfInt extends IntPipeline.StatefulOp<Integer> {
+        private final int maxSize;
+
+        OfInt(AbstractPipeline<?, Integer, ?> upstream, int maxSize) {
+            super(upstream, StreamShape.INT_VALUE, flags(true));
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
+            return new IntBuffer(Objects.requireNonNull(sink), maxSize);
+        }
+
+        @Override
+        public <P_IN> Node<Integer> opEvaluateParallel(PipelineHelper<Integer> helper,
+                                                       Spliterator<P_IN> spliterator,
+                                                       IntFunction<Integer[]> generator) {
+            return new BoundedSortTask<>(helper, spliterator,
+                                         () -> new IntBuffer(null, maxSize))
+                    .invoke().node(generator);
+        }
+    }
+
+    /**
+     * Specialized subtype for bounded sorting of long streams.
+     */
+    private static final class OfLong extends LongPipeline.StatefulOp<Long> {
+        private final int maxSize;
+
+        OfLong(AbstractPipeline<?, Long, ?> upstream, int maxSize) {
+            super(upstream, StreamShape.LONG_VALUE, flags(true));
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
+            return new LongBuffer(Objects.requireNonNull(sink), maxSize);
+        }
+
+        @Override
+        public <P_IN> Node<Long> opEvaluateParallel(PipelineHelper<Long> helper,
+                                                    Spliterator<P_IN> spliterator,
+                                                    IntFunction<Long[]> generator) {
+            return new BoundedSortTask<>(helper, spliterator,
+                                         () -> new LongBuffer(null, maxSize))
+                    .invoke().node(generator);
+        }
+    }
+
+    /**
+     * Specialized subtype for bounded sorting of double streams.
+     */
+    private static final class OfDouble extends DoublePipeline.StatefulOp<Double> {
+        private final int maxSize;
+
+        OfDouble(AbstractPipeline<?, Double, ?> upstream, int maxSize) {
+            super(upstream, StreamShape.DOUBLE_VALUE, flags(true));
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Sink<Double> opWrapSink(int flags, Sink<Double> sink) {
+            return new DoubleBuffer(Objects.requireNonNull(sink), maxSize);
+        }
+
+        @Override
+        public <P_IN> Node<Double> opEvaluateParallel(PipelineHelper<Double> helper,
+                                                      Spliterator<P_IN> spliterator,
+                                                      IntFunction<Double[]> generator) {
+            return new BoundedSortTask<>(helper, spliterator,
+                                         () -> new DoubleBuffer(null, maxSize))
+                    .invoke().node(generator);
+        }
+    }
+
+    /**
+     * {@link Sink} retaining the least elements accepted, up to a maximum
+     * number, in a max-heap.
+     *
+     * <p>When used as an intermediate operation the buffer has a downstream
+     * sink, to which, on {@code end()}, the retained elements are pushed in
+     * sorted order.  If cancellation was requested by the downstream sink
+     * while elements were being accepted, the pushing respects
+     * short-circuiting, as for the unbounded sorting sinks.
+     *
+     * <p>When used by a {@link BoundedSortTask} the buffer has no downstream
+     * sink; instead the task sorts each leaf's buffer and merges the sorted
+     * buffers of sibling tasks.
+     *
+     * @param <T> the type of elements
+     * @param <B> the type of buffer
+     */
+    private static abstract class Buffer<T, B extends Buffer<T, B>> implements Sink<T> {
+        /** The downstream sink, or null when used by a task */
+        protected final Sink<? super T> downstream;
+        /** The maximum number of elements to retain, at least one */
+        protected final int maxSize;
+        /** The number of elements retained */
+        protected int size;
+        protected boolean cancellationWasRequested;
+
+        Buffer(Sink<? super T> downstream, int maxSize) {
+            this.downstream = downstream;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Returns the initial capacity of the heap, which is grown on
+         * demand up to {@code maxSize}.
+         */
+        final int initialCapacity() {
+            return Math.min(maxSize, 16);
+        }
+
+        /**
+         * Returns the capacity to which to grow a heap of the given capacity.
+         */
+        final int grownCapacity(int capacity) {
+            return (capacity >= (maxSize >>> 1)) ? maxSize : capacity << 1;
+        }
+
+        /**
+         * Sorts the retained elements in place, in ascending order.  The
+         * buffer no longer accepts elements once sorted.
+         */
+        abstract void sort();
+
+        /**
+         * Merges this sorted buffer with the given sorted buffer, whose
+         * elements follow those of this buffer in encounter order,
+         * retaining at most {@code maxSize} elements.
+         *
+         * @return a sorted buffer containing the merged elements
+         */
+        abstract B merge(B right);
+
+        /**
+         * Returns a node holding the retained elements of this sorted buffer.
+         */
+        abstract Node<T> node(IntFunction<T[]> generator);
+
+        /**
+         * Pushes the retained elements of this sorted buffer downstream,
+         * checking for cancellation before each if {@code checkCancel}.
+         * Otherwise they are pushed as a single batch if batched traversal
+         * is enabled.
+         */
+        abstract void push(boolean checkCancel);
+
+        /**
+         * Records if cancellation is requested so short-circuiting behaviour
+         * can be preserved when the sorted elements are pushed downstream.
+         *
+         * @return false, as this sink never short-circuits.
+         */
+        @Override
+        public final boolean cancellationRequested() {
+            cancellationWasRequested = true;
+            return false;
+        }
+
+        @Override
+        public final void end() {
+            if (downstream != null) {
+                sort();
+                downstream.begin(size);
+                push(cancellationWasRequested);
+                downstream.end();
+            }
+        }
+    }
+
+    /**
+     * Buffer for bounded sorting of reference streams.  Alongside each
+     * retained element is kept the sequence number with which it was
+     * accepted, ordering elements that compare equal.
+     */
+    private static final class RefBuffer<T> extends Buffer<T, RefBuffer<T>> {
+        private final Comparator<? super T> comparator;
+        private Object[] elements;
+        private long[] sequence;
+        private long count;
+
+        RefBuffer(Sink<? super T> downstream, Comparator<? super T> comparator,
+                  int maxSize) {
+            super(downstream, maxSize);
+            this.comparator = comparator;
+            int n = initialCapacity();
+            this.elements = new Object[n];
+            this.sequence = new long[n];
+        }
+
+        /**
+         * Returns true if element a with sequence number sa is greater
+         * than element b with sequence number sb.
+         */
+        @SuppressWarnings("unchecked")
+        private boolean greater(Object a, long sa, Object b, long sb) {
+            int c = comparator.compare((T) a, (T) b);
+            return c > 0 || (c == 0 && sa > sb);
+        }
+
+        /**
+         * Inserts element x with sequence number s at index k, sifting it
+         * up the heap.
+         */
+        private void siftUp(int k, T x, long s) {
+            Object[] es = elements;
+            long[] ss = sequence;
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (!greater(x, s, es[parent], ss[parent]))
+                    break;
+                es[k] = es[parent];
+                ss[k] = ss[parent];
+                k = parent;
+            }
+            es[k] = x;
+            ss[k] = s;
+        }
+
+        /**
+         * Inserts element x with sequence number s at index k, sifting it
+         * down a heap of n elements.
+         */
+        private void siftDown(int k, T x, long s, int n) {
+            Object[] es = elements;
+            long[] ss = sequence;
+            int half = n >>> 1;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                int right = child + 1;
+                if (right < n && greater(es[right], ss[right], es[child], ss[child]))
+                    child = right;
+                if (!greater(es[child], ss[child], x, s))
+                    break;
+                es[k] = es[child];
+                ss[k] = ss[child];
+                k = child;
+            }
+            es[k] = x;
+            ss[k] = s;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void accept(T t) {
+            long s = count++;
+            int n = size;
+            if (n < maxSize) {
+                if (n == elements.length) {
+                    int cap = grownCapacity(n);
+                    elements = Arrays.copyOf(elements, cap);
+                    sequence = Arrays.copyOf(sequence, cap);
+                }
+                siftUp(n, t, s);
+                size = n + 1;
+            }
+            else if (comparator.compare(t, (T) elements[0]) < 0)
+                siftDown(0, t, s, n);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void sort() {
+            Object[] es = elements;
+            long[] ss = sequence;
+            for (int n = size - 1; n > 0; n--) {
+                T x = (T) es[n];
+                long s = ss[n];
+                es[n] = es[0];
+                ss[n] = ss[0];
+                siftDown(0, x, s, n);
+            }
+            sequence = null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        RefBuffer<T> merge(RefBuffer<T> right) {
+            int ln = size, rn = right.size, n = Math.min(maxSize, ln + rn);
+            if (rn == 0 && ln == n)
+                return this;
+            Object[] a = elements, b = right.elements, es = new Object[n];
+            for (int i = 0, j = 0, k = 0; k < n; k++) {
+                if (j >= rn || (i < ln && comparator.compare((T) a[i], (T) b[j]) <= 0))
+                    es[k] = a[i++];
+                else
+                    es[k] = b[j++];
+            }
+            elements = es;
+            size = n;
+            return this;
+        }
+
+        @Override
+        Node<T> node(IntFunction<T[]> generator) {
+            T[] array = generator.apply(size);
+            System.arraycopy(elements, 0, array, 0, size);
+            return Nodes.node(array);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void push(boolean checkCancel) {
+            Object[] es = elements;
+            if (!checkCancel && AbstractPipeline.BATCHED_TRAVERSAL) {
+                downstream.acceptAll(es, 0, size);
+            }
+            else {
+                for (int i = 0, n = size; i < n; i++) {
+                    if (checkCancel && downstream.cancellationRequested())
+                        break;
+                    downstream.accept((T) es[i]);
+                }
+            }
+            elements = null;
+        }
+    }
+
+    /**
+     * Buffer for bounded sorting of int streams.
+     */
+    private static final class IntBuffer extends Buffer<Integer, IntBuffer>
+            implements Sink.OfInt {
+        private int[] values;
+
+        IntBuffer(Sink<? super Integer> downstream, int maxSize) {
+            super(downstream, maxSize);
+            this.values = new int[initialCapacity()];
+        }
+
+        @Override
+        public void accept(int t) {
+            int[] vs = values;
+            int n = size, k;
+            if (n < maxSize) {
+                if (n == vs.length)
+                    values = vs = Arrays.copyOf(vs, grownCapacity(n));
+                size = n + 1;
+                for (k = n; k > 0; ) {               // sift up
+                    int parent = (k - 1) >>> 1;
+                    if (t <= vs[parent])
+                        break;
+                    vs[k] = vs[parent];
+                    k = parent;
+                }
+            }
+            else if (t < vs[0]) {
+                int half = n >>> 1;
+                for (k = 0; k < half; ) {            // sift down
+                    int child = (k << 1) + 1;
+                    int right = child + 1;
+                    if (right < n && vs[right] > vs[child])
+                        child = right;
+                    if (vs[child] <= t)
+                        break;
+                    vs[k] = vs[child];
+                    k = child;
+                }
+            }
+            else
+                return;
+            vs[k] = t;
+        }
+
+        @Override
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        @Override
+        IntBuffer merge(IntBuffer right) {
+            int ln = size, rn = right.size, n = Math.min(maxSize, ln + rn);
+            if (rn == 0 && ln == n)
+                return this;
+            int[] a = values, b = right.values, vs = new int[n];
+            for (int i = 0, j = 0, k = 0; k < n; k++) {
+                if (j >= rn || (i < ln && a[i] <= b[j]))
+                    vs[k] = a[i++];
+                else
+                    vs[k] = b[j++];
+            }
+            values = vs;
+            size = n;
+            return this;
+        }
+
+        @Override
+        Node<Integer> node(IntFunction<Integer[]> generator) {
+            return Nodes.node((size == values.length) ? values
+                              : Arrays.copyOf(values, size));
+        }
+
+        @Override
+        void push(boolean checkCancel) {
+            int[] vs = values;
+            if (!checkCancel && AbstractPipeline.BATCHED_TRAVERSAL) {
+                downstream.acceptAll(vs, 0, size);
+            }
+            else {
+                for (int i = 0, n = size; i < n; i++) {
+                    if (checkCancel && downstream.cancellationRequested())
+                        break;
+                    downstream.accept(vs[i]);
+                }
+            }
+            values = null;
+        }
+    }
+
+    /**
+     * Buffer for bounded sorting of long streams.
+     */
+    private static final class LongBuffer extends Buffer<Long, LongBuffer>
+            implements Sink.OfLong {
+        private long[] values;
+
+        LongBuffer(Sink<? super Long> downstream, int maxSize) {
+            super(downstream, maxSize);
+            this.values = new long[initialCapacity()];
+        }
+
+        @Override
+        public void accept(long t) {
+            long[] vs = values;
+            int n = size, k;
+            if (n < maxSize) {
+                if (n == vs.length)
+                    values = vs = Arrays.copyOf(vs, grownCapacity(n));
+                size = n + 1;
+                for (k = n; k > 0; ) {               // sift up
+                    int parent = (k - 1) >>> 1;
+                    if (t <= vs[parent])
+                        break;
+                    vs[k] = vs[parent];
+                    k = parent;
+                }
+            }
+            else if (t < vs[0]) {
+                int half = n >>> 1;
+                for (k = 0; k < half; ) {            // sift down
+                    int child = (k << 1) + 1;
+                    int right = child + 1;
+                    if (right < n && vs[right] > vs[child])
+                        child = right;
+                    if (vs[child] <= t)
+                        break;
+                    vs[k] = vs[child];
+                    k = child;
+                }
+            }
+            else
+                return;
+            vs[k] = t;
+        }
+
+        @Override
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        @Override
+        LongBuffer merge(LongBuffer right) {
+            int ln = size, rn = right.size, n = Math.min(maxSize, ln + rn);
+            if (rn == 0 && ln == n)
+                return this;
+            long[] a = values, b = right.values, vs = new long[n];
+            for (int i = 0, j = 0, k = 0; k < n; k++) {
+                if (j >= rn || (i < ln && a[i] <= b[j]))
+                    vs[k] = a[i++];
+                else
+                    vs[k] = b[j++];
+            }
+            values = vs;
+            size = n;
+            return this;
+        }
+
+        @Override
+        Node<Long> node(IntFunction<Long[]> generator) {
+            return Nodes.node((size == values.length) ? values
+                              : Arrays.copyOf(values, size));
+        }
+
+        @Override
+        void push(boolean checkCancel) {
+            long[] vs = values;
+            if (!checkCancel && AbstractPipeline.BATCHED_TRAVERSAL) {
+                downstream.acceptAll(vs, 0, size);
+            }
+            else {
+                for (int i = 0, n = size; i < n; i++) {
+                    if (checkCancel && downstream.cancellationRequested())
+                        break;
+                    downstream.accept(vs[i]);
+                }
+            }
+            values = null;
+        }
+    }
+
+    /**
+     * Buffer for bounded sorting of double streams.
+     */
+    private static final class DoubleBuffer extends Buffer<Double, DoubleBuffer>
+            implements Sink.OfDouble {
+        private double[] values;
+
+        DoubleBuffer(Sink<? super Double> downstream, int maxSize) {
+            super(downstream, maxSize);
+            this.values = new double[initialCapacity()];
+        }
+
+        @Override
+        public void accept(double t) {
+            double[] vs = values;
+            int n = size, k;
+            if (n < maxSize) {
+                if (n == vs.length)
+                    values = vs = Arrays.copyOf(vs, grownCapacity(n));
+                size = n + 1;
+                for (k = n; k > 0; ) {               // sift up
+                    int parent = (k - 1) >>> 1;
+                    if (Double.compare(t, vs[parent]) <= 0)
+                        break;
+                    vs[k] = vs[parent];
+                    k = parent;
+                }
+            }
+            else if (Double.compare(t, vs[0]) < 0) {
+                int half = n >>> 1;
+                for (k = 0; k < half; ) {            // sift down
+                    int child = (k << 1) + 1;
+                    int right = child + 1;
+                    if (right < n && Double.compare(vs[right], vs[child]) > 0)
+                        child = right;
+                    if (Double.compare(vs[child], t) <= 0)
+                        break;
+                    vs[k] = vs[child];
+                    k = child;
+                }
+            }
+            else
+                return;
+            vs[k] = t;
+        }
+
+        @Override
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        @Override
+        DoubleBuffer merge(DoubleBuffer right) {
+            int ln = size, rn = right.size, n = Math.min(maxSize, ln + rn);
+            if (rn == 0 && ln == n)
+                return this;
+            double[] a = values, b = right.values, vs = new double[n];
+            for (int i = 0, j = 0, k = 0; k < n; k++) {
+                if (j >= rn || (i < ln && Double.compare(a[i], b[j]) <= 0))
+                    vs[k] = a[i++];
+                else
+                    vs[k] = b[j++];
+            }
+            values = vs;
+            size = n;
+            return this;
+        }
+
+        @Override
+        Node<Double> node(IntFunction<Double[]> generator) {
+            return Nodes.node((size == values.length) ? values
+                              : Arrays.copyOf(values, size));
+        }
+
+        @Override
+        void push(boolean checkCancel) {
+            double[] vs = values;
+            if (!checkCancel && AbstractPipeline.BATCHED_TRAVERSAL) {
+                downstream.acceptAll(vs, 0, size);
+            }
+            else {
+                for (int i = 0, n = size; i < n; i++) {
+                    if (checkCancel && downstream.cancellationRequested())
+                        break;
+                    downstream.accept(vs[i]);
+                }
+            }
+            values = null;
+        }
+    }
+
+    /**
+     * Task for evaluating a bounded sort in parallel.  Each leaf task
+     * accepts the elements of its spliterator into a new buffer, which it
+     * sorts; each internal task merges the sorted buffers of its children.
+     *
+     * @param <P_IN> type of input elements to the pipeline
+     * @param <T> type of output elements from the pipeline
+     * @param <B> type of buffer
+     */
+    @SuppressWarnings("serial")
+    private static final class BoundedSortTask<P_IN, T, B extends Buffer<T, B>>
+            extends AbstractTask<P_IN, T, B, BoundedSortTask<P_IN, T, B>> {
+        private final Supplier<B> bufferFactory;
+
+        BoundedSortTask(PipelineHelper<T> helper,
+                        Spliterator<P_IN> spliterator,
+                        Supplier<B> bufferFactory) {
+            super(helper, spliterator);
+            this.bufferFactory = bufferFactory;
+        }
+
+        BoundedSortTask(BoundedSortTask<P_IN, T, B> parent,
+                        Spliterator<P_IN> spliterator) {
+            super(parent, spliterator);
+            this.bufferFactory = parent.bufferFactory;
+        }
+
+        @Override
+        protected BoundedSortTask<P_IN, T, B> makeChild(Spliterator<P_IN> spliterator) {
+            return new BoundedSortTask<>(this, spliterator);
+        }
+
+        @Override
+        protected B doLeaf() {
+            B buffer = helper.wrapAndCopyInto(bufferFactory.get(), spliterator);
+            buffer.sort();
+            return buffer;
+        }
+
+        @Override
+        public void onCompletion(CountedCompleter<?> caller) {
+            if (!isLeaf())
+                setLocalResult(leftChild.getLocalResult()
+                               .merge(rightChild.getLocalResult()));
+            super.onCompletion(caller);
+        }
+    }
+}
@@ -134,7 +134,7 @@ public final class Collectors {
     }
 
     @SuppressWarnings("unchecked")
-    private static <I, R> Function<I, R> castingIdentity() {
+    static <I, R> Function<I, R> castingIdentity() {
         return i -> (R) i;
     }
 
@@ -313,7 +313,7 @@ public final class Collectors {
      * {@link Map#merge(Object, Object, BiFunction) Map.merge()}
      * @return a merge function for two maps
      */
-    private static <K, V, M extends Map<K,V>>
+    static <K, V, M extends Map<K,V>>
     BinaryOperator<M> mapMerger(BinaryOperator<V> mergeFunction) {
         return (m1, m2) -> {
             for (Map.Entry<K,V> e : m2.entrySet())
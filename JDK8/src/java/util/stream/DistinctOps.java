@@ -25,12 +25,14 @@
 package java.util.stream;
 
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.IntFunction;
 
 /**
@@ -55,13 +57,33 @@ final class DistinctOps {
         return new ReferencePipeline.StatefulOp<T, T>(upstream, StreamShape.REFERENCE,
                                                       StreamOpFlag.IS_DISTINCT | StreamOpFlag.NOT_SIZED) {
 
-            <P_IN> Node<T> reduce(PipelineHelper<T> helper, Spliterator<P_IN> spliterator) {
+            <P_IN> Node<T> reduce(PipelineHelper<T> helper, Spliterator<P_IN> spliterator,
+                                  IntFunction<T[]> generator) {
                 // If the stream is SORTED then it should also be ORDERED so the following will also
                 // preserve the sort order
-                TerminalOp<T, LinkedHashSet<T>> reduceOp
-                        = ReduceOps.<T, LinkedHashSet<T>>makeRef(LinkedHashSet::new, LinkedHashSet::add,
-                                                                 LinkedHashSet::addAll);
-                return Nodes.node(reduceOp.evaluateParallel(helper, spliterator));
+                T[] array = helper.evaluate(spliterator, true, generator).asArray(generator);
+                int n = array.length;
+
+                // First pass: record the least index at which each element occurs
+                ConcurrentHashMap<T, Integer> firstIndices = new ConcurrentHashMap<>();
+                AtomicInteger firstNullIndex = new AtomicInteger(Integer.MAX_VALUE);
+                IntStream.range(0, n).parallel().forEach(i -> {
+                    T t = array[i];
+                    if (t == null)
+                        firstNullIndex.accumulateAndGet(i, Math::min);
+                    else
+                        firstIndices.merge(t, i, Math::min);
+                });
+
+                // Second pass: retain, in encounter order, the elements at those indices
+                int nullIndex = firstNullIndex.get();
+                return Nodes.node(IntStream.range(0, n).parallel()
+                        .filter(i -> {
+                            T t = array[i];
+                            return (t == null) ? i == nullIndex : firstIndices.get(t) == i;
+                        })
+                        .mapToObj(i -> array[i])
+                        .toArray(generator));
             }
 
             @Override
@@ -73,7 +95,7 @@ final class DistinctOps {
                     return helper.evaluate(spliterator, false, generator);
                 }
                 else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
-                    return reduce(helper, spliterator);
+                    return reduce(helper, spliterator, generator);
                 }
                 else {
                     // Holder of null state since ConcurrentHashMap does not support null values
@@ -107,7 +129,9 @@ final class DistinctOps {
                 }
                 else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
                     // Not lazy, barrier required to preserve order
-                    return reduce(helper, spliterator).spliterator();
+                    @SuppressWarnings("unchecked")
+                    IntFunction<T[]> generator = i -> (T[]) new Object[i];
+                    return reduce(helper, spliterator, generator).spliterator();
                 }
                 else {
                     // Lazy
@@ -180,4 +204,517 @@ final class DistinctOps {
             }
         };
     }
+
+    /**
+     * Appends a "distinct" operation to the provided int stream, and
+     * returns the new stream.  Sequential and ordered parallel evaluations
+     * hold elements in int-specific sets and tables rather than boxing them,
+     * while unordered parallel evaluations lazily filter elements through a
+     * concurrent set of boxed elements, as for reference streams.
+     *
+     * @param upstream an int stream
+     * @return the new stream
+     */
+    static IntStream makeInt(AbstractPipeline<?, Integer, ?> upstream) {
+        return new IntPipeline.StatefulOp<Integer>(upstream, StreamShape.INT_VALUE,
+                                                 StreamOpFlag.IS_DISTINCT | StreamOpFlag.NOT_SIZED) {
+
+            <P_IN> Node<Integer> reduce(PipelineHelper<Integer> helper, Spliterator<P_IN> spliterator,
+                                      IntFunction<Integer[]> generator) {
+                int[] array = ((Node.OfInt) helper.evaluate(spliterator, true, generator))
+                        .asPrimitiveArray();
+                int n = array.length;
+                int capacity = tableSizeFor(n);
+                if (capacity < 0) {
+                    // Too large for a table with an entry for each element
+                    IntHashSet seen = new IntHashSet();
+                    return Nodes.node(IntStream.of(array).filter(seen::add).toArray());
+                }
+
+                // First pass: record the least index at which each element occurs.
+                // Second pass: retain, in encounter order, the elements at those indices.
+                IntIndexTable firstIndices = new IntIndexTable(capacity);
+                IntStream.range(0, n).parallel().forEach(i -> firstIndices.record(array[i], i));
+                return Nodes.node(IntStream.range(0, n).parallel()
+                        .filter(i -> firstIndices.indexOf(array[i]) == i)
+                        .map(i -> array[i])
+                        .toArray());
+            }
+
+            @Override
+            <P_IN> Node<Integer> opEvaluateParallel(PipelineHelper<Integer> helper,
+                                                 Spliterator<P_IN> spliterator,
+                                                 IntFunction<Integer[]> generator) {
+                if (StreamOpFlag.DISTINCT.isKnown(helper.getStreamAndOpFlags())) {
+                    // No-op
+                    return helper.evaluate(spliterator, false, generator);
+                }
+                else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
+                    return reduce(helper, spliterator, generator);
+                }
+                else {
+                    ConcurrentHashMap<Integer, Boolean> map = new ConcurrentHashMap<>();
+                    TerminalOp<Integer, Void> forEachOp = ForEachOps.makeInt(t -> map.putIfAbsent(t, Boolean.TRUE), false);
+                    forEachOp.evaluateParallel(helper, spliterator);
+
+                    int[] keys = new int[map.size()];
+                    int i = 0;
+                    for (int t : map.keySet())
+                        keys[i++] = t;
+                    return Nodes.node(keys);
+                }
+            }
+
+            @Override
+            <P_IN> Spliterator<Integer> opEvaluateParallelLazy(PipelineHelper<Integer> helper, Spliterator<P_IN> spliterator) {
+                if (StreamOpFlag.DISTINCT.isKnown(helper.getStreamAndOpFlags())) {
+                    // No-op
+                    return helper.wrapSpliterator(spliterator);
+                }
+                else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
+                    // Not lazy, barrier required to preserve order
+                    return reduce(helper, spliterator, Integer[]::new).spliterator();
+                }
+                else {
+                    // Lazy
+                    return new StreamSpliterators.DistinctSpliterator.OfInt(
+                            (Spliterator.OfInt) helper.wrapSpliterator(spliterator));
+                }
+            }
+
+            @Override
+            Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
+                Objects.requireNonNull(sink);
+
+                if (StreamOpFlag.DISTINCT.isKnown(flags)) {
+                    return sink;
+                } else if (StreamOpFlag.SORTED.isKnown(flags)) {
+                    return new Sink.ChainedInt<Integer>(sink) {
+                        boolean seenAny;
+                        int lastSeen;
+
+                        @Override
+                        public void begin(long size) {
+                            seenAny = false;
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void end() {
+                            seenAny = false;
+                            downstream.end();
+                        }
+
+                        @Override
+                        public void accept(int t) {
+                            if (!seenAny || t != lastSeen) {
+                                seenAny = true;
+                                downstream.accept(lastSeen = t);
+                            }
+                        }
+                    };
+                } else {
+                    return new Sink.ChainedInt<Integer>(sink) {
+                        IntHashSet seen;
+
+                        @Override
+                        public void begin(long size) {
+                            seen = new IntHashSet();
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void end() {
+                            seen = null;
+                            downstream.end();
+                        }
+
+                        @Override
+                        public void accept(int t) {
+                            if (seen.add(t))
+                                downstream.accept(t);
+                        }
+                    };
+                }
+            }
+        };
+    }
+
+    /**
+     * Appends a "distinct" operation to the provided long stream, and
+     * returns the new stream.  Sequential and ordered parallel evaluations
+     * hold elements in long-specific sets and tables rather than boxing them,
+     * while unordered parallel evaluations lazily filter elements through a
+     * concurrent set of boxed elements, as for reference streams.
+     *
+     * @param upstream a long stream
+     * @return the new stream
+     */
+    static LongStream makeLong(AbstractPipeline<?, Long, ?> upstream) {
+        return new LongPipeline.StatefulOp<Long>(upstream, StreamShape.LONG_VALUE,
+                                                 StreamOpFlag.IS_DISTINCT | StreamOpFlag.NOT_SIZED) {
+
+            <P_IN> Node<Long> reduce(PipelineHelper<Long> helper, Spliterator<P_IN> spliterator,
+                                      IntFunction<Long[]> generator) {
+                long[] array = ((Node.OfLong) helper.evaluate(spliterator, true, generator))
+                        .asPrimitiveArray();
+                int n = array.length;
+                int capacity = tableSizeFor(n);
+                if (capacity < 0) {
+                    // Too large for a table with an entry for each element
+                    LongHashSet seen = new LongHashSet();
+                    return Nodes.node(LongStream.of(array).filter(seen::add).toArray());
+                }
+
+                // First pass: record the least index at which each element occurs.
+                // Second pass: retain, in encounter order, the elements at those indices.
+                LongIndexTable firstIndices = new LongIndexTable(capacity);
+                IntStream.range(0, n).parallel().forEach(i -> firstIndices.record(array[i], i));
+                return Nodes.node(IntStream.range(0, n).parallel()
+                        .filter(i -> firstIndices.indexOf(array[i]) == i)
+                        .mapToLong(i -> array[i])
+                        .toArray());
+            }
+
+            @Override
+            <P_IN> Node<Long> opEvaluateParallel(PipelineHelper<Long> helper,
+                                                 Spliterator<P_IN> spliterator,
+                                                 IntFunction<Long[]> generator) {
+                if (StreamOpFlag.DISTINCT.isKnown(helper.getStreamAndOpFlags())) {
+                    // No-op
+                    return helper.evaluate(spliterator, false, generator);
+                }
+                else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
+                    return reduce(helper, spliterator, generator);
+                }
+                else {
+                    ConcurrentHashMap<Long, Boolean> map = new ConcurrentHashMap<>();
+                    TerminalOp<Long, Void> forEachOp = ForEachOps.makeLong(t -> map.putIfAbsent(t, Boolean.TRUE), false);
+                    forEachOp.evaluateParallel(helper, spliterator);
+
+                    long[] keys = new long[map.size()];
+                    int i = 0;
+                    for (long t : map.keySet())
+                        keys[i++] = t;
+                    return Nodes.node(keys);
+                }
+            }
+
+            @Override
+            <P_IN> Spliterator<Long> opEvaluateParallelLazy(PipelineHelper<Long> helper, Spliterator<P_IN> spliterator) {
+                if (StreamOpFlag.DISTINCT.isKnown(helper.getStreamAndOpFlags())) {
+                    // No-op
+                    return helper.wrapSpliterator(spliterator);
+                }
+                else if (StreamOpFlag.ORDERED.isKnown(helper.getStreamAndOpFlags())) {
+                    // Not lazy, barrier required to preserve order
+                    return reduce(helper, spliterator, Long[]::new).spliterator();
+                }
+                else {
+                    // Lazy
+                    return new StreamSpliterators.DistinctSpliterator.OfLong(
+                            (Spliterator.OfLong) helper.wrapSpliterator(spliterator));
+                }
+            }
+
+            @Override
+            Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
+                Objects.requireNonNull(sink);
+
+                if (StreamOpFlag.DISTINCT.isKnown(flags)) {
+                    return sink;
+                } else if (StreamOpFlag.SORTED.isKnown(flags)) {
+                    return new Sink.ChainedLong<Long>(sink) {
+                        boolean seenAny;
+                        long lastSeen;
+
+                        @Override
+                        public void begin(long size) {
+                            seenAny = false;
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void end() {
+                            seenAny = false;
+                            downstream.end();
+                        }
+
+                        @Override
+                        public void accept(long t) {
+                            if (!seenAny || t != lastSeen) {
+                                seenAny = true;
+                                downstream.accept(lastSeen = t);
+                            }
+                        }
+                    };
+                } else {
+                    return new Sink.ChainedLong<Long>(sink) {
+                        LongHashSet seen;
+
+                        @Override
+                        public void begin(long size) {
+                            seen = new LongHashSet();
+                            downstream.begin(-1);
+                        }
+
+                        @Override
+                        public void end() {
+                            seen = null;
+                            downstream.end();
+                        }
+
+                        @Override
+                        public void accept(long t) {
+                            if (seen.add(t))
+                                downstream.accept(t);
+                        }
+                    };
+                }
+            }
+        };
+    }
+
+    /** The largest table capacity */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Returns the power of two capacity of a table with room for at least
+     * {@code n} entries at a load factor of at most one half, or -1 if
+     * that would exceed {@code MAXIMUM_CAPACITY}.
+     */
+    static int tableSizeFor(int n) {
+        if (n > (MAXIMUM_CAPACITY >>> 1))
+            return -1;
+        return Integer.highestOneBit((Math.max(n, 8) << 1) - 1) << 1;
+    }
+
+    /** Spreads the bits of an int key for indexing a table. */
+    static int hash(int x) {
+        int h = x * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Spreads the bits of a long key for indexing a table. */
+    static int hash(long x) {
+        long h = x * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * An open-addressing set of ints, with linear probing.  Zero marks an
+     * empty slot, so presence of zero itself is held separately.
+     */
+    static final class IntHashSet {
+        private int[] table = new int[16];
+        private int size;
+        private boolean containsZero;
+
+        /**
+         * Adds the given element if not already present.
+         *
+         * @return true if the element was added
+         */
+        boolean add(int x) {
+            if (x == 0)
+                return !containsZero && (containsZero = true);
+            int[] tab = table;
+            int mask = tab.length - 1;
+            for (int i = hash(x) & mask; ; i = (i + 1) & mask) {
+                int e = tab[i];
+                if (e == 0) {
+                    tab[i] = x;
+                    if (++size >= (tab.length >>> 1))
+                        resize();
+                    return true;
+                }
+                else if (e == x)
+                    return false;
+            }
+        }
+
+        private void resize() {
+            int[] oldTab = table;
+            int n = oldTab.length;
+            if (n >= MAXIMUM_CAPACITY) {
+                if (size >= n - 1)
+                    throw new OutOfMemoryError("Required set size too large");
+                return;
+            }
+            int[] tab = new int[n << 1];
+            int mask = tab.length - 1;
+            for (int x : oldTab) {
+                if (x != 0) {
+                    int i = hash(x) & mask;
+                    while (tab[i] != 0)
+                        i = (i + 1) & mask;
+                    tab[i] = x;
+                }
+            }
+            table = tab;
+        }
+    }
+
+    /**
+     * An open-addressing set of longs, with linear probing.  Zero marks an
+     * empty slot, so presence of zero itself is held separately.
+     */
+    static final class LongHashSet {
+        private long[] table = new long[16];
+        private int size;
+        private boolean containsZero;
+
+        /**
+         * Adds the given element if not already present.
+         *
+         * @return true if the element was added
+         */
+        boolean add(long x) {
+            if (x == 0L)
+                return !containsZero && (containsZero = true);
+            long[] tab = table;
+            int mask = tab.length - 1;
+            for (int i = hash(x) & mask; ; i = (i + 1) & mask) {
+                long e = tab[i];
+                if (e == 0L) {
+                    tab[i] = x;
+                    if (++size >= (tab.length >>> 1))
+                        resize();
+                    return true;
+                }
+                else if (e == x)
+                    return false;
+            }
+        }
+
+        private void resize() {
+            long[] oldTab = table;
+            int n = oldTab.length;
+            if (n >= MAXIMUM_CAPACITY) {
+                if (size >= n - 1)
+                    throw new OutOfMemoryError("Required set size too large");
+                return;
+            }
+            long[] tab = new long[n << 1];
+            int mask = tab.length - 1;
+            for (long x : oldTab) {
+                if (x != 0L) {
+                    int i = hash(x) & mask;
+                    while (tab[i] != 0L)
+                        i = (i + 1) & mask;
+                    tab[i] = x;
+                }
+            }
+            table = tab;
+        }
+    }
+
+    /**
+     * A fixed-capacity concurrent table recording, for each int key, the
+     * least index recorded for it.  Each entry packs the key into the high
+     * half of a long and the index plus one into the low half, so that
+     * zero marks an empty slot and entries are installed and lowered by a
+     * single compare-and-set.
+     */
+    static final class IntIndexTable {
+        private final AtomicLongArray table;
+        private final int mask;
+
+        /**
+         * @param capacity the power of two capacity, which must exceed
+         *        the number of distinct keys recorded
+         */
+        IntIndexTable(int capacity) {
+            this.table = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /** Records that the given key occurs at the given index. */
+        void record(int x, int index) {
+            long entry = ((long) x << 32) | (index + 1);
+            for (int i = hash(x) & mask; ; ) {
+                long e = table.get(i);
+                if (e == 0L) {
+                    if (table.compareAndSet(i, 0L, entry))
+                        return;
+                }
+                else if ((int) (e >>> 32) == x) {
+                    if ((int) e <= index + 1 || table.compareAndSet(i, e, entry))
+                        return;
+                }
+                else
+                    i = (i + 1) & mask;
+            }
+        }
+
+        /** Returns the least index recorded for the given key, or -1. */
+        int indexOf(int x) {
+            for (int i = hash(x) & mask; ; i = (i + 1) & mask) {
+                long e = table.get(i);
+                if (e == 0L)
+                    return -1;
+                else if ((int) (e >>> 32) == x)
+                    return (int) e - 1;
+            }
+        }
+    }
+
+    /**
+     * A fixed-capacity concurrent table recording, for each long key, the
+     * least index recorded for it.  A slot is claimed by setting its index
+     * plus one from zero to RESERVED, after which the key is written and
+     * the index published; threads finding a slot reserved wait for its
+     * key.  Indices are then lowered by compare-and-set.
+     */
+    static final class LongIndexTable {
+        private static final int RESERVED = -1;
+        private final long[] keys;
+        private final AtomicIntegerArray indices;
+        private final int mask;
+
+        /**
+         * @param capacity the power of two capacity, which must exceed
+         *        the number of distinct keys recorded
+         */
+        LongIndexTable(int capacity) {
+            this.keys = new long[capacity];
+            this.indices = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /** Records that the given key occurs at the given index. */
+        void record(long x, int index) {
+            int v = index + 1;
+            for (int i = hash(x) & mask; ; ) {
+                int c = indices.get(i);
+                if (c == 0) {
+                    if (indices.compareAndSet(i, 0, RESERVED)) {
+                        keys[i] = x;
+                        indices.set(i, v);      // publishes key
+                        return;
+                    }
+                }
+                else if (c == RESERVED)
+                    Thread.yield();
+                else if (keys[i] == x) {
+                    while (v < c && !indices.compareAndSet(i, c, v))
+                        c = indices.get(i);
+                    return;
+                }
+                else
+                    i = (i + 1) & mask;
+            }
+        }
+
+        /** Returns the least index recorded for the given key, or -1. */
+        int indexOf(long x) {
+            for (int i = hash(x) & mask; ; i = (i + 1) & mask) {
+                int c = indices.get(i);
+                if (c == 0)
+                    return -1;
+                else if (keys[i] == x)
+                    return c - 1;
+            }
+        }
+    }
 }
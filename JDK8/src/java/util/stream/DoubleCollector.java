@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A <a href="package-summary.html#Reduction">mutable reduction operation</a>
+ * on {@code double} values, accumulating them into a mutable result container
+ * and optionally transforming the accumulated result into a final
+ * representation.  This is the primitive specialization of {@link Collector}
+ * for {@code double}: its accumulator accepts {@code double} values directly, so
+ * that {@link DoubleStream#collect(DoubleCollector)} can perform the reduction
+ * without boxing elements, and without a {@link DoubleStream#boxed() boxed()}
+ * stage.  The functions of a {@code DoubleCollector} must satisfy the same
+ * identity and associativity constraints as those of a {@code Collector}, and
+ * are used in the same way.
+ *
+ * <p>This interface also provides static factory methods for common
+ * reductions, which accumulate into primitive containers.  Grouping
+ * collectors accumulate each group into a container of the downstream
+ * collector, so that, for example, counting or summing elements by key
+ * creates objects per key rather than per element:
+ *
+ * <pre>{@code
+ *     Map<Grade, Long> countsByGrade = scores.collect(
+ *         DoubleCollector.groupingBy(Grade::of, DoubleCollector.counting()));
+ * }</pre>
+ *
+ * @see Collector
+ * @see DoubleStream#collect(DoubleCollector)
+ *
+ * @param <A> the mutable accumulation type of the reduction operation (often
+ *            hidden as an implementation detail)
+ * @param <R> the result type of the reduction operation
+ * @since 1.9
+ */
+public interface DoubleCollector<A, R> {
+    /**
+     * A function that creates and returns a new mutable result container.
+     *
+     * @return a function which returns a new, mutable result container
+     */
+    Supplier<A> supplier();
+
+    /**
+     * A function that folds a value into a mutable result container.
+     *
+     * @return a function which folds a value into a mutable result container
+     */
+    ObjDoubleConsumer<A> accumulator();
+
+    /**
+     * A function that accepts two partial results and merges them.  The
+     * combiner function may fold state from one argument into the other and
+     * return that, or may return a new result container.
+     *
+     * @return a function which combines two partial results into a combined
+     * result
+     */
+    BinaryOperator<A> combiner();
+
+    /**
+     * Perform the final transformation from the intermediate accumulation type
+     * {@code A} to the final result type {@code R}.
+     *
+     * <p>If the characteristic {@code IDENTITY_FINISH} is
+     * set, this function may be presumed to be an identity transform with an
+     * unchecked cast from {@code A} to {@code R}.
+     *
+     * @return a function which transforms the intermediate result to the final
+     * result
+     */
+    Function<A, R> finisher();
+
+    /**
+     * Returns a {@code Set} of {@code Collector.Characteristics} indicating
+     * the characteristics of this collector.  This set should be immutable.
+     *
+     * @return an immutable set of collector characteristics
+     */
+    Set<Collector.Characteristics> characteristics();
+
+    /**
+     * Returns a {@code Collector} accepting boxed elements that performs
+     * the same reduction as this collector, unboxing each element before
+     * passing it to this collector's accumulator.  This allows a
+     * {@code DoubleCollector} to be used where a {@code Collector} is
+     * required, such as downstream of {@link Collectors#groupingBy}.
+     *
+     * @return a {@code Collector} of boxed elements performing this reduction
+     */
+    default Collector<Double, A, R> boxed() {
+        ObjDoubleConsumer<A> accumulator = accumulator();
+        return new Collectors.CollectorImpl<>(supplier(),
+                                              (a, t) -> accumulator.accept(a, t),
+                                              combiner(), finisher(),
+                                              characteristics());
+    }
+
+    /**
+     * Returns a new {@code DoubleCollector} described by the given
+     * {@code supplier}, {@code accumulator}, and {@code combiner} functions.
+     * The resulting collector has the
+     * {@code Collector.Characteristics.IDENTITY_FINISH} characteristic.
+     *
+     * @param supplier The supplier function for the new collector
+     * @param accumulator The accumulator function for the new collector
+     * @param combiner The combiner function for the new collector
+     * @param characteristics The collector characteristics for the new
+     *                        collector
+     * @param <R> The type of intermediate accumulation result, and final result,
+     *           for the new collector
+     * @throws NullPointerException if any argument is null
+     * @return the new {@code DoubleCollector}
+     */
+    public static <R> DoubleCollector<R, R> of(Supplier<R> supplier,
+                                               ObjDoubleConsumer<R> accumulator,
+                                               BinaryOperator<R> combiner,
+                                               Collector.Characteristics... characteristics) {
+        return new PrimitiveCollectors.DoubleCollectorImpl<>(
+                supplier, accumulator, combiner,
+                PrimitiveCollectors.identityFinish(characteristics));
+    }
+
+    /**
+     * Returns a new {@code DoubleCollector} described by the given
+     * {@code supplier}, {@code accumulator}, {@code combiner}, and
+     * {@code finisher} functions.
+     *
+     * @param supplier The supplier function for the new collector
+     * @param accumulator The accumulator function for the new collector
+     * @param combiner The combiner function for the new collector
+     * @param finisher The finisher function for the new collector
+     * @param characteristics The collector characteristics for the new
+     *                        collector
+     * @param <A> The intermediate accumulation type of the new collector
+     * @param <R> The final result type of the new collector
+     * @throws NullPointerException if any argument is null
+     * @return the new {@code DoubleCollector}
+     */
+    public static <A, R> DoubleCollector<A, R> of(Supplier<A> supplier,
+                                                  ObjDoubleConsumer<A> accumulator,
+                                                  BinaryOperator<A> combiner,
+                                                  Function<A, R> finisher,
+                                                  Collector.Characteristics... characteristics) {
+        return new PrimitiveCollectors.DoubleCollectorImpl<>(
+                supplier, accumulator, combiner, Objects.requireNonNull(finisher),
+                PrimitiveCollectors.characteristics(characteristics));
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that counts the number of input
+     * elements.  If no elements are present, the result is 0.
+     *
+     * @return a {@code DoubleCollector} that counts the input elements
+     */
+    public static DoubleCollector<?, Long> counting() {
+        return PrimitiveCollectors.DoubleCollectorImpl.counting();
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that produces the sum of the input
+     * elements.  If no elements are present, the result is 0.
+     *
+     * <p>As for {@link DoubleStream#sum()}, the sum is computed using
+     * compensated summation, and its value may vary with the order in which
+     * elements are combined.
+     *
+     * @return a {@code DoubleCollector} that produces the sum of the elements
+     */
+    public static DoubleCollector<?, Double> summing() {
+        return PrimitiveCollectors.DoubleCollectorImpl.summing();
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that produces the arithmetic mean of
+     * the input elements.  If no elements are present, the result is 0.
+     *
+     * <p>As for {@link DoubleStream#average()}, the mean is computed using
+     * compensated summation.
+     *
+     * @return a {@code DoubleCollector} that produces the mean of the elements
+     */
+    public static DoubleCollector<?, Double> averaging() {
+        return PrimitiveCollectors.DoubleCollectorImpl.averaging();
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that produces summary statistics for
+     * the input elements.
+     *
+     * @return a {@code DoubleCollector} implementing the summary-statistics
+     * reduction
+     */
+    public static DoubleCollector<?, DoubleSummaryStatistics> summarizing() {
+        return PrimitiveCollectors.DoubleCollectorImpl.summarizing();
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} that counts the input elements falling
+     * in each of {@code binCount} consecutive bins of equal width spanning
+     * the range from {@code origin} (inclusive) to {@code bound}
+     * (exclusive), producing an array of those counts.  Elements outside
+     * the range, and NaN values, are not counted.
+     *
+     * @param origin the least value counted
+     * @param bound the upper bound (exclusive) of values counted
+     * @param binCount the number of bins
+     * @return a {@code DoubleCollector} producing an array of counts per bin
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}, the range is not finite, or {@code binCount}
+     *         is not positive
+     */
+    public static DoubleCollector<?, long[]> histogram(double origin, double bound,
+                                                       int binCount) {
+        return PrimitiveCollectors.DoubleCollectorImpl.histogram(origin, bound, binCount);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} implementing a "group by" operation on
+     * input elements, grouping elements according to a classification
+     * function, and then performing a reduction operation on the values
+     * associated with a given key using the specified downstream
+     * {@code DoubleCollector}.  There are no guarantees on the type,
+     * mutability, serializability, or thread-safety of the {@code Map}
+     * returned.
+     *
+     * @param <K> the type of the keys
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param downstream a {@code DoubleCollector} implementing the downstream
+     *        reduction
+     * @return a {@code DoubleCollector} implementing the cascaded group-by
+     *         operation
+     * @throws NullPointerException if any argument is null
+     */
+    public static <K, D> DoubleCollector<?, Map<K, D>>
+    groupingBy(DoubleFunction<? extends K> classifier, DoubleCollector<?, D> downstream) {
+        return groupingBy(classifier, HashMap::new, downstream);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} implementing a cascaded "group by"
+     * operation on input elements, grouping elements according to a
+     * classification function, and then performing a reduction operation
+     * on the values associated with a given key using the specified
+     * downstream {@code DoubleCollector}.  The {@code Map} produced by the
+     * collector is created with the supplied factory function.
+     *
+     * <p>Each group is accumulated into a result container of the
+     * downstream collector, so elements are not boxed, and the collector
+     * creates objects only per group.
+     *
+     * @param <K> the type of the keys
+     * @param <D> the result type of the downstream reduction
+     * @param <M> the type of the resulting {@code Map}
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapFactory a function which, when called, produces a new empty
+     *        {@code Map} of the desired type
+     * @param downstream a {@code DoubleCollector} implementing the downstream
+     *        reduction
+     * @return a {@code DoubleCollector} implementing the cascaded group-by
+     *         operation
+     * @throws NullPointerException if any argument is null
+     */
+    public static <K, D, M extends Map<K, D>> DoubleCollector<?, M>
+    groupingBy(DoubleFunction<? extends K> classifier,
+               Supplier<M> mapFactory,
+               DoubleCollector<?, D> downstream) {
+        return PrimitiveCollectors.DoubleCollectorImpl.groupingBy(
+                classifier, mapFactory, downstream);
+    }
+}
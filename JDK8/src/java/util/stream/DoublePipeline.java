@@ -24,6 +24,7 @@
  */
 package java.util.stream;
 
+import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
 import java.util.Objects;
 import java.util.OptionalDouble;
@@ -159,6 +160,18 @@ abstract class DoublePipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachInBatches(Spliterator<Double> spliterator, Sink<Double> sink) {
+        if (spliterator instanceof Sink.BatchSource) {
+            ((Sink.BatchSource) spliterator).forEachRemainingBatch(sink);
+        }
+        else {
+            Sink.DoubleBatcher batcher = new Sink.DoubleBatcher(sink);
+            adapt(spliterator).forEachRemaining(batcher);
+            batcher.flush();
+        }
+    }
+
     @Override
     final  Node.Builder<Double> makeNodeBuilder(long exactSizeIfKnown, IntFunction<Double[]> generator) {
         return Nodes.doubleBuilder(exactSizeIfKnown);
@@ -192,10 +205,30 @@ abstract class DoublePipeline<E_IN>
             @Override
             Sink<Double> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedDouble<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(double t) {
                         downstream.accept(mapper.applyAsDouble(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsDouble(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -209,10 +242,37 @@ abstract class DoublePipeline<E_IN>
             @Override
             Sink<Double> opWrapSink(int flags, Sink<U> sink) {
                 return new Sink.ChainedDouble<U>(sink) {
+                    private Object[] batch;
+
                     @Override
                     public void accept(double t) {
                         downstream.accept(mapper.apply(t));
                     }
+
+                    @Override
+                    public void end() {
+                        batch = null;
+                        downstream.end();
+                    }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        Object[] b = batch;
+                        if (b == null)
+                            batch = b = new Object[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.apply(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                            Arrays.fill(b, 0, n, null);
+                        }
+                    }
                 };
             }
         };
@@ -226,10 +286,30 @@ abstract class DoublePipeline<E_IN>
             @Override
             Sink<Double> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedDouble<Integer>(sink) {
+                    private int[] batch;
+
                     @Override
                     public void accept(double t) {
                         downstream.accept(mapper.applyAsInt(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        int[] b = batch;
+                        if (b == null)
+                            batch = b = new int[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsInt(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -243,10 +323,30 @@ abstract class DoublePipeline<E_IN>
             @Override
             Sink<Double> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedDouble<Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void accept(double t) {
                         downstream.accept(mapper.applyAsLong(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsLong(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -297,6 +397,8 @@ abstract class DoublePipeline<E_IN>
             @Override
             Sink<Double> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedDouble<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void begin(long size) {
                         downstream.begin(-1);
@@ -307,6 +409,27 @@ abstract class DoublePipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = 0;
+                            for (int end = from + Math.min(to - from, BATCH_SIZE); from < end; from++) {
+                                if (predicate.test(elements[from]))
+                                    b[n++] = elements[from];
+                            }
+                            if (n > 0)
+                                downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -325,6 +448,18 @@ abstract class DoublePipeline<E_IN>
                         action.accept(t);
                         downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(double[] elements, int from, int to) {
+                        for (int i = from; i < to; i++)
+                            action.accept(elements[i]);
+                        downstream.acceptAll(elements, from, to);
+                    }
                 };
             }
         };
@@ -356,6 +491,17 @@ abstract class DoublePipeline<E_IN>
         return SortedOps.makeDouble(this);
     }
 
+    @Override
+    public final DoubleStream sorted(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+        if (maxSize == 0)
+            return SliceOps.makeDouble(this, 0, 0);
+        if (maxSize >= Nodes.MAX_ARRAY_SIZE)
+            return sorted();    // cannot be truncated
+        return BoundedSortedOps.makeDouble(this, maxSize);
+    }
+
     @Override
     public final DoubleStream distinct() {
         // While functional and quick to implement, this approach is not very efficient.
@@ -465,6 +611,25 @@ abstract class DoublePipeline<E_IN>
         return evaluate(ReduceOps.makeDouble(op));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <A, R> R collect(DoubleCollector<A, R> collector) {
+        A container;
+        if (isParallel()
+                && (collector.characteristics().contains(Collector.Characteristics.CONCURRENT))
+                && (!isOrdered() || collector.characteristics().contains(Collector.Characteristics.UNORDERED))) {
+            container = collector.supplier().get();
+            ObjDoubleConsumer<A> accumulator = collector.accumulator();
+            forEach(u -> accumulator.accept(container, u));
+        }
+        else {
+            container = evaluate(ReduceOps.makeDouble(collector));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+               ? (R) container
+               : collector.finisher().apply(container);
+    }
+
     @Override
     public final <R> R collect(Supplier<R> supplier,
                                ObjDoubleConsumer<R> accumulator,
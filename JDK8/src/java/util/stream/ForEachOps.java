@@ -157,7 +157,7 @@ final class ForEachOps {
             if (ordered)
                 new ForEachOrderedTask<>(helper, spliterator, this).invoke();
             else
-                new ForEachTask<>(helper, spliterator, helper.wrapSink(this)).invoke();
+                new ForEachTask<>(helper, spliterator, this).invoke();
             return null;
         }
 
@@ -183,6 +183,13 @@ final class ForEachOps {
             public void accept(T t) {
                 consumer.accept(t);
             }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void acceptAll(Object[] elements, int from, int to) {
+                for (int i = from; i < to; i++)
+                    consumer.accept((T) elements[i]);
+            }
         }
 
         /** Implementation class for {@code IntStream} */
@@ -204,6 +211,12 @@ final class ForEachOps {
             public void accept(int t) {
                 consumer.accept(t);
             }
+
+            @Override
+            public void acceptAll(int[] elements, int from, int to) {
+                for (int i = from; i < to; i++)
+                    consumer.accept(elements[i]);
+            }
         }
 
         /** Implementation class for {@code LongStream} */
@@ -225,6 +238,12 @@ final class ForEachOps {
             public void accept(long t) {
                 consumer.accept(t);
             }
+
+            @Override
+            public void acceptAll(long[] elements, int from, int to) {
+                for (int i = from; i < to; i++)
+                    consumer.accept(elements[i]);
+            }
         }
 
         /** Implementation class for {@code DoubleStream} */
@@ -246,6 +265,12 @@ final class ForEachOps {
             public void accept(double t) {
                 consumer.accept(t);
             }
+
+            @Override
+            public void acceptAll(double[] elements, int from, int to) {
+                for (int i = from; i < to; i++)
+                    consumer.accept(elements[i]);
+            }
         }
     }
 
@@ -254,14 +279,16 @@ final class ForEachOps {
     static final class ForEachTask<S, T> extends CountedCompleter<Void> {
         private Spliterator<S> spliterator;
         private final Sink<S> sink;
+        private final Sink<T> terminalSink;
         private final PipelineHelper<T> helper;
         private long targetSize;
 
         ForEachTask(PipelineHelper<T> helper,
                     Spliterator<S> spliterator,
-                    Sink<S> sink) {
+                    Sink<T> terminalSink) {
             super(null);
-            this.sink = sink;
+            this.sink = helper.wrapSink(terminalSink);
+            this.terminalSink = terminalSink;
             this.helper = helper;
             this.spliterator = spliterator;
             this.targetSize = 0L;
@@ -271,6 +298,7 @@ final class ForEachOps {
             super(parent);
             this.spliterator = spliterator;
             this.sink = parent.sink;
+            this.terminalSink = parent.terminalSink;
             this.targetSize = parent.targetSize;
             this.helper = parent.helper;
         }
@@ -280,7 +308,7 @@ final class ForEachOps {
             Spliterator<S> rightSplit = spliterator, leftSplit;
             long sizeEstimate = rightSplit.estimateSize(), sizeThreshold;
             if ((sizeThreshold = targetSize) == 0L)
-                targetSize = sizeThreshold = AbstractTask.suggestTargetSize(sizeEstimate);
+                targetSize = sizeThreshold = AbstractTask.suggestTargetSize(helper, sizeEstimate);
             boolean isShortCircuit = StreamOpFlag.SHORT_CIRCUIT.isKnown(helper.getStreamAndOpFlags());
             boolean forkRight = false;
             Sink<S> taskSink = sink;
@@ -288,7 +316,12 @@ final class ForEachOps {
             while (!isShortCircuit || !taskSink.cancellationRequested()) {
                 if (sizeEstimate <= sizeThreshold ||
                     (leftSplit = rightSplit.trySplit()) == null) {
-                    task.helper.copyInto(taskSink, rightSplit);
+                    // A chain of sinks that accepts batches may hold the buffers
+                    // of its batches, and so is not shared between leaf tasks
+                    if (AbstractPipeline.BATCHED_TRAVERSAL && taskSink.acceptsBatches())
+                        task.helper.copyInto(task.helper.wrapSink(task.terminalSink), rightSplit);
+                    else
+                        task.helper.copyInto(taskSink, rightSplit);
                     break;
                 }
                 ForEachTask<S, T> leftTask = new ForEachTask<>(task, leftSplit);
@@ -376,9 +409,9 @@ final class ForEachOps {
             super(null);
             this.helper = helper;
             this.spliterator = spliterator;
-            this.targetSize = AbstractTask.suggestTargetSize(spliterator.estimateSize());
+            this.targetSize = AbstractTask.suggestTargetSize(helper, spliterator.estimateSize());
             // Size map to avoid concurrent re-sizes
-            this.completionMap = new ConcurrentHashMap<>(Math.max(16, AbstractTask.LEAF_TARGET << 1));
+            this.completionMap = new ConcurrentHashMap<>(Math.max(16, AbstractTask.leafTarget(helper) << 1));
             this.action = action;
             this.leftPredecessor = null;
         }
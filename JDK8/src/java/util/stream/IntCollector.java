@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.IntSummaryStatistics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A <a href="package-summary.html#Reduction">mutable reduction operation</a>
+ * on {@code int} values, accumulating them into a mutable result container
+ * and optionally transforming the accumulated result into a final
+ * representation.  This is the primitive specialization of {@link Collector}
+ * for {@code int}: its accumulator accepts {@code int} values directly, so
+ * that {@link IntStream#collect(IntCollector)} can perform the reduction
+ * without boxing elements, and without a {@link IntStream#boxed() boxed()}
+ * stage.  The functions of a {@code IntCollector} must satisfy the same
+ * identity and associativity constraints as those of a {@code Collector}, and
+ * are used in the same way.
+ *
+ * <p>This interface also provides static factory methods for common
+ * reductions, which accumulate into primitive containers.  Grouping
+ * collectors accumulate each group into a container of the downstream
+ * collector, so that, for example, counting or summing elements by key
+ * creates objects per key rather than per element:
+ *
+ * <pre>{@code
+ *     Map<Grade, Long> countsByGrade = scores.collect(
+ *         IntCollector.groupingBy(Grade::of, IntCollector.counting()));
+ * }</pre>
+ *
+ * @see Collector
+ * @see IntStream#collect(IntCollector)
+ *
+ * @param <A> the mutable accumulation type of the reduction operation (often
+ *            hidden as an implementation detail)
+ * @param <R> the result type of the reduction operation
+ * @since 1.9
+ */
+public interface IntCollector<A, R> {
+    /**
+     * A function that creates and returns a new mutable result container.
+     *
+     * @return a function which returns a new, mutable result container
+     */
+    Supplier<A> supplier();
+
+    /**
+     * A function that folds a value into a mutable result container.
+     *
+     * @return a function which folds a value into a mutable result container
+     */
+    ObjIntConsumer<A> accumulator();
+
+    /**
+     * A function that accepts two partial results and merges them.  The
+     * combiner function may fold state from one argument into the other and
+     * return that, or may return a new result container.
+     *
+     * @return a function which combines two partial results into a combined
+     * result
+     */
+    BinaryOperator<A> combiner();
+
+    /**
+     * Perform the final transformation from the intermediate accumulation type
+     * {@code A} to the final result type {@code R}.
+     *
+     * <p>If the characteristic {@code IDENTITY_FINISH} is
+     * set, this function may be presumed to be an identity transform with an
+     * unchecked cast from {@code A} to {@code R}.
+     *
+     * @return a function which transforms the intermediate result to the final
+     * result
+     */
+    Function<A, R> finisher();
+
+    /**
+     * Returns a {@code Set} of {@code Collector.Characteristics} indicating
+     * the characteristics of this collector.  This set should be immutable.
+     *
+     * @return an immutable set of collector characteristics
+     */
+    Set<Collector.Characteristics> characteristics();
+
+    /**
+     * Returns a {@code Collector} accepting boxed elements that performs
+     * the same reduction as this collector, unboxing each element before
+     * passing it to this collector's accumulator.  This allows a
+     * {@code IntCollector} to be used where a {@code Collector} is
+     * required, such as downstream of {@link Collectors#groupingBy}.
+     *
+     * @return a {@code Collector} of boxed elements performing this reduction
+     */
+    default Collector<Integer, A, R> boxed() {
+        ObjIntConsumer<A> accumulator = accumulator();
+        return new Collectors.CollectorImpl<>(supplier(),
+                                              (a, t) -> accumulator.accept(a, t),
+                                              combiner(), finisher(),
+                                              characteristics());
+    }
+
+    /**
+     * Returns a new {@code IntCollector} described by the given
+     * {@code supplier}, {@code accumulator}, and {@code combiner} functions.
+     * The resulting collector has the
+     * {@code Collector.Characteristics.IDENTITY_FINISH} characteristic.
+     *
+     * @param supplier The supplier function for the new collector
+     * @param accumulator The accumulator function for the new collector
+     * @param combiner The combiner function for the new collector
+     * @param characteristics The collector characteristics for the new
+     *                        collector
+     * @param <R> The type of intermediate accumulation result, and final result,
+     *           for the new collector
+     * @throws NullPointerException if any argument is null
+     * @return the new {@code IntCollector}
+     */
+    public static <R> IntCollector<R, R> of(Supplier<R> supplier,
+                                            ObjIntConsumer<R> accumulator,
+                                            BinaryOperator<R> combiner,
+                                            Collector.Characteristics... characteristics) {
+        return new PrimitiveCollectors.IntCollectorImpl<>(
+                supplier, accumulator, combiner,
+                PrimitiveCollectors.identityFinish(characteristics));
+    }
+
+    /**
+     * Returns a new {@code IntCollector} described by the given
+     * {@code supplier}, {@code accumulator}, {@code combiner}, and
+     * {@code finisher} functions.
+     *
+     * @param supplier The supplier function for the new collector
+     * @param accumulator The accumulator function for the new collector
+     * @param combiner The combiner function for the new collector
+     * @param finisher The finisher function for the new collector
+     * @param characteristics The collector characteristics for the new
+     *                        collector
+     * @param <A> The intermediate accumulation type of the new collector
+     * @param <R> The final result type of the new collector
+     * @throws NullPointerException if any argument is null
+     * @return the new {@code IntCollector}
+     */
+    public static <A, R> IntCollector<A, R> of(Supplier<A> supplier,
+                                               ObjIntConsumer<A> accumulator,
+                                               BinaryOperator<A> combiner,
+                                               Function<A, R> finisher,
+                                               Collector.Characteristics... characteristics) {
+        return new PrimitiveCollectors.IntCollectorImpl<>(
+                supplier, accumulator, combiner, Objects.requireNonNull(finisher),
+                PrimitiveCollectors.characteristics(characteristics));
+    }
+
+    /**
+     * Returns an {@code IntCollector} that counts the number of input
+     * elements.  If no elements are present, the result is 0.
+     *
+     * @return an {@code IntCollector} that counts the input elements
+     */
+    public static IntCollector<?, Long> counting() {
+        return PrimitiveCollectors.IntCollectorImpl.counting();
+    }
+
+    /**
+     * Returns an {@code IntCollector} that produces the sum of the input
+     * elements.  If no elements are present, the result is 0.
+     *
+     * <p>As for {@link IntStream#sum()}, the sum is computed in
+     * {@code int} arithmetic, and may overflow.
+     *
+     * @return an {@code IntCollector} that produces the sum of the elements
+     */
+    public static IntCollector<?, Integer> summing() {
+        return PrimitiveCollectors.IntCollectorImpl.summing();
+    }
+
+    /**
+     * Returns an {@code IntCollector} that produces the arithmetic mean of
+     * the input elements.  If no elements are present, the result is 0.
+     *
+     * @return an {@code IntCollector} that produces the mean of the elements
+     */
+    public static IntCollector<?, Double> averaging() {
+        return PrimitiveCollectors.IntCollectorImpl.averaging();
+    }
+
+    /**
+     * Returns an {@code IntCollector} that produces summary statistics for
+     * the input elements.
+     *
+     * @return an {@code IntCollector} implementing the summary-statistics
+     * reduction
+     */
+    public static IntCollector<?, IntSummaryStatistics> summarizing() {
+        return PrimitiveCollectors.IntCollectorImpl.summarizing();
+    }
+
+    /**
+     * Returns an {@code IntCollector} that counts the input elements falling
+     * in each of {@code binCount} consecutive bins spanning the range from
+     * {@code origin} (inclusive) to {@code bound} (exclusive), producing an
+     * array of those counts.  Each bin but the last has width
+     * {@code ceil((bound - origin) / binCount)}, the last extending to
+     * {@code bound}, and may therefore be narrower or, if there are more
+     * bins than values in the range, empty.  Elements outside the range are
+     * not counted.
+     *
+     * <p>For example, {@code histogram(0, 100, 10)} counts values from 0
+     * to 9 in the first bin, from 10 to 19 in the second, and so on.
+     *
+     * @param origin the least value counted
+     * @param bound the upper bound (exclusive) of values counted
+     * @param binCount the number of bins
+     * @return an {@code IntCollector} producing an array of counts per bin
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}, or {@code binCount} is not positive
+     */
+    public static IntCollector<?, long[]> histogram(int origin, int bound,
+                                                    int binCount) {
+        return PrimitiveCollectors.IntCollectorImpl.histogram(origin, bound, binCount);
+    }
+
+    /**
+     * Returns an {@code IntCollector} that counts the occurrences of each
+     * distinct input element, producing a {@code Map} from each element to
+     * its number of occurrences.  There are no guarantees on the type,
+     * mutability, serializability, or thread-safety of the {@code Map}
+     * returned.
+     *
+     * <p>Counts are accumulated in a hash table specialized for
+     * {@code int} keys, so only the resulting {@code Map}, with an entry per
+     * distinct element, is boxed.  This is much cheaper than
+     * {@code groupingBy(i -> i, counting())}, which boxes every element.
+     *
+     * @return an {@code IntCollector} producing a map of element frequencies
+     */
+    public static IntCollector<?, Map<Integer, Long>> frequencies() {
+        return PrimitiveCollectors.IntCollectorImpl.frequencies();
+    }
+
+    /**
+     * Returns an {@code IntCollector} implementing a "group by" operation on
+     * input elements, grouping elements according to a classification
+     * function, and then performing a reduction operation on the values
+     * associated with a given key using the specified downstream
+     * {@code IntCollector}.  There are no guarantees on the type,
+     * mutability, serializability, or thread-safety of the {@code Map}
+     * returned.
+     *
+     * @param <K> the type of the keys
+     * @param <D> the result type of the downstream reduction
+     * @param classifier a classifier function mapping input elements to keys
+     * @param downstream an {@code IntCollector} implementing the downstream
+     *        reduction
+     * @return an {@code IntCollector} implementing the cascaded group-by
+     *         operation
+     * @throws NullPointerException if any argument is null
+     */
+    public static <K, D> IntCollector<?, Map<K, D>>
+    groupingBy(IntFunction<? extends K> classifier, IntCollector<?, D> downstream) {
+        return groupingBy(classifier, HashMap::new, downstream);
+    }
+
+    /**
+     * Returns an {@code IntCollector} implementing a cascaded "group by"
+     * operation on input elements, grouping elements according to a
+     * classification function, and then performing a reduction operation
+     * on the values associated with a given key using the specified
+     * downstream {@code IntCollector}.  The {@code Map} produced by the
+     * collector is created with the supplied factory function.
+     *
+     * <p>Each group is accumulated into a result container of the
+     * downstream collector, so elements are not boxed, and the collector
+     * creates objects only per group.
+     *
+     * @param <K> the type of the keys
+     * @param <D> the result type of the downstream reduction
+     * @param <M> the type of the resulting {@code Map}
+     * @param classifier a classifier function mapping input elements to keys
+     * @param mapFactory a function which, when called, produces a new empty
+     *        {@code Map} of the desired type
+     * @param downstream an {@code IntCollector} implementing the downstream
+     *        reduction
+     * @return an {@code IntCollector} implementing the cascaded group-by
+     *         operation
+     * @throws NullPointerException if any argument is null
+     */
+    public static <K, D, M extends Map<K, D>> IntCollector<?, M>
+    groupingBy(IntFunction<? extends K> classifier,
+               Supplier<M> mapFactory,
+               IntCollector<?, D> downstream) {
+        return PrimitiveCollectors.IntCollectorImpl.groupingBy(
+                classifier, mapFactory, downstream);
+    }
+}
@@ -24,6 +24,7 @@
  */
 package java.util.stream;
 
+import java.util.Arrays;
 import java.util.IntSummaryStatistics;
 import java.util.Objects;
 import java.util.OptionalDouble;
@@ -162,6 +163,18 @@ abstract class IntPipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachInBatches(Spliterator<Integer> spliterator, Sink<Integer> sink) {
+        if (spliterator instanceof Sink.BatchSource) {
+            ((Sink.BatchSource) spliterator).forEachRemainingBatch(sink);
+        }
+        else {
+            Sink.IntBatcher batcher = new Sink.IntBatcher(sink);
+            adapt(spliterator).forEachRemaining(batcher);
+            batcher.flush();
+        }
+    }
+
     @Override
     final Node.Builder<Integer> makeNodeBuilder(long exactSizeIfKnown,
                                                 IntFunction<Integer[]> generator) {
@@ -190,10 +203,30 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedInt<Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept((long) t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = (long) elements[from++];
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -206,10 +239,30 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedInt<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept((double) t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = (double) elements[from++];
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -228,10 +281,30 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedInt<Integer>(sink) {
+                    private int[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept(mapper.applyAsInt(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        int[] b = batch;
+                        if (b == null)
+                            batch = b = new int[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsInt(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -245,10 +318,37 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<U> sink) {
                 return new Sink.ChainedInt<U>(sink) {
+                    private Object[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept(mapper.apply(t));
                     }
+
+                    @Override
+                    public void end() {
+                        batch = null;
+                        downstream.end();
+                    }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        Object[] b = batch;
+                        if (b == null)
+                            batch = b = new Object[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.apply(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                            Arrays.fill(b, 0, n, null);
+                        }
+                    }
                 };
             }
         };
@@ -262,10 +362,30 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedInt<Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept(mapper.applyAsLong(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsLong(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -279,10 +399,30 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedInt<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(int t) {
                         downstream.accept(mapper.applyAsDouble(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsDouble(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -333,6 +473,8 @@ abstract class IntPipeline<E_IN>
             @Override
             Sink<Integer> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedInt<Integer>(sink) {
+                    private int[] batch;
+
                     @Override
                     public void begin(long size) {
                         downstream.begin(-1);
@@ -343,6 +485,27 @@ abstract class IntPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        int[] b = batch;
+                        if (b == null)
+                            batch = b = new int[BATCH_SIZE];
+                        while (from < to) {
+                            int n = 0;
+                            for (int end = from + Math.min(to - from, BATCH_SIZE); from < end; from++) {
+                                if (predicate.test(elements[from]))
+                                    b[n++] = elements[from];
+                            }
+                            if (n > 0)
+                                downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -361,6 +524,18 @@ abstract class IntPipeline<E_IN>
                         action.accept(t);
                         downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(int[] elements, int from, int to) {
+                        for (int i = from; i < to; i++)
+                            action.accept(elements[i]);
+                        downstream.acceptAll(elements, from, to);
+                    }
                 };
             }
         };
@@ -390,11 +565,20 @@ abstract class IntPipeline<E_IN>
         return SortedOps.makeInt(this);
     }
 
+    @Override
+    public final IntStream sorted(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+        if (maxSize == 0)
+            return SliceOps.makeInt(this, 0, 0);
+        if (maxSize >= Nodes.MAX_ARRAY_SIZE)
+            return sorted();    // cannot be truncated
+        return BoundedSortedOps.makeInt(this, maxSize);
+    }
+
     @Override
     public final IntStream distinct() {
-        // While functional and quick to implement, this approach is not very efficient.
-        // An efficient version requires an int-specific map/set implementation.
-        return boxed().distinct().mapToInt(i -> i);
+        return DistinctOps.makeInt(this);
     }
 
     // Terminal ops from IntStream
@@ -461,6 +645,25 @@ abstract class IntPipeline<E_IN>
         return evaluate(ReduceOps.makeInt(op));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <A, R> R collect(IntCollector<A, R> collector) {
+        A container;
+        if (isParallel()
+                && (collector.characteristics().contains(Collector.Characteristics.CONCURRENT))
+                && (!isOrdered() || collector.characteristics().contains(Collector.Characteristics.UNORDERED))) {
+            container = collector.supplier().get();
+            ObjIntConsumer<A> accumulator = collector.accumulator();
+            forEach(u -> accumulator.accept(container, u));
+        }
+        else {
+            container = evaluate(ReduceOps.makeInt(collector));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+               ? (R) container
+               : collector.finisher().apply(container);
+    }
+
     @Override
     public final <R> R collect(Supplier<R> supplier,
                                ObjIntConsumer<R> accumulator,
@@ -185,6 +185,35 @@ public interface IntStream extends BaseStream<Integer, IntStream> {
      */
     IntStream sorted();
 
+    /**
+     * Returns a stream consisting of the elements of this stream in sorted
+     * order, truncated to be no longer than {@code maxSize} in length.  That
+     * is, the stream consists of the {@code maxSize} least elements of this
+     * stream.
+     *
+     * <p>The result is the same as that of {@code sorted().limit(maxSize)}.
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">stateful
+     * intermediate operation</a>.
+     *
+     * @apiNote
+     * This operation retains at most {@code maxSize} elements at a time
+     * while consuming this stream, rather than every element, so when
+     * {@code maxSize} is small relative to the size of the stream it is much
+     * cheaper in both time and memory than sorting the entire stream.
+     *
+     * @implSpec
+     * The default implementation returns {@code sorted().limit(maxSize)}.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @since 1.9
+     */
+    default IntStream sorted(long maxSize) {
+        return sorted().limit(maxSize);
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on each element as elements are consumed
@@ -446,6 +475,39 @@ public interface IntStream extends BaseStream<Integer, IntStream> {
                   ObjIntConsumer<R> accumulator,
                   BiConsumer<R, R> combiner);
 
+    /**
+     * Performs a <a href="package-summary.html#MutableReduction">mutable
+     * reduction</a> operation on the elements of this stream using {@code
+     * IntCollector}, the {@code int} specialization of a {@link Collector}.
+     * Elements are passed to the collector's accumulator as {@code int}
+     * values, without boxing.
+     *
+     * <p>If the stream is parallel, and the collector is {@link
+     * Collector.Characteristics#CONCURRENT concurrent}, and either the
+     * stream is unordered or the collector is {@link
+     * Collector.Characteristics#UNORDERED unordered}, then a concurrent
+     * reduction will be performed (see {@link Collector} for details on
+     * concurrent reduction.)
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">terminal
+     * operation</a>.
+     *
+     * @implSpec
+     * The default implementation returns
+     * {@code boxed().collect(collector.boxed())}.
+     *
+     * @param <A> the intermediate accumulation type of the collector
+     * @param <R> the type of the result
+     * @param collector the {@code IntCollector} describing the reduction
+     * @return the result of the reduction
+     * @see #collect(Supplier, ObjIntConsumer, BiConsumer)
+     * @see IntCollector
+     * @since 1.9
+     */
+    default <A, R> R collect(IntCollector<A, R> collector) {
+        return boxed().collect(collector.boxed());
+    }
+
     /**
      * Returns the sum of elements in this stream.  This is a special case
      * of a <a href="package-summary.html#Reduction">reduction</a>
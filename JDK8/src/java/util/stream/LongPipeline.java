@@ -24,6 +24,7 @@
  */
 package java.util.stream;
 
+import java.util.Arrays;
 import java.util.LongSummaryStatistics;
 import java.util.Objects;
 import java.util.OptionalDouble;
@@ -160,6 +161,18 @@ abstract class LongPipeline<E_IN>
         do { } while (!sink.cancellationRequested() && spl.tryAdvance(adaptedSink));
     }
 
+    @Override
+    final void forEachInBatches(Spliterator<Long> spliterator, Sink<Long> sink) {
+        if (spliterator instanceof Sink.BatchSource) {
+            ((Sink.BatchSource) spliterator).forEachRemainingBatch(sink);
+        }
+        else {
+            Sink.LongBatcher batcher = new Sink.LongBatcher(sink);
+            adapt(spliterator).forEachRemaining(batcher);
+            batcher.flush();
+        }
+    }
+
     @Override
     final Node.Builder<Long> makeNodeBuilder(long exactSizeIfKnown, IntFunction<Long[]> generator) {
         return Nodes.longBuilder(exactSizeIfKnown);
@@ -187,10 +200,30 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedLong<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(long t) {
                         downstream.accept((double) t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = (double) elements[from++];
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -209,10 +242,30 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedLong<Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void accept(long t) {
                         downstream.accept(mapper.applyAsLong(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsLong(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -226,10 +279,37 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<U> sink) {
                 return new Sink.ChainedLong<U>(sink) {
+                    private Object[] batch;
+
                     @Override
                     public void accept(long t) {
                         downstream.accept(mapper.apply(t));
                     }
+
+                    @Override
+                    public void end() {
+                        batch = null;
+                        downstream.end();
+                    }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        Object[] b = batch;
+                        if (b == null)
+                            batch = b = new Object[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.apply(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                            Arrays.fill(b, 0, n, null);
+                        }
+                    }
                 };
             }
         };
@@ -243,10 +323,30 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedLong<Integer>(sink) {
+                    private int[] batch;
+
                     @Override
                     public void accept(long t) {
                         downstream.accept(mapper.applyAsInt(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        int[] b = batch;
+                        if (b == null)
+                            batch = b = new int[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsInt(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -260,10 +360,30 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedLong<Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(long t) {
                         downstream.accept(mapper.applyAsDouble(t));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsDouble(elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -314,6 +434,8 @@ abstract class LongPipeline<E_IN>
             @Override
             Sink<Long> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedLong<Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void begin(long size) {
                         downstream.begin(-1);
@@ -324,6 +446,27 @@ abstract class LongPipeline<E_IN>
                         if (predicate.test(t))
                             downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = 0;
+                            for (int end = from + Math.min(to - from, BATCH_SIZE); from < end; from++) {
+                                if (predicate.test(elements[from]))
+                                    b[n++] = elements[from];
+                            }
+                            if (n > 0)
+                                downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -342,6 +485,18 @@ abstract class LongPipeline<E_IN>
                         action.accept(t);
                         downstream.accept(t);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    public void acceptAll(long[] elements, int from, int to) {
+                        for (int i = from; i < to; i++)
+                            action.accept(elements[i]);
+                        downstream.acceptAll(elements, from, to);
+                    }
                 };
             }
         };
@@ -371,11 +526,20 @@ abstract class LongPipeline<E_IN>
         return SortedOps.makeLong(this);
     }
 
+    @Override
+    public final LongStream sorted(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+        if (maxSize == 0)
+            return SliceOps.makeLong(this, 0, 0);
+        if (maxSize >= Nodes.MAX_ARRAY_SIZE)
+            return sorted();    // cannot be truncated
+        return BoundedSortedOps.makeLong(this, maxSize);
+    }
+
     @Override
     public final LongStream distinct() {
-        // While functional and quick to implement, this approach is not very efficient.
-        // An efficient version requires a long-specific map/set implementation.
-        return boxed().distinct().mapToLong(i -> (long) i);
+        return DistinctOps.makeLong(this);
     }
 
     // Terminal ops from LongStream
@@ -443,6 +607,25 @@ abstract class LongPipeline<E_IN>
         return evaluate(ReduceOps.makeLong(op));
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public final <A, R> R collect(LongCollector<A, R> collector) {
+        A container;
+        if (isParallel()
+                && (collector.characteristics().contains(Collector.Characteristics.CONCURRENT))
+                && (!isOrdered() || collector.characteristics().contains(Collector.Characteristics.UNORDERED))) {
+            container = collector.supplier().get();
+            ObjLongConsumer<A> accumulator = collector.accumulator();
+            forEach(u -> accumulator.accept(container, u));
+        }
+        else {
+            container = evaluate(ReduceOps.makeLong(collector));
+        }
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+               ? (R) container
+               : collector.finisher().apply(container);
+    }
+
     @Override
     public final <R> R collect(Supplier<R> supplier,
                                ObjLongConsumer<R> accumulator,
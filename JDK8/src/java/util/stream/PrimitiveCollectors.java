@@ -0,0 +1,733 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Implementations of {@link IntCollector}, {@link LongCollector} and
+ * {@link DoubleCollector}, and of the reductions provided by their static
+ * factory methods.  Reductions accumulate into primitive arrays, summary
+ * statistics objects, or, for counting by key, tables specialized for
+ * primitive keys, so that elements are never boxed.
+ *
+ * @since 1.9
+ */
+final class PrimitiveCollectors {
+
+    private PrimitiveCollectors() { }
+
+    static final Set<Collector.Characteristics> CH_UNORDERED_NOID
+            = Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.UNORDERED));
+
+    /** The largest capacity of a table of counts */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Returns the characteristics of a collector with the given
+     * characteristics and an identity finisher.
+     */
+    static Set<Collector.Characteristics> identityFinish(Collector.Characteristics... characteristics) {
+        Objects.requireNonNull(characteristics);
+        return (characteristics.length == 0)
+               ? Collectors.CH_ID
+               : Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.IDENTITY_FINISH,
+                                                        characteristics));
+    }
+
+    /**
+     * Returns the characteristics of a collector with the given
+     * characteristics.
+     */
+    static Set<Collector.Characteristics> characteristics(Collector.Characteristics... characteristics) {
+        Objects.requireNonNull(characteristics);
+        Set<Collector.Characteristics> cs = Collectors.CH_NOID;
+        if (characteristics.length > 0) {
+            cs = EnumSet.noneOf(Collector.Characteristics.class);
+            Collections.addAll(cs, characteristics);
+            cs = Collections.unmodifiableSet(cs);
+        }
+        return cs;
+    }
+
+    /** Adds the counts in b to those in a, returning a. */
+    static long[] addCounts(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++)
+            a[i] += b[i];
+        return a;
+    }
+
+    /**
+     * Simple implementation class for {@code IntCollector}.
+     *
+     * @param <A> the mutable accumulation type
+     * @param <R> the result type
+     */
+    static final class IntCollectorImpl<A, R> implements IntCollector<A, R> {
+        private final Supplier<A> supplier;
+        private final ObjIntConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final Function<A, R> finisher;
+        private final Set<Collector.Characteristics> characteristics;
+
+        IntCollectorImpl(Supplier<A> supplier,
+                         ObjIntConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Function<A, R> finisher,
+                         Set<Collector.Characteristics> characteristics) {
+            this.supplier = Objects.requireNonNull(supplier);
+            this.accumulator = Objects.requireNonNull(accumulator);
+            this.combiner = Objects.requireNonNull(combiner);
+            this.finisher = finisher;
+            this.characteristics = characteristics;
+        }
+
+        IntCollectorImpl(Supplier<A> supplier,
+                         ObjIntConsumer<A> accumulator,
+                         BinaryOperator<A> combiner,
+                         Set<Collector.Characteristics> characteristics) {
+            this(supplier, accumulator, combiner, Collectors.castingIdentity(), characteristics);
+        }
+
+        @Override
+        public Supplier<A> supplier() {
+            return supplier;
+        }
+
+        @Override
+        public ObjIntConsumer<A> accumulator() {
+            return accumulator;
+        }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Function<A, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
+
+        static IntCollector<?, Long> counting() {
+            return new IntCollectorImpl<long[], Long>(
+                    () -> new long[1],
+                    (a, t) -> { a[0]++; },
+                    (a, b) -> { a[0] += b[0]; return a; },
+                    a -> a[0], Collectors.CH_NOID);
+        }
+
+        static IntCollector<?, Integer> summing() {
+            return new IntCollectorImpl<int[], Integer>(
+                    () -> new int[1],
+                    (a, t) -> { a[0] += t; },
+                    (a, b) -> { a[0] += b[0]; return a; },
+                    a -> a[0], Collectors.CH_NOID);
+        }
+
+        static IntCollector<?, Double> averaging() {
+            return new IntCollectorImpl<long[], Double>(
+                    () -> new long[2],
+                    (a, t) -> { a[0] += t; a[1]++; },
+                    (a, b) -> { a[0] += b[0]; a[1] += b[1]; return a; },
+                    a -> (a[1] == 0) ? 0.0d : (double) a[0] / a[1], Collectors.CH_NOID);
+        }
+
+        static IntCollector<?, IntSummaryStatistics> summarizing() {
+            return new IntCollectorImpl<IntSummaryStatistics, IntSummaryStatistics>(
+                    IntSummaryStatistics::new,
+                    (r, t) -> r.accept(t),
+                    (l, r) -> { l.combine(r); return l; }, Collectors.CH_ID);
+        }
+
+        static IntCollector<?, long[]> histogram(int origin, int bound, int binCount) {
+            if (origin >= bound)
+                throw new IllegalArgumentException("bound must be greater than origin");
+            if (binCount <= 0)
+                throw new IllegalArgumentException("binCount must be positive");
+            long span = (long) bound - origin;
+            long width = (span + binCount - 1) / binCount;
+            return new IntCollectorImpl<long[], long[]>(
+                    () -> new long[binCount],
+                    (a, t) -> {
+                        if (t >= origin && t < bound)
+                            a[(int) (((long) t - origin) / width)]++;
+                    },
+                    PrimitiveCollectors::addCounts, Collectors.CH_ID);
+        }
+
+        static IntCollector<?, Map<Integer, Long>> frequencies() {
+            return new IntCollectorImpl<IntCounts, Map<Integer, Long>>(
+                    IntCounts::new,
+                    (c, t) -> c.add(t, 1L),
+                    IntCounts::addAll,
+                    IntCounts::toMap, CH_UNORDERED_NOID);
+        }
+
+        static <K, A, D, M extends Map<K, D>> IntCollector<?, M>
+        groupingBy(IntFunction<? extends K> classifier,
+                   Supplier<M> mapFactory,
+                   IntCollector<A, D> downstream) {
+            Objects.requireNonNull(classifier);
+            Objects.requireNonNull(mapFactory);
+            Supplier<A> downstreamSupplier = downstream.supplier();
+            ObjIntConsumer<A> downstreamAccumulator = downstream.accumulator();
+            Function<K, A> newContainer = k -> downstreamSupplier.get();
+            ObjIntConsumer<Map<K, A>> accumulator = (m, t) -> {
+                K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+                A container = m.computeIfAbsent(key, newContainer);
+                downstreamAccumulator.accept(container, t);
+            };
+            BinaryOperator<Map<K, A>> merger = Collectors.<K, A, Map<K, A>>mapMerger(downstream.combiner());
+            @SuppressWarnings("unchecked")
+            Supplier<Map<K, A>> mangledFactory = (Supplier<Map<K, A>>) mapFactory;
+
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return new IntCollectorImpl<>(mangledFactory, accumulator, merger, Collectors.CH_ID);
+            }
+            else {
+                @SuppressWarnings("unchecked")
+                Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+                Function<Map<K, A>, M> finisher = intermediate -> {
+                    intermediate.replaceAll((k, v) -> downstreamFinisher.apply(v));
+                    @SuppressWarnings("unchecked")
+                    M castResult = (M) intermediate;
+                    return castResult;
+                };
+                return new IntCollectorImpl<>(mangledFactory, accumulator, merger, finisher, Collectors.CH_NOID);
+            }
+        }
+    }
+
+    /**
+     * Simple implementation class for {@code LongCollector}.
+     *
+     * @param <A> the mutable accumulation type
+     * @param <R> the result type
+     */
+    static final class LongCollectorImpl<A, R> implements LongCollector<A, R> {
+        private final Supplier<A> supplier;
+        private final ObjLongConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final Function<A, R> finisher;
+        private final Set<Collector.Characteristics> characteristics;
+
+        LongCollectorImpl(Supplier<A> supplier,
+                          ObjLongConsumer<A> accumulator,
+                          BinaryOperator<A> combiner,
+                          Function<A, R> finisher,
+                          Set<Collector.Characteristics> characteristics) {
+            this.supplier = Objects.requireNonNull(supplier);
+            this.accumulator = Objects.requireNonNull(accumulator);
+            this.combiner = Objects.requireNonNull(combiner);
+            this.finisher = finisher;
+            this.characteristics = characteristics;
+        }
+
+        LongCollectorImpl(Supplier<A> supplier,
+                          ObjLongConsumer<A> accumulator,
+                          BinaryOperator<A> combiner,
+                          Set<Collector.Characteristics> characteristics) {
+            this(supplier, accumulator, combiner, Collectors.castingIdentity(), characteristics);
+        }
+
+        @Override
+        public Supplier<A> supplier() {
+            return supplier;
+        }
+
+        @Override
+        public ObjLongConsumer<A> accumulator() {
+            return accumulator;
+        }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Function<A, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
+
+        static LongCollector<?, Long> counting() {
+            return new LongCollectorImpl<long[], Long>(
+                    () -> new long[1],
+                    (a, t) -> { a[0]++; },
+                    (a, b) -> { a[0] += b[0]; return a; },
+                    a -> a[0], Collectors.CH_NOID);
+        }
+
+        static LongCollector<?, Long> summing() {
+            return new LongCollectorImpl<long[], Long>(
+                    () -> new long[1],
+                    (a, t) -> { a[0] += t; },
+                    (a, b) -> { a[0] += b[0]; return a; },
+                    a -> a[0], Collectors.CH_NOID);
+        }
+
+        static LongCollector<?, Double> averaging() {
+            return new LongCollectorImpl<long[], Double>(
+                    () -> new long[2],
+                    (a, t) -> { a[0] += t; a[1]++; },
+                    (a, b) -> { a[0] += b[0]; a[1] += b[1]; return a; },
+                    a -> (a[1] == 0) ? 0.0d : (double) a[0] / a[1], Collectors.CH_NOID);
+        }
+
+        static LongCollector<?, LongSummaryStatistics> summarizing() {
+            return new LongCollectorImpl<LongSummaryStatistics, LongSummaryStatistics>(
+                    LongSummaryStatistics::new,
+                    (r, t) -> r.accept(t),
+                    (l, r) -> { l.combine(r); return l; }, Collectors.CH_ID);
+        }
+
+        static LongCollector<?, long[]> histogram(long origin, long bound, int binCount) {
+            if (origin >= bound)
+                throw new IllegalArgumentException("bound must be greater than origin");
+            if (binCount <= 0)
+                throw new IllegalArgumentException("binCount must be positive");
+            long span = bound - origin;
+            if (span <= 0L)
+                throw new IllegalArgumentException("range too large");
+            long width = span / binCount + ((span % binCount == 0L) ? 0L : 1L);
+            return new LongCollectorImpl<long[], long[]>(
+                    () -> new long[binCount],
+                    (a, t) -> {
+                        if (t >= origin && t < bound)
+                            a[(int) ((t - origin) / width)]++;
+                    },
+                    PrimitiveCollectors::addCounts, Collectors.CH_ID);
+        }
+
+        static LongCollector<?, Map<Long, Long>> frequencies() {
+            return new LongCollectorImpl<LongCounts, Map<Long, Long>>(
+                    LongCounts::new,
+                    (c, t) -> c.add(t, 1L),
+                    LongCounts::addAll,
+                    LongCounts::toMap, CH_UNORDERED_NOID);
+        }
+
+        static <K, A, D, M extends Map<K, D>> LongCollector<?, M>
+        groupingBy(LongFunction<? extends K> classifier,
+                   Supplier<M> mapFactory,
+                   LongCollector<A, D> downstream) {
+            Objects.requireNonNull(classifier);
+            Objects.requireNonNull(mapFactory);
+            Supplier<A> downstreamSupplier = downstream.supplier();
+            ObjLongConsumer<A> downstreamAccumulator = downstream.accumulator();
+            Function<K, A> newContainer = k -> downstreamSupplier.get();
+            ObjLongConsumer<Map<K, A>> accumulator = (m, t) -> {
+                K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+                A container = m.computeIfAbsent(key, newContainer);
+                downstreamAccumulator.accept(container, t);
+            };
+            BinaryOperator<Map<K, A>> merger = Collectors.<K, A, Map<K, A>>mapMerger(downstream.combiner());
+            @SuppressWarnings("unchecked")
+            Supplier<Map<K, A>> mangledFactory = (Supplier<Map<K, A>>) mapFactory;
+
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return new LongCollectorImpl<>(mangledFactory, accumulator, merger, Collectors.CH_ID);
+            }
+            else {
+                @SuppressWarnings("unchecked")
+                Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+                Function<Map<K, A>, M> finisher = intermediate -> {
+                    intermediate.replaceAll((k, v) -> downstreamFinisher.apply(v));
+                    @SuppressWarnings("unchecked")
+                    M castResult = (M) intermediate;
+                    return castResult;
+                };
+                return new LongCollectorImpl<>(mangledFactory, accumulator, merger, finisher, Collectors.CH_NOID);
+            }
+        }
+    }
+
+    /**
+     * Simple implementation class for {@code DoubleCollector}.
+     *
+     * @param <A> the mutable accumulation type
+     * @param <R> the result type
+     */
+    static final class DoubleCollectorImpl<A, R> implements DoubleCollector<A, R> {
+        private final Supplier<A> supplier;
+        private final ObjDoubleConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final Function<A, R> finisher;
+        private final Set<Collector.Characteristics> characteristics;
+
+        DoubleCollectorImpl(Supplier<A> supplier,
+                            ObjDoubleConsumer<A> accumulator,
+                            BinaryOperator<A> combiner,
+                            Function<A, R> finisher,
+                            Set<Collector.Characteristics> characteristics) {
+            this.supplier = Objects.requireNonNull(supplier);
+            this.accumulator = Objects.requireNonNull(accumulator);
+            this.combiner = Objects.requireNonNull(combiner);
+            this.finisher = finisher;
+            this.characteristics = characteristics;
+        }
+
+        DoubleCollectorImpl(Supplier<A> supplier,
+                            ObjDoubleConsumer<A> accumulator,
+                            BinaryOperator<A> combiner,
+                            Set<Collector.Characteristics> characteristics) {
+            this(supplier, accumulator, combiner, Collectors.castingIdentity(), characteristics);
+        }
+
+        @Override
+        public Supplier<A> supplier() {
+            return supplier;
+        }
+
+        @Override
+        public ObjDoubleConsumer<A> accumulator() {
+            return accumulator;
+        }
+
+        @Override
+        public BinaryOperator<A> combiner() {
+            return combiner;
+        }
+
+        @Override
+        public Function<A, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Collector.Characteristics> characteristics() {
+            return characteristics;
+        }
+
+        static DoubleCollector<?, Long> counting() {
+            return new DoubleCollectorImpl<long[], Long>(
+                    () -> new long[1],
+                    (a, t) -> { a[0]++; },
+                    (a, b) -> { a[0] += b[0]; return a; },
+                    a -> a[0], Collectors.CH_NOID);
+        }
+
+        static DoubleCollector<?, Double> summing() {
+            /*
+             * In the arrays allocated for the collect operation, index 0
+             * holds the high-order bits of the running sum, index 1 holds
+             * the low-order bits of the sum computed via compensated
+             * summation, and index 2 holds the simple sum used to compute
+             * the proper result if the stream contains infinite values of
+             * the same sign.
+             */
+            return new DoubleCollectorImpl<double[], Double>(
+                    () -> new double[3],
+                    (a, t) -> { Collectors.sumWithCompensation(a, t); a[2] += t; },
+                    (a, b) -> { Collectors.sumWithCompensation(a, b[0]);
+                                a[2] += b[2];
+                                return Collectors.sumWithCompensation(a, b[1]); },
+                    a -> Collectors.computeFinalSum(a), Collectors.CH_NOID);
+        }
+
+        static DoubleCollector<?, Double> averaging() {
+            /*
+             * In the arrays allocated for the collect operation, index 0
+             * holds the high-order bits of the running sum, index 1 holds
+             * the low-order bits of the sum computed via compensated
+             * summation, index 2 holds the number of values seen, and
+             * index 3 holds the simple sum.
+             */
+            return new DoubleCollectorImpl<double[], Double>(
+                    () -> new double[4],
+                    (a, t) -> { Collectors.sumWithCompensation(a, t); a[2]++; a[3] += t; },
+                    (a, b) -> { Collectors.sumWithCompensation(a, b[0]);
+                                Collectors.sumWithCompensation(a, b[1]);
+                                a[2] += b[2]; a[3] += b[3]; return a; },
+                    a -> (a[2] == 0) ? 0.0d : (Collectors.computeFinalSum(a) / a[2]),
+                    Collectors.CH_NOID);
+        }
+
+        static DoubleCollector<?, DoubleSummaryStatistics> summarizing() {
+            return new DoubleCollectorImpl<DoubleSummaryStatistics, DoubleSummaryStatistics>(
+                    DoubleSummaryStatistics::new,
+                    (r, t) -> r.accept(t),
+                    (l, r) -> { l.combine(r); return l; }, Collectors.CH_ID);
+        }
+
+        static DoubleCollector<?, long[]> histogram(double origin, double bound, int binCount) {
+            if (!(origin < bound))
+                throw new IllegalArgumentException("bound must be greater than origin");
+            if (Double.isInfinite(bound - origin))
+                throw new IllegalArgumentException("range must be finite");
+            if (binCount <= 0)
+                throw new IllegalArgumentException("binCount must be positive");
+            double width = (bound - origin) / binCount;
+            return new DoubleCollectorImpl<long[], long[]>(
+                    () -> new long[binCount],
+                    (a, t) -> {
+                        if (t >= origin && t < bound) // rounding may give binCount
+                            a[Math.min((int) ((t - origin) / width), binCount - 1)]++;
+                    },
+                    PrimitiveCollectors::addCounts, Collectors.CH_ID);
+        }
+
+        static <K, A, D, M extends Map<K, D>> DoubleCollector<?, M>
+        groupingBy(DoubleFunction<? extends K> classifier,
+                   Supplier<M> mapFactory,
+                   DoubleCollector<A, D> downstream) {
+            Objects.requireNonNull(classifier);
+            Objects.requireNonNull(mapFactory);
+            Supplier<A> downstreamSupplier = downstream.supplier();
+            ObjDoubleConsumer<A> downstreamAccumulator = downstream.accumulator();
+            Function<K, A> newContainer = k -> downstreamSupplier.get();
+            ObjDoubleConsumer<Map<K, A>> accumulator = (m, t) -> {
+                K key = Objects.requireNonNull(classifier.apply(t), "element cannot be mapped to a null key");
+                A container = m.computeIfAbsent(key, newContainer);
+                downstreamAccumulator.accept(container, t);
+            };
+            BinaryOperator<Map<K, A>> merger = Collectors.<K, A, Map<K, A>>mapMerger(downstream.combiner());
+            @SuppressWarnings("unchecked")
+            Supplier<Map<K, A>> mangledFactory = (Supplier<Map<K, A>>) mapFactory;
+
+            if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return new DoubleCollectorImpl<>(mangledFactory, accumulator, merger, Collectors.CH_ID);
+            }
+            else {
+                @SuppressWarnings("unchecked")
+                Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+                Function<Map<K, A>, M> finisher = intermediate -> {
+                    intermediate.replaceAll((k, v) -> downstreamFinisher.apply(v));
+                    @SuppressWarnings("unchecked")
+                    M castResult = (M) intermediate;
+                    return castResult;
+                };
+                return new DoubleCollectorImpl<>(mangledFactory, accumulator, merger, finisher, Collectors.CH_NOID);
+            }
+        }
+    }
+
+    /**
+     * An open-addressing table of counts keyed by int, with linear
+     * probing.  Zero marks an empty slot, so the count for zero itself is
+     * held separately.
+     */
+    static final class IntCounts {
+        private int[] keys = new int[16];
+        private long[] counts = new long[16];
+        private int size;
+        private long zeroCount;
+
+        /** Adds n to the count for the given key. */
+        void add(int x, long n) {
+            if (x == 0) {
+                zeroCount += n;
+                return;
+            }
+            int[] ks = keys;
+            int mask = ks.length - 1;
+            for (int i = DistinctOps.hash(x) & mask; ; i = (i + 1) & mask) {
+                int k = ks[i];
+                if (k == x) {
+                    counts[i] += n;
+                    return;
+                }
+                else if (k == 0) {
+                    ks[i] = x;
+                    counts[i] = n;
+                    if (++size >= (ks.length >>> 1))
+                        resize();
+                    return;
+                }
+            }
+        }
+
+        /** Adds the counts of the given table to this table. */
+        IntCounts addAll(IntCounts other) {
+            zeroCount += other.zeroCount;
+            int[] ks = other.keys;
+            long[] cs = other.counts;
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i] != 0)
+                    add(ks[i], cs[i]);
+            }
+            return this;
+        }
+
+        /** Returns a map from each key to its count. */
+        Map<Integer, Long> toMap() {
+            int n = size + ((zeroCount != 0L) ? 1 : 0);
+            Map<Integer, Long> m = new HashMap<>(Math.max((int) (n / .75f) + 1, 16));
+            if (zeroCount != 0L)
+                m.put(0, zeroCount);
+            int[] ks = keys;
+            long[] cs = counts;
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i] != 0)
+                    m.put(ks[i], cs[i]);
+            }
+            return m;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            long[] oldCounts = counts;
+            int n = oldKeys.length;
+            if (n >= MAXIMUM_CAPACITY) {
+                if (size >= n - 1)
+                    throw new OutOfMemoryError("Required table size too large");
+                return;
+            }
+            int[] ks = new int[n << 1];
+            long[] cs = new long[n << 1];
+            int mask = ks.length - 1;
+            for (int j = 0; j < n; j++) {
+                int x = oldKeys[j];
+                if (x != 0) {
+                    int i = DistinctOps.hash(x) & mask;
+                    while (ks[i] != 0)
+                        i = (i + 1) & mask;
+                    ks[i] = x;
+                    cs[i] = oldCounts[j];
+                }
+            }
+            keys = ks;
+            counts = cs;
+        }
+    }
+
+    /**
+     * An open-addressing table of counts keyed by long, with linear
+     * probing.  Zero marks an empty slot, so the count for zero itself is
+     * held separately.
+     */
+    static final class LongCounts {
+        private long[] keys = new long[16];
+        private long[] counts = new long[16];
+        private int size;
+        private long zeroCount;
+
+        /** Adds n to the count for the given key. */
+        void add(long x, long n) {
+            if (x == 0L) {
+                zeroCount += n;
+                return;
+            }
+            long[] ks = keys;
+            int mask = ks.length - 1;
+            for (int i = DistinctOps.hash(x) & mask; ; i = (i + 1) & mask) {
+                long k = ks[i];
+                if (k == x) {
+                    counts[i] += n;
+                    return;
+                }
+                else if (k == 0L) {
+                    ks[i] = x;
+                    counts[i] = n;
+                    if (++size >= (ks.length >>> 1))
+                        resize();
+                    return;
+                }
+            }
+        }
+
+        /** Adds the counts of the given table to this table. */
+        LongCounts addAll(LongCounts other) {
+            zeroCount += other.zeroCount;
+            long[] ks = other.keys;
+            long[] cs = other.counts;
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i] != 0L)
+                    add(ks[i], cs[i]);
+            }
+            return this;
+        }
+
+        /** Returns a map from each key to its count. */
+        Map<Long, Long> toMap() {
+            int n = size + ((zeroCount != 0L) ? 1 : 0);
+            Map<Long, Long> m = new HashMap<>(Math.max((int) (n / .75f) + 1, 16));
+            if (zeroCount != 0L)
+                m.put(0L, zeroCount);
+            long[] ks = keys;
+            long[] cs = counts;
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i] != 0L)
+                    m.put(ks[i], cs[i]);
+            }
+            return m;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            int n = oldKeys.length;
+            if (n >= MAXIMUM_CAPACITY) {
+                if (size >= n - 1)
+                    throw new OutOfMemoryError("Required table size too large");
+                return;
+            }
+            long[] ks = new long[n << 1];
+            long[] cs = new long[n << 1];
+            int mask = ks.length - 1;
+            for (int j = 0; j < n; j++) {
+                long x = oldKeys[j];
+                if (x != 0L) {
+                    int i = DistinctOps.hash(x) & mask;
+                    while (ks[i] != 0L)
+                        i = (i + 1) & mask;
+                    ks[i] = x;
+                    cs[i] = oldCounts[j];
+                }
+            }
+            keys = ks;
+            counts = cs;
+        }
+    }
+}
@@ -169,6 +169,13 @@ final class ReduceOps {
                 accumulator.accept(state, t);
             }
 
+            @Override
+            @SuppressWarnings("unchecked")
+            public void acceptAll(Object[] elements, int from, int to) {
+                for (int i = from; i < to; i++)
+                    accumulator.accept(state, (T) elements[i]);
+            }
+
             @Override
             public void combine(ReducingSink other) {
                 state = combiner.apply(state, other.state);
@@ -258,6 +265,14 @@ final class ReduceOps {
                 state = operator.applyAsInt(state, t);
             }
 
+            @Override
+            public void acceptAll(int[] elements, int from, int to) {
+                int s = state;
+                for (int i = from; i < to; i++)
+                    s = operator.applyAsInt(s, elements[i]);
+                state = s;
+            }
+
             @Override
             public Integer get() {
                 return state;
@@ -369,6 +384,51 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that implements a mutable reduce on
+     * {@code int} values.
+     *
+     * @param <I> the type of the intermediate reduction result
+     * @param collector {@code IntCollector} defining the reduction
+     * @return a {@code ReduceOp} implementing the reduction
+     */
+    public static <I> TerminalOp<Integer, I>
+    makeInt(IntCollector<I, ?> collector) {
+        Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
+        ObjIntConsumer<I> accumulator = collector.accumulator();
+        BinaryOperator<I> combiner = collector.combiner();
+        class ReducingSink extends Box<I>
+                implements AccumulatingSink<Integer, I, ReducingSink>, Sink.OfInt {
+            @Override
+            public void begin(long size) {
+                state = supplier.get();
+            }
+
+            @Override
+            public void accept(int t) {
+                accumulator.accept(state, t);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state = combiner.apply(state, other.state);
+            }
+        }
+        return new ReduceOp<Integer, I, ReducingSink>(StreamShape.INT_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+
+            @Override
+            public int getOpFlags() {
+                return collector.characteristics().contains(Collector.Characteristics.UNORDERED)
+                       ? StreamOpFlag.NOT_ORDERED
+                       : 0;
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a functional reduce on
      * {@code long} values.
@@ -394,6 +454,14 @@ final class ReduceOps {
                 state = operator.applyAsLong(state, t);
             }
 
+            @Override
+            public void acceptAll(long[] elements, int from, int to) {
+                long s = state;
+                for (int i = from; i < to; i++)
+                    s = operator.applyAsLong(s, elements[i]);
+                state = s;
+            }
+
             @Override
             public Long get() {
                 return state;
@@ -505,6 +573,51 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that implements a mutable reduce on
+     * {@code long} values.
+     *
+     * @param <I> the type of the intermediate reduction result
+     * @param collector {@code LongCollector} defining the reduction
+     * @return a {@code ReduceOp} implementing the reduction
+     */
+    public static <I> TerminalOp<Long, I>
+    makeLong(LongCollector<I, ?> collector) {
+        Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
+        ObjLongConsumer<I> accumulator = collector.accumulator();
+        BinaryOperator<I> combiner = collector.combiner();
+        class ReducingSink extends Box<I>
+                implements AccumulatingSink<Long, I, ReducingSink>, Sink.OfLong {
+            @Override
+            public void begin(long size) {
+                state = supplier.get();
+            }
+
+            @Override
+            public void accept(long t) {
+                accumulator.accept(state, t);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state = combiner.apply(state, other.state);
+            }
+        }
+        return new ReduceOp<Long, I, ReducingSink>(StreamShape.LONG_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+
+            @Override
+            public int getOpFlags() {
+                return collector.characteristics().contains(Collector.Characteristics.UNORDERED)
+                       ? StreamOpFlag.NOT_ORDERED
+                       : 0;
+            }
+        };
+    }
+
     /**
      * Constructs a {@code TerminalOp} that implements a functional reduce on
      * {@code double} values.
@@ -530,6 +643,14 @@ final class ReduceOps {
                 state = operator.applyAsDouble(state, t);
             }
 
+            @Override
+            public void acceptAll(double[] elements, int from, int to) {
+                double s = state;
+                for (int i = from; i < to; i++)
+                    s = operator.applyAsDouble(s, elements[i]);
+                state = s;
+            }
+
             @Override
             public Double get() {
                 return state;
@@ -641,6 +762,51 @@ final class ReduceOps {
         };
     }
 
+    /**
+     * Constructs a {@code TerminalOp} that implements a mutable reduce on
+     * {@code double} values.
+     *
+     * @param <I> the type of the intermediate reduction result
+     * @param collector {@code DoubleCollector} defining the reduction
+     * @return a {@code ReduceOp} implementing the reduction
+     */
+    public static <I> TerminalOp<Double, I>
+    makeDouble(DoubleCollector<I, ?> collector) {
+        Supplier<I> supplier = Objects.requireNonNull(collector).supplier();
+        ObjDoubleConsumer<I> accumulator = collector.accumulator();
+        BinaryOperator<I> combiner = collector.combiner();
+        class ReducingSink extends Box<I>
+                implements AccumulatingSink<Double, I, ReducingSink>, Sink.OfDouble {
+            @Override
+            public void begin(long size) {
+                state = supplier.get();
+            }
+
+            @Override
+            public void accept(double t) {
+                accumulator.accept(state, t);
+            }
+
+            @Override
+            public void combine(ReducingSink other) {
+                state = combiner.apply(state, other.state);
+            }
+        }
+        return new ReduceOp<Double, I, ReducingSink>(StreamShape.DOUBLE_VALUE) {
+            @Override
+            public ReducingSink makeSink() {
+                return new ReducingSink();
+            }
+
+            @Override
+            public int getOpFlags() {
+                return collector.characteristics().contains(Collector.Characteristics.UNORDERED)
+                       ? StreamOpFlag.NOT_ORDERED
+                       : 0;
+            }
+        };
+    }
+
     /**
      * A type of {@code TerminalSink} that implements an associative reducing
      * operation on elements of type {@code T} and producing a result of type
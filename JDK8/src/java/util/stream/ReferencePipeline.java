@@ -24,6 +24,7 @@
  */
 package java.util.stream;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Objects;
@@ -126,6 +127,18 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         do { } while (!sink.cancellationRequested() && spliterator.tryAdvance(sink));
     }
 
+    @Override
+    final void forEachInBatches(Spliterator<P_OUT> spliterator, Sink<P_OUT> sink) {
+        if (spliterator instanceof Sink.BatchSource) {
+            ((Sink.BatchSource) spliterator).forEachRemainingBatch(sink);
+        }
+        else {
+            Sink.RefBatcher<P_OUT> batcher = new Sink.RefBatcher<>(sink);
+            spliterator.forEachRemaining(batcher);
+            batcher.flush();
+        }
+    }
+
     @Override
     final Node.Builder<P_OUT> makeNodeBuilder(long exactSizeIfKnown, IntFunction<P_OUT[]> generator) {
         return Nodes.builder(exactSizeIfKnown, generator);
@@ -164,6 +177,8 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<P_OUT> sink) {
                 return new Sink.ChainedReference<P_OUT, P_OUT>(sink) {
+                    private Object[] batch;
+
                     @Override
                     public void begin(long size) {
                         downstream.begin(-1);
@@ -174,6 +189,36 @@ abstract class ReferencePipeline<P_IN, P_OUT>
                         if (predicate.test(u))
                             downstream.accept(u);
                     }
+
+                    @Override
+                    public void end() {
+                        batch = null;
+                        downstream.end();
+                    }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        Object[] b = batch;
+                        if (b == null)
+                            batch = b = new Object[BATCH_SIZE];
+                        while (from < to) {
+                            int n = 0;
+                            for (int end = from + Math.min(to - from, BATCH_SIZE); from < end; from++) {
+                                if (predicate.test((P_OUT) elements[from]))
+                                    b[n++] = elements[from];
+                            }
+                            if (n > 0) {
+                                downstream.acceptAll(b, 0, n);
+                                Arrays.fill(b, 0, n, null);
+                            }
+                        }
+                    }
                 };
             }
         };
@@ -188,10 +233,38 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<R> sink) {
                 return new Sink.ChainedReference<P_OUT, R>(sink) {
+                    private Object[] batch;
+
                     @Override
                     public void accept(P_OUT u) {
                         downstream.accept(mapper.apply(u));
                     }
+
+                    @Override
+                    public void end() {
+                        batch = null;
+                        downstream.end();
+                    }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        Object[] b = batch;
+                        if (b == null)
+                            batch = b = new Object[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.apply((P_OUT) elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                            Arrays.fill(b, 0, n, null);
+                        }
+                    }
                 };
             }
         };
@@ -205,10 +278,31 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<Integer> sink) {
                 return new Sink.ChainedReference<P_OUT, Integer>(sink) {
+                    private int[] batch;
+
                     @Override
                     public void accept(P_OUT u) {
                         downstream.accept(mapper.applyAsInt(u));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        int[] b = batch;
+                        if (b == null)
+                            batch = b = new int[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsInt((P_OUT) elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -222,10 +316,31 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<Long> sink) {
                 return new Sink.ChainedReference<P_OUT, Long>(sink) {
+                    private long[] batch;
+
                     @Override
                     public void accept(P_OUT u) {
                         downstream.accept(mapper.applyAsLong(u));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        long[] b = batch;
+                        if (b == null)
+                            batch = b = new long[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsLong((P_OUT) elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -239,10 +354,31 @@ abstract class ReferencePipeline<P_IN, P_OUT>
             @Override
             Sink<P_OUT> opWrapSink(int flags, Sink<Double> sink) {
                 return new Sink.ChainedReference<P_OUT, Double>(sink) {
+                    private double[] batch;
+
                     @Override
                     public void accept(P_OUT u) {
                         downstream.accept(mapper.applyAsDouble(u));
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        double[] b = batch;
+                        if (b == null)
+                            batch = b = new double[BATCH_SIZE];
+                        while (from < to) {
+                            int n = Math.min(to - from, BATCH_SIZE);
+                            for (int i = 0; i < n; i++)
+                                b[i] = mapper.applyAsDouble((P_OUT) elements[from++]);
+                            downstream.acceptAll(b, 0, n);
+                        }
+                    }
                 };
             }
         };
@@ -372,6 +508,19 @@ abstract class ReferencePipeline<P_IN, P_OUT>
                         action.accept(u);
                         downstream.accept(u);
                     }
+
+                    @Override
+                    public boolean acceptsBatches() {
+                        return true;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void acceptAll(Object[] elements, int from, int to) {
+                        for (int i = from; i < to; i++)
+                            action.accept((P_OUT) elements[i]);
+                        downstream.acceptAll(elements, from, to);
+                    }
                 };
             }
         };
@@ -394,6 +543,29 @@ abstract class ReferencePipeline<P_IN, P_OUT>
         return SortedOps.makeRef(this, comparator);
     }
 
+    @Override
+    public final Stream<P_OUT> sorted(long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+        if (maxSize == 0)
+            return SliceOps.makeRef(this, 0, 0);
+        if (maxSize >= Nodes.MAX_ARRAY_SIZE)
+            return sorted();    // cannot be truncated
+        return BoundedSortedOps.makeRef(this, maxSize);
+    }
+
+    @Override
+    public final Stream<P_OUT> sorted(Comparator<? super P_OUT> comparator, long maxSize) {
+        Objects.requireNonNull(comparator);
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+        if (maxSize == 0)
+            return SliceOps.makeRef(this, 0, 0);
+        if (maxSize >= Nodes.MAX_ARRAY_SIZE)
+            return sorted(comparator);    // cannot be truncated
+        return BoundedSortedOps.makeRef(this, comparator, maxSize);
+    }
+
     @Override
     public final Stream<P_OUT> limit(long maxSize) {
         if (maxSize < 0)
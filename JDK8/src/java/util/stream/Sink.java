@@ -24,6 +24,7 @@
  */
 package java.util.stream;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
@@ -111,6 +112,31 @@ import java.util.function.LongConsumer;
  * The {@code accept()} method applies the mapping function from {@code U} to
  * {@code int} and passes the resulting value to the downstream {@code Sink}.
  *
+ * <p>Elements may also be pushed in batches, by the {@code acceptAll} methods,
+ * which take a range of an array of elements of the appropriate type.  A
+ * {@code Sink} that processes a batch more efficiently than its elements one
+ * at a time, such as the sink of a stateless operation that maps or filters a
+ * batch into a batch for its downstream {@code Sink}, overrides the
+ * appropriate {@code acceptAll} method, and reports that it
+ * {@linkplain #acceptsBatches() accepts batches}.  Such a sink may retain the
+ * buffers of the batches it produces, so a chain of sinks that accepts batches
+ * must not be used by more than one thread at a time.  Other sinks inherit
+ * implementations of {@code acceptAll} that call {@code accept} for each
+ * element of the batch.
+ *
+ * <p>Batches are pushed only if batched traversal is enabled, by setting the
+ * system property {@code org.openjdk.java.util.stream.batchedTraversal} to
+ * {@code true}, so that by default each element passes through the whole
+ * chain of sinks before the next one enters it.  Stateful operations that
+ * hold their results in arrays, such as sorting, then push them downstream as
+ * a single batch, and a pipeline whose first {@code Sink} accepts batches is
+ * traversed by gathering the elements of its source into batches of at most
+ * {@link #BATCH_SIZE} elements, or, if its source holds its elements in arrays
+ * (see {@link BatchSource}), by pushing ranges of those arrays.  Batches are
+ * pushed only when the pipeline is not short-circuiting, so that
+ * {@code cancellationRequested()} need not be polled between the elements of a
+ * batch.
+ *
  * @param <T> type of elements for value streams
  * @since 1.8
  */
@@ -181,6 +207,96 @@ interface Sink<T> extends Consumer<T> {
         throw new IllegalStateException("called wrong accept method");
     }
 
+    /**
+     * The maximum number of elements in a batch gathered from a source, or
+     * produced by a batch-accepting stage into a temporary array for its
+     * downstream {@code Sink}.
+     */
+    int BATCH_SIZE = 1024;
+
+    /**
+     * Returns whether this sink processes a batch of elements pushed by
+     * {@code acceptAll} more efficiently than the same elements pushed one
+     * at a time, so that a pipeline whose first sink this is should be
+     * traversed in batches.
+     *
+     * @implSpec The default implementation returns false.
+     *
+     * @return true if this sink prefers to receive batches of elements
+     */
+    default boolean acceptsBatches() {
+        return false;
+    }
+
+    /**
+     * Accepts the elements of a range of an array, in order, which are of
+     * the type of elements accepted by this sink.  The array must not be
+     * modified, or retained after this method returns.
+     *
+     * @implSpec The default implementation calls {@code accept(Object)} with
+     * each element of the range.
+     *
+     * @param elements the array holding the elements
+     * @param from the index of the first element, inclusive
+     * @param to the index of the last element, exclusive
+     */
+    @SuppressWarnings("unchecked")
+    default void acceptAll(Object[] elements, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept((T) elements[i]);
+    }
+
+    /**
+     * Accepts the int values of a range of an array, in order.  The array
+     * must not be modified, or retained after this method returns.
+     *
+     * @implSpec The default implementation calls {@code accept(int)} with
+     * each value of the range.
+     *
+     * @param values the array holding the values
+     * @param from the index of the first value, inclusive
+     * @param to the index of the last value, exclusive
+     * @throws IllegalStateException if this sink does not accept int values
+     */
+    default void acceptAll(int[] values, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts the long values of a range of an array, in order.  The array
+     * must not be modified, or retained after this method returns.
+     *
+     * @implSpec The default implementation calls {@code accept(long)} with
+     * each value of the range.
+     *
+     * @param values the array holding the values
+     * @param from the index of the first value, inclusive
+     * @param to the index of the last value, exclusive
+     * @throws IllegalStateException if this sink does not accept long values
+     */
+    default void acceptAll(long[] values, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept(values[i]);
+    }
+
+    /**
+     * Accepts the double values of a range of an array, in order.  The
+     * array must not be modified, or retained after this method returns.
+     *
+     * @implSpec The default implementation calls {@code accept(double)} with
+     * each value of the range.
+     *
+     * @param values the array holding the values
+     * @param from the index of the first value, inclusive
+     * @param to the index of the last value, exclusive
+     * @throws IllegalStateException if this sink does not accept double values
+     */
+    default void acceptAll(double[] values, int from, int to) {
+        for (int i = from; i < to; i++)
+            accept(values[i]);
+    }
+
     /**
      * {@code Sink} that implements {@code Sink<Integer>}, re-abstracts
      * {@code accept(int)}, and wires {@code accept(Integer)} to bridge to
@@ -359,4 +475,146 @@ interface Sink<T> extends Consumer<T> {
             return downstream.cancellationRequested();
         }
     }
+
+    /**
+     * A source, such as a {@code Spliterator}, of elements held in arrays,
+     * which can push its remaining elements to a {@code Sink} as ranges of
+     * those arrays.
+     */
+    interface BatchSource {
+        /**
+         * Pushes each remaining element to the given sink, in order, by the
+         * {@code acceptAll} method for the shape of the elements.  The sink
+         * must already be in the active state.
+         *
+         * @param sink the sink to receive the elements
+         */
+        void forEachRemainingBatch(Sink<?> sink);
+    }
+
+    /**
+     * A {@code Consumer} that gathers elements into batches, pushing each
+     * batch to a downstream {@code Sink} when full, and the last batch
+     * when flushed.
+     */
+    static final class RefBatcher<T> implements Consumer<T> {
+        private final Sink<? super T> downstream;
+        private final Object[] batch = new Object[BATCH_SIZE];
+        private int count;
+
+        RefBatcher(Sink<? super T> downstream) {
+            this.downstream = Objects.requireNonNull(downstream);
+        }
+
+        @Override
+        public void accept(T t) {
+            batch[count++] = t;
+            if (count == BATCH_SIZE) {
+                downstream.acceptAll(batch, 0, BATCH_SIZE);
+                Arrays.fill(batch, null);
+                count = 0;
+            }
+        }
+
+        void flush() {
+            if (count > 0) {
+                downstream.acceptAll(batch, 0, count);
+                Arrays.fill(batch, 0, count, null);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * An {@code IntConsumer} that gathers values into batches, pushing
+     * each batch to a downstream {@code Sink} when full, and the last
+     * batch when flushed.
+     */
+    static final class IntBatcher implements IntConsumer {
+        private final Sink<?> downstream;
+        private final int[] batch = new int[BATCH_SIZE];
+        private int count;
+
+        IntBatcher(Sink<?> downstream) {
+            this.downstream = Objects.requireNonNull(downstream);
+        }
+
+        @Override
+        public void accept(int t) {
+            batch[count++] = t;
+            if (count == BATCH_SIZE) {
+                downstream.acceptAll(batch, 0, BATCH_SIZE);
+                count = 0;
+            }
+        }
+
+        void flush() {
+            if (count > 0) {
+                downstream.acceptAll(batch, 0, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A {@code LongConsumer} that gathers values into batches, pushing
+     * each batch to a downstream {@code Sink} when full, and the last
+     * batch when flushed.
+     */
+    static final class LongBatcher implements LongConsumer {
+        private final Sink<?> downstream;
+        private final long[] batch = new long[BATCH_SIZE];
+        private int count;
+
+        LongBatcher(Sink<?> downstream) {
+            this.downstream = Objects.requireNonNull(downstream);
+        }
+
+        @Override
+        public void accept(long t) {
+            batch[count++] = t;
+            if (count == BATCH_SIZE) {
+                downstream.acceptAll(batch, 0, BATCH_SIZE);
+                count = 0;
+            }
+        }
+
+        void flush() {
+            if (count > 0) {
+                downstream.acceptAll(batch, 0, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A {@code DoubleConsumer} that gathers values into batches, pushing
+     * each batch to a downstream {@code Sink} when full, and the last
+     * batch when flushed.
+     */
+    static final class DoubleBatcher implements DoubleConsumer {
+        private final Sink<?> downstream;
+        private final double[] batch = new double[BATCH_SIZE];
+        private int count;
+
+        DoubleBatcher(Sink<?> downstream) {
+            this.downstream = Objects.requireNonNull(downstream);
+        }
+
+        @Override
+        public void accept(double t) {
+            batch[count++] = t;
+            if (count == BATCH_SIZE) {
+                downstream.acceptAll(batch, 0, BATCH_SIZE);
+                count = 0;
+            }
+        }
+
+        void flush() {
+            if (count > 0) {
+                downstream.acceptAll(batch, 0, count);
+                count = 0;
+            }
+        }
+    }
 }
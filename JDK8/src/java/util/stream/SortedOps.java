@@ -348,8 +348,11 @@ final class SortedOps {
             Arrays.sort(array, 0, offset, comparator);
             downstream.begin(offset);
             if (!cancellationWasRequested) {
-                for (int i = 0; i < offset; i++)
-                    downstream.accept(array[i]);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(array, 0, offset);
+                else
+                    for (int i = 0; i < offset; i++)
+                        downstream.accept(array[i]);
             }
             else {
                 for (int i = 0; i < offset && !downstream.cancellationRequested(); i++)
@@ -445,8 +448,11 @@ final class SortedOps {
             Arrays.sort(array, 0, offset);
             downstream.begin(offset);
             if (!cancellationWasRequested) {
-                for (int i = 0; i < offset; i++)
-                    downstream.accept(array[i]);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(array, 0, offset);
+                else
+                    for (int i = 0; i < offset; i++)
+                        downstream.accept(array[i]);
             }
             else {
                 for (int i = 0; i < offset && !downstream.cancellationRequested(); i++)
@@ -485,8 +491,11 @@ final class SortedOps {
             Arrays.sort(ints);
             downstream.begin(ints.length);
             if (!cancellationWasRequested) {
-                for (int anInt : ints)
-                    downstream.accept(anInt);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(ints, 0, ints.length);
+                else
+                    for (int anInt : ints)
+                        downstream.accept(anInt);
             }
             else {
                 for (int anInt : ints) {
@@ -543,8 +552,11 @@ final class SortedOps {
             Arrays.sort(array, 0, offset);
             downstream.begin(offset);
             if (!cancellationWasRequested) {
-                for (int i = 0; i < offset; i++)
-                    downstream.accept(array[i]);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(array, 0, offset);
+                else
+                    for (int i = 0; i < offset; i++)
+                        downstream.accept(array[i]);
             }
             else {
                 for (int i = 0; i < offset && !downstream.cancellationRequested(); i++)
@@ -583,8 +595,11 @@ final class SortedOps {
             Arrays.sort(longs);
             downstream.begin(longs.length);
             if (!cancellationWasRequested) {
-                for (long aLong : longs)
-                    downstream.accept(aLong);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(longs, 0, longs.length);
+                else
+                    for (long aLong : longs)
+                        downstream.accept(aLong);
             }
             else {
                 for (long aLong : longs) {
@@ -641,8 +656,11 @@ final class SortedOps {
             Arrays.sort(array, 0, offset);
             downstream.begin(offset);
             if (!cancellationWasRequested) {
-                for (int i = 0; i < offset; i++)
-                    downstream.accept(array[i]);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(array, 0, offset);
+                else
+                    for (int i = 0; i < offset; i++)
+                        downstream.accept(array[i]);
             }
             else {
                 for (int i = 0; i < offset && !downstream.cancellationRequested(); i++)
@@ -681,8 +699,11 @@ final class SortedOps {
             Arrays.sort(doubles);
             downstream.begin(doubles.length);
             if (!cancellationWasRequested) {
-                for (double aDouble : doubles)
-                    downstream.accept(aDouble);
+                if (AbstractPipeline.BATCHED_TRAVERSAL)
+                    downstream.acceptAll(doubles, 0, doubles.length);
+                else
+                    for (double aDouble : doubles)
+                        downstream.accept(aDouble);
             }
             else {
                 for (double aDouble : doubles) {
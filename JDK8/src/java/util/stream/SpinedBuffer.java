@@ -277,7 +277,7 @@ class SpinedBuffer<E>
      * Return a {@link Spliterator} describing the contents of the buffer.
      */
     public Spliterator<E> spliterator() {
-        class Splitr implements Spliterator<E> {
+        class Splitr implements Spliterator<E>, Sink.BatchSource {
             // The current spine index
             int splSpineIndex;
 
@@ -369,6 +369,26 @@ class SpinedBuffer<E>
                 }
             }
 
+            @Override
+            public void forEachRemainingBatch(Sink<?> sink) {
+                if (splSpineIndex < lastSpineIndex
+                    || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                    int i = splElementIndex;
+                    // completed chunks, if any
+                    for (int sp = splSpineIndex; sp < lastSpineIndex; sp++) {
+                        E[] chunk = spine[sp];
+                        sink.acceptAll(chunk, i, chunk.length);
+                        i = 0;
+                    }
+                    // last (or current uncompleted) chunk
+                    E[] chunk = (splSpineIndex == lastSpineIndex) ? splChunk : spine[lastSpineIndex];
+                    sink.acceptAll(chunk, i, lastSpineElementFence);
+                    // mark consumed
+                    splSpineIndex = lastSpineIndex;
+                    splElementIndex = lastSpineElementFence;
+                }
+            }
+
             @Override
             public Spliterator<E> trySplit() {
                 if (splSpineIndex < lastSpineIndex) {
@@ -480,6 +500,10 @@ class SpinedBuffer<E>
         protected abstract void arrayForEach(T_ARR array, int from, int to,
                                              T_CONS consumer);
 
+        /** Push a range of an array to the provided sink as a batch */
+        protected abstract void arrayAcceptAll(T_ARR array, int from, int to,
+                                               Sink<?> sink);
+
         protected long capacity() {
             return (spineIndex == 0)
                    ? arrayLength(curChunk)
@@ -594,7 +618,7 @@ class SpinedBuffer<E>
         }
 
         abstract class BaseSpliterator<T_SPLITR extends Spliterator.OfPrimitive<E, T_CONS, T_SPLITR>>
-                implements Spliterator.OfPrimitive<E, T_CONS, T_SPLITR> {
+                implements Spliterator.OfPrimitive<E, T_CONS, T_SPLITR>, Sink.BatchSource {
             // The current spine index
             int splSpineIndex;
 
@@ -688,6 +712,26 @@ class SpinedBuffer<E>
                 }
             }
 
+            @Override
+            public void forEachRemainingBatch(Sink<?> sink) {
+                if (splSpineIndex < lastSpineIndex
+                    || (splSpineIndex == lastSpineIndex && splElementIndex < lastSpineElementFence)) {
+                    int i = splElementIndex;
+                    // completed chunks, if any
+                    for (int sp = splSpineIndex; sp < lastSpineIndex; sp++) {
+                        T_ARR chunk = spine[sp];
+                        arrayAcceptAll(chunk, i, arrayLength(chunk), sink);
+                        i = 0;
+                    }
+                    // last (or current uncompleted) chunk
+                    T_ARR chunk = (splSpineIndex == lastSpineIndex) ? splChunk : spine[lastSpineIndex];
+                    arrayAcceptAll(chunk, i, lastSpineElementFence, sink);
+                    // mark consumed
+                    splSpineIndex = lastSpineIndex;
+                    splElementIndex = lastSpineElementFence;
+                }
+            }
+
             @Override
             public T_SPLITR trySplit() {
                 if (splSpineIndex < lastSpineIndex) {
@@ -763,6 +807,13 @@ class SpinedBuffer<E>
                 consumer.accept(array[i]);
         }
 
+        @Override
+        protected void arrayAcceptAll(int[] array,
+                                      int from, int to,
+                                      Sink<?> sink) {
+            sink.acceptAll(array, from, to);
+        }
+
         @Override
         public void accept(int i) {
             preAccept();
@@ -876,6 +927,13 @@ class SpinedBuffer<E>
                 consumer.accept(array[i]);
         }
 
+        @Override
+        protected void arrayAcceptAll(long[] array,
+                                      int from, int to,
+                                      Sink<?> sink) {
+            sink.acceptAll(array, from, to);
+        }
+
         @Override
         public void accept(long i) {
             preAccept();
@@ -991,6 +1049,13 @@ class SpinedBuffer<E>
                 consumer.accept(array[i]);
         }
 
+        @Override
+        protected void arrayAcceptAll(double[] array,
+                                      int from, int to,
+                                      Sink<?> sink) {
+            sink.acceptAll(array, from, to);
+        }
+
         @Override
         public void accept(double i) {
             preAccept();
@@ -391,6 +391,77 @@ public interface Stream<T> extends BaseStream<T, Stream<T>> {
      */
     Stream<T> sorted(Comparator<? super T> comparator);
 
+    /**
+     * Returns a stream consisting of the elements of this stream, sorted
+     * according to natural order and truncated to be no longer than
+     * {@code maxSize} in length.  That is, the stream consists of the
+     * {@code maxSize} least elements of this stream.  If the elements of
+     * this stream are not {@code Comparable}, a
+     * {@code java.lang.ClassCastException} may be thrown when the terminal
+     * operation is executed.
+     *
+     * <p>The result is the same as that of {@code sorted().limit(maxSize)}.
+     * For ordered streams, the sort is stable.  For unordered streams, no
+     * stability guarantees are made.
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">stateful
+     * intermediate operation</a>.
+     *
+     * @apiNote
+     * This operation retains at most {@code maxSize} elements at a time
+     * while consuming this stream, rather than every element, so when
+     * {@code maxSize} is small relative to the size of the stream it is much
+     * cheaper in both time and memory than sorting the entire stream.
+     *
+     * @implSpec
+     * The default implementation returns {@code sorted().limit(maxSize)}.
+     *
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @since 1.9
+     */
+    default Stream<T> sorted(long maxSize) {
+        return sorted().limit(maxSize);
+    }
+
+    /**
+     * Returns a stream consisting of the elements of this stream, sorted
+     * according to the provided {@code Comparator} and truncated to be no
+     * longer than {@code maxSize} in length.  That is, the stream consists
+     * of the {@code maxSize} least elements of this stream according to the
+     * {@code Comparator}.
+     *
+     * <p>The result is the same as that of
+     * {@code sorted(comparator).limit(maxSize)}.  For ordered streams, the
+     * sort is stable.  For unordered streams, no stability guarantees are
+     * made.
+     *
+     * <p>This is a <a href="package-summary.html#StreamOps">stateful
+     * intermediate operation</a>.
+     *
+     * @apiNote
+     * This operation retains at most {@code maxSize} elements at a time
+     * while consuming this stream, rather than every element, so when
+     * {@code maxSize} is small relative to the size of the stream it is much
+     * cheaper in both time and memory than sorting the entire stream.
+     *
+     * @implSpec
+     * The default implementation returns
+     * {@code sorted(comparator).limit(maxSize)}.
+     *
+     * @param comparator a <a href="package-summary.html#NonInterference">non-interfering</a>,
+     *                   <a href="package-summary.html#Statelessness">stateless</a>
+     *                   {@code Comparator} to be used to compare stream elements
+     * @param maxSize the number of elements the stream should be limited to
+     * @return the new stream
+     * @throws IllegalArgumentException if {@code maxSize} is negative
+     * @since 1.9
+     */
+    default Stream<T> sorted(Comparator<? super T> comparator, long maxSize) {
+        return sorted(comparator).limit(maxSize);
+    }
+
     /**
      * Returns a stream consisting of the elements of this stream, additionally
      * performing the provided action on each element as elements are consumed
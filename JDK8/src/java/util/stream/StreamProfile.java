@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A report of where time was spent during the evaluation of a stream
+ * pipeline, produced for a pipeline on which profiling was enabled by
+ * {@link #profile(BaseStream, Consumer) profile}.
+ *
+ * <p>A profile describes each {@linkplain #stages() stage} of the
+ * pipeline: the stream source, each intermediate operation, and the
+ * terminal operation, with the number of elements that entered and left
+ * the stage and the time spent processing them.  For parallel pipelines
+ * it also describes how the work was {@linkplain #tasks() split into
+ * tasks}.  For example:
+ *
+ * <pre>{@code
+ *     long count = StreamProfile.profile(orders.parallelStream(), System.out::println)
+ *         .filter(o -> o.isOpen())
+ *         .map(Order::customer)
+ *         .distinct()
+ *         .count();
+ * }</pre>
+ *
+ * <p>Profiling records the elements passing between stages, and the time
+ * spent in each stage, by interposing on each element passed from one
+ * stage to the next, which adds a cost per element and stage comparable to
+ * that of two calls to {@link System#nanoTime}.  Pipelines on which
+ * profiling has not been enabled incur no such cost.
+ *
+ * @since 1.9
+ */
+public final class StreamProfile {
+
+    /**
+     * Enables profiling of the pipeline of the given stream, and returns
+     * that stream.  When a terminal operation on the pipeline completes,
+     * normally or abruptly, the given listener is invoked, in the thread
+     * that invoked the terminal operation, with a profile of its
+     * evaluation.  If profiling was already enabled on the pipeline, the
+     * listener is invoked after those given previously.
+     *
+     * <p>Profiling should be enabled before intermediate operations are
+     * added to the pipeline, as in the example above, so that the stages
+     * of the profile are named by the methods that added them; other
+     * stages are named after their implementation classes.  A profile is
+     * only produced by the evaluation of a terminal operation, not by
+     * traversal of the stream's {@link BaseStream#iterator() iterator} or
+     * {@link BaseStream#spliterator() spliterator}.
+     *
+     * @param <T> the type of the stream elements
+     * @param <S> the type of the stream
+     * @param stream the stream whose pipeline is to be profiled
+     * @param listener the listener to receive the profile
+     * @return the given stream
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if the stream was not created by the
+     *         methods of this package
+     * @throws IllegalStateException if the stream has already been operated
+     *         upon or closed
+     */
+    public static <T, S extends BaseStream<T, S>> S profile(S stream,
+                                                          Consumer<? super StreamProfile> listener) {
+        Objects.requireNonNull(listener);
+        if (!(Objects.requireNonNull(stream) instanceof AbstractPipeline))
+            throw new IllegalArgumentException("stream cannot be profiled");
+        ((AbstractPipeline<?, ?, ?>) stream).enableProfiling(listener);
+        return stream;
+    }
+
+    private final boolean parallel;
+    private final long elapsedNanos;
+    private final List<Stage> stages;
+    private final List<Task> tasks;
+
+    StreamProfile(boolean parallel, long elapsedNanos,
+                  List<Stage> stages, List<Task> tasks) {
+        this.parallel = parallel;
+        this.elapsedNanos = elapsedNanos;
+        this.stages = Collections.unmodifiableList(stages);
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Returns whether the pipeline was evaluated in parallel.
+     *
+     * @return {@code true} if the pipeline was evaluated in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns the elapsed time of the terminal operation, in nanoseconds.
+     *
+     * @return the elapsed time of the terminal operation
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the stages of the pipeline, in order: the stream source, each
+     * intermediate operation, and the terminal operation.
+     *
+     * @return an unmodifiable list of the stages of the pipeline
+     */
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    /**
+     * Returns the root tasks of the parallel computations performed by the
+     * pipeline, in the order in which they were created.  A pipeline
+     * performs a parallel computation for its terminal operation, and may
+     * also perform one for each stateful intermediate operation.  The list
+     * is empty if the pipeline was evaluated sequentially, or if its
+     * parallel computations were not performed by splitting into a tree of
+     * tasks (as is the case for {@link Stream#forEach forEach}).
+     *
+     * @return an unmodifiable list of root tasks
+     */
+    public List<Task> tasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns a string describing this profile, with a line for each
+     * stage, and a summary of the parallel computations.
+     *
+     * @return a string describing this profile
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(parallel ? "parallel" : "sequential")
+          .append(" stream pipeline, ")
+          .append(millis(elapsedNanos)).append(" elapsed");
+        int width = 5;
+        for (Stage s : stages)
+            width = Math.max(width, s.name().length());
+        sb.append(String.format("%n  %-" + width + "s %14s %14s %14s",
+                                "stage", "in", "out", "time"));
+        for (Stage s : stages)
+            sb.append(String.format("%n  %-" + width + "s %14s %14s %14s",
+                                    s.name(), count(s.elementsIn()),
+                                    count(s.elementsOut()), millis(s.nanos())));
+        for (Task t : tasks) {
+            sb.append(String.format("%n  task tree: %d leaves, depth %d, over %s elements",
+                                    t.leafCount(), t.depth(), count(t.estimatedSize())));
+        }
+        return sb.toString();
+    }
+
+    private static String count(long n) {
+        return (n < 0L) ? "-" : Long.toString(n);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f ms", nanos / 1e6);
+    }
+
+    /**
+     * A stage of a profiled pipeline: its source, an intermediate
+     * operation, or its terminal operation.
+     *
+     * <p>The time of a stage is that spent in the stage itself, excluding
+     * time spent in the stages downstream of it, summed over all threads
+     * that processed its elements.  For the source, it is the time spent
+     * traversing the source.  For a stateful operation of a parallel
+     * pipeline that was evaluated in a separate parallel computation, it is
+     * the elapsed time of that computation, including time spent in the
+     * upstream stages, plus the time spent traversing its results.
+     *
+     * @since 1.9
+     */
+    public static final class Stage {
+        private final String name;
+        private final long elementsIn;
+        private final long elementsOut;
+        private final long nanos;
+
+        Stage(String name, long elementsIn, long elementsOut, long nanos) {
+            this.name = name;
+            this.elementsIn = elementsIn;
+            this.elementsOut = elementsOut;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the name of this stage: the name of the method that
+         * added it to the pipeline, {@code "source"} for the stream source,
+         * or otherwise the name of its implementation class.
+         *
+         * @return the name of this stage
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of elements that entered this stage, or -1 for
+         * the stream source.
+         *
+         * @return the number of elements that entered this stage
+         */
+        public long elementsIn() {
+            return elementsIn;
+        }
+
+        /**
+         * Returns the number of elements that left this stage, or -1 for
+         * the terminal operation.
+         *
+         * @return the number of elements that left this stage
+         */
+        public long elementsOut() {
+            return elementsOut;
+        }
+
+        /**
+         * Returns the time spent in this stage, in nanoseconds.
+         *
+         * @return the time spent in this stage
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns a string describing this stage.
+         *
+         * @return a string describing this stage
+         */
+        @Override
+        public String toString() {
+            return name + "[in=" + count(elementsIn) + ", out=" + count(elementsOut)
+                   + ", time=" + millis(nanos) + "]";
+        }
+    }
+
+    /**
+     * A task of a parallel computation performed by a profiled pipeline.
+     * A task either splits its portion of the input into two, and forks a
+     * child task for each, or processes it as a leaf.
+     *
+     * @since 1.9
+     */
+    public static final class Task {
+        private final long estimatedSize;
+        private final List<Task> children = new ArrayList<>(2);
+        private volatile long nanos = -1L;
+        private volatile String threadName;
+
+        Task(long estimatedSize) {
+            this.estimatedSize = estimatedSize;
+        }
+
+        /**
+         * Creates and returns a child of this task.  Invoked only by the
+         * thread splitting this task.
+         */
+        Task newChild(long estimatedSize) {
+            Task child = new Task(estimatedSize);
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * Records that this leaf task completed in the given time.
+         */
+        void leafCompleted(long nanos) {
+            this.threadName = Thread.currentThread().getName();
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the estimated number of source elements in this task's
+         * portion of the input, or -1 if not known.
+         *
+         * @return the estimated number of elements
+         */
+        public long estimatedSize() {
+            return (estimatedSize == Long.MAX_VALUE) ? -1L : estimatedSize;
+        }
+
+        /**
+         * Returns the child tasks of this task, which are empty if this is
+         * a leaf task.
+         *
+         * @return an unmodifiable list of the child tasks
+         */
+        public List<Task> children() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Returns whether this is a leaf task.
+         *
+         * @return {@code true} if this task has no children
+         */
+        public boolean isLeaf() {
+            return children.isEmpty();
+        }
+
+        /**
+         * Returns the time taken by this task to process its portion of
+         * the input if it is a leaf, in nanoseconds, or -1 if it is not a
+         * leaf or did not complete, for example due to cancellation.
+         *
+         * @return the time taken by this leaf task
+         */
+        public long nanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns the name of the thread that processed this leaf task, or
+         * {@code null} if this is not a leaf, or did not complete.
+         *
+         * @return the name of the thread that processed this leaf task
+         */
+        public String threadName() {
+            return threadName;
+        }
+
+        /**
+         * Returns the number of leaf tasks in the tree rooted at this task.
+         *
+         * @return the number of leaf tasks
+         */
+        public int leafCount() {
+            int n = 0;
+            for (Task c : children)
+                n += c.leafCount();
+            return (n == 0) ? 1 : n;
+        }
+
+        /**
+         * Returns the depth of the tree rooted at this task, which is zero
+         * for a leaf task.
+         *
+         * @return the depth of the tree rooted at this task
+         */
+        public int depth() {
+            int d = -1;
+            for (Task c : children)
+                d = Math.max(d, c.depth());
+            return d + 1;
+        }
+
+        /**
+         * Returns a string describing this task.
+         *
+         * @return a string describing this task
+         */
+        @Override
+        public String toString() {
+            return isLeaf()
+                   ? "Task[size=" + count(estimatedSize()) + ", time=" + millis(nanos)
+                     + ", thread=" + threadName + "]"
+                   : "Task[size=" + count(estimatedSize()) + ", leaves=" + leafCount() + "]";
+        }
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.stream;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the profile of the evaluation of a stream pipeline on which
+ * profiling was enabled by {@link StreamProfile#profile}.  A profiler is
+ * held by the source stage of the pipeline, and is active from the start
+ * to the end of the evaluation of its terminal operation.
+ *
+ * <p>While active, the profiler interposes a probe sink after each stage
+ * in the sink chains built by {@link AbstractPipeline#wrapSink}.  The probe
+ * after a stage counts the elements output by that stage, and measures the
+ * time spent in the downstream sink, which includes the time spent in all
+ * later stages.  The time spent in a stage itself is then the difference
+ * between the time measured by the probe before it and the probe after it.
+ * The time spent traversing the source of each segment of the pipeline,
+ * and the elapsed time and output size of the parallel evaluation of the
+ * stateful operation at the head of each segment, are measured by the
+ * pipeline.
+ *
+ * @since 1.9
+ */
+final class StreamProfiler {
+
+    /** The statistics of a stage of the pipeline */
+    static final class Record {
+        /** Name of the stage */
+        final String name;
+        /** Number of elements output by the stage */
+        final LongAdder count = new LongAdder();
+        /** Time spent downstream of the stage */
+        final LongAdder nanos = new LongAdder();
+        /** Time spent traversing the stage as a segment head */
+        final LongAdder traversalNanos = new LongAdder();
+        /** Elapsed time of the evaluation of the stage as a segment head */
+        final LongAdder barrierNanos = new LongAdder();
+        /**
+         * Number of elements output by the evaluation of the stage as a
+         * segment head, or -1 if not known
+         */
+        volatile long barrierCount = -1L;
+        /** Whether elements output by the stage were passed to a probe */
+        volatile boolean probed;
+
+        Record(String name) {
+            this.name = name;
+        }
+    }
+
+    /** The names of the stages, keyed by stage */
+    private final Map<AbstractPipeline<?, ?, ?>, String> names = new IdentityHashMap<>();
+
+    /** Listeners to receive the profile */
+    private Consumer<? super StreamProfile> listener;
+
+    /** Statistics of the stages of the pipeline, non-null while active */
+    private volatile Map<AbstractPipeline<?, ?, ?>, Record> records;
+
+    /** Stages, ordered from the source, and the name of the terminal op */
+    private List<AbstractPipeline<?, ?, ?>> stages;
+    private String terminalName;
+    private long startNanos;
+
+    /** Root tasks, guarded by this */
+    private final List<StreamProfile.Task> tasks = new ArrayList<>();
+
+    StreamProfiler(Consumer<? super StreamProfile> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a listener to receive the profile.
+     */
+    void addListener(Consumer<? super StreamProfile> l) {
+        Consumer<? super StreamProfile> first = listener;
+        listener = p -> { first.accept(p); l.accept(p); };
+    }
+
+    /**
+     * Records the name of a stage appended to the pipeline.
+     */
+    void stageAdded(AbstractPipeline<?, ?, ?> stage) {
+        names.put(stage, callerName());
+    }
+
+    /**
+     * Records the name of a stage appended to the pipeline before this
+     * profiler was attached to it.  As the call that appended the stage is
+     * no longer on the stack, the name is derived from the class of the
+     * stage: the operation made by the factory class declaring it, such as
+     * {@link SortedOps}, or else the method declaring it as an anonymous
+     * class.
+     */
+    void stageFound(AbstractPipeline<?, ?, ?> stage) {
+        Class<?> c = stage.getClass();
+        Class<?> factory = c.getEnclosingClass();
+        String name;
+        if (factory == SortedOps.class || factory == BoundedSortedOps.class)
+            name = "sorted";
+        else if (factory == DistinctOps.class)
+            name = "distinct";
+        else if (factory == SliceOps.class)
+            name = StreamOpFlag.SHORT_CIRCUIT.isKnown(stage.sourceOrOpFlags)
+                   ? "limit" : "skip";
+        else {
+            Method m = c.getEnclosingMethod();
+            if (m != null)
+                name = m.getName();
+            else
+                return; // named by nameOf
+        }
+        names.put(stage, name);
+    }
+
+    /**
+     * Returns the name of the method of this package called from outside
+     * it that led to the current call, such as the method adding a stage to
+     * a pipeline, or evaluating its terminal operation.
+     */
+    private static String callerName() {
+        String name = null;
+        for (StackTraceElement e : new Throwable().getStackTrace()) {
+            String cn = e.getClassName();
+            if (!cn.startsWith("java.util.stream.") || cn.indexOf('.', 17) >= 0)
+                break;
+            if (!e.getMethodName().startsWith("<") && !e.getMethodName().startsWith("lambda$"))
+                name = e.getMethodName();
+        }
+        return (name != null) ? name : "unknown";
+    }
+
+    private String nameOf(AbstractPipeline<?, ?, ?> stage, boolean source) {
+        String name = names.get(stage);
+        if (name != null)
+            return name;
+        else if (source)
+            return "source";
+        else {
+            String cn = stage.getClass().getName();
+            return cn.substring(cn.lastIndexOf('.') + 1);
+        }
+    }
+
+    /**
+     * Activates this profiler for the evaluation of a terminal operation on
+     * the last of the given stages, ordered from the source.
+     */
+    void begin(List<AbstractPipeline<?, ?, ?>> list) {
+        Map<AbstractPipeline<?, ?, ?>, Record> m = new IdentityHashMap<>();
+        for (AbstractPipeline<?, ?, ?> p : list)
+            m.put(p, new Record(nameOf(p, m.isEmpty())));
+        stages = list;
+        terminalName = callerName();
+        startNanos = System.nanoTime();
+        records = m;
+    }
+
+    /**
+     * Deactivates this profiler, and passes the profile of the evaluation to
+     * the listeners.
+     */
+    void end(boolean parallel) {
+        long elapsed = System.nanoTime() - startNanos;
+        Map<AbstractPipeline<?, ?, ?>, Record> m = records;
+        records = null;
+        if (m == null)
+            return;
+
+        List<StreamProfile.Stage> result = new ArrayList<>(stages.size() + 1);
+        long in = -1L, upstreamNanos = 0L;
+        for (AbstractPipeline<?, ?, ?> p : stages) {
+            Record r = m.get(p);
+            // Elements output by a barrier may be consumed by the evaluation
+            // of the next one without passing through a probe
+            long out = (!r.probed && r.barrierCount >= 0L)
+                       ? r.barrierCount : r.count.sum();
+            long downstreamNanos = r.nanos.sum();
+            long barrier = r.barrierNanos.sum();
+            long self = (barrier > 0L ? barrier : upstreamNanos)
+                        + r.traversalNanos.sum() - downstreamNanos;
+            result.add(new StreamProfile.Stage(r.name, in, out, Math.max(self, 0L)));
+            in = out;
+            upstreamNanos = downstreamNanos;
+        }
+        result.add(new StreamProfile.Stage(terminalName, in, -1L, upstreamNanos));
+
+        List<StreamProfile.Task> roots;
+        synchronized (this) {
+            roots = new ArrayList<>(tasks);
+            tasks.clear();
+        }
+        listener.accept(new StreamProfile(parallel, elapsed, result, roots));
+    }
+
+    /**
+     * Returns the statistics of the given stage, or {@code null} if this
+     * profiler is not active.
+     */
+    Record record(AbstractPipeline<?, ?, ?> stage) {
+        Map<AbstractPipeline<?, ?, ?>, Record> m = records;
+        return (m != null) ? m.get(stage) : null;
+    }
+
+    /**
+     * Returns the profile node for a new root task over a spliterator of
+     * the given estimated size, or {@code null} if this profiler is not
+     * active.
+     */
+    StreamProfile.Task rootTask(long estimatedSize) {
+        if (records == null)
+            return null;
+        StreamProfile.Task t = new StreamProfile.Task(estimatedSize);
+        synchronized (this) {
+            tasks.add(t);
+        }
+        return t;
+    }
+
+    /**
+     * Returns a sink that passes elements output by the given stage on to
+     * the given sink, recording them in the given statistics.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Sink<T> probe(StreamShape shape, Record r, Sink<T> sink) {
+        switch (shape) {
+            case REFERENCE:
+                return new OfRef<>(r, sink);
+            case INT_VALUE:
+                return (Sink<T>) new OfInt(r, (Sink<Integer>) sink);
+            case LONG_VALUE:
+                return (Sink<T>) new OfLong(r, (Sink<Long>) sink);
+            case DOUBLE_VALUE:
+                return (Sink<T>) new OfDouble(r, (Sink<Double>) sink);
+            default:
+                throw new IllegalStateException("Unknown shape " + shape);
+        }
+    }
+
+    /**
+     * A sink that counts the elements passed to, and measures the time
+     * spent in, a downstream sink.
+     */
+    private abstract static class Probe<T> implements Sink<T> {
+        final Record record;
+        final Sink<? super T> downstream;
+
+        Probe(Record record, Sink<? super T> downstream) {
+            this.record = record;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void begin(long size) {
+            if (!record.probed)
+                record.probed = true;
+            long start = System.nanoTime();
+            downstream.begin(size);
+            record.nanos.add(System.nanoTime() - start);
+        }
+
+        @Override
+        public void end() {
+            long start = System.nanoTime();
+            downstream.end();
+            record.nanos.add(System.nanoTime() - start);
+        }
+
+        @Override
+        public boolean cancellationRequested() {
+            return downstream.cancellationRequested();
+        }
+
+        @Override
+        public boolean acceptsBatches() {
+            return downstream.acceptsBatches();
+        }
+
+        @Override
+        public void acceptAll(Object[] elements, int from, int to) {
+            long start = System.nanoTime();
+            downstream.acceptAll(elements, from, to);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.add(to - from);
+        }
+
+        @Override
+        public void acceptAll(int[] values, int from, int to) {
+            long start = System.nanoTime();
+            downstream.acceptAll(values, from, to);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.add(to - from);
+        }
+
+        @Override
+        public void acceptAll(long[] values, int from, int to) {
+            long start = System.nanoTime();
+            downstream.acceptAll(values, from, to);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.add(to - from);
+        }
+
+        @Override
+        public void acceptAll(double[] values, int from, int to) {
+            long start = System.nanoTime();
+            downstream.acceptAll(values, from, to);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.add(to - from);
+        }
+    }
+
+    private static final class OfRef<T> extends Probe<T> {
+        OfRef(Record record, Sink<? super T> downstream) {
+            super(record, downstream);
+        }
+
+        @Override
+        public void accept(T t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.increment();
+        }
+    }
+
+    private static final class OfInt extends Probe<Integer> implements Sink.OfInt {
+        OfInt(Record record, Sink<? super Integer> downstream) {
+            super(record, downstream);
+        }
+
+        @Override
+        public void accept(int t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.increment();
+        }
+    }
+
+    private static final class OfLong extends Probe<Long> implements Sink.OfLong {
+        OfLong(Record record, Sink<? super Long> downstream) {
+            super(record, downstream);
+        }
+
+        @Override
+        public void accept(long t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.increment();
+        }
+    }
+
+    private static final class OfDouble extends Probe<Double> implements Sink.OfDouble {
+        OfDouble(Record record, Sink<? super Double> downstream) {
+            super(record, downstream);
+        }
+
+        @Override
+        public void accept(double t) {
+            long start = System.nanoTime();
+            downstream.accept(t);
+            record.nanos.add(System.nanoTime() - start);
+            record.count.increment();
+        }
+    }
+}
@@ -1312,6 +1312,144 @@ class StreamSpliterators {
         public Comparator<? super T> getComparator() {
             return s.getComparator();
         }
+
+        static final class OfInt implements Spliterator.OfInt, IntConsumer {
+
+            // The underlying spliterator
+            private final Spliterator.OfInt s;
+
+            // ConcurrentHashMap holding distinct elements as keys
+            private final ConcurrentHashMap<Integer, Boolean> seen;
+
+            // Temporary element, only used with tryAdvance
+            private int tmpSlot;
+
+            OfInt(Spliterator.OfInt s) {
+                this(s, new ConcurrentHashMap<>());
+            }
+
+            private OfInt(Spliterator.OfInt s, ConcurrentHashMap<Integer, Boolean> seen) {
+                this.s = s;
+                this.seen = seen;
+            }
+
+            @Override
+            public void accept(int t) {
+                this.tmpSlot = t;
+            }
+
+            @Override
+            public boolean tryAdvance(IntConsumer action) {
+                while (s.tryAdvance((IntConsumer) this)) {
+                    if (seen.putIfAbsent(tmpSlot, Boolean.TRUE) == null) {
+                        action.accept(tmpSlot);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void forEachRemaining(IntConsumer action) {
+                s.forEachRemaining((int t) -> {
+                    if (seen.putIfAbsent(t, Boolean.TRUE) == null) {
+                        action.accept(t);
+                    }
+                });
+            }
+
+            @Override
+            public Spliterator.OfInt trySplit() {
+                Spliterator.OfInt split = s.trySplit();
+                return (split != null) ? new DistinctSpliterator.OfInt(split, seen) : null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return s.estimateSize();
+            }
+
+            @Override
+            public int characteristics() {
+                return (s.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED |
+                                                Spliterator.SORTED | Spliterator.ORDERED))
+                       | Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Comparator<? super Integer> getComparator() {
+                return s.getComparator();
+            }
+        }
+
+        static final class OfLong implements Spliterator.OfLong, LongConsumer {
+
+            // The underlying spliterator
+            private final Spliterator.OfLong s;
+
+            // ConcurrentHashMap holding distinct elements as keys
+            private final ConcurrentHashMap<Long, Boolean> seen;
+
+            // Temporary element, only used with tryAdvance
+            private long tmpSlot;
+
+            OfLong(Spliterator.OfLong s) {
+                this(s, new ConcurrentHashMap<>());
+            }
+
+            private OfLong(Spliterator.OfLong s, ConcurrentHashMap<Long, Boolean> seen) {
+                this.s = s;
+                this.seen = seen;
+            }
+
+            @Override
+            public void accept(long t) {
+                this.tmpSlot = t;
+            }
+
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                while (s.tryAdvance((LongConsumer) this)) {
+                    if (seen.putIfAbsent(tmpSlot, Boolean.TRUE) == null) {
+                        action.accept(tmpSlot);
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public void forEachRemaining(LongConsumer action) {
+                s.forEachRemaining((long t) -> {
+                    if (seen.putIfAbsent(t, Boolean.TRUE) == null) {
+                        action.accept(t);
+                    }
+                });
+            }
+
+            @Override
+            public Spliterator.OfLong trySplit() {
+                Spliterator.OfLong split = s.trySplit();
+                return (split != null) ? new DistinctSpliterator.OfLong(split, seen) : null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return s.estimateSize();
+            }
+
+            @Override
+            public int characteristics() {
+                return (s.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED |
+                                                Spliterator.SORTED | Spliterator.ORDERED))
+                       | Spliterator.DISTINCT;
+            }
+
+            @Override
+            public Comparator<? super Long> getComparator() {
+                return s.getComparator();
+            }
+        }
     }
 
     /**
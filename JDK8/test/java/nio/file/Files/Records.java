@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Files.records splits a file at its delimiters only: a delimiter
+ *          at the end of the file does not start an empty record, and line
+ *          terminators are part of records
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class Records {
+    public static void main(String[] args) throws IOException {
+        check("a,b,c\r\nd,", "a", "b", "c\r\nd");
+        check("a,b,c\r\nd", "a", "b", "c\r\nd");
+        check("");
+        check(",", "");
+        check(",,a,,", "", "", "a", "");
+        check("\n", "\n");
+        check("a\nb\r", "a\nb\r");
+
+        // A delimiter at the end of a file is treated like a line terminator
+        Path file = Files.createTempFile("records", ".txt");
+        try {
+            Files.write(file, "a\nb\n".getBytes(StandardCharsets.UTF_8));
+            List<String> lines;
+            try (Stream<String> s = Files.lines(file, StandardCharsets.UTF_8)) {
+                lines = s.collect(Collectors.toList());
+            }
+            List<String> records;
+            try (Stream<String> s = Files.records(file, '\n', StandardCharsets.UTF_8)) {
+                records = s.collect(Collectors.toList());
+            }
+            if (!lines.equals(records))
+                throw new AssertionError(lines + " != " + records);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    static void check(String contents, String... expected) throws IOException {
+        Path file = Files.createTempFile("records", ".txt");
+        try {
+            Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+            for (boolean parallel : new boolean[] { false, true }) {
+                List<String> records;
+                try (Stream<String> s = Files.records(file, ',', StandardCharsets.UTF_8)) {
+                    records = (parallel ? s.parallel() : s).collect(Collectors.toList());
+                }
+                if (!records.equals(Arrays.asList(expected)))
+                    throw new AssertionError(contents + ": " + records);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Iterator.remove returns every entry exactly once, including
+ *          entries moved across the end of the table by earlier removals
+ */
+
+import java.util.HashSet;
+import java.util.IntHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+public class IteratorRemove {
+    public static void main(String[] args) {
+        Random rnd = new Random(42);
+        for (int it = 0; it < 100000; it++) {
+            IntHashMap<Integer> map = new IntHashMap<>(16, 0.9f);
+            Set<Integer> all = new HashSet<>();
+            int n = 1 + rnd.nextInt(14);
+            while (all.size() < n) {
+                // Crowd the top of the table so that probe runs wrap
+                int k = (rnd.nextInt(8) == 0) ? 0 :
+                    (rnd.nextBoolean() ? 12 + rnd.nextInt(4) : rnd.nextInt(16))
+                    + 16 * rnd.nextInt(8);
+                all.add(k);
+                map.putInt(k, k);
+            }
+            Set<Integer> seen = new HashSet<>();
+            Set<Integer> kept = new HashSet<>();
+            if (rnd.nextBoolean()) {
+                Iterator<Map.Entry<Integer,Integer>> i = map.entrySet().iterator();
+                while (i.hasNext()) {
+                    Map.Entry<Integer,Integer> e = i.next();
+                    check(e.getKey().equals(e.getValue()));
+                    check(seen.add(e.getKey()));
+                    if (rnd.nextInt(3) != 0)
+                        i.remove();
+                    else
+                        kept.add(e.getKey());
+                }
+            } else {
+                PrimitiveIterator.OfInt i = map.keyIterator();
+                while (i.hasNext()) {
+                    int k = i.nextInt();
+                    check(seen.add(k));
+                    if (rnd.nextInt(3) != 0)
+                        i.remove();
+                    else
+                        kept.add(k);
+                }
+            }
+            check(seen.equals(all));
+            check(map.size() == kept.size());
+            check(map.keySet().equals(kept));
+            for (int k : all)
+                check(map.containsKey(k) == kept.contains(k));
+        }
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Calls with a boxable key and value on maps whose value type is
+ *          a wrapper resolve unambiguously, and the primitive accessors
+ *          agree with the Map methods
+ */
+
+import java.util.IntHashMap;
+import java.util.LongHashMap;
+
+public class Overloads {
+    public static void main(String[] args) {
+        IntHashMap<Integer> im = new IntHashMap<>();
+        check(im.put(1, 2) == null);
+        check(im.putIfAbsent(1, 3) == 2);
+        check(im.getOrDefault(5, 4) == 4);
+        check(im.putInt(1, 5) == 2);
+        check(im.putIntIfAbsent(6, 7) == null);
+        check(im.getIntOrDefault(7, 8) == 8);
+        check(im.get(1) == 5 && im.get(6) == 7 && im.size() == 2);
+
+        LongHashMap<Long> lm = new LongHashMap<>();
+        check(lm.put(1L, 2L) == null);
+        check(lm.putIfAbsent(1L, 3L) == 2L);
+        check(lm.getOrDefault(5L, 4L) == 4L);
+        check(lm.putLong(1L, 5L) == 2L);
+        check(lm.putLongIfAbsent(6L, 7L) == null);
+        check(lm.getLongOrDefault(7L, 8L) == 8L);
+        check(lm.get(1L) == 5L && lm.get(6L) == 7L && lm.size() == 2);
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Scanner does not wait for more input on a stream that is still
+ *          open when the tokens and lines it needs are complete
+ */
+
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.function.Consumer;
+
+public class UnclosedInput {
+    public static void main(String[] args) throws Exception {
+        test("12 3.5 hello 0x1f\n", sc -> {
+            check(sc.nextInt() == 12);
+            check(sc.nextDouble() == 3.5);
+            check(sc.next().equals("hello"));
+            check(sc.nextLine().equals(" 0x1f"));
+        });
+        test("a\nb\n", sc -> {
+            check(sc.nextLine().equals("a"));
+            check(sc.hasNextLine());
+            check(sc.nextLine().equals("b"));
+        });
+        test("3.5 12\n", sc -> {
+            check(sc.nextDouble() == 3.5);
+            check(sc.hasNextInt());
+            check(sc.nextInt() == 12);
+            check(sc.hasNextLine());
+            check(sc.nextLine().isEmpty());
+        });
+    }
+
+    /**
+     * Runs the given reads on a Scanner of a stream holding the given input,
+     * which is not closed until the reads are done, or found to be waiting
+     * for more input.
+     */
+    static void test(String input, Consumer<Scanner> reads) throws Exception {
+        PipedOutputStream out = new PipedOutputStream();
+        PipedInputStream in = new PipedInputStream(out);
+        out.write(input.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+
+        Throwable[] failure = new Throwable[1];
+        Thread reader = new Thread(() -> {
+            try {
+                reads.accept(new Scanner(in, "US-ASCII"));
+            } catch (Throwable t) {
+                failure[0] = t;
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        reader.join(30_000);
+        boolean waiting = reader.isAlive();
+        out.close();
+        if (waiting)
+            throw new RuntimeException("Waiting for more input: " + input);
+        if (failure[0] != null)
+            throw new RuntimeException(input, failure[0]);
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
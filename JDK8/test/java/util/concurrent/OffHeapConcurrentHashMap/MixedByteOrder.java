@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Keys that are equal but read with different byte orders map
+ *          to the same entry
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.OffHeapConcurrentHashMap;
+
+public class MixedByteOrder {
+    public static void main(String[] args) {
+        OffHeapConcurrentHashMap map = new OffHeapConcurrentHashMap(1 << 20);
+        for (int len = 0; len < 40; len++) {
+            ByteBuffer big = key(len, ByteOrder.BIG_ENDIAN, false);
+            ByteBuffer little = key(len, ByteOrder.LITTLE_ENDIAN, len % 2 == 0);
+            check(big.equals(little));
+            ByteBuffer v1 = ByteBuffer.wrap(new byte[] { 1 });
+            ByteBuffer v2 = ByteBuffer.wrap(new byte[] { 2 });
+
+            check(map.put(big, v1) == null);
+            check(v1.equals(map.get(little)));
+            check(map.containsKey(little));
+            check(v1.equals(map.put(little, v2)));
+            check(map.size() == 1);
+            check(v2.equals(map.get(big)));
+            check(v2.equals(map.remove(little)));
+            check(map.isEmpty());
+        }
+    }
+
+    static ByteBuffer key(int len, ByteOrder order, boolean direct) {
+        ByteBuffer b = direct ? ByteBuffer.allocateDirect(len + 3)
+                              : ByteBuffer.allocate(len + 3);
+        b.position(3);                  // unaligned start
+        for (int i = 0; i < len; i++)
+            b.put((byte)(i * 31 + 7));
+        b.position(3);
+        return b.slice().order(order);
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary With metrics enabled, the queue holds the submitted tasks
+ *          themselves
+ */
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorMetrics;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsQueue {
+    static final StringBuffer ran = new StringBuffer();
+
+    static class Task implements Runnable, Comparable<Task> {
+        final int priority;
+        Task(int priority) { this.priority = priority; }
+        public void run() { ran.append(priority); }
+        public int compareTo(Task t) {
+            return Integer.compare(priority, t.priority);
+        }
+    }
+
+    /** A task that runs until released. */
+    static class Blocker extends Task {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        Blocker() { super(0); }
+        public void run() {
+            started.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException expected) {
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ThreadPoolExecutor pool =
+            new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
+                                   new PriorityBlockingQueue<Runnable>());
+        ExecutorMetrics metrics = pool.enableMetrics();
+        Blocker blocker = new Blocker();
+        pool.execute(blocker);
+        blocker.started.await();
+
+        Task[] tasks = { new Task(3), new Task(1), new Task(4), new Task(2) };
+        for (Task t : tasks)
+            pool.execute(t);
+        check(pool.getQueue().size() == 4);
+        check(pool.getQueue().peek() == tasks[1]);
+        check(pool.remove(tasks[2]));
+        check(!pool.remove(tasks[2]));
+
+        blocker.released.countDown();
+        while (pool.getCompletedTaskCount() < 4)
+            Thread.sleep(10);
+        check(ran.toString().equals("123"));
+        long waits = 0;
+        for (long n : metrics.getQueueWaitHistogram())
+            waits += n;
+        check(waits == 3);
+
+        blocker = new Blocker();
+        pool.execute(blocker);
+        Task last = new Task(5);
+        pool.execute(last);
+        blocker.started.await();
+        List<Runnable> pending = pool.shutdownNow();
+        check(pending.size() == 1 && pending.get(0) == last);
+        check(pool.awaitTermination(10L, TimeUnit.SECONDS));
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
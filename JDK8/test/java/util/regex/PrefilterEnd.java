@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Searches that skip start positions by a prefilter report
+ *          hitEnd and requireEnd as if every position had been tried
+ */
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PrefilterEnd {
+    public static void main(String[] args) {
+        // A required literal that is missing, or lies past the region
+        check("\\d+ xyzzy", "12 xyzz", -1, -1, false, true, false);
+        check("ab\\d+cd", "xxab12cdyy", 0, 7, false, true, false);
+        check("ab\\d+cd", "xxab12cdyy", 2, 8, true, false, false);
+        check("\\w+ .*timeout", "a b timeout x", 0, 10, false, true, false);
+
+        // A prefix, or the characters a match can start with
+        check("(?:foo|ERR)OR\\b", "xERRO", -1, -1, false, true, false);
+        check("(?:foo|ERR)OR\\b", "xERRORS", 0, 6, true, true, true);
+        check("\\w+ .*timeout$", "a b timeout", -1, -1, true, true, true);
+        check("[ab]c\\b", "zzacd", 0, 4, true, true, true);
+        check("ab\\d+", "xab12x", 0, 5, true, true, false);
+
+        // Failed attempts that pass a boundary or $ at the end of the
+        // region before the required literal is missed
+        check("a\\w*\\bx", "zab", -1, -1, false, true, true);
+        check("a\\w*\\bx", "zabcx", 0, 3, false, true, true);
+        check("a\\w*\\bx", "zab x", -1, -1, false, true, false);
+        check("a\\w*$x", "zab", -1, -1, false, true, true);
+        check("a\\w*$x", "zab\nx", 0, 3, false, true, true);
+    }
+
+    static void check(String regex, String input, int start, int end,
+                      boolean found, boolean hitEnd, boolean requireEnd) {
+        Matcher m = Pattern.compile(regex).matcher(input);
+        if (start >= 0)
+            m.region(start, end);
+        if (m.find() != found || m.hitEnd() != hitEnd
+            || m.requireEnd() != requireEnd)
+            throw new RuntimeException("/" + regex + "/ on \"" + input
+                                       + "\": hitEnd " + m.hitEnd()
+                                       + ", requireEnd " + m.requireEnd());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary parallel() and sequential() discard the partitioning given to
+ *          parallel(pool, parallelism, leafSize)
+ */
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ResetPartitioning {
+    static final int SIZE = 1 << 16;
+
+    /** A source that counts its splits. */
+    static class CountingSpliterator implements Spliterator<Integer> {
+        final Spliterator<Integer> s;
+        final AtomicInteger splits;
+        CountingSpliterator(Spliterator<Integer> s, AtomicInteger splits) {
+            this.s = s;
+            this.splits = splits;
+        }
+        public boolean tryAdvance(Consumer<? super Integer> action) {
+            return s.tryAdvance(action);
+        }
+        public void forEachRemaining(Consumer<? super Integer> action) {
+            s.forEachRemaining(action);
+        }
+        public Spliterator<Integer> trySplit() {
+            Spliterator<Integer> p = s.trySplit();
+            if (p == null)
+                return null;
+            splits.incrementAndGet();
+            return new CountingSpliterator(p, splits);
+        }
+        public long estimateSize() { return s.estimateSize(); }
+        public int characteristics() { return s.characteristics(); }
+    }
+
+    static Stream<Integer> source(AtomicInteger splits) {
+        Integer[] a = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++)
+            a[i] = i;
+        return StreamSupport.stream(
+            new CountingSpliterator(
+                Spliterators.spliterator(a, Spliterator.ORDERED), splits),
+            false);
+    }
+
+    public static void main(String[] args) {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AtomicInteger splits = new AtomicInteger();
+            check(source(splits).parallel(pool, 2, 1)
+                  .filter(x -> true).count() == SIZE);
+            check(splits.get() == SIZE - 1);
+
+            splits.set(0);
+            check(source(splits).parallel(pool, 2, 1).parallel()
+                  .filter(x -> true).count() == SIZE);
+            check(splits.get() < SIZE / 16);
+
+            splits.set(0);
+            check(source(splits).parallel(pool, 2, 1).sequential().parallel()
+                  .filter(x -> true).count() == SIZE);
+            check(splits.get() < SIZE / 16);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Parallel unordered distinct on int and long streams is lazy,
+ *          so that it may be followed by a short-circuiting operation on
+ *          an infinite stream
+ * @run main/othervm -Xmx64m UnorderedLazy
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class UnorderedLazy {
+    public static void main(String[] args) {
+        AtomicInteger i = new AtomicInteger();
+        int[] ints = IntStream.generate(() -> i.getAndIncrement() % 100)
+                .parallel().unordered().distinct().limit(10).toArray();
+        check(ints.length == 10);
+        check(IntStream.of(ints).distinct().count() == 10);
+
+        AtomicLong l = new AtomicLong();
+        long[] longs = LongStream.generate(() -> l.getAndIncrement() % 100)
+                .parallel().unordered().distinct().limit(10).toArray();
+        check(longs.length == 10);
+        check(LongStream.of(longs).distinct().count() == 10);
+
+        // Unordered results hold the same elements as ordered ones
+        int[] a = IntStream.range(0, 10000).map(x -> x % 997).toArray();
+        int[] ordered = IntStream.of(a).parallel().distinct().toArray();
+        check(Arrays.equals(ordered, IntStream.range(0, 997).toArray()));
+        int[] unordered = IntStream.of(a).parallel().unordered().distinct()
+                .toArray();
+        Arrays.sort(unordered);
+        check(Arrays.equals(ordered, unordered));
+        long[] lazy = LongStream.range(0, 10000).map(x -> x % 997)
+                .parallel().unordered().distinct().sorted().toArray();
+        check(Arrays.equals(lazy, LongStream.range(0, 997).toArray()));
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}
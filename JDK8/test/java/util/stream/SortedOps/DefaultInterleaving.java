@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary By default, sorted stages push each sorted element through the
+ *          rest of the pipeline before pushing the next one
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class DefaultInterleaving {
+    static final List<String> EXPECTED = Arrays.asList("p1", "m1", "p2", "m2", "p3", "m3");
+
+    public static void main(String[] args) {
+        List<String> log = new ArrayList<>();
+
+        // Sized and unsized sorts, with and without a comparator
+        Stream.of(3, 1, 2).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+        Stream.of(3, 1, 2).filter(e -> true).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+        Stream.of(3, 1, 2).sorted(Comparator.naturalOrder())
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+        Stream.of(3, 1, 2).filter(e -> true).sorted(Comparator.naturalOrder())
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+
+        IntStream.of(3, 1, 2).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        IntStream.of(3, 1, 2).filter(e -> true).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        LongStream.of(3, 1, 2).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        LongStream.of(3, 1, 2).filter(e -> true).sorted()
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        DoubleStream.of(3, 1, 2).sorted()
+                .peek(e -> log.add("p" + (int) e)).map(e -> log.add("m" + (int) e) ? e : e)
+                .forEach(e -> { });
+        check(log);
+        DoubleStream.of(3, 1, 2).filter(e -> true).sorted()
+                .peek(e -> log.add("p" + (int) e)).map(e -> log.add("m" + (int) e) ? e : e)
+                .forEach(e -> { });
+        check(log);
+
+        // Bounded sorts
+        Stream.of(3, 4, 1, 2).sorted(3)
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+        Stream.of(3, 4, 1, 2).sorted(Comparator.naturalOrder(), 3)
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e)).forEach(e -> { });
+        check(log);
+        IntStream.of(3, 4, 1, 2).sorted(3)
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        LongStream.of(3, 4, 1, 2).sorted(3)
+                .peek(e -> log.add("p" + e)).map(e -> log.add("m" + e) ? e : e).forEach(e -> { });
+        check(log);
+        DoubleStream.of(3, 4, 1, 2).sorted(3)
+                .peek(e -> log.add("p" + (int) e)).map(e -> log.add("m" + (int) e) ? e : e)
+                .forEach(e -> { });
+        check(log);
+    }
+
+    static void check(List<String> log) {
+        if (!log.equals(EXPECTED))
+            throw new AssertionError(log);
+        log.clear();
+    }
+}
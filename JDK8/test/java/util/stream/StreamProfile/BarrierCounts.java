@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+/*
+ * @test
+ * @summary Profiles report the elements output by stateful operations
+ *          evaluated ahead of later ones, and name stages appended before
+ *          profiling was enabled
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamProfile;
+
+public class BarrierCounts {
+    public static void main(String[] args) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+            list.add(10000 - i);
+
+        AtomicReference<StreamProfile> profile = new AtomicReference<>();
+        List<Integer> result =
+            StreamProfile.profile(list.parallelStream().sorted().limit(3),
+                                  profile::set)
+            .collect(Collectors.toList());
+        check(result.size() == 3);
+        List<StreamProfile.Stage> stages = profile.get().stages();
+        check(stages.size() == 4);
+        checkStage(stages.get(1), "sorted", 10000, 10000);
+        checkStage(stages.get(2), "limit", 10000, 3);
+
+        long count =
+            StreamProfile.profile(IntStream.range(0, 1000).parallel()
+                                  .map(x -> x * 2).filter(x -> x % 3 == 0)
+                                  .sorted().skip(5),
+                                  profile::set)
+            .count();
+        check(count == 329);
+        stages = profile.get().stages();
+        checkStage(stages.get(1), "map", 1000, 1000);
+        checkStage(stages.get(2), "filter", 1000, 334);
+        checkStage(stages.get(3), "sorted", 334, 334);
+        checkStage(stages.get(4), "skip", 334, 329);
+    }
+
+    static void checkStage(StreamProfile.Stage stage, String name,
+                           long in, long out) {
+        check(stage.name().equals(name));
+        check(stage.elementsIn() == in);
+        check(stage.elementsOut() == out);
+    }
+
+    static void check(boolean cond) {
+        if (!cond)
+            throw new AssertionError();
+    }
+}